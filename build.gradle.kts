@@ -47,6 +47,25 @@ tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
 }
 
+// Tarea que precompila las tablas LR de gramatica.output en un recurso binario
+val directorioTablasLR = layout.buildDirectory.dir("generated/tablasLR")
+
+val generarTablasLR = tasks.register<JavaExec>("generarTablasLR") {
+    group = "build"
+    description = "Generate the dense LR tables from gramatica.output"
+    val gramatica = file("src/main/resources/gramatica.output")
+    val tablas = directorioTablasLR.get().file("gramatica.tablas").asFile
+    inputs.file(gramatica)
+    outputs.dir(directorioTablasLR)
+    classpath = sourceSets["main"].output.classesDirs
+    mainClass.set("modulos.sintactico.GeneradorTablasLR")
+    args(gramatica.absolutePath, tablas.absolutePath)
+}
+
+tasks.processResources {
+    from(generarTablasLR)
+}
+
 // Tarea personalizada para ejecutar la aplicación
 tasks.register<JavaExec>("run") {
     group = "application"
@@ -55,3 +74,44 @@ tasks.register<JavaExec>("run") {
     classpath = sourceSets["main"].runtimeClasspath
     args = listOf("input/input.txt")
 }
+
+// Genera un programa sintético con modulos.generador.GeneradorProgramas. Las
+// opciones y el fichero de salida se pasan con -Pgenerador="...", por ejemplo:
+// ./gradlew generarPrograma -Pgenerador="--semilla=7 --tamano=64M input/grande.txt"
+tasks.register<JavaExec>("generarPrograma") {
+    group = "application"
+    description = "Generate a synthetic JS-PdL program"
+    mainClass.set("modulos.generador.GeneradorProgramas")
+    classpath = sourceSets["main"].runtimeClasspath
+    workingDir = projectDir
+    args((findProperty("generador") as String? ?: "").split(" ").filter { it.isNotBlank() })
+}
+
+// Benchmarks JMH de cada fase (src/jmh/java), sobre archivosTest y programas sintéticos
+val versionJmh = "1.37"
+
+val jmh = sourceSets.create("jmh") {
+    compileClasspath += sourceSets["main"].output
+    runtimeClasspath += sourceSets["main"].output
+}
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:$versionJmh")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:$versionJmh")
+}
+
+// Ejecuta los benchmarks y guarda los resultados en build/jmh/resultados.json.
+// Los argumentos de JMH se pasan con -Pjmh="...", por ejemplo:
+// ./gradlew jmh -Pjmh="AnalizadorLexicoBenchmark -p programa=corpus"
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Run the JMH benchmarks"
+    dependsOn(tasks.named("jmhClasses"))
+    mainClass.set("org.openjdk.jmh.Main")
+    classpath = jmh.runtimeClasspath
+    workingDir = projectDir
+    val resultados = layout.buildDirectory.file("jmh/resultados.json").get().asFile
+    doFirst { resultados.parentFile.mkdirs() }
+    args("-rf", "json", "-rff", resultados.absolutePath)
+    args((findProperty("jmh") as String? ?: "").split(" ").filter { it.isNotBlank() })
+}
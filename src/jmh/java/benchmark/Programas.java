@@ -0,0 +1,160 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import modulos.SesionCompilacion;
+import modulos.generador.GeneradorProgramas;
+import modulos.generador.OpcionesGenerador;
+import modulos.lexico.AnalizadorLexico;
+import modulos.lexico.fuente.FuenteCaracteres;
+import modulos.token.BufferTokens;
+import modulos.token.TipoToken;
+import util.GestorErrores;
+
+/**
+ * Clase Programas con los programas sobre los que se ejecutan los benchmarks.
+ * El parámetro "programa" de cada benchmark elige entre el corpus de
+ * archivosTest sin errores ("corpus") y un programa de GeneradorProgramas con
+ * el número de funciones indicado ("sintetico-N") o de un tamaño ("tamano-1M"),
+ * que permiten ver cómo escala cada fase, o con N funciones y sobre todo
+ * llamadas ("llamadas-N"). Los parámetros por defecto de los
+ * benchmarks usan "sintetico-N"; los tamaños se eligen con -p, por ejemplo
+ * -p programa=tamano-64M.
+ */
+public final class Programas {
+
+    // Programas correctos de archivosTest, relativos al directorio del proyecto
+    public static final String CORPUS = "corpus";
+    public static final Path DIRECTORIO_CORPUS = Paths.get("src", "test", "java", "archivosTest");
+
+    // Programa sintético con N funciones, o de un tamaño (por ejemplo "tamano-1M")
+    public static final String PREFIJO_SINTETICO = "sintetico-";
+    public static final String PREFIJO_TAMANO = "tamano-";
+
+    // Programa sintético con N funciones en el que la mayoría de las sentencias
+    // son llamadas
+    public static final String PREFIJO_LLAMADAS = "llamadas-";
+    private static final String MEZCLA_LLAMADAS = "llamada:16";
+
+    private Programas() {
+    }
+
+    /**
+     * Carga los programas con el nombre de un parámetro de benchmark.
+     *
+     * @param programa "corpus", "sintetico-N", "tamano-N" o "llamadas-N".
+     * @return El texto de cada programa.
+     * @throws IOException Si no se puede leer el corpus.
+     */
+    public static List<String> cargar(String programa) throws IOException {
+        if (CORPUS.equals(programa)) {
+            return cargarCorpus();
+        }
+        if (programa.startsWith(PREFIJO_SINTETICO)) {
+            return List.of(sintetico(Integer.parseInt(programa.substring(PREFIJO_SINTETICO.length()))));
+        }
+        if (programa.startsWith(PREFIJO_TAMANO)) {
+            return List.of(sintetico(programa.substring(PREFIJO_TAMANO.length())));
+        }
+        if (programa.startsWith(PREFIJO_LLAMADAS)) {
+            return List.of(llamadas(Integer.parseInt(programa.substring(PREFIJO_LLAMADAS.length()))));
+        }
+        throw new IllegalArgumentException("Programa de benchmark desconocido: " + programa);
+    }
+
+    /**
+     * Carga los programas correctos de archivosTest, ordenados por nombre.
+     */
+    private static List<String> cargarCorpus() throws IOException {
+        List<Path> archivos;
+        try (Stream<Path> rutas = Files.list(DIRECTORIO_CORPUS)) {
+            archivos = rutas.filter(ruta -> ruta.getFileName().toString().matches(".*_correcto\\d*\\.txt"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        List<String> programas = new ArrayList<>();
+        for (Path archivo : archivos) {
+            programas.add(Files.readString(archivo));
+        }
+        return programas;
+    }
+
+    /**
+     * Genera con GeneradorProgramas un programa correcto con el número de
+     * funciones indicado y las demás opciones por defecto, siempre con la misma
+     * semilla.
+     *
+     * @param funciones Número de funciones del programa.
+     * @return El texto del programa.
+     */
+    public static String sintetico(int funciones) {
+        OpcionesGenerador opciones = new OpcionesGenerador();
+        opciones.setFunciones(funciones);
+        return GeneradorProgramas.generar(opciones);
+    }
+
+    /**
+     * Genera con GeneradorProgramas un programa correcto de al menos el tamaño
+     * indicado, con las demás opciones por defecto y siempre la misma semilla.
+     *
+     * @param tamano Tamaño en caracteres, con sufijo K, M o G opcional.
+     * @return El texto del programa.
+     */
+    public static String sintetico(String tamano) {
+        OpcionesGenerador opciones = new OpcionesGenerador();
+        opciones.setTamano(OpcionesGenerador.parsearTamano(tamano));
+        return GeneradorProgramas.generar(opciones);
+    }
+
+    /**
+     * Genera con GeneradorProgramas un programa correcto con el número de
+     * funciones indicado en el que la mayoría de las sentencias son llamadas a
+     * las funciones anteriores, siempre con la misma semilla.
+     *
+     * @param funciones Número de funciones del programa.
+     * @return El texto del programa.
+     */
+    public static String llamadas(int funciones) {
+        OpcionesGenerador opciones = new OpcionesGenerador();
+        opciones.setFunciones(funciones);
+        opciones.setMezcla(MEZCLA_LLAMADAS);
+        return GeneradorProgramas.generar(opciones);
+    }
+
+    /**
+     * Analiza léxicamente un programa con el analizador de una sesión, guardando
+     * la línea de cada token, igual que la primera pasada de AnalizadorDiferido.
+     *
+     * @param sesion   La sesión, normalmente con análisis léxico puro.
+     * @param programa Los caracteres del programa.
+     * @param tokens   Buffer en el que se añaden los tokens.
+     */
+    public static void analizarLexico(SesionCompilacion sesion, char[] programa, BufferTokens tokens) {
+        AnalizadorLexico analizadorLexico = sesion.getAnalizadorLexico();
+        GestorErrores gestorErrores = sesion.getGestorErroresLexico();
+
+        boolean finDeFichero = false;
+        int posicion = 0;
+        do {
+            int caracter = posicion < programa.length ? programa[posicion++] : FuenteCaracteres.FIN_DE_FICHERO;
+            do {
+                int token = analizadorLexico.procesarCaracter(caracter, tokens);
+                if (token != BufferTokens.SIN_TOKEN) {
+                    tokens.setLinea(token, gestorErrores.getLinea());
+                    finDeFichero = tokens.getTipo(token) == TipoToken.FINDEFICHERO;
+                }
+            } while (!analizadorLexico.isCaracterProcesado());
+            if (caracter == '\n') {
+                gestorErrores.incrementarLinea();
+            }
+        } while (!finDeFichero);
+    }
+}
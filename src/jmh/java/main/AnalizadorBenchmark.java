@@ -0,0 +1,96 @@
+package main;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import benchmark.Programas;
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.lexico.fuente.FuenteSecuencia;
+
+/**
+ * Benchmark del análisis completo: Analizador.procesarFichero sobre cada
+ * programa, con los ficheros de salida en un directorio temporal, en cada uno
+ * de los modos de ejecución. También mide la creación de una sesión, que los
+ * benchmarks de cada fase incluyen.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalizadorBenchmark {
+
+    // Modo sin opciones; el resto son los nombres de las opciones sin "--"
+    private static final String SECUENCIAL = "secuencial";
+
+    @Param({ "corpus", "sintetico-10", "sintetico-100", "sintetico-1000" })
+    public String programa;
+
+    @Param({ SECUENCIAL, "salida-continua", "lexico-puro", "lexico-paralelo", "semantico-paralelo", "etapas" })
+    public String modo;
+
+    private List<String> textos;
+    private OpcionesCompilacion opciones;
+    private Path directorio;
+
+    @Setup
+    public void preparar() throws IOException {
+        textos = Programas.cargar(programa);
+        opciones = new OpcionesCompilacion();
+        if (!SECUENCIAL.equals(modo) && !opciones.procesarOpcion(OpcionesCompilacion.PREFIJO_OPCION + modo)) {
+            throw new IllegalArgumentException("Modo de benchmark desconocido: " + modo);
+        }
+        directorio = Files.createTempDirectory("benchmark-analizador");
+    }
+
+    @TearDown
+    public void limpiar() throws IOException {
+        borrar(directorio);
+    }
+
+    @Benchmark
+    public void analizar() throws IOException {
+        for (String texto : textos) {
+            Analizador.procesarFichero(new FuenteSecuencia(texto), new SesionCompilacion(opciones), directorio);
+        }
+    }
+
+    @Benchmark
+    public SesionCompilacion crearSesion() {
+        return new SesionCompilacion(opciones);
+    }
+
+    /**
+     * Borra un directorio temporal con su contenido.
+     *
+     * @param directorio El directorio.
+     * @throws IOException Si no se puede borrar.
+     */
+    static void borrar(Path directorio) throws IOException {
+        try (Stream<Path> rutas = Files.walk(directorio)) {
+            for (Path ruta : (Iterable<Path>) rutas.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(ruta);
+            }
+        }
+    }
+}
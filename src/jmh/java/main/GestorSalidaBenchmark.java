@@ -0,0 +1,82 @@
+package main;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import benchmark.Programas;
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.lexico.fuente.FuenteSecuencia;
+import modulos.token.BufferTokens;
+
+/**
+ * Benchmark de la escritura de resultados: GestorSalida.escribirSalida con los
+ * tokens, reglas y tablas de cada programa, obtenidos al preparar el
+ * benchmark, en un directorio temporal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GestorSalidaBenchmark {
+
+    @Param({ "corpus", "sintetico-10", "sintetico-100", "sintetico-1000" })
+    public String programa;
+
+    private BufferTokens[] tokens;
+    private List<List<Integer>> reglas;
+    private String[] tablas;
+    private Path directorio;
+
+    @Setup
+    public void preparar() throws IOException {
+        List<String> textos = Programas.cargar(programa);
+        tokens = new BufferTokens[textos.size()];
+        reglas = new ArrayList<>();
+        tablas = new String[textos.size()];
+
+        for (int i = 0; i < tokens.length; i++) {
+            OpcionesCompilacion opciones = new OpcionesCompilacion();
+            opciones.setLexicoPuro(true);
+            SesionCompilacion sesion = new SesionCompilacion(opciones);
+            List<Integer> listaReglas = new ArrayList<>();
+
+            tokens[i] = new BufferTokens();
+            new AnalizadorDiferido(sesion).analizar(new FuenteSecuencia(textos.get(i)), tokens[i], listaReglas, null);
+            reglas.add(listaReglas);
+            tablas[i] = sesion.getGestorTablas().getImpresionTablas();
+        }
+        directorio = Files.createTempDirectory("benchmark-salida");
+    }
+
+    @TearDown
+    public void limpiar() throws IOException {
+        AnalizadorBenchmark.borrar(directorio);
+    }
+
+    @Benchmark
+    public void escribir() throws IOException {
+        for (int i = 0; i < tokens.length; i++) {
+            GestorSalida.escribirSalida(directorio, tokens[i], reglas.get(i), tablas[i]);
+        }
+    }
+}
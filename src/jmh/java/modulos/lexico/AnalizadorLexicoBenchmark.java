@@ -0,0 +1,72 @@
+package modulos.lexico;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import benchmark.Programas;
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.token.BufferTokens;
+
+/**
+ * Benchmark del analizador léxico solo: AnalizadorLexico.procesarCaracter
+ * sobre cada carácter de los programas, con análisis léxico puro para que no
+ * intervengan las tablas de símbolos, con GestorEstados o con el autómata
+ * dirigido por tabla.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalizadorLexicoBenchmark {
+
+    @Param({ "corpus", "sintetico-10", "sintetico-100", "sintetico-1000" })
+    public String programa;
+
+    @Param({ "false", "true" })
+    public boolean lexicoTabla;
+
+    private char[][] programas;
+    private OpcionesCompilacion opciones;
+    private BufferTokens tokens;
+
+    @Setup
+    public void preparar() throws IOException {
+        List<String> textos = Programas.cargar(programa);
+        programas = new char[textos.size()][];
+        for (int i = 0; i < programas.length; i++) {
+            programas[i] = textos.get(i).toCharArray();
+        }
+
+        opciones = new OpcionesCompilacion();
+        opciones.setLexicoPuro(true);
+        opciones.setLexicoTabla(lexicoTabla);
+        tokens = new BufferTokens();
+    }
+
+    @Benchmark
+    public int analizar() {
+        int numTokens = 0;
+        for (char[] texto : programas) {
+            tokens.vaciar();
+            Programas.analizarLexico(new SesionCompilacion(opciones), texto, tokens);
+            numTokens += tokens.size();
+        }
+        return numTokens;
+    }
+}
@@ -0,0 +1,129 @@
+package modulos.semantico;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import benchmark.Programas;
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.sintactico.AnalizadorSintactico;
+import modulos.tablaSimbolos.ResolutorIdentificadores;
+import modulos.token.BufferTokens;
+import modulos.token.TipoToken;
+
+/**
+ * Benchmark del analizador semántico solo: reproduce la secuencia de tokens y
+ * reglas grabada al preparar el benchmark, como la etapa semántica de
+ * AnalizadorEtapas. Cada token se resuelve con ResolutorIdentificadores antes
+ * de las reglas que provoca y cada regla se pasa a procesarRegla.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalizadorSemanticoBenchmark {
+
+    @Param({ "corpus", "sintetico-10", "sintetico-100", "sintetico-1000", "llamadas-1000" })
+    public String programa;
+
+    /**
+     * Secuencia grabada de un programa: cada evento es el índice de un token o,
+     * si es negativo, el complemento (~) de una regla.
+     */
+    private static final class Grabacion {
+        private final BufferTokens tokens;
+        private final String[] nombres;
+        private final int[] eventos;
+
+        Grabacion(BufferTokens tokens, String[] nombres, int[] eventos) {
+            this.tokens = tokens;
+            this.nombres = nombres;
+            this.eventos = eventos;
+        }
+    }
+
+    private Grabacion[] grabaciones;
+
+    @Setup
+    public void preparar() throws IOException {
+        List<String> textos = Programas.cargar(programa);
+        grabaciones = new Grabacion[textos.size()];
+        for (int i = 0; i < grabaciones.length; i++) {
+            grabaciones[i] = grabar(textos.get(i));
+        }
+    }
+
+    /**
+     * Analiza léxica y sintácticamente un programa y graba sus tokens y reglas.
+     */
+    private static Grabacion grabar(String texto) {
+        OpcionesCompilacion opciones = new OpcionesCompilacion();
+        opciones.setLexicoPuro(true);
+        SesionCompilacion sesion = new SesionCompilacion(opciones);
+        BufferTokens tokens = new BufferTokens();
+        Programas.analizarLexico(sesion, texto.toCharArray(), tokens);
+
+        String[] nombres = new String[tokens.size()];
+        int[] eventos = new int[tokens.size() * 2];
+        int numEventos = 0;
+        AnalizadorSintactico analizadorSintactico = sesion.getAnalizadorSintactico();
+        for (int token = 0; token < tokens.size(); token++) {
+            if (tokens.getTipo(token) == TipoToken.ID) {
+                nombres[token] = sesion.getPoolNombres().getNombre(tokens.getAtributo(token));
+            }
+            if (numEventos == eventos.length) {
+                eventos = Arrays.copyOf(eventos, eventos.length * 2);
+            }
+            eventos[numEventos++] = token;
+            do {
+                int regla = analizadorSintactico.procesarToken(tokens, token);
+                if (regla != AnalizadorSintactico.SIN_REGLA) {
+                    if (numEventos == eventos.length) {
+                        eventos = Arrays.copyOf(eventos, eventos.length * 2);
+                    }
+                    eventos[numEventos++] = ~regla;
+                }
+            } while (!analizadorSintactico.isTokenProcesado());
+        }
+        return new Grabacion(tokens, nombres, Arrays.copyOf(eventos, numEventos));
+    }
+
+    @Benchmark
+    public int analizar() {
+        int numSimbolos = 0;
+        for (Grabacion grabacion : grabaciones) {
+            SesionCompilacion sesion = new SesionCompilacion();
+            ResolutorIdentificadores resolutor = sesion.getResolutorIdentificadores();
+            AnalizadorSemantico analizadorSemantico = sesion.getAnalizadorSemantico();
+            BufferTokens tokens = grabacion.tokens;
+
+            for (int evento : grabacion.eventos) {
+                if (evento >= 0) {
+                    sesion.getGestorErrores().setLinea(tokens.getLinea(evento));
+                    String nombre = grabacion.nombres[evento];
+                    numSimbolos += resolutor.resolver(tokens.getTipo(evento), tokens.getTerminal(evento),
+                            nombre != null ? tokens.getAtributo(evento) : BufferTokens.SIN_ATRIBUTO, nombre);
+                } else {
+                    analizadorSemantico.procesarRegla(~evento);
+                }
+            }
+        }
+        return numSimbolos;
+    }
+}
@@ -0,0 +1,136 @@
+package modulos.semantico;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import modulos.SesionCompilacion;
+
+/**
+ * Benchmark de las acciones semánticas de las expresiones: pasa a
+ * procesarRegla una secuencia de reglas de sentencias put e if con expresiones
+ * bien tipadas (sumas, comparaciones, negaciones, paréntesis y literales),
+ * generada con una semilla fija al preparar el benchmark. Ninguna de estas
+ * reglas usa la tabla de símbolos, así que se mide solo el despacho de las
+ * reglas y la pila de tipos, a diferencia de AnalizadorSemanticoBenchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpresionesBenchmark {
+
+    // Reglas de la gramática que se usan
+    private static final int B_IF = 5;
+    private static final int C_LAMBDA = 23;
+    private static final int C_B_C = 22;
+    private static final int E_COMPARACION = 24;
+    private static final int U_SUMA = 26;
+    private static final int V_NEGACION = 28;
+    private static final int W_PARENTESIS = 31;
+    private static final int W_ENTERO = 33;
+    private static final int W_CADENA = 34;
+    private static final int S_PUT = 38;
+
+    @Param({ "2", "6" })
+    public int profundidad;
+
+    private static final int SENTENCIAS = 10_000;
+
+    private int[] reglas;
+    private int numReglas;
+    private SplittableRandom aleatorio;
+    private AnalizadorSemantico analizadorSemantico;
+
+    @Setup
+    public void preparar() {
+        aleatorio = new SplittableRandom(1);
+        reglas = new int[1024];
+        for (int i = 0; i < SENTENCIAS; i++) {
+            // put E ; o if ( E ) put E ; dentro de un bloque: C: B C deja un solo
+            // OK en la pila
+            boolean condicional = aleatorio.nextBoolean();
+            if (condicional) {
+                generarBooleano(profundidad);
+            }
+            if (aleatorio.nextBoolean()) {
+                generarEntero(profundidad);
+            } else {
+                generarCadena(profundidad);
+            }
+            anadir(S_PUT);
+            if (condicional) {
+                anadir(B_IF);
+            }
+            anadir(C_B_C);
+        }
+        reglas = Arrays.copyOf(reglas, numReglas);
+
+        analizadorSemantico = new SesionCompilacion().getAnalizadorSemantico();
+        analizadorSemantico.procesarRegla(C_LAMBDA);
+    }
+
+    private void generarEntero(int nivel) {
+        int opcion = nivel == 0 ? 0 : aleatorio.nextInt(3);
+        if (opcion == 0) {
+            anadir(W_ENTERO);
+        } else if (opcion == 1) {
+            generarEntero(nivel - 1);
+            generarEntero(nivel - 1);
+            anadir(U_SUMA);
+        } else {
+            generarEntero(nivel - 1);
+            anadir(W_PARENTESIS);
+        }
+    }
+
+    private void generarBooleano(int nivel) {
+        if (nivel == 0 || aleatorio.nextBoolean()) {
+            generarEntero(nivel);
+            generarEntero(nivel);
+            anadir(E_COMPARACION);
+        } else {
+            generarBooleano(nivel - 1);
+            anadir(W_PARENTESIS);
+            anadir(V_NEGACION);
+        }
+    }
+
+    private void generarCadena(int nivel) {
+        if (nivel == 0 || aleatorio.nextBoolean()) {
+            anadir(W_CADENA);
+        } else {
+            generarCadena(nivel - 1);
+            anadir(W_PARENTESIS);
+        }
+    }
+
+    private void anadir(int regla) {
+        if (numReglas == reglas.length) {
+            reglas = Arrays.copyOf(reglas, numReglas * 2);
+        }
+        reglas[numReglas++] = regla;
+    }
+
+    @Benchmark
+    public int procesar() {
+        for (int regla : reglas) {
+            analizadorSemantico.procesarRegla(regla);
+        }
+        return reglas.length;
+    }
+}
@@ -0,0 +1,84 @@
+package modulos.semantico;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import modulos.SesionCompilacion;
+import modulos.tablaSimbolos.GestorSimbolos;
+import modulos.tablaSimbolos.Simbolo;
+import modulos.tablaSimbolos.enums.Modo;
+import modulos.tablaSimbolos.enums.Tipo;
+
+/**
+ * Benchmark de la comprobación de las llamadas: pasa a procesarRegla las
+ * reglas de la sentencia f(1, 2, ...); con tantos argumentos enteros como
+ * parámetros tiene la función f, ya declarada en la tabla global.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LlamadasBenchmark {
+
+    // Reglas de la gramática que se usan
+    private static final int C_B_C = 22;
+    private static final int C_LAMBDA = 23;
+    private static final int W_ENTERO = 33;
+    private static final int S_LLAMADA = 37;
+    private static final int L_E_Q = 41;
+    private static final int Q_COMA_E_Q = 43;
+    private static final int Q_LAMBDA = 44;
+
+    @Param({ "0", "2", "6" })
+    public int parametros;
+
+    private AnalizadorSemantico analizadorSemantico;
+    private GestorSimbolos gestorSimbolos;
+    private Simbolo funcion;
+
+    @Setup
+    public void preparar() {
+        SesionCompilacion sesion = new SesionCompilacion();
+        analizadorSemantico = sesion.getAnalizadorSemantico();
+        gestorSimbolos = sesion.getGestorSimbolos();
+
+        funcion = sesion.getGestorTablas().obtenerTablaGlobal().agregarSimbolo("f");
+        funcion.setTipo(Tipo.INT);
+        funcion.setTipoRetorno(Tipo.INT);
+        funcion.setNumeroParametros(parametros);
+        funcion.setFirma(Collections.nCopies(parametros, Tipo.INT), Collections.nCopies(parametros, Modo.VALOR));
+
+        analizadorSemantico.procesarRegla(C_LAMBDA);
+    }
+
+    @Benchmark
+    public void llamar() {
+        gestorSimbolos.setUltimoSimbolo(funcion);
+        for (int i = 0; i < parametros; i++) {
+            analizadorSemantico.procesarRegla(W_ENTERO);
+        }
+        if (parametros > 0) {
+            analizadorSemantico.procesarRegla(Q_LAMBDA);
+            for (int i = 1; i < parametros; i++) {
+                analizadorSemantico.procesarRegla(Q_COMA_E_Q);
+            }
+            analizadorSemantico.procesarRegla(L_E_Q);
+        }
+        analizadorSemantico.procesarRegla(S_LLAMADA);
+        analizadorSemantico.procesarRegla(C_B_C);
+    }
+}
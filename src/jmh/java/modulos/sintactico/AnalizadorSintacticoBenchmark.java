@@ -0,0 +1,80 @@
+package modulos.sintactico;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import benchmark.Programas;
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.token.BufferTokens;
+
+/**
+ * Benchmark del analizador sintáctico solo: procesa los tokens de los
+ * programas, analizados léxicamente una vez al preparar el benchmark. Cada
+ * programa necesita una pila nueva, así que se crea una sesión por programa
+ * (su coste se mide aparte en AnalizadorBenchmark.crearSesion). Con `arbol`
+ * el analizador construye además el árbol sintáctico de cada programa.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalizadorSintacticoBenchmark {
+
+    @Param({ "corpus", "sintetico-10", "sintetico-100", "sintetico-1000" })
+    public String programa;
+
+    @Param({ "false", "true" })
+    public boolean arbol;
+
+    private BufferTokens[] tokens;
+    private OpcionesCompilacion opcionesAnalisis;
+
+    @Setup
+    public void preparar() throws IOException {
+        List<String> textos = Programas.cargar(programa);
+        OpcionesCompilacion opciones = new OpcionesCompilacion();
+        opciones.setLexicoPuro(true);
+
+        tokens = new BufferTokens[textos.size()];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = new BufferTokens();
+            Programas.analizarLexico(new SesionCompilacion(opciones), textos.get(i).toCharArray(), tokens[i]);
+        }
+
+        opcionesAnalisis = new OpcionesCompilacion();
+        opcionesAnalisis.setArbol(arbol);
+    }
+
+    @Benchmark
+    public int analizar() {
+        int numReglas = 0;
+        for (BufferTokens buffer : tokens) {
+            AnalizadorSintactico analizadorSintactico = new SesionCompilacion(opcionesAnalisis)
+                    .getAnalizadorSintactico();
+            for (int token = 0; token < buffer.size(); token++) {
+                do {
+                    if (analizadorSintactico.procesarToken(buffer, token) != AnalizadorSintactico.SIN_REGLA) {
+                        numReglas++;
+                    }
+                } while (!analizadorSintactico.isTokenProcesado());
+            }
+        }
+        return numReglas;
+    }
+}
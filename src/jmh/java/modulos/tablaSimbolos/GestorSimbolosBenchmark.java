@@ -0,0 +1,75 @@
+package modulos.tablaSimbolos;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import modulos.SesionCompilacion;
+import modulos.tablaSimbolos.enums.Tipo;
+
+/**
+ * Benchmark de los símbolos pendientes de GestorSimbolos con `pendientes`
+ * símbolos acumulados: buscar la última función cuando tiene encima los
+ * parámetros de su declaración (la regla F1: F2 ( A )) y quitar de la lista de
+ * símbolos sin tipo un símbolo recién añadido cuando la lista empieza por
+ * entradas que ya no se consumirán.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GestorSimbolosBenchmark {
+
+    @Param({ "0", "16", "256" })
+    public int pendientes;
+
+    private GestorSimbolos gestor;
+    private Simbolo funcion;
+    private Simbolo sinTipo;
+
+    @Setup
+    public void preparar() {
+        gestor = new SesionCompilacion().getGestorSimbolos();
+        funcion = new Simbolo(Tipo.INT, "f", 0, 1);
+        funcion.setNumeroParametros(0);
+
+        // Variables ya declaradas que quedan en la pila y en la lista sin tipo
+        for (int i = 0; i < pendientes; i++) {
+            gestor.setUltimoSimbolo(new Simbolo(null, "v" + i, null, null));
+        }
+        sinTipo = new Simbolo(null, "x", null, null);
+    }
+
+    @Benchmark
+    public Simbolo buscarFuncion() {
+        gestor.setUltimoSimbolo(funcion);
+        for (int i = 0; i < pendientes; i++) {
+            gestor.setUltimoSimbolo(sinTipo);
+        }
+        Simbolo encontrada = gestor.getUltimoSimboloFuncion();
+        for (int i = 0; i < pendientes; i++) {
+            gestor.getUltimoSimbolo();
+            gestor.eliminarSimboloSinTipo(sinTipo);
+        }
+        return encontrada;
+    }
+
+    @Benchmark
+    public Simbolo eliminarSinTipo() {
+        gestor.setUltimoSimbolo(sinTipo);
+        gestor.eliminarSimboloSinTipo(sinTipo);
+        return gestor.getUltimoSimbolo();
+    }
+}
@@ -0,0 +1,79 @@
+package modulos.tablaSimbolos;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import modulos.lexico.PoolNombres;
+
+/**
+ * Benchmark de las búsquedas en TablaSimbolos por el índice del nombre en
+ * PoolNombres (la de ResolutorIdentificadores) y de la creación de una tabla
+ * con todos los símbolos. La mitad de los nombres buscados no están en la
+ * tabla.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TablaSimbolosBenchmark {
+
+    @Param({ "16", "256", "4096" })
+    public int numSimbolos;
+
+    private PoolNombres poolNombres;
+    private int[] declarados;
+    private int[] buscados;
+    private TablaSimbolos tabla;
+
+    @Setup
+    public void preparar() {
+        poolNombres = new PoolNombres();
+        declarados = new int[numSimbolos];
+        buscados = new int[numSimbolos * 2];
+        for (int i = 0; i < numSimbolos; i++) {
+            declarados[i] = poolNombres.internar("variable" + i);
+        }
+        for (int i = 0; i < buscados.length; i++) {
+            // Alterna nombres declarados y no declarados
+            buscados[i] = poolNombres.internar((i % 2 == 0 ? "variable" : "ausente") + (i / 2));
+        }
+        tabla = crearTabla();
+    }
+
+    private TablaSimbolos crearTabla() {
+        TablaSimbolos nueva = new TablaSimbolos(0, poolNombres, new PoolFirmas());
+        for (int nombre : declarados) {
+            nueva.agregarSimbolo(nombre, poolNombres.getNombre(nombre));
+        }
+        return nueva;
+    }
+
+    @Benchmark
+    public int buscarInternado() {
+        int encontrados = 0;
+        for (int nombre : buscados) {
+            if (tabla.obtenerSimboloInternado(nombre) != null) {
+                encontrados++;
+            }
+        }
+        return encontrados;
+    }
+
+    @Benchmark
+    public TablaSimbolos agregar() {
+        return crearTabla();
+    }
+}
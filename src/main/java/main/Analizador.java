@@ -1,22 +1,30 @@
 package main;
 
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.etapas.InformeEtapas;
+import modulos.eventos.EventoFase;
+import modulos.eventos.EventoFichero;
+import modulos.eventos.RegistroEventos;
 import modulos.lexico.AnalizadorLexico;
+import modulos.lexico.fuente.FuenteCaracteres;
 import modulos.semantico.AnalizadorSemantico;
 import modulos.sintactico.AnalizadorSintactico;
-import modulos.tablaSimbolos.GestorTablas;
+import modulos.token.BufferTokens;
 import modulos.token.TipoToken;
-import modulos.token.Token;
 import util.GestorErrores;
 
 /**
  * Clase principal del analizador que se encarga de procesar el archivo de
- * entrada.
+ * entrada. Si se indican varias rutas, directorios o patrones glob, delega en
+ * el modo por lotes (AnalizadorLotes).
  * 
  * @autor Juan Francisco Casanova Ferrer
  * @institution Universidad Politécnica de Madrid
@@ -26,76 +34,220 @@ public class Analizador {
 
     private final static String DIRECTORIO_ENTRADA = "input";
     private final static String ARCHIVO_INPUT = Paths.get(DIRECTORIO_ENTRADA, "input.txt").toString();
-
-    private final static GestorTablas gestorTablas = GestorTablas.getInstance();
-    private final static AnalizadorLexico analizadorLexico = AnalizadorLexico.getInstance();
-    private final static AnalizadorSintactico analizadorSintactico = AnalizadorSintactico.getInstance();
-    private final static AnalizadorSemantico analizadorSemantico = AnalizadorSemantico.getInstance();
+    private final static String DIRECTORIO_SALIDA = "output";
 
     public static void main(String[] args) {
+        OpcionesCompilacion opciones = new OpcionesCompilacion();
+        String[] rutas;
+        try {
+            rutas = extraerOpciones(args, opciones);
+        } catch (IllegalArgumentException e) {
+            AnalizadorLotes.informarError(e.getMessage());
+            System.exit(AnalizadorLotes.ESTADO_ERROR);
+            return;
+        }
+
+        if (AnalizadorLotes.esModoLotes(rutas)) {
+            AnalizadorLotes.main(args);
+            return;
+        }
+
         String rutaArchivo;
-        if (args.length > 0) {
-            rutaArchivo = args[0];
+        if (rutas.length > 0) {
+            rutaArchivo = rutas[0];
         } else {
             rutaArchivo = ARCHIVO_INPUT;
         }
 
-        try {
-            FileReader fichero = new FileReader(rutaArchivo);
-            procesarFichero(fichero);
+        SesionCompilacion sesion = new SesionCompilacion(opciones);
+        sesion.getRegistroEventos().setFichero(rutaArchivo);
+        GestorErrores gestorErrores = sesion.getGestorErrores();
+
+        try (FuenteCaracteres fuente = FuenteCaracteres.abrir(Paths.get(rutaArchivo))) {
+            InformeEtapas informe = procesarFichero(fuente, sesion, Paths.get(DIRECTORIO_SALIDA));
             System.out.println(
                     "Analisis completo. Se han generado los archivos de tokens, reglas, y tabla de simbolos.");
-            fichero.close();
+            if (informe != null) {
+                System.out.print(informe);
+            }
         } catch (IllegalStateException e) {
             System.err.println(e.getLocalizedMessage());
         } catch (IOException e) {
-            GestorErrores.lanzarError(GestorErrores.TipoError.GENERICO, "Error de entrada/salida: " + e.getMessage());
+            gestorErrores.lanzarError(GestorErrores.TipoError.GENERICO, "Error de entrada/salida: " + e.getMessage());
         } catch (Exception e) {
-            GestorErrores.lanzarError(GestorErrores.TipoError.GENERICO, e.getMessage());
+            gestorErrores.lanzarError(GestorErrores.TipoError.GENERICO, e.getMessage());
         }
     }
 
+    /**
+     * Aplica las opciones de compilación (las que empiezan por "--") y devuelve
+     * el resto de argumentos.
+     *
+     * @param args     Argumentos de la línea de comandos.
+     * @param opciones Opciones en las que se guardan las reconocidas.
+     * @return Los argumentos que no son opciones de compilación.
+     * @throws IllegalArgumentException Si el valor de una opción no es válido.
+     */
+    static String[] extraerOpciones(String[] args, OpcionesCompilacion opciones) {
+        List<String> resto = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith(OpcionesCompilacion.PREFIJO_OPCION) || !opciones.procesarOpcion(arg)) {
+                resto.add(arg);
+            }
+        }
+        return resto.toArray(new String[0]);
+    }
+
     /**
      * Procesa el archivo fuente utilizando los analizadores léxico, sintáctico y
-     * semántico.
+     * semántico de la sesión indicada. Con la opción de salida continua los
+     * resultados se escriben a medida que se generan; si no, se guardan en
+     * memoria y se escriben al terminar el análisis. Con la ejecución en etapas,
+     * cada analizador se ejecuta en su propio hilo (AnalizadorEtapas); con el
+     * análisis léxico puro o paralelo, o con el semántico paralelo, la fuente
+     * se analiza léxicamente antes que el resto (AnalizadorDiferido). El
+     * análisis y la escritura de los resultados se registran como eventos de
+     * JFR (RegistroEventos).
      *
-     * @param fichero El FileReader del archivo fuente.
-     * @throws IOException Si ocurre un error de lectura.
+     * @param fuente            La fuente de caracteres del archivo.
+     * @param sesion            La sesión de compilación que se usa para el fichero.
+     * @param directorioSalida  Directorio en el que se escriben los resultados.
+     * @return El informe de ocupación de las etapas, o null si no se ha usado la
+     *         ejecución en etapas.
+     * @throws IOException Si ocurre un error de lectura o escritura.
      */
-    private static void procesarFichero(FileReader fichero) throws IOException {
-        List<Token> listaTokens = new ArrayList<>();
-        List<Integer> listaReglas = new ArrayList<>();
+    static InformeEtapas procesarFichero(FuenteCaracteres fuente, SesionCompilacion sesion,
+            Path directorioSalida) throws IOException {
+        RegistroEventos registro = sesion.getRegistroEventos();
+        EventoFichero evento = registro.iniciarFichero();
+        boolean correcto = false;
+        try {
+            // En etapas el buffer lo llena la etapa semántica, que no puede usar el
+            // PoolNombres de la sesión, propio del hilo del analizador léxico
+            BufferTokens tokens = sesion.getOpciones().isEtapas() ? new BufferTokens()
+                    : new BufferTokens(sesion.getPoolNombres());
+            InformeEtapas informe;
 
-        Boolean finDeFichero = false;
+            if (sesion.getOpciones().isSalidaContinua()) {
+                try (SalidaContinua salida = new SalidaContinua(directorioSalida, sesion.getGestorTablas())) {
+                    informe = analizar(fuente, sesion, tokens, null, salida);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            } else {
+                List<Integer> listaReglas = new ArrayList<>();
+                informe = analizar(fuente, sesion, tokens, listaReglas, null);
+                EventoFase fase = registro.iniciarFase(RegistroEventos.FASE_SALIDA);
+                GestorSalida.escribirSalida(directorioSalida, tokens, listaReglas,
+                        sesion.getGestorTablas().getImpresionTablas());
+                registro.terminarFase(fase, 0, 0, 0,
+                        registro.isActivo() ? GestorSalida.contarBytes(directorioSalida) : 0);
+            }
+            correcto = true;
+            return informe;
+        } finally {
+            registro.terminarFichero(evento,
+                    registro.isActivo() ? GestorSalida.contarBytes(directorioSalida) : 0, correcto);
+        }
+    }
+
+    /**
+     * Analiza el archivo fuente completo, en etapas, en dos pasadas o de forma
+     * secuencial según las opciones de la sesión.
+     *
+     * @param fuente      La fuente de caracteres del archivo.
+     * @param sesion      La sesión de compilación que se usa para el fichero.
+     * @param tokens      Buffer en el que se guardan los tokens.
+     * @param listaReglas Lista en la que se guardan las reglas, o null.
+     * @param salida      Salida continua, o null para guardar los resultados.
+     * @return El informe de ocupación de las etapas, o null.
+     * @throws IOException Si ocurre un error de lectura o escritura.
+     */
+    private static InformeEtapas analizar(FuenteCaracteres fuente, SesionCompilacion sesion, BufferTokens tokens,
+            List<Integer> listaReglas, SalidaContinua salida) throws IOException {
+        if (sesion.getOpciones().isEtapas()) {
+            return new AnalizadorEtapas(sesion).analizar(fuente, tokens, listaReglas, salida);
+        }
+        if (sesion.getOpciones().isResolucionDiferida()) {
+            new AnalizadorDiferido(sesion).analizar(fuente, tokens, listaReglas, salida);
+            return null;
+        }
+        analizarSecuencial(fuente, sesion, tokens, listaReglas, salida);
+        return null;
+    }
+
+    /**
+     * Analiza el archivo fuente completo. Los tokens quedan en el buffer y las
+     * reglas en la lista, salvo que se indique una salida continua: entonces se
+     * escriben en ella y el buffer se vacía tras procesar cada token. Los tres
+     * analizadores se alternan, así que forman una única fase en JFR.
+     *
+     * @param fuente      La fuente de caracteres del archivo.
+     * @param sesion      La sesión de compilación que se usa para el fichero.
+     * @param tokens      Buffer en el que el analizador léxico añade los tokens.
+     * @param listaReglas Lista en la que se guardan las reglas, o null.
+     * @param salida      Salida continua, o null para guardar los resultados.
+     * @throws IOException Si ocurre un error de lectura o escritura.
+     */
+    private static void analizarSecuencial(FuenteCaracteres fuente, SesionCompilacion sesion,
+            BufferTokens tokens, List<Integer> listaReglas, SalidaContinua salida) throws IOException {
+        AnalizadorLexico analizadorLexico = sesion.getAnalizadorLexico();
+        AnalizadorSintactico analizadorSintactico = sesion.getAnalizadorSintactico();
+        RegistroEventos registro = sesion.getRegistroEventos();
+        EventoFase fase = registro.iniciarFase(RegistroEventos.FASE_ANALISIS);
+
+        try {
+            analizarCaracteres(fuente, sesion, tokens, listaReglas, salida);
+        } finally {
+            registro.terminarFase(fase, analizadorLexico.getCaracteresProcesados(),
+                    analizadorLexico.getTokensGenerados(), analizadorSintactico.getNumReducciones(), 0);
+        }
+    }
+
+    /**
+     * Bucle del análisis secuencial: cada carácter pasa por el analizador léxico
+     * y cada token por los analizadores sintáctico y semántico.
+     */
+    private static void analizarCaracteres(FuenteCaracteres fuente, SesionCompilacion sesion,
+            BufferTokens tokens, List<Integer> listaReglas, SalidaContinua salida) throws IOException {
+        AnalizadorLexico analizadorLexico = sesion.getAnalizadorLexico();
+        AnalizadorSintactico analizadorSintactico = sesion.getAnalizadorSintactico();
+        AnalizadorSemantico analizadorSemantico = sesion.getAnalizadorSemantico();
+
+        boolean finDeFichero = false;
         do {
-            char caracter = (char) fichero.read();
+            int caracter = fuente.leer();
             do {
-                Token token = analizadorLexico.procesarCaracter(caracter);
-                if (token != null) {
-                    listaTokens.add(token);
-                    if (token.getTipo().equals(TipoToken.FINDEFICHERO)) {
+                int token = analizadorLexico.procesarCaracter(caracter, tokens);
+                if (token != BufferTokens.SIN_TOKEN) {
+                    if (tokens.getTipo(token).equals(TipoToken.FINDEFICHERO)) {
                         finDeFichero = true;
                     }
+                    if (salida != null) {
+                        salida.escribirToken(tokens, token);
+                    }
 
                     do {
-                        Integer regla = analizadorSintactico.procesarToken(token);
-                        if (regla != null) {
-                            listaReglas.add(regla);
+                        int regla = analizadorSintactico.procesarToken(tokens, token);
+                        if (regla != AnalizadorSintactico.SIN_REGLA) {
+                            if (salida != null) {
+                                salida.escribirRegla(regla);
+                            } else {
+                                listaReglas.add(regla);
+                            }
                             analizadorSemantico.procesarRegla(regla);
                         }
                     } while (!analizadorSintactico.isTokenProcesado());
+
+                    // El token ya está escrito y procesado: no hace falta guardarlo
+                    if (salida != null) {
+                        tokens.vaciar();
+                    }
                 }
             } while (!analizadorLexico.isCaracterProcesado());
             if (caracter == '\n') {
-                GestorErrores.incrementarLinea();
+                sesion.getGestorErrores().incrementarLinea();
             }
         } while (!finDeFichero);
-
-        GestorSalida.escribirSalida(listaTokens, listaReglas, gestorTablas.getImpresionTablas());
-
-        gestorTablas.resetGestorTablas();
-        analizadorLexico.resetAnalizadorLexico();
-        analizadorSintactico.resetAnalizadorSintactico();
-        analizadorSemantico.resetAnalizadorSemantico();
     }
 }
@@ -0,0 +1,218 @@
+package main;
+
+import java.io.IOException;
+import java.util.List;
+
+import modulos.SesionCompilacion;
+import modulos.eventos.EventoFase;
+import modulos.eventos.RegistroEventos;
+import modulos.lexico.AnalizadorLexico;
+import modulos.lexico.AnalizadorLexicoParalelo;
+import modulos.lexico.fuente.FuenteCaracteres;
+import modulos.semantico.AnalizadorFunciones;
+import modulos.semantico.AnalizadorSemantico;
+import modulos.sintactico.AnalizadorSintactico;
+import modulos.sintactico.ArbolSintactico;
+import modulos.tablaSimbolos.ResolutorIdentificadores;
+import modulos.token.BufferTokens;
+import modulos.token.TipoToken;
+import util.ErrorCompilacion;
+import util.GestorErrores;
+
+/**
+ * Clase AnalizadorDiferido que analiza un fichero en dos pasadas. La primera
+ * es un análisis léxico puro de toda la fuente: los identificadores quedan en
+ * el buffer con el índice de su nombre internado, sin tocar las tablas de
+ * símbolos, y cada token guarda su línea. La segunda recorre los tokens en
+ * orden: resuelve cada uno (ResolutorIdentificadores asigna la posición y el
+ * Simbolo de los identificadores) y lo pasa a los analizadores sintáctico y
+ * semántico.
+ * Con el análisis léxico paralelo, la primera pasada la hace
+ * AnalizadorLexicoParalelo por trozos de la fuente. Con el análisis semántico
+ * paralelo, la segunda pasada analiza sintácticamente todos los tokens y
+ * después AnalizadorFunciones analiza semánticamente el árbol, con los cuerpos
+ * de las funciones en paralelo. Cada pasada es una fase en los eventos de JFR.
+ * Si la primera pasada encuentra un error léxico, se lanza después de procesar
+ * los tokens anteriores, como en el análisis secuencial, de modo que los
+ * ficheros de salida y los errores son los mismos.
+ */
+final class AnalizadorDiferido {
+
+    private final SesionCompilacion sesion;
+
+    /**
+     * Constructor del analizador de una sesión con resolución diferida.
+     *
+     * @param sesion La sesión de compilación que se usa para el fichero.
+     */
+    AnalizadorDiferido(SesionCompilacion sesion) {
+        this.sesion = sesion;
+    }
+
+    /**
+     * Analiza el archivo fuente completo. Los tokens quedan en el buffer y las
+     * reglas en la lista, salvo que se indique una salida continua.
+     *
+     * @param fuente      La fuente de caracteres del archivo.
+     * @param tokens      Buffer en el que se guardan los tokens.
+     * @param listaReglas Lista en la que se guardan las reglas, o null.
+     * @param salida      Salida continua, o null para guardar los resultados.
+     * @throws IOException Si ocurre un error de lectura o escritura.
+     */
+    void analizar(FuenteCaracteres fuente, BufferTokens tokens, List<Integer> listaReglas, SalidaContinua salida)
+            throws IOException {
+        RegistroEventos registro = sesion.getRegistroEventos();
+        EventoFase fase = registro.iniciarFase(RegistroEventos.FASE_LEXICO);
+        RuntimeException errorLexico;
+        long caracteres;
+        if (sesion.getOpciones().isLexicoParalelo()) {
+            AnalizadorLexicoParalelo analizadorParalelo = new AnalizadorLexicoParalelo(sesion);
+            errorLexico = analizadorParalelo.analizar(fuente, tokens);
+            caracteres = analizadorParalelo.getCaracteresProcesados();
+        } else {
+            errorLexico = analizarLexico(fuente, tokens);
+            caracteres = sesion.getAnalizadorLexico().getCaracteresProcesados();
+        }
+        registro.terminarFase(fase, caracteres, tokens.size(), 0, 0);
+
+        fase = registro.iniciarFase(RegistroEventos.FASE_SINTACTICO_SEMANTICO);
+        try {
+            if (sesion.getOpciones().isSemanticoParalelo() && salida == null) {
+                procesarTokensParalelo(tokens, listaReglas);
+            } else {
+                procesarTokens(tokens, listaReglas, salida);
+            }
+        } finally {
+            registro.terminarFase(fase, 0, 0, sesion.getAnalizadorSintactico().getNumReducciones(), 0);
+        }
+        if (errorLexico != null) {
+            throw errorLexico;
+        }
+    }
+
+    /**
+     * Primera pasada: añade al buffer todos los tokens de la fuente, con la
+     * línea en la que se genera cada uno.
+     *
+     * @param fuente La fuente de caracteres del archivo.
+     * @param tokens Buffer en el que se añaden los tokens.
+     * @return El error léxico que ha detenido la pasada, o null.
+     * @throws IOException Si ocurre un error de lectura.
+     */
+    private RuntimeException analizarLexico(FuenteCaracteres fuente, BufferTokens tokens) throws IOException {
+        AnalizadorLexico analizadorLexico = sesion.getAnalizadorLexico();
+        GestorErrores gestorErrores = sesion.getGestorErroresLexico();
+
+        try {
+            boolean finDeFichero = false;
+            do {
+                int caracter = fuente.leer();
+                do {
+                    int token = analizadorLexico.procesarCaracter(caracter, tokens);
+                    if (token != BufferTokens.SIN_TOKEN) {
+                        tokens.setLinea(token, gestorErrores.getLinea());
+                        finDeFichero = tokens.getTipo(token) == TipoToken.FINDEFICHERO;
+                    }
+                } while (!analizadorLexico.isCaracterProcesado());
+                if (caracter == '\n') {
+                    gestorErrores.incrementarLinea();
+                }
+            } while (!finDeFichero);
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Segunda pasada: resuelve los tokens del buffer en orden y aplica sobre
+     * ellos los análisis sintáctico y semántico.
+     *
+     * @param tokens      Buffer con los tokens de la primera pasada.
+     * @param listaReglas Lista en la que se guardan las reglas, o null.
+     * @param salida      Salida continua, o null para guardar los resultados.
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    private void procesarTokens(BufferTokens tokens, List<Integer> listaReglas, SalidaContinua salida)
+            throws IOException {
+        ResolutorIdentificadores resolutor = sesion.getResolutorIdentificadores();
+        AnalizadorSintactico analizadorSintactico = sesion.getAnalizadorSintactico();
+        AnalizadorSemantico analizadorSemantico = sesion.getAnalizadorSemantico();
+        GestorErrores gestorErrores = sesion.getGestorErrores();
+
+        for (int token = 0; token < tokens.size(); token++) {
+            gestorErrores.setLinea(tokens.getLinea(token));
+            resolutor.resolver(tokens, token);
+            if (salida != null) {
+                salida.escribirToken(tokens, token);
+            }
+
+            do {
+                int regla = analizadorSintactico.procesarToken(tokens, token);
+                if (regla != AnalizadorSintactico.SIN_REGLA) {
+                    if (salida != null) {
+                        salida.escribirRegla(regla);
+                    } else {
+                        listaReglas.add(regla);
+                    }
+                    analizadorSemantico.procesarRegla(regla);
+                }
+            } while (!analizadorSintactico.isTokenProcesado());
+        }
+    }
+
+    /**
+     * Segunda pasada con análisis semántico paralelo: analiza sintácticamente
+     * todos los tokens, construyendo el árbol, y después lo analiza
+     * semánticamente con AnalizadorFunciones. Si hay un error sintáctico o el
+     * fichero no se puede analizar así, los tokens se resuelven y las reglas se
+     * aplican en el orden del análisis secuencial, de modo que los errores son
+     * los mismos.
+     *
+     * @param tokens      Buffer con los tokens de la primera pasada.
+     * @param listaReglas Lista en la que se guardan las reglas.
+     */
+    private void procesarTokensParalelo(BufferTokens tokens, List<Integer> listaReglas) {
+        AnalizadorSintactico analizadorSintactico = sesion.getAnalizadorSintactico();
+        GestorErrores gestorErrores = sesion.getGestorErrores();
+
+        // Número de reglas aplicadas hasta cada token, incluido
+        int[] reglasHasta = new int[tokens.size()];
+        int numTokens = tokens.size();
+        ErrorCompilacion errorSintactico = null;
+        for (int token = 0; token < numTokens && errorSintactico == null; token++) {
+            gestorErrores.setLinea(tokens.getLinea(token));
+            try {
+                do {
+                    int regla = analizadorSintactico.procesarToken(tokens, token);
+                    if (regla != AnalizadorSintactico.SIN_REGLA) {
+                        listaReglas.add(regla);
+                    }
+                } while (!analizadorSintactico.isTokenProcesado());
+            } catch (ErrorCompilacion e) {
+                errorSintactico = e;
+                numTokens = token + 1;
+            }
+            reglasHasta[token] = listaReglas.size();
+        }
+
+        ArbolSintactico arbol = analizadorSintactico.getArbol();
+        if (errorSintactico == null && arbol != null && new AnalizadorFunciones(sesion).analizar(arbol, tokens)) {
+            return;
+        }
+
+        ResolutorIdentificadores resolutor = sesion.getResolutorIdentificadores();
+        AnalizadorSemantico analizadorSemantico = sesion.getAnalizadorSemantico();
+        int regla = 0;
+        for (int token = 0; token < numTokens; token++) {
+            gestorErrores.setLinea(tokens.getLinea(token));
+            resolutor.resolver(tokens, token);
+            for (; regla < reglasHasta[token]; regla++) {
+                analizadorSemantico.procesarRegla(listaReglas.get(regla));
+            }
+        }
+        if (errorSintactico != null) {
+            throw errorSintactico;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package main;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.etapas.AnilloEventos;
+import modulos.etapas.InformeEtapas;
+import modulos.eventos.EventoFase;
+import modulos.eventos.RegistroEventos;
+import modulos.lexico.AnalizadorLexico;
+import modulos.lexico.PoolNombres;
+import modulos.lexico.fuente.FuenteCaracteres;
+import modulos.semantico.AnalizadorSemantico;
+import modulos.sintactico.AnalizadorSintactico;
+import modulos.tablaSimbolos.ResolutorIdentificadores;
+import modulos.token.BufferTokens;
+import modulos.token.TipoToken;
+import util.GestorErrores;
+
+/**
+ * Clase AnalizadorEtapas que analiza un fichero en tres etapas concurrentes:
+ * el analizador léxico llena un anillo de tokens en su propio hilo, el
+ * sintáctico los consume en otro y publica en un segundo anillo cada token
+ * seguido de las reglas que ha provocado, y el semántico los procesa en el
+ * hilo que llama.
+ * La etapa semántica resuelve cada identificador en las tablas de símbolos
+ * (ResolutorIdentificadores) al recibir su token, antes que las reglas que
+ * provoca, en el mismo orden que el análisis secuencial; así el léxico no lee
+ * estado del semántico. Cada etapa tiene su propio gestor de errores con la
+ * línea del token que procesa, y el error de una etapa viaja por los anillos
+ * como un evento más, de modo que se lanza el primero en orden del programa.
+ * Los resultados son los mismos que los del análisis secuencial.
+ */
+final class AnalizadorEtapas {
+
+    private static final TipoToken[] TIPOS = TipoToken.values();
+
+    private final SesionCompilacion sesion;
+    private final AnilloEventos anilloTokens;
+    private final AnilloEventos anilloReglas;
+
+    // Duración de las etapas léxica y sintáctica, escritas por sus hilos
+    private long nanosLexico;
+    private long nanosSintactico;
+
+    // Reglas aplicadas por la etapa semántica
+    private long reglasSemanticas;
+
+    /**
+     * Constructor que crea los anillos con la capacidad y la espera indicadas
+     * en las opciones de la sesión.
+     *
+     * @param sesion La sesión de compilación que se usa para el fichero.
+     */
+    AnalizadorEtapas(SesionCompilacion sesion) {
+        OpcionesCompilacion opciones = sesion.getOpciones();
+        this.sesion = sesion;
+        this.anilloTokens = new AnilloEventos(opciones.getCapacidadAnillo(), opciones.getEstrategiaEspera());
+        this.anilloReglas = new AnilloEventos(opciones.getCapacidadAnillo(), opciones.getEstrategiaEspera());
+    }
+
+    /**
+     * Analiza el archivo fuente completo. Los tokens quedan en el buffer y las
+     * reglas en la lista, salvo que se indique una salida continua.
+     *
+     * @param fuente      La fuente de caracteres del archivo.
+     * @param tokens      Buffer en el que se añaden los tokens resueltos.
+     * @param listaReglas Lista en la que se guardan las reglas, o null.
+     * @param salida      Salida continua, o null para guardar los resultados.
+     * @return El informe de ocupación de cada etapa.
+     * @throws IOException Si ocurre un error de lectura o escritura.
+     */
+    InformeEtapas analizar(FuenteCaracteres fuente, BufferTokens tokens, List<Integer> listaReglas,
+            SalidaContinua salida) throws IOException {
+        RegistroEventos registro = sesion.getRegistroEventos();
+        Thread hiloLexico = new Thread(() -> {
+            long inicio = System.nanoTime();
+            EventoFase fase = registro.iniciarFase(RegistroEventos.FASE_LEXICO);
+            ejecutar(anilloTokens, () -> etapaLexica(fuente));
+            AnalizadorLexico analizadorLexico = sesion.getAnalizadorLexico();
+            registro.terminarFase(fase, analizadorLexico.getCaracteresProcesados(),
+                    analizadorLexico.getTokensGenerados(), 0, 0);
+            nanosLexico = System.nanoTime() - inicio;
+        }, "etapa-lexico");
+        Thread hiloSintactico = new Thread(() -> {
+            long inicio = System.nanoTime();
+            EventoFase fase = registro.iniciarFase(RegistroEventos.FASE_SINTACTICO);
+            ejecutar(anilloReglas, this::etapaSintactica);
+            registro.terminarFase(fase, 0, 0, sesion.getAnalizadorSintactico().getNumReducciones(), 0);
+            nanosSintactico = System.nanoTime() - inicio;
+        }, "etapa-sintactico");
+        hiloLexico.setDaemon(true);
+        hiloSintactico.setDaemon(true);
+
+        long nanosSemantico;
+        long inicio = System.nanoTime();
+        EventoFase fase = registro.iniciarFase(RegistroEventos.FASE_SEMANTICO);
+        try {
+            hiloLexico.start();
+            hiloSintactico.start();
+            etapaSemantica(tokens, listaReglas, salida);
+            nanosSemantico = System.nanoTime() - inicio;
+        } finally {
+            registro.terminarFase(fase, 0, 0, reglasSemanticas, 0);
+            // Si la etapa semántica termina con un error, las demás dejan de esperar
+            anilloTokens.cancelar();
+            anilloReglas.cancelar();
+            esperarHilo(hiloLexico);
+            esperarHilo(hiloSintactico);
+        }
+
+        InformeEtapas informe = new InformeEtapas();
+        informe.agregarEtapa("lexico", nanosLexico, anilloTokens.getNanosEsperaProductor(),
+                anilloTokens.getEsperasProductor(), anilloTokens.getEventosPublicados());
+        informe.agregarEtapa("sintactico", nanosSintactico,
+                anilloTokens.getNanosEsperaConsumidor() + anilloReglas.getNanosEsperaProductor(),
+                anilloTokens.getEsperasConsumidor() + anilloReglas.getEsperasProductor(),
+                anilloReglas.getEventosPublicados());
+        informe.agregarEtapa("semantico", nanosSemantico, anilloReglas.getNanosEsperaConsumidor(),
+                anilloReglas.getEsperasConsumidor(), anilloReglas.getEventosPublicados());
+        return informe;
+    }
+
+    /**
+     * Etapa que produce eventos en un hilo propio.
+     */
+    private interface Etapa {
+        void ejecutar() throws IOException;
+    }
+
+    /**
+     * Ejecuta una etapa y, si termina con un error, lo publica en su anillo de
+     * salida para que lo lance la etapa semántica.
+     *
+     * @param salida Anillo en el que publica la etapa.
+     * @param etapa  La etapa.
+     */
+    private static void ejecutar(AnilloEventos salida, Etapa etapa) {
+        try {
+            try {
+                etapa.ejecutar();
+            } catch (CancellationException e) {
+                // La etapa semántica ya ha terminado
+            } catch (Throwable e) {
+                salida.publicarError(e);
+            }
+        } catch (CancellationException e) {
+            // La etapa semántica ha terminado antes de recibir el error
+        }
+    }
+
+    /**
+     * Lee la fuente y publica los tokens, con la línea en la que se generan. Los
+     * identificadores se publican sin resolver, con el índice de su nombre y el
+     * propio nombre, para que la etapa semántica no tenga que leer PoolNombres.
+     */
+    private void etapaLexica(FuenteCaracteres fuente) throws IOException {
+        AnalizadorLexico analizadorLexico = sesion.getAnalizadorLexico();
+        GestorErrores gestorErrores = sesion.getGestorErroresLexico();
+        PoolNombres poolNombres = sesion.getPoolNombres();
+        BufferTokens tokens = new BufferTokens(poolNombres);
+
+        boolean finDeFichero = false;
+        do {
+            int caracter = fuente.leer();
+            do {
+                int token = analizadorLexico.procesarCaracter(caracter, tokens);
+                if (token != BufferTokens.SIN_TOKEN) {
+                    TipoToken tipo = tokens.getTipo(token);
+                    finDeFichero = tipo == TipoToken.FINDEFICHERO;
+                    String texto = tipo == TipoToken.ID ? poolNombres.getNombre(tokens.getAtributo(token))
+                            : tokens.tieneTexto(token) ? tokens.getTexto(token) : null;
+                    anilloTokens.publicar(tipo.ordinal(), tokens.getTerminal(token), tokens.getAtributo(token),
+                            tokens.getDesplazamiento(token), gestorErrores.getLinea(), texto);
+                    tokens.vaciar();
+                }
+            } while (!analizadorLexico.isCaracterProcesado());
+            if (caracter == '\n') {
+                gestorErrores.incrementarLinea();
+            }
+        } while (!finDeFichero);
+    }
+
+    /**
+     * Consume los tokens y publica cada uno, seguido de las reglas que provoca.
+     */
+    private void etapaSintactica() {
+        AnalizadorSintactico analizadorSintactico = sesion.getAnalizadorSintactico();
+        GestorErrores gestorErrores = sesion.getGestorErroresSintactico();
+        BufferTokens actual = new BufferTokens();
+
+        while (true) {
+            int evento = anilloTokens.siguiente();
+            if (anilloTokens.getTipo(evento) == AnilloEventos.EVENTO_ERROR) {
+                Throwable error = (Throwable) anilloTokens.getObjeto(evento);
+                anilloTokens.liberar();
+                anilloReglas.publicarError(error);
+                return;
+            }
+
+            // El token se reenvía antes de procesarlo, para que la etapa semántica
+            // lo resuelva antes de las reglas que provoca
+            actual.vaciar();
+            int token = agregarToken(anilloTokens, evento, actual);
+            anilloReglas.publicar(anilloTokens.getTipo(evento), anilloTokens.getTerminal(evento),
+                    anilloTokens.getAtributo(evento), anilloTokens.getDesplazamiento(evento),
+                    anilloTokens.getLinea(evento), anilloTokens.getObjeto(evento));
+            gestorErrores.setLinea(anilloTokens.getLinea(evento));
+            anilloTokens.liberar();
+
+            do {
+                int regla = analizadorSintactico.procesarToken(actual, token);
+                if (regla != AnalizadorSintactico.SIN_REGLA) {
+                    anilloReglas.publicarRegla(regla);
+                }
+            } while (!analizadorSintactico.isTokenProcesado());
+
+            if (actual.getTipo(token) == TipoToken.FINDEFICHERO) {
+                anilloReglas.publicarFin();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Consume los tokens y las reglas: resuelve cada token, lo guarda o lo
+     * escribe, y aplica las acciones semánticas de cada regla.
+     */
+    private void etapaSemantica(BufferTokens tokens, List<Integer> listaReglas, SalidaContinua salida)
+            throws IOException {
+        AnalizadorSemantico analizadorSemantico = sesion.getAnalizadorSemantico();
+        ResolutorIdentificadores resolutor = sesion.getResolutorIdentificadores();
+        GestorErrores gestorErrores = sesion.getGestorErrores();
+
+        while (true) {
+            int evento = anilloReglas.siguiente();
+            int tipo = anilloReglas.getTipo(evento);
+
+            if (tipo >= 0) {
+                // El token anterior ya está escrito y procesado
+                if (salida != null) {
+                    tokens.vaciar();
+                }
+                gestorErrores.setLinea(anilloReglas.getLinea(evento));
+                boolean id = tipo == TipoToken.ID.ordinal();
+                int atributo = resolutor.resolver(TIPOS[tipo], anilloReglas.getTerminal(evento),
+                        id ? anilloReglas.getAtributo(evento) : BufferTokens.SIN_ATRIBUTO,
+                        id ? (String) anilloReglas.getObjeto(evento) : null);
+                int token = tipo == TipoToken.ID.ordinal()
+                        ? tokens.agregar(TipoToken.ID, anilloReglas.getTerminal(evento), atributo,
+                                anilloReglas.getDesplazamiento(evento))
+                        : agregarToken(anilloReglas, evento, tokens);
+                anilloReglas.liberar();
+
+                if (salida != null) {
+                    salida.escribirToken(tokens, token);
+                }
+            } else if (tipo == AnilloEventos.EVENTO_REGLA) {
+                int regla = anilloReglas.getAtributo(evento);
+                anilloReglas.liberar();
+
+                if (salida != null) {
+                    salida.escribirRegla(regla);
+                } else {
+                    listaReglas.add(regla);
+                }
+                analizadorSemantico.procesarRegla(regla);
+                reglasSemanticas++;
+            } else if (tipo == AnilloEventos.EVENTO_ERROR) {
+                Throwable error = (Throwable) anilloReglas.getObjeto(evento);
+                anilloReglas.liberar();
+                lanzar(error);
+            } else {
+                anilloReglas.liberar();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Añade a un buffer el token de un evento.
+     *
+     * @param anillo  Anillo que contiene el evento.
+     * @param evento  Posición del evento en el anillo.
+     * @param destino Buffer en el que se añade el token.
+     * @return El índice del token en el buffer.
+     */
+    private static int agregarToken(AnilloEventos anillo, int evento, BufferTokens destino) {
+        TipoToken tipo = TIPOS[anillo.getTipo(evento)];
+        Object texto = anillo.getObjeto(evento);
+        if (texto == null || tipo == TipoToken.ID) {
+            return destino.agregar(tipo, anillo.getTerminal(evento), anillo.getAtributo(evento),
+                    anillo.getDesplazamiento(evento));
+        }
+        return destino.agregarTexto(tipo, anillo.getTerminal(evento), (String) texto,
+                anillo.getDesplazamiento(evento));
+    }
+
+    /**
+     * Lanza en el hilo de la etapa semántica el error de otra etapa.
+     */
+    private static void lanzar(Throwable error) throws IOException {
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        throw new IllegalStateException(error);
+    }
+
+    /**
+     * Espera a que termine el hilo de una etapa, aunque se interrumpa el actual.
+     */
+    private static void esperarHilo(Thread hilo) {
+        boolean interrumpido = false;
+        while (true) {
+            try {
+                hilo.join();
+                break;
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
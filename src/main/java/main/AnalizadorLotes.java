@@ -0,0 +1,513 @@
+package main;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.lexico.fuente.FuenteCaracteres;
+import modulos.sintactico.ParserGramatica;
+import util.GestorErrores;
+
+/**
+ * Clase AnalizadorLotes que compila varios ficheros fuente en paralelo.
+ * Recibe ficheros, directorios o patrones glob, reparte los ficheros entre un
+ * número fijo de hilos (cada uno con su propia SesionCompilacion) y escribe los
+ * resultados de cada fichero en un directorio de salida que replica la
+ * estructura de la entrada, bajo la ruta de la propia ruta indicada. Si dos
+ * ficheros distintos tendrían el mismo directorio de salida, el segundo se
+ * numera. Al terminar muestra un resumen de los errores; si el lote no se
+ * puede compilar, el proceso termina con un estado distinto de cero.
+ *
+ * Uso: Analizador [-j hilos] [-o directorioSalida] [--opcion...] ruta...
+ */
+public class AnalizadorLotes {
+
+    private final static String USO = "Uso: Analizador [-j hilos] [-o directorioSalida] [--opcion...] ruta...";
+    private final static String DIRECTORIO_SALIDA = "output";
+    private final static String OPCION_HILOS = "-j";
+    private final static String OPCION_SALIDA = "-o";
+    private final static String CARACTERES_GLOB = "*?[{";
+    private final static String SEPARADOR_INDICE = "-";
+    // Estado de salida del proceso si los argumentos o el lote fallan
+    final static int ESTADO_ERROR = 1;
+
+    /**
+     * Fichero a compilar junto con su ruta relativa, que determina su
+     * directorio de salida, y el número que distingue ese directorio del de
+     * otro fichero con la misma ruta (0 si no hace falta).
+     */
+    static final class Entrada {
+        private final Path fichero;
+        private final Path rutaRelativa;
+        private final int indice;
+
+        Entrada(Path fichero, Path rutaRelativa) {
+            this(fichero, rutaRelativa, 0);
+        }
+
+        private Entrada(Path fichero, Path rutaRelativa, int indice) {
+            this.fichero = fichero;
+            this.rutaRelativa = rutaRelativa;
+            this.indice = indice;
+        }
+
+        public Path getFichero() {
+            return fichero;
+        }
+
+        public Path getRutaRelativa() {
+            return rutaRelativa;
+        }
+
+        public int getIndice() {
+            return indice;
+        }
+
+        Entrada conIndice(int nuevoIndice) {
+            return new Entrada(fichero, rutaRelativa, nuevoIndice);
+        }
+    }
+
+    /**
+     * Resultado de la compilación de un fichero: el error, o null si fue correcta.
+     */
+    static final class Resultado {
+        private final Path fichero;
+        private final String error;
+
+        Resultado(Path fichero, String error) {
+            this.fichero = fichero;
+            this.error = error;
+        }
+
+        public Path getFichero() {
+            return fichero;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public boolean isCorrecto() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Argumentos del modo por lotes ya interpretados.
+     */
+    static final class Argumentos {
+        private final int hilos;
+        private final Path directorioSalida;
+        private final OpcionesCompilacion opciones;
+        private final List<String> rutas;
+
+        Argumentos(int hilos, Path directorioSalida, OpcionesCompilacion opciones, List<String> rutas) {
+            this.hilos = hilos;
+            this.directorioSalida = directorioSalida;
+            this.opciones = opciones;
+            this.rutas = rutas;
+        }
+
+        public int getHilos() {
+            return hilos;
+        }
+
+        public Path getDirectorioSalida() {
+            return directorioSalida;
+        }
+
+        public OpcionesCompilacion getOpciones() {
+            return opciones;
+        }
+
+        public List<String> getRutas() {
+            return rutas;
+        }
+    }
+
+    /**
+     * Constructor privado para evitar la creación de instancias.
+     */
+    private AnalizadorLotes() {
+    }
+
+    /**
+     * Determina si los argumentos recibidos requieren el modo por lotes: más de
+     * uno (varias rutas, o una ruta con -j u -o), un directorio o un patrón
+     * glob.
+     *
+     * @param args Argumentos de la línea de comandos, sin las opciones de
+     *             compilación.
+     * @return true si se debe usar el modo por lotes.
+     */
+    static boolean esModoLotes(String[] args) {
+        if (args.length > 1) {
+            return true;
+        }
+        return args.length == 1 && (esPatronGlob(args[0]) || Files.isDirectory(Paths.get(args[0])));
+    }
+
+    public static void main(String[] args) {
+        Argumentos argumentos;
+        try {
+            argumentos = procesarArgumentos(args);
+        } catch (IllegalArgumentException e) {
+            informarError(e.getMessage());
+            System.err.println(USO);
+            System.exit(ESTADO_ERROR);
+            return;
+        }
+
+        try {
+            List<Entrada> entradas = new ArrayList<>();
+            for (String ruta : argumentos.getRutas()) {
+                entradas.addAll(buscarFicheros(ruta));
+            }
+
+            long inicio = System.nanoTime();
+            List<Resultado> resultados = compilar(entradas, argumentos.getDirectorioSalida(),
+                    argumentos.getHilos(), argumentos.getOpciones());
+            long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+
+            imprimirResumen(resultados, argumentos.getHilos(), milisegundos);
+            return;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            informarError(e.getMessage());
+        } catch (IOException e) {
+            informarError("Error de entrada/salida: " + e.getMessage());
+        }
+        System.exit(ESTADO_ERROR);
+    }
+
+    /**
+     * Muestra un error de los argumentos o del lote, que no es de ningún
+     * fichero, con el formato de GestorErrores.
+     *
+     * @param mensaje El mensaje de error.
+     */
+    static void informarError(String mensaje) {
+        System.err.println(GestorErrores.crearError(GestorErrores.TipoError.GENERICO, mensaje,
+                GestorErrores.LINEA_INICIAL).getMessage());
+    }
+
+    /**
+     * Interpreta los argumentos del modo por lotes: las opciones de
+     * compilación, -j con el número de hilos, -o con el directorio de salida y
+     * las rutas.
+     *
+     * @param args Argumentos de la línea de comandos.
+     * @return Los argumentos interpretados.
+     * @throws IllegalArgumentException Si a -j u -o les falta el valor, el
+     *                                  número de hilos no es un entero positivo
+     *                                  o no hay ninguna ruta.
+     */
+    static Argumentos procesarArgumentos(String[] args) {
+        int hilos = Runtime.getRuntime().availableProcessors();
+        Path directorioSalida = Paths.get(DIRECTORIO_SALIDA);
+        OpcionesCompilacion opciones = new OpcionesCompilacion();
+        List<String> rutas = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].startsWith(OpcionesCompilacion.PREFIJO_OPCION) && opciones.procesarOpcion(args[i])) {
+                // Opción de compilación ya aplicada
+            } else if (OPCION_HILOS.equals(args[i])) {
+                hilos = leerHilos(obtenerValor(args, ++i, OPCION_HILOS));
+            } else if (OPCION_SALIDA.equals(args[i])) {
+                directorioSalida = Paths.get(obtenerValor(args, ++i, OPCION_SALIDA));
+            } else {
+                rutas.add(args[i]);
+            }
+        }
+        if (rutas.isEmpty()) {
+            throw new IllegalArgumentException("No se ha indicado ningun fichero");
+        }
+        return new Argumentos(hilos, directorioSalida, opciones, rutas);
+    }
+
+    /**
+     * Obtiene el valor de una opción, que es el argumento siguiente.
+     *
+     * @param args   Argumentos de la línea de comandos.
+     * @param indice Posición del valor.
+     * @param opcion La opción, para el mensaje de error.
+     * @return El valor.
+     * @throws IllegalArgumentException Si no hay más argumentos.
+     */
+    private static String obtenerValor(String[] args, int indice, String opcion) {
+        if (indice >= args.length) {
+            throw new IllegalArgumentException("Falta el valor de la opcion " + opcion);
+        }
+        return args[indice];
+    }
+
+    /**
+     * Lee el número de hilos de la opción -j.
+     *
+     * @param valor El valor indicado.
+     * @return El número de hilos.
+     * @throws IllegalArgumentException Si no es un entero positivo.
+     */
+    private static int leerHilos(String valor) {
+        int hilos;
+        try {
+            hilos = Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            hilos = 0;
+        }
+        if (hilos < 1) {
+            throw new IllegalArgumentException("Numero de hilos no valido para " + OPCION_HILOS + ": " + valor);
+        }
+        return hilos;
+    }
+
+    /**
+     * Obtiene los ficheros que corresponden a una ruta, que puede ser un fichero,
+     * un directorio (se recorre recursivamente) o un patrón glob. La ruta
+     * relativa de cada fichero empieza por la parte fija de la ruta indicada
+     * (el fichero, el directorio o el directorio base del patrón) tal como se
+     * ha escrito, sin subir de directorio, o solo por su nombre si es absoluta
+     * o sube; así los ficheros de rutas distintas no se mezclan.
+     *
+     * @param ruta Ruta o patrón indicado por el usuario.
+     * @return Lista ordenada de ficheros con su ruta relativa.
+     * @throws IOException Si ocurre un error al recorrer los directorios.
+     */
+    static List<Entrada> buscarFicheros(String ruta) throws IOException {
+        if (!esPatronGlob(ruta)) {
+            Path path = Paths.get(ruta);
+            if (Files.isDirectory(path)) {
+                return recorrerDirectorio(path, null);
+            }
+            return List.of(new Entrada(path, obtenerPrefijo(path)));
+        }
+
+        // Separar la parte fija de la ruta (directorio base) del patrón
+        Path base = Paths.get("");
+        Path patron = Paths.get(ruta);
+        int i = 0;
+        while (i < patron.getNameCount() - 1 && !esPatronGlob(patron.getName(i).toString())) {
+            i++;
+        }
+        if (i > 0) {
+            base = patron.subpath(0, i);
+        }
+        if (patron.isAbsolute()) {
+            base = patron.getRoot().resolve(base);
+        }
+        String resto = patron.subpath(i, patron.getNameCount()).toString();
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + resto);
+        return recorrerDirectorio(base, matcher);
+    }
+
+    /**
+     * Calcula la ruta bajo la que se replican los ficheros de una ruta
+     * indicada por el usuario.
+     *
+     * @param ruta El fichero o directorio indicado.
+     * @return Su ruta normalizada si es relativa y no sale del directorio
+     *         actual; si no, su nombre (vacío si es la raíz).
+     */
+    private static Path obtenerPrefijo(Path ruta) {
+        Path normalizada = ruta.normalize();
+        if (normalizada.isAbsolute() || normalizada.startsWith("..")) {
+            Path nombre = normalizada.getFileName();
+            return nombre == null ? Paths.get("") : nombre;
+        }
+        return normalizada;
+    }
+
+    /**
+     * Recorre un directorio y devuelve sus ficheros regulares, opcionalmente
+     * filtrados por un patrón aplicado a la ruta relativa.
+     *
+     * @param base    Directorio a recorrer.
+     * @param matcher Patrón que deben cumplir los ficheros, o null para todos.
+     * @return Lista ordenada de ficheros con su ruta relativa a la base,
+     *         precedida del prefijo de la base.
+     * @throws IOException Si ocurre un error al recorrer el directorio.
+     */
+    private static List<Entrada> recorrerDirectorio(Path base, PathMatcher matcher) throws IOException {
+        Path prefijo = obtenerPrefijo(base);
+        try (Stream<Path> ficheros = Files.walk(base)) {
+            return ficheros
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .map(base::relativize)
+                    .filter(relativa -> matcher == null || matcher.matches(relativa))
+                    .map(relativa -> new Entrada(base.resolve(relativa), prefijo.resolve(relativa)))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Compila todos los ficheros en un conjunto fijo de hilos. Un fichero que
+     * aparece varias veces (por ejemplo, en un directorio y en un patrón) se
+     * compila una sola vez.
+     *
+     * @param entradas         Ficheros a compilar.
+     * @param directorioSalida Directorio raíz de la salida.
+     * @param hilos            Número de hilos de trabajo.
+     * @param opciones         Opciones con las que se crea cada sesión.
+     * @return Resultados en el orden de las entradas, sin repetidos.
+     */
+    static List<Resultado> compilar(List<Entrada> entradas, Path directorioSalida, int hilos,
+            OpcionesCompilacion opciones) {
+        List<Entrada> unicas = asignarSalidas(entradas, directorioSalida);
+
+        // Cargar la gramática compartida antes de lanzar los hilos
+        ParserGramatica.getInstance();
+
+        ExecutorService ejecutor = Executors.newFixedThreadPool(Math.max(1, hilos));
+        try {
+            List<Future<Resultado>> pendientes = new ArrayList<>();
+            for (Entrada entrada : unicas) {
+                pendientes.add(ejecutor.submit(() -> compilarFichero(entrada, directorioSalida, opciones)));
+            }
+
+            List<Resultado> resultados = new ArrayList<>();
+            for (Future<Resultado> pendiente : pendientes) {
+                resultados.add(pendiente.get());
+            }
+            return resultados;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            ejecutor.shutdown();
+        }
+    }
+
+    /**
+     * Quita las entradas repetidas y da a cada fichero su propio directorio de
+     * salida, ya que los ficheros se escriben a la vez: si el directorio ya es
+     * de otro fichero, se numera con el primer índice libre a partir de 2.
+     *
+     * @param entradas         Ficheros a compilar.
+     * @param directorioSalida Directorio raíz de la salida.
+     * @return Las entradas sin los ficheros repetidos, en el mismo orden y con
+     *         su índice.
+     */
+    static List<Entrada> asignarSalidas(List<Entrada> entradas, Path directorioSalida) {
+        Set<Path> ficheros = new HashSet<>();
+        Set<Path> salidas = new HashSet<>();
+        List<Entrada> unicas = new ArrayList<>();
+        for (Entrada entrada : entradas) {
+            Path fichero = entrada.getFichero().toAbsolutePath().normalize();
+            if (!ficheros.add(fichero)) {
+                continue;
+            }
+            Entrada numerada = entrada;
+            for (int indice = 2; !salidas.add(obtenerDirectorioFichero(directorioSalida, numerada)
+                    .toAbsolutePath().normalize()); indice++) {
+                numerada = entrada.conIndice(indice);
+            }
+            unicas.add(numerada);
+        }
+        return unicas;
+    }
+
+    /**
+     * Compila un fichero con una sesión nueva y escribe su salida.
+     *
+     * @param entrada          Fichero a compilar.
+     * @param directorioSalida Directorio raíz de la salida.
+     * @param opciones         Opciones con las que se crea la sesión.
+     * @return El resultado de la compilación.
+     */
+    private static Resultado compilarFichero(Entrada entrada, Path directorioSalida, OpcionesCompilacion opciones) {
+        SesionCompilacion sesion = new SesionCompilacion(opciones);
+        sesion.getRegistroEventos().setFichero(entrada.getFichero().toString());
+        GestorErrores gestorErrores = sesion.getGestorErrores();
+
+        try (FuenteCaracteres fuente = FuenteCaracteres.abrir(entrada.getFichero())) {
+            Analizador.procesarFichero(fuente, sesion, obtenerDirectorioFichero(directorioSalida, entrada));
+            return new Resultado(entrada.getFichero(), null);
+        } catch (IllegalStateException e) {
+            return new Resultado(entrada.getFichero(), e.getLocalizedMessage());
+        } catch (IOException e) {
+            return new Resultado(entrada.getFichero(), gestorErrores.crearError(GestorErrores.TipoError.GENERICO,
+                    "Error de entrada/salida: " + e.getMessage()).getMessage());
+        } catch (Exception e) {
+            return new Resultado(entrada.getFichero(),
+                    gestorErrores.crearError(GestorErrores.TipoError.GENERICO, e.getMessage()).getMessage());
+        }
+    }
+
+    /**
+     * Calcula el directorio de salida de un fichero, replicando su ruta relativa
+     * y sustituyendo la extensión del fichero por un directorio, seguido de su
+     * índice si lo tiene.
+     *
+     * @param directorioSalida Directorio raíz de la salida.
+     * @param entrada          Fichero compilado.
+     * @return El directorio donde se escriben sus resultados.
+     */
+    static Path obtenerDirectorioFichero(Path directorioSalida, Entrada entrada) {
+        Path relativa = entrada.getRutaRelativa();
+        String nombre = relativa.getFileName().toString();
+        int punto = nombre.lastIndexOf('.');
+        if (punto > 0) {
+            nombre = nombre.substring(0, punto);
+        }
+        if (entrada.getIndice() > 0) {
+            nombre += SEPARADOR_INDICE + entrada.getIndice();
+        }
+        Path padre = relativa.getParent();
+        return padre == null ? directorioSalida.resolve(nombre) : directorioSalida.resolve(padre).resolve(nombre);
+    }
+
+    /**
+     * Muestra el resumen de la compilación por lotes y los errores encontrados.
+     *
+     * @param resultados   Resultados de todos los ficheros.
+     * @param hilos        Número de hilos utilizados.
+     * @param milisegundos Tiempo total empleado.
+     */
+    private static void imprimirResumen(List<Resultado> resultados, int hilos, long milisegundos) {
+        long correctos = resultados.stream().filter(Resultado::isCorrecto).count();
+        long conErrores = resultados.size() - correctos;
+
+        System.out.println("Analisis por lotes completo. Ficheros: " + resultados.size()
+                + ", correctos: " + correctos + ", con errores: " + conErrores
+                + " (" + hilos + " hilos, " + milisegundos + " ms).");
+
+        for (Resultado resultado : resultados) {
+            if (!resultado.isCorrecto()) {
+                System.err.println(resultado.getFichero() + ": " + resultado.getError());
+            }
+        }
+    }
+
+    /**
+     * Indica si una ruta contiene caracteres de patrón glob.
+     *
+     * @param ruta La ruta a comprobar.
+     * @return true si la ruta es un patrón glob.
+     */
+    private static boolean esPatronGlob(String ruta) {
+        for (char caracter : CARACTERES_GLOB.toCharArray()) {
+            if (ruta.indexOf(caracter) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
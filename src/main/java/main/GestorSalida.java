@@ -8,7 +8,7 @@
 import java.nio.file.Paths;
 import java.util.List;
 
-import modulos.token.Token;
+import modulos.token.BufferTokens;
 
 /**
  * Clase GestorSalida que se encarga de gestionar la salida de tokens, reglas
@@ -16,14 +16,16 @@
  */
 public class GestorSalida {
 
-    // Directorio de salida
+    // Directorio de salida por defecto
     private final static String DIRECTORIO_SALIDA = "output";
     // Archivo de salida para las reglas aplicadas
-    private final static String ARCHIVO_REGLAS = Paths.get(DIRECTORIO_SALIDA, "reglasAplicadas.txt").toString();
+    final static String ARCHIVO_REGLAS = "reglasAplicadas.txt";
     // Archivo de salida para la tabla de símbolos
-    private final static String ARCHIVO_TS = Paths.get(DIRECTORIO_SALIDA, "archivoTablaSimbolos.txt").toString();
+    final static String ARCHIVO_TS = "archivoTablaSimbolos.txt";
     // Archivo de salida para los tokens
-    private final static String ARCHIVO_TOKENS = Paths.get(DIRECTORIO_SALIDA, "archivoTokens.txt").toString();
+    final static String ARCHIVO_TOKENS = "archivoTokens.txt";
+    // Primera línea del archivo de reglas (tipo de análisis para VASt)
+    final static String CABECERA_REGLAS = "A\n";
 
     /**
      * Constructor privado para evitar la creación de instancias.
@@ -33,34 +35,64 @@ private GestorSalida() {
 
     /**
      * Escribe los tokens, reglas aplicadas y el contenido de la tabla de símbolos
-     * en los archivos correspondientes.
+     * en los archivos correspondientes del directorio de salida por defecto.
      *
-     * @param listaTokens            Lista de tokens a escribir.
+     * @param tokens                 Buffer con los tokens a escribir.
      * @param listaReglas            Lista de reglas aplicadas a escribir.
      * @param contenidoTablaSimbolos Contenido de la tabla de símbolos a escribir.
      * @throws IOException Si ocurre un error al escribir los archivos.
      */
-    public static void escribirSalida(List<Token> listaTokens, List<Integer> listaReglas, String contenidoTablaSimbolos)
+    public static void escribirSalida(BufferTokens tokens, List<Integer> listaReglas, String contenidoTablaSimbolos)
             throws IOException {
-        crearDirectorioSalida();
-        escribirTokens(listaTokens);
-        escribirReglasAplicadas(listaReglas);
-        escribirTablaSimbolos(contenidoTablaSimbolos);
+        escribirSalida(Paths.get(DIRECTORIO_SALIDA), tokens, listaReglas, contenidoTablaSimbolos);
+    }
+
+    /**
+     * Escribe los tokens, reglas aplicadas y el contenido de la tabla de símbolos
+     * en los archivos correspondientes del directorio indicado.
+     *
+     * @param directorio             Directorio en el que se escriben los archivos.
+     * @param tokens                 Buffer con los tokens a escribir.
+     * @param listaReglas            Lista de reglas aplicadas a escribir.
+     * @param contenidoTablaSimbolos Contenido de la tabla de símbolos a escribir.
+     * @throws IOException Si ocurre un error al escribir los archivos.
+     */
+    public static void escribirSalida(Path directorio, BufferTokens tokens, List<Integer> listaReglas,
+            String contenidoTablaSimbolos) throws IOException {
+        crearDirectorioSalida(directorio);
+        escribirTokens(directorio.resolve(ARCHIVO_TOKENS), tokens);
+        escribirReglasAplicadas(directorio.resolve(ARCHIVO_REGLAS), listaReglas);
+        escribirTablaSimbolos(directorio.resolve(ARCHIVO_TS), contenidoTablaSimbolos);
+    }
+
+    /**
+     * Obtiene el tamaño total de los archivos de salida de un directorio. Los
+     * archivos que no existen cuentan como vacíos.
+     *
+     * @param directorio Directorio de salida.
+     * @return El número de bytes de los archivos.
+     */
+    static long contarBytes(Path directorio) {
+        long bytes = 0;
+        for (String archivo : List.of(ARCHIVO_REGLAS, ARCHIVO_TOKENS, ARCHIVO_TS)) {
+            bytes += directorio.resolve(archivo).toFile().length();
+        }
+        return bytes;
     }
 
     /**
      * Crea el directorio de salida y los archivos necesarios.
      *
+     * @param directorio Directorio de salida.
      * @throws IOException Si ocurre un error al crear el directorio o los archivos.
      */
-    private static void crearDirectorioSalida() throws IOException {
-        Path pathDirectorio = Paths.get(DIRECTORIO_SALIDA);
-        if (Files.notExists(pathDirectorio)) {
-            Files.createDirectory(pathDirectorio);
+    static void crearDirectorioSalida(Path directorio) throws IOException {
+        if (Files.notExists(directorio)) {
+            Files.createDirectories(directorio);
         }
 
         for (String archivo : List.of(ARCHIVO_REGLAS, ARCHIVO_TOKENS, ARCHIVO_TS)) {
-            Path pathArchivo = Paths.get(archivo);
+            Path pathArchivo = directorio.resolve(archivo);
             if (Files.exists(pathArchivo)) {
                 Files.delete(pathArchivo);
             }
@@ -69,15 +101,16 @@ private static void crearDirectorioSalida() throws IOException {
     }
 
     /**
-     * Escribe la lista de tokens en el archivo correspondiente.
+     * Escribe los tokens del buffer en el archivo correspondiente.
      *
-     * @param listaTokens Lista de tokens a escribir.
+     * @param archivo Archivo de salida.
+     * @param tokens  Buffer con los tokens a escribir.
      * @throws IOException Si ocurre un error al escribir el archivo.
      */
-    private static void escribirTokens(List<Token> listaTokens) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(ARCHIVO_TOKENS))) {
-            for (Token item : listaTokens) {
-                writer.write(item.toString());
+    private static void escribirTokens(Path archivo, BufferTokens tokens) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(archivo.toFile()))) {
+            for (int i = 0; i < tokens.size(); i++) {
+                tokens.escribirToken(i, writer);
                 writer.newLine();
             }
         }
@@ -86,12 +119,13 @@ private static void escribirTokens(List<Token> listaTokens) throws IOException {
     /**
      * Escribe la lista de reglas aplicadas en el archivo correspondiente.
      *
+     * @param archivo     Archivo de salida.
      * @param listaReglas Lista de reglas aplicadas a escribir.
      * @throws IOException Si ocurre un error al escribir el archivo.
      */
-    private static void escribirReglasAplicadas(List<Integer> listaReglas) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(ARCHIVO_REGLAS))) {
-            writer.write("A\n");
+    private static void escribirReglasAplicadas(Path archivo, List<Integer> listaReglas) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(archivo.toFile()))) {
+            writer.write(CABECERA_REGLAS);
             for (Integer item : listaReglas) {
                 writer.write(item.toString());
                 writer.newLine();
@@ -102,11 +136,12 @@ private static void escribirReglasAplicadas(List<Integer> listaReglas) throws IO
     /**
      * Escribe el contenido de la tabla de símbolos en el archivo correspondiente.
      *
+     * @param archivo   Archivo de salida.
      * @param contenido Contenido de la tabla de símbolos a escribir.
      * @throws IOException Si ocurre un error al escribir el archivo.
      */
-    private static void escribirTablaSimbolos(String contenido) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(ARCHIVO_TS))) {
+    private static void escribirTablaSimbolos(Path archivo, String contenido) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(archivo.toFile()))) {
             writer.write(contenido);
         }
     }
@@ -0,0 +1,114 @@
+package main;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+
+import modulos.tablaSimbolos.GestorTablas;
+import modulos.token.BufferTokens;
+
+/**
+ * Clase SalidaContinua que escribe los tokens, las reglas aplicadas y las
+ * tablas de símbolos en sus ficheros a medida que se generan, a través de
+ * escritores con buffer. Así la memoria usada no depende del tamaño de la
+ * entrada y los ficheros tienen contenido desde el principio del análisis.
+ * Los ficheros tienen el mismo contenido que los que escribe GestorSalida al
+ * final; si el análisis termina con un error, contienen lo generado hasta él.
+ */
+public class SalidaContinua implements Closeable {
+
+    // Tamaño del buffer de cada escritor
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    private final BufferedWriter escritorTokens;
+    private final BufferedWriter escritorReglas;
+    private final BufferedWriter escritorTablas;
+    private final GestorTablas gestorTablas;
+
+    /**
+     * Crea los ficheros de salida del directorio indicado y redirige a ellos la
+     * impresión de las tablas de símbolos.
+     *
+     * @param directorio   Directorio en el que se escriben los archivos.
+     * @param gestorTablas Gestor de tablas de la sesión.
+     * @throws IOException Si ocurre un error al crear los archivos.
+     */
+    public SalidaContinua(Path directorio, GestorTablas gestorTablas) throws IOException {
+        GestorSalida.crearDirectorioSalida(directorio);
+        this.escritorTokens = abrir(directorio.resolve(GestorSalida.ARCHIVO_TOKENS));
+        this.escritorReglas = abrir(directorio.resolve(GestorSalida.ARCHIVO_REGLAS));
+        this.escritorTablas = abrir(directorio.resolve(GestorSalida.ARCHIVO_TS));
+        this.gestorTablas = gestorTablas;
+
+        escritorReglas.write(GestorSalida.CABECERA_REGLAS);
+        gestorTablas.setSalidaTablas(escritorTablas);
+    }
+
+    private static BufferedWriter abrir(Path archivo) throws IOException {
+        return new BufferedWriter(new FileWriter(archivo.toFile()), TAMANO_BUFFER);
+    }
+
+    /**
+     * Escribe un token en el archivo de tokens.
+     *
+     * @param tokens Buffer que contiene el token.
+     * @param token  Índice del token.
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    public void escribirToken(BufferTokens tokens, int token) throws IOException {
+        tokens.escribirToken(token, escritorTokens);
+        escritorTokens.newLine();
+    }
+
+    /**
+     * Escribe una regla en el archivo de reglas aplicadas.
+     *
+     * @param regla El número de la regla.
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    public void escribirRegla(int regla) throws IOException {
+        escritorReglas.write(Integer.toString(regla));
+        escritorReglas.newLine();
+    }
+
+    /**
+     * Vacía los buffers y cierra los archivos. Las tablas que se destruyan a
+     * partir de ahora vuelven a guardarse en memoria.
+     *
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    @Override
+    public void close() throws IOException {
+        gestorTablas.setSalidaTablas(null);
+
+        // Se cierran los tres escritores aunque falle alguno
+        IOException error = cerrar(escritorTokens, null);
+        error = cerrar(escritorReglas, error);
+        error = cerrar(escritorTablas, error);
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Cierra un escritor sin perder el error de uno cerrado antes.
+     *
+     * @param escritor El escritor a cerrar.
+     * @param anterior El primer error al cerrar los anteriores, o null.
+     * @return El primer error, con los siguientes suprimidos en él, o null.
+     */
+    private static IOException cerrar(Writer escritor, IOException anterior) {
+        try {
+            escritor.close();
+        } catch (IOException e) {
+            if (anterior == null) {
+                return e;
+            }
+            anterior.addSuppressed(e);
+        }
+        return anterior;
+    }
+}
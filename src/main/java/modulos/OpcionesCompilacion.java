@@ -0,0 +1,338 @@
+package modulos;
+
+import modulos.etapas.AnilloEventos;
+import modulos.etapas.EstrategiaEspera;
+import modulos.lexico.AnalizadorLexicoParalelo;
+
+/**
+ * Clase OpcionesCompilacion que agrupa las opciones con las que se crea una
+ * sesión de compilación. Los valores por defecto reproducen el comportamiento
+ * original del analizador.
+ */
+public class OpcionesCompilacion {
+
+    // Prefijo de las opciones de la línea de comandos
+    public static final String PREFIJO_OPCION = "--";
+
+    // Usar el autómata léxico dirigido por tabla en lugar de GestorEstados
+    public static final String OPCION_LEXICO_TABLA = "--lexico-tabla";
+
+    // Escribir los ficheros de salida a medida que se generan los resultados
+    public static final String OPCION_SALIDA_CONTINUA = "--salida-continua";
+
+    // Analizar léxicamente toda la fuente antes de resolver los identificadores
+    public static final String OPCION_LEXICO_PURO = "--lexico-puro";
+
+    // Analizar léxicamente la fuente por trozos en paralelo antes de resolver los identificadores
+    public static final String OPCION_LEXICO_PARALELO = "--lexico-paralelo";
+
+    // Tamaño mínimo en caracteres de cada trozo (--lexico-paralelo-trozo=N)
+    public static final String OPCION_TAMANO_TROZO = "--lexico-paralelo-trozo=";
+
+    // Analizar el cuerpo de cada función en paralelo, tras el análisis sintáctico
+    public static final String OPCION_SEMANTICO_PARALELO = "--semantico-paralelo";
+
+    // Ejecutar los analizadores léxico, sintáctico y semántico en hilos distintos
+    public static final String OPCION_ETAPAS = "--etapas";
+
+    // Capacidad de los anillos entre etapas (--etapas-capacidad=N)
+    public static final String OPCION_CAPACIDAD_ANILLO = "--etapas-capacidad=";
+
+    // Espera de una etapa con el anillo lleno o vacío (--etapas-espera=activa|ceder|dormir)
+    public static final String OPCION_ESPERA = "--etapas-espera=";
+
+    private boolean lexicoTabla;
+    private boolean salidaContinua;
+    private boolean lexicoPuro;
+    private boolean lexicoParalelo;
+    private int tamanoTrozo;
+    private boolean semanticoParalelo;
+    private boolean etapas;
+    private boolean arbol;
+    private int capacidadAnillo;
+    private EstrategiaEspera estrategiaEspera;
+
+    /**
+     * Constructor con las opciones por defecto.
+     */
+    public OpcionesCompilacion() {
+        this.lexicoTabla = false;
+        this.salidaContinua = false;
+        this.lexicoPuro = false;
+        this.lexicoParalelo = false;
+        this.tamanoTrozo = AnalizadorLexicoParalelo.TAMANO_TROZO_POR_DEFECTO;
+        this.semanticoParalelo = false;
+        this.etapas = false;
+        this.arbol = false;
+        this.capacidadAnillo = AnilloEventos.CAPACIDAD_POR_DEFECTO;
+        this.estrategiaEspera = EstrategiaEspera.DORMIR;
+    }
+
+    /**
+     * Procesa una opción de la línea de comandos.
+     *
+     * @param opcion La opción a procesar.
+     * @return true si la opción se ha reconocido, false en caso contrario.
+     * @throws IllegalArgumentException Si el valor de la opción no es válido.
+     */
+    public boolean procesarOpcion(String opcion) {
+        if (opcion.startsWith(OPCION_CAPACIDAD_ANILLO)) {
+            String valor = opcion.substring(OPCION_CAPACIDAD_ANILLO.length());
+            try {
+                setCapacidadAnillo(Integer.parseInt(valor));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Capacidad de anillo no valida: " + valor);
+            }
+            return true;
+        }
+        if (opcion.startsWith(OPCION_TAMANO_TROZO)) {
+            String valor = opcion.substring(OPCION_TAMANO_TROZO.length());
+            try {
+                setTamanoTrozo(Integer.parseInt(valor));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Tamaño de trozo no valido: " + valor);
+            }
+            return true;
+        }
+        if (opcion.startsWith(OPCION_ESPERA)) {
+            setEstrategiaEspera(EstrategiaEspera.desdeNombre(opcion.substring(OPCION_ESPERA.length())));
+            return true;
+        }
+
+        switch (opcion) {
+            case OPCION_LEXICO_TABLA:
+                lexicoTabla = true;
+                return true;
+            case OPCION_SALIDA_CONTINUA:
+                salidaContinua = true;
+                return true;
+            case OPCION_LEXICO_PURO:
+                lexicoPuro = true;
+                return true;
+            case OPCION_LEXICO_PARALELO:
+                lexicoParalelo = true;
+                return true;
+            case OPCION_SEMANTICO_PARALELO:
+                semanticoParalelo = true;
+                return true;
+            case OPCION_ETAPAS:
+                etapas = true;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Indica si se usa el autómata léxico dirigido por tabla.
+     *
+     * @return true si se usa GestorEstadosTabla.
+     */
+    public boolean isLexicoTabla() {
+        return lexicoTabla;
+    }
+
+    /**
+     * Establece si se usa el autómata léxico dirigido por tabla.
+     *
+     * @param lexicoTabla true para usar GestorEstadosTabla.
+     */
+    public void setLexicoTabla(boolean lexicoTabla) {
+        this.lexicoTabla = lexicoTabla;
+    }
+
+    /**
+     * Indica si los tokens, reglas y tablas se escriben en sus ficheros a medida
+     * que se generan, en lugar de guardarlos en memoria hasta el final.
+     *
+     * @return true si se usa la salida continua.
+     */
+    public boolean isSalidaContinua() {
+        return salidaContinua;
+    }
+
+    /**
+     * Establece si se usa la salida continua.
+     *
+     * @param salidaContinua true para escribir los resultados a medida que se
+     *                       generan.
+     */
+    public void setSalidaContinua(boolean salidaContinua) {
+        this.salidaContinua = salidaContinua;
+    }
+
+    /**
+     * Indica si se analiza léxicamente toda la fuente antes de resolver los
+     * identificadores y aplicar los análisis sintáctico y semántico.
+     *
+     * @return true si se usa el análisis léxico puro.
+     */
+    public boolean isLexicoPuro() {
+        return lexicoPuro;
+    }
+
+    /**
+     * Establece si se usa el análisis léxico puro.
+     *
+     * @param lexicoPuro true para analizar léxicamente toda la fuente primero.
+     */
+    public void setLexicoPuro(boolean lexicoPuro) {
+        this.lexicoPuro = lexicoPuro;
+    }
+
+    /**
+     * Indica si se analiza léxicamente toda la fuente por trozos en paralelo
+     * antes de resolver los identificadores.
+     *
+     * @return true si se usa el análisis léxico paralelo.
+     */
+    public boolean isLexicoParalelo() {
+        return lexicoParalelo;
+    }
+
+    /**
+     * Establece si se usa el análisis léxico paralelo.
+     *
+     * @param lexicoParalelo true para analizar léxicamente la fuente por trozos
+     *                       en paralelo.
+     */
+    public void setLexicoParalelo(boolean lexicoParalelo) {
+        this.lexicoParalelo = lexicoParalelo;
+    }
+
+    /**
+     * Obtiene el tamaño mínimo, en caracteres, de los trozos del análisis léxico
+     * paralelo. Cada trozo termina en el primer salto de línea desde ese tamaño.
+     *
+     * @return El tamaño de los trozos.
+     */
+    public int getTamanoTrozo() {
+        return tamanoTrozo;
+    }
+
+    /**
+     * Establece el tamaño mínimo de los trozos del análisis léxico paralelo.
+     *
+     * @param tamanoTrozo Número mínimo de caracteres de cada trozo.
+     * @throws IllegalArgumentException Si el tamaño no es positivo o es mayor
+     *                                  que AnalizadorLexicoParalelo.TAMANO_TROZO_MAXIMO.
+     */
+    public void setTamanoTrozo(int tamanoTrozo) {
+        if (tamanoTrozo <= 0 || tamanoTrozo > AnalizadorLexicoParalelo.TAMANO_TROZO_MAXIMO) {
+            throw new IllegalArgumentException("Tamaño de trozo no valido: " + tamanoTrozo);
+        }
+        this.tamanoTrozo = tamanoTrozo;
+    }
+
+    /**
+     * Indica si, tras el análisis sintáctico de todo el fichero, el cuerpo de
+     * cada función se analiza semánticamente en paralelo (AnalizadorFunciones).
+     * No se aplica con salida continua ni en etapas.
+     *
+     * @return true si se usa el análisis semántico paralelo.
+     */
+    public boolean isSemanticoParalelo() {
+        return semanticoParalelo;
+    }
+
+    /**
+     * Establece si se usa el análisis semántico paralelo de las funciones.
+     *
+     * @param semanticoParalelo true para analizar los cuerpos de las funciones
+     *                          en paralelo.
+     */
+    public void setSemanticoParalelo(boolean semanticoParalelo) {
+        this.semanticoParalelo = semanticoParalelo;
+    }
+
+    /**
+     * Indica si los analizadores léxico, sintáctico y semántico se ejecutan en
+     * hilos distintos, comunicados por anillos de eventos.
+     *
+     * @return true si se usa la ejecución en etapas.
+     */
+    public boolean isEtapas() {
+        return etapas;
+    }
+
+    /**
+     * Establece si se usa la ejecución en etapas.
+     *
+     * @param etapas true para ejecutar cada analizador en su propio hilo.
+     */
+    public void setEtapas(boolean etapas) {
+        this.etapas = etapas;
+    }
+
+    /**
+     * Indica si el analizador sintáctico construye el árbol sintáctico del
+     * fichero. El análisis semántico paralelo lo necesita, así que lo activa
+     * salvo con salida continua, en la que no se usa.
+     *
+     * @return true si se construye el árbol.
+     */
+    public boolean isArbol() {
+        return arbol || (semanticoParalelo && !salidaContinua);
+    }
+
+    /**
+     * Establece si el analizador sintáctico construye el árbol sintáctico del
+     * fichero (AnalizadorSintactico.getArbol).
+     *
+     * @param arbol true para construir el árbol.
+     */
+    public void setArbol(boolean arbol) {
+        this.arbol = arbol;
+    }
+
+    /**
+     * Indica si GeneradorToken deja los identificadores sin resolver en las
+     * tablas de símbolos, para que los resuelva quien consume los tokens.
+     *
+     * @return true si la resolución de identificadores es diferida.
+     */
+    public boolean isResolucionDiferida() {
+        return lexicoPuro || lexicoParalelo || semanticoParalelo || etapas;
+    }
+
+    /**
+     * Obtiene la capacidad, en eventos, de cada anillo entre etapas.
+     *
+     * @return La capacidad de los anillos.
+     */
+    public int getCapacidadAnillo() {
+        return capacidadAnillo;
+    }
+
+    /**
+     * Establece la capacidad de los anillos entre etapas. Se redondea a la
+     * siguiente potencia de dos.
+     *
+     * @param capacidadAnillo Número de eventos que caben en cada anillo.
+     * @throws IllegalArgumentException Si la capacidad no es positiva.
+     */
+    public void setCapacidadAnillo(int capacidadAnillo) {
+        if (capacidadAnillo <= 0 || capacidadAnillo > AnilloEventos.CAPACIDAD_MAXIMA) {
+            throw new IllegalArgumentException("Capacidad de anillo no valida: " + capacidadAnillo);
+        }
+        this.capacidadAnillo = capacidadAnillo;
+    }
+
+    /**
+     * Obtiene cómo espera una etapa que encuentra su anillo lleno o vacío.
+     *
+     * @return La estrategia de espera.
+     */
+    public EstrategiaEspera getEstrategiaEspera() {
+        return estrategiaEspera;
+    }
+
+    /**
+     * Establece cómo espera una etapa que encuentra su anillo lleno o vacío.
+     *
+     * @param estrategiaEspera La estrategia de espera.
+     */
+    public void setEstrategiaEspera(EstrategiaEspera estrategiaEspera) {
+        this.estrategiaEspera = estrategiaEspera;
+    }
+}
@@ -0,0 +1,239 @@
+package modulos;
+
+import modulos.eventos.RegistroEventos;
+import modulos.lexico.AnalizadorLexico;
+import modulos.lexico.AutomataLexico;
+import modulos.lexico.GeneradorToken;
+import modulos.lexico.GestorEstados;
+import modulos.lexico.GestorEstadosTabla;
+import modulos.lexico.PoolNombres;
+import modulos.semantico.AnalizadorSemantico;
+import modulos.semantico.GestorParametros;
+import modulos.sintactico.AnalizadorSintactico;
+import modulos.sintactico.GestorPilas;
+import modulos.sintactico.ParserGramatica;
+import modulos.tablaSimbolos.GestorSimbolos;
+import modulos.tablaSimbolos.GestorTablas;
+import modulos.tablaSimbolos.GestorZonasEspeciales;
+import modulos.tablaSimbolos.PoolFirmas;
+import modulos.tablaSimbolos.ResolutorIdentificadores;
+import util.GestorErrores;
+
+/**
+ * Clase SesionCompilacion que agrupa todo el estado necesario para analizar un
+ * único fichero fuente: analizadores, gestores de tablas, pilas y errores.
+ * Cada compilación crea su propia sesión, de forma que varias compilaciones
+ * pueden ejecutarse a la vez en hilos distintos sin compartir estado mutable.
+ * Las tablas de la gramática (ParserGramatica) son inmutables y se comparten
+ * entre todas las sesiones.
+ * Con la ejecución en etapas, el analizador léxico y el sintáctico de la sesión
+ * se ejecutan en sus propios hilos y cada uno tiene su propio gestor de
+ * errores, con la línea del token que procesa.
+ */
+public class SesionCompilacion {
+
+    // Opciones con las que se ha creado la sesión
+    private final OpcionesCompilacion opciones;
+
+    // Gestor de errores y contador de líneas de la sesión
+    private final GestorErrores gestorErrores;
+
+    // Gestores de errores de los analizadores léxico y sintáctico (el de la
+    // sesión salvo en la ejecución en etapas)
+    private final GestorErrores gestorErroresLexico;
+    private final GestorErrores gestorErroresSintactico;
+
+    // Gestores de la tabla de símbolos
+    private final PoolFirmas poolFirmas;
+    private final GestorTablas gestorTablas;
+    private final GestorZonasEspeciales gestorZonas;
+    private final GestorSimbolos gestorSimbolos;
+    private final ResolutorIdentificadores resolutorIdentificadores;
+
+    // Componentes del analizador léxico
+    private final PoolNombres poolNombres;
+    private final AutomataLexico gestorEstados;
+    private final GeneradorToken generadorToken;
+    private final AnalizadorLexico analizadorLexico;
+
+    // Componentes del analizador sintáctico
+    private final GestorPilas gestorPilas;
+    private final AnalizadorSintactico analizadorSintactico;
+
+    // Componentes del analizador semántico
+    private final GestorParametros gestorParametros;
+    private final AnalizadorSemantico analizadorSemantico;
+
+    // Eventos de JFR de la compilación
+    private final RegistroEventos registroEventos;
+
+    /**
+     * Constructor que crea una sesión con las opciones por defecto.
+     */
+    public SesionCompilacion() {
+        this(new OpcionesCompilacion());
+    }
+
+    /**
+     * Constructor que crea todos los componentes de la sesión. El orden de
+     * creación respeta las dependencias entre componentes.
+     *
+     * @param opciones Opciones de la compilación.
+     */
+    public SesionCompilacion(OpcionesCompilacion opciones) {
+        this.opciones = opciones;
+        this.gestorErrores = new GestorErrores();
+        this.gestorErroresLexico = opciones.isEtapas() ? new GestorErrores() : gestorErrores;
+        this.gestorErroresSintactico = opciones.isEtapas() ? new GestorErrores() : gestorErrores;
+
+        this.poolNombres = new PoolNombres();
+        this.poolFirmas = new PoolFirmas();
+
+        this.gestorTablas = new GestorTablas(this);
+        this.gestorZonas = new GestorZonasEspeciales();
+        this.gestorSimbolos = new GestorSimbolos(this);
+        this.resolutorIdentificadores = new ResolutorIdentificadores(this);
+
+        this.gestorEstados = opciones.isLexicoTabla() ? new GestorEstadosTabla(this) : new GestorEstados(this);
+        this.generadorToken = new GeneradorToken(this);
+        this.analizadorLexico = new AnalizadorLexico(this);
+
+        this.gestorPilas = new GestorPilas();
+        this.analizadorSintactico = new AnalizadorSintactico(this);
+
+        this.gestorParametros = new GestorParametros();
+        this.analizadorSemantico = new AnalizadorSemantico(this);
+
+        this.registroEventos = new RegistroEventos(this);
+    }
+
+    /**
+     * Constructor de una sesión solo con los componentes del análisis
+     * semántico: gestores de tablas y símbolos, resolución de identificadores y
+     * analizador semántico. No tiene analizadores léxico ni sintáctico ni
+     * registro de eventos, cuyos getters devuelven null.
+     *
+     * @param poolNombres El pool de nombres del fichero, que la sesión solo
+     *                    consulta.
+     */
+    private SesionCompilacion(PoolNombres poolNombres) {
+        this.opciones = new OpcionesCompilacion();
+        this.gestorErrores = new GestorErrores();
+        this.gestorErroresLexico = gestorErrores;
+        this.gestorErroresSintactico = gestorErrores;
+
+        this.poolNombres = poolNombres;
+        this.poolFirmas = new PoolFirmas();
+
+        this.gestorTablas = new GestorTablas(this);
+        this.gestorZonas = new GestorZonasEspeciales();
+        this.gestorSimbolos = new GestorSimbolos(this);
+        this.resolutorIdentificadores = new ResolutorIdentificadores(this);
+
+        this.gestorEstados = null;
+        this.generadorToken = null;
+        this.analizadorLexico = null;
+
+        this.gestorPilas = null;
+        this.analizadorSintactico = null;
+
+        this.gestorParametros = new GestorParametros();
+        this.analizadorSemantico = new AnalizadorSemantico(this);
+
+        this.registroEventos = null;
+    }
+
+    /**
+     * Crea una sesión que solo hace el análisis semántico de tokens ya
+     * analizados por otra, como la de cada cuerpo de función en
+     * AnalizadorFunciones.
+     *
+     * @param poolNombres El pool de nombres de la sesión que analizó los
+     *                    tokens.
+     * @return La sesión, sin analizadores léxico ni sintáctico.
+     */
+    public static SesionCompilacion crearSesionSemantica(PoolNombres poolNombres) {
+        return new SesionCompilacion(poolNombres);
+    }
+
+    public OpcionesCompilacion getOpciones() {
+        return opciones;
+    }
+
+    public GestorErrores getGestorErrores() {
+        return gestorErrores;
+    }
+
+    public GestorErrores getGestorErroresLexico() {
+        return gestorErroresLexico;
+    }
+
+    public GestorErrores getGestorErroresSintactico() {
+        return gestorErroresSintactico;
+    }
+
+    public GestorTablas getGestorTablas() {
+        return gestorTablas;
+    }
+
+    public GestorZonasEspeciales getGestorZonas() {
+        return gestorZonas;
+    }
+
+    public GestorSimbolos getGestorSimbolos() {
+        return gestorSimbolos;
+    }
+
+    public ResolutorIdentificadores getResolutorIdentificadores() {
+        return resolutorIdentificadores;
+    }
+
+    public PoolNombres getPoolNombres() {
+        return poolNombres;
+    }
+
+    public PoolFirmas getPoolFirmas() {
+        return poolFirmas;
+    }
+
+    public AutomataLexico getGestorEstados() {
+        return gestorEstados;
+    }
+
+    public GeneradorToken getGeneradorToken() {
+        return generadorToken;
+    }
+
+    public AnalizadorLexico getAnalizadorLexico() {
+        return analizadorLexico;
+    }
+
+    public GestorPilas getGestorPilas() {
+        return gestorPilas;
+    }
+
+    public AnalizadorSintactico getAnalizadorSintactico() {
+        return analizadorSintactico;
+    }
+
+    public GestorParametros getGestorParametros() {
+        return gestorParametros;
+    }
+
+    public AnalizadorSemantico getAnalizadorSemantico() {
+        return analizadorSemantico;
+    }
+
+    public RegistroEventos getRegistroEventos() {
+        return registroEventos;
+    }
+
+    /**
+     * Obtiene las tablas de la gramática, compartidas por todas las sesiones.
+     *
+     * @return La instancia compartida de ParserGramatica.
+     */
+    public ParserGramatica getParserGramatica() {
+        return ParserGramatica.getInstance();
+    }
+}
@@ -0,0 +1,265 @@
+package modulos.etapas;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clase AnilloEventos que comunica dos etapas del análisis: un único hilo
+ * productor publica eventos y un único hilo consumidor los lee en el mismo
+ * orden, sin bloqueos.
+ * Los eventos se guardan en arrays paralelos de capacidad potencia de dos. Un
+ * evento es un token (su tipo es el ordinal de TipoToken), una regla, un error
+ * o el fin del análisis. Cada lado avanza su propia posición con una escritura
+ * ordenada (lazySet) y solo lee la del otro cuando cree que el anillo está
+ * lleno o vacío; entonces espera según la EstrategiaEspera y acumula el tiempo
+ * esperado, que se usa para medir la ocupación de cada etapa.
+ */
+public final class AnilloEventos {
+
+    // Tipos de los eventos que no son tokens
+    public static final int EVENTO_REGLA = -1;
+    public static final int EVENTO_ERROR = -2;
+    public static final int EVENTO_FIN = -3;
+
+    public static final int CAPACIDAD_POR_DEFECTO = 1024;
+    public static final int CAPACIDAD_MAXIMA = 1 << 24;
+
+    private final int capacidad;
+    private final int mascara;
+    private final EstrategiaEspera estrategiaEspera;
+
+    // Campos de cada evento
+    private final int[] tipos;
+    private final int[] terminales;
+    private final int[] atributos;
+    private final int[] desplazamientos;
+    private final int[] lineas;
+    private final Object[] objetos;
+
+    // Número de eventos publicados, que solo avanza el productor
+    private final AtomicLong escritos;
+
+    // Número de eventos liberados, que solo avanza el consumidor
+    private final AtomicLong leidos;
+
+    private volatile boolean cancelado;
+
+    // Estado del productor: siguiente evento y límite conocido sin releer leidos
+    private long siguienteEscritura;
+    private long limiteEscritura;
+    private long nanosEsperaProductor;
+    private long esperasProductor;
+
+    // Estado del consumidor: siguiente evento y límite conocido sin releer escritos
+    private long siguienteLectura;
+    private long limiteLectura;
+    private long nanosEsperaConsumidor;
+    private long esperasConsumidor;
+
+    /**
+     * Constructor de un anillo vacío.
+     *
+     * @param capacidad        Número mínimo de eventos que caben en el anillo; se
+     *                         redondea a la siguiente potencia de dos.
+     * @param estrategiaEspera Cómo esperan el productor y el consumidor.
+     */
+    public AnilloEventos(int capacidad, EstrategiaEspera estrategiaEspera) {
+        if (capacidad <= 0 || capacidad > CAPACIDAD_MAXIMA) {
+            throw new IllegalArgumentException("Capacidad de anillo no valida: " + capacidad);
+        }
+        this.capacidad = capacidad == 1 ? 1 : Integer.highestOneBit(capacidad - 1) << 1;
+        this.mascara = this.capacidad - 1;
+        this.estrategiaEspera = estrategiaEspera;
+        this.tipos = new int[this.capacidad];
+        this.terminales = new int[this.capacidad];
+        this.atributos = new int[this.capacidad];
+        this.desplazamientos = new int[this.capacidad];
+        this.lineas = new int[this.capacidad];
+        this.objetos = new Object[this.capacidad];
+        this.escritos = new AtomicLong();
+        this.leidos = new AtomicLong();
+    }
+
+    /**
+     * Publica un evento. Si el anillo está lleno, espera a que el consumidor
+     * libere un hueco. Solo debe llamarlo el hilo productor.
+     *
+     * @param tipo           Ordinal del TipoToken, o uno de los EVENTO_*.
+     * @param terminal       Índice del terminal del token.
+     * @param atributo       Atributo del token o número de la regla.
+     * @param desplazamiento Posición del token en la fuente.
+     * @param linea          Línea en la que se generó el token.
+     * @param objeto         Texto del token o excepción del error, o null.
+     * @throws CancellationException Si el anillo se cancela durante la espera.
+     */
+    public void publicar(int tipo, int terminal, int atributo, int desplazamiento, int linea, Object objeto) {
+        if (siguienteEscritura == limiteEscritura) {
+            esperarHueco();
+        }
+        int i = (int) siguienteEscritura & mascara;
+        tipos[i] = tipo;
+        terminales[i] = terminal;
+        atributos[i] = atributo;
+        desplazamientos[i] = desplazamiento;
+        lineas[i] = linea;
+        objetos[i] = objeto;
+        escritos.lazySet(++siguienteEscritura);
+    }
+
+    /**
+     * Publica una regla aplicada por el analizador sintáctico.
+     *
+     * @param regla El número de la regla.
+     */
+    public void publicarRegla(int regla) {
+        publicar(EVENTO_REGLA, 0, regla, 0, 0, null);
+    }
+
+    /**
+     * Publica el error con el que ha terminado una etapa, para que el consumidor
+     * lo lance al llegar a él, después de los eventos anteriores.
+     *
+     * @param error El error de la etapa.
+     */
+    public void publicarError(Throwable error) {
+        publicar(EVENTO_ERROR, 0, 0, 0, 0, error);
+    }
+
+    /**
+     * Publica el fin del análisis: no habrá más eventos.
+     */
+    public void publicarFin() {
+        publicar(EVENTO_FIN, 0, 0, 0, 0, null);
+    }
+
+    /**
+     * Espera a que el consumidor libere al menos un hueco.
+     */
+    private void esperarHueco() {
+        long limite = leidos.get() + capacidad;
+        if (limite == siguienteEscritura) {
+            long inicio = System.nanoTime();
+            esperasProductor++;
+            int intento = 0;
+            do {
+                comprobarCancelacion();
+                estrategiaEspera.esperar(intento++);
+                limite = leidos.get() + capacidad;
+            } while (limite == siguienteEscritura);
+            nanosEsperaProductor += System.nanoTime() - inicio;
+        }
+        // Cada vez que se relee la posición del consumidor se comprueba también
+        // la cancelación, para que el productor no siga trabajando en vano
+        comprobarCancelacion();
+        limiteEscritura = limite;
+    }
+
+    /**
+     * Obtiene el siguiente evento, esperando a que el productor lo publique. Sus
+     * campos se leen con los getters y después se libera con liberar(). Solo
+     * debe llamarlo el hilo consumidor.
+     *
+     * @return La posición del evento en el anillo.
+     * @throws CancellationException Si el anillo se cancela durante la espera.
+     */
+    public int siguiente() {
+        if (siguienteLectura == limiteLectura) {
+            esperarEvento();
+        }
+        return (int) siguienteLectura & mascara;
+    }
+
+    /**
+     * Libera el evento devuelto por siguiente(), que deja de poder leerse.
+     */
+    public void liberar() {
+        objetos[(int) siguienteLectura & mascara] = null;
+        leidos.lazySet(++siguienteLectura);
+    }
+
+    /**
+     * Espera a que el productor publique al menos un evento.
+     */
+    private void esperarEvento() {
+        long limite = escritos.get();
+        if (limite == siguienteLectura) {
+            long inicio = System.nanoTime();
+            esperasConsumidor++;
+            int intento = 0;
+            do {
+                comprobarCancelacion();
+                estrategiaEspera.esperar(intento++);
+                limite = escritos.get();
+            } while (limite == siguienteLectura);
+            nanosEsperaConsumidor += System.nanoTime() - inicio;
+        }
+        limiteLectura = limite;
+    }
+
+    private void comprobarCancelacion() {
+        if (cancelado) {
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * Cancela el anillo: el productor y el consumidor que estén esperando, o que
+     * vuelvan a esperar, terminan con CancellationException.
+     */
+    public void cancelar() {
+        cancelado = true;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public int getTipo(int evento) {
+        return tipos[evento];
+    }
+
+    public int getTerminal(int evento) {
+        return terminales[evento];
+    }
+
+    public int getAtributo(int evento) {
+        return atributos[evento];
+    }
+
+    public int getDesplazamiento(int evento) {
+        return desplazamientos[evento];
+    }
+
+    public int getLinea(int evento) {
+        return lineas[evento];
+    }
+
+    public Object getObjeto(int evento) {
+        return objetos[evento];
+    }
+
+    /*
+     * Estadísticas de espera. Cada una la escribe un solo hilo, así que deben
+     * leerse cuando ese hilo ha terminado.
+     */
+
+    public long getEventosPublicados() {
+        return siguienteEscritura;
+    }
+
+    public long getNanosEsperaProductor() {
+        return nanosEsperaProductor;
+    }
+
+    public long getEsperasProductor() {
+        return esperasProductor;
+    }
+
+    public long getNanosEsperaConsumidor() {
+        return nanosEsperaConsumidor;
+    }
+
+    public long getEsperasConsumidor() {
+        return esperasConsumidor;
+    }
+}
@@ -0,0 +1,64 @@
+package modulos.etapas;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Enum EstrategiaEspera que indica qué hace una etapa mientras su anillo está
+ * lleno (productor) o vacío (consumidor).
+ * ACTIVA no cede la CPU y da la menor latencia si hay un núcleo por etapa;
+ * CEDER la cede al planificador en cada intento; DORMIR reintenta unas pocas
+ * veces y después duerme, y es la adecuada con menos núcleos que etapas.
+ */
+public enum EstrategiaEspera {
+    ACTIVA {
+        @Override
+        public void esperar(int intento) {
+            Thread.onSpinWait();
+        }
+    },
+    CEDER {
+        @Override
+        public void esperar(int intento) {
+            Thread.yield();
+        }
+    },
+    DORMIR {
+        @Override
+        public void esperar(int intento) {
+            if (intento < INTENTOS_ANTES_DE_DORMIR) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(NANOS_DORMIDO);
+            }
+        }
+    };
+
+    // Intentos de DORMIR antes de empezar a dormir
+    private static final int INTENTOS_ANTES_DE_DORMIR = 64;
+
+    // Tiempo que duerme DORMIR en cada intento
+    private static final long NANOS_DORMIDO = 20_000;
+
+    /**
+     * Espera un poco antes de volver a comprobar el anillo.
+     *
+     * @param intento Número de intentos fallidos de la espera actual.
+     */
+    public abstract void esperar(int intento);
+
+    /**
+     * Obtiene la estrategia a partir de su nombre en la línea de comandos.
+     *
+     * @param nombre El nombre de la estrategia, sin distinguir mayúsculas.
+     * @return La estrategia.
+     * @throws IllegalArgumentException Si no hay ninguna con ese nombre.
+     */
+    public static EstrategiaEspera desdeNombre(String nombre) {
+        for (EstrategiaEspera estrategia : values()) {
+            if (estrategia.name().equalsIgnoreCase(nombre)) {
+                return estrategia;
+            }
+        }
+        throw new IllegalArgumentException("Estrategia de espera no valida: " + nombre);
+    }
+}
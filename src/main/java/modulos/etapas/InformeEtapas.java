@@ -0,0 +1,101 @@
+package modulos.etapas;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Clase InformeEtapas que resume la ejecución en etapas de un fichero: para
+ * cada etapa, su duración, el tiempo que ha pasado esperando a los anillos y
+ * el porcentaje restante, en el que ha estado ocupada.
+ */
+public final class InformeEtapas {
+
+    /**
+     * Medidas de una etapa.
+     */
+    public static final class Etapa {
+        private final String nombre;
+        private final long nanosTotales;
+        private final long nanosEspera;
+        private final long esperas;
+        private final long eventos;
+
+        Etapa(String nombre, long nanosTotales, long nanosEspera, long esperas, long eventos) {
+            this.nombre = nombre;
+            this.nanosTotales = nanosTotales;
+            this.nanosEspera = Math.min(nanosEspera, nanosTotales);
+            this.esperas = esperas;
+            this.eventos = eventos;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public long getNanosTotales() {
+            return nanosTotales;
+        }
+
+        public long getNanosEspera() {
+            return nanosEspera;
+        }
+
+        public long getEsperas() {
+            return esperas;
+        }
+
+        public long getEventos() {
+            return eventos;
+        }
+
+        /**
+         * Obtiene la fracción del tiempo de la etapa en la que no ha esperado.
+         *
+         * @return La ocupación, entre 0 y 1.
+         */
+        public double getOcupacion() {
+            return nanosTotales == 0 ? 0 : (double) (nanosTotales - nanosEspera) / nanosTotales;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "Etapa %s: ocupada %.1f%% de %.3f ms, %d esperas, %d eventos",
+                    nombre, getOcupacion() * 100, nanosTotales / 1e6, esperas, eventos);
+        }
+    }
+
+    private final List<Etapa> etapas;
+
+    public InformeEtapas() {
+        this.etapas = new ArrayList<>();
+    }
+
+    /**
+     * Añade las medidas de una etapa.
+     *
+     * @param nombre       Nombre de la etapa.
+     * @param nanosTotales Duración de la etapa.
+     * @param nanosEspera  Tiempo que ha esperado a sus anillos.
+     * @param esperas      Número de veces que ha tenido que esperar.
+     * @param eventos      Número de eventos que ha publicado (la última etapa,
+     *                     los que ha consumido).
+     */
+    public void agregarEtapa(String nombre, long nanosTotales, long nanosEspera, long esperas, long eventos) {
+        etapas.add(new Etapa(nombre, nanosTotales, nanosEspera, esperas, eventos));
+    }
+
+    public List<Etapa> getEtapas() {
+        return Collections.unmodifiableList(etapas);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder informe = new StringBuilder();
+        for (Etapa etapa : etapas) {
+            informe.append(etapa).append('\n');
+        }
+        return informe.toString();
+    }
+}
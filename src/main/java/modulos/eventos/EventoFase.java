@@ -0,0 +1,42 @@
+package modulos.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JFR con una fase de la compilación de un fichero. En el análisis
+ * secuencial los analizadores se alternan carácter a carácter, así que forman
+ * una sola fase ("analisis"); en los demás modos cada pasada o etapa es una
+ * fase. Los contadores que no corresponden a la fase valen 0.
+ */
+@Name("jspdl.Fase")
+@Label("Fase de compilacion")
+@Category({ "JS-PdL", "Compilador" })
+@Description("Fase de la compilacion de un fichero: analisis, lexico, sintactico, semantico o salida")
+@StackTrace(false)
+public class EventoFase extends Event {
+
+    @Label("Fichero")
+    String fichero;
+
+    @Label("Fase")
+    String fase;
+
+    @Label("Caracteres")
+    long caracteres;
+
+    @Label("Tokens")
+    long tokens;
+
+    @Label("Reglas")
+    long reglas;
+
+    @Label("Bytes escritos")
+    @DataAmount
+    long bytes;
+}
@@ -0,0 +1,51 @@
+package modulos.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JFR con la compilación completa de un fichero: su duración y los
+ * contadores de todas sus fases.
+ */
+@Name("jspdl.Fichero")
+@Label("Compilacion de fichero")
+@Category({ "JS-PdL", "Compilador" })
+@Description("Analisis completo de un fichero fuente y escritura de sus resultados")
+@StackTrace(false)
+public class EventoFichero extends Event {
+
+    @Label("Fichero")
+    String fichero;
+
+    @Label("Modo")
+    @Description("Modo de ejecucion: secuencial, lexico-puro, lexico-paralelo o etapas, y semantico-paralelo")
+    String modo;
+
+    @Label("Caracteres")
+    long caracteres;
+
+    @Label("Tokens")
+    long tokens;
+
+    @Label("Desplazamientos")
+    long desplazamientos;
+
+    @Label("Reducciones")
+    long reducciones;
+
+    @Label("Tablas de simbolos")
+    long tablas;
+
+    @Label("Bytes escritos")
+    @DataAmount
+    long bytes;
+
+    @Label("Correcto")
+    @Description("Si el analisis ha terminado sin errores")
+    boolean correcto;
+}
@@ -0,0 +1,33 @@
+package modulos.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JFR con el número de reducciones de una regla de la gramática en
+ * un fichero. Se registra uno por regla usada al terminar el fichero.
+ */
+@Name("jspdl.Reducciones")
+@Label("Reducciones por regla")
+@Category({ "JS-PdL", "Compilador" })
+@Description("Numero de veces que se ha reducido una regla al analizar un fichero")
+@StackTrace(false)
+public class EventoReducciones extends Event {
+
+    @Label("Fichero")
+    String fichero;
+
+    @Label("Regla")
+    @Description("Numero de la regla, como en reglasAplicadas.txt")
+    int regla;
+
+    @Label("No terminal")
+    String noTerminal;
+
+    @Label("Reducciones")
+    long reducciones;
+}
@@ -0,0 +1,39 @@
+package modulos.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JFR con la duración de las acciones semánticas de una regla. Solo
+ * se mide una de cada AnalizadorSemantico.PERIODO_MUESTREO reglas, y solo si
+ * el evento está activo al crear la sesión.
+ */
+@Name("jspdl.ReglaSemantica")
+@Label("Regla semantica (muestreo)")
+@Category({ "JS-PdL", "Compilador" })
+@Description("Duracion de AnalizadorSemantico.procesarRegla para una de cada N reglas")
+@StackTrace(false)
+public class EventoReglaSemantica extends Event {
+
+    @Label("Regla")
+    @Description("Numero de la regla, como en reglasAplicadas.txt")
+    int regla;
+
+    @Label("No terminal")
+    String noTerminal;
+
+    /**
+     * Establece la regla medida.
+     *
+     * @param regla      Número de la regla.
+     * @param noTerminal Parte izquierda de la regla.
+     */
+    public void setRegla(int regla, String noTerminal) {
+        this.regla = regla;
+        this.noTerminal = noTerminal;
+    }
+}
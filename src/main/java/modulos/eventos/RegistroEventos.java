@@ -0,0 +1,183 @@
+package modulos.eventos;
+
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.sintactico.AnalizadorSintactico;
+import modulos.sintactico.TablasLR;
+
+/**
+ * Clase RegistroEventos que registra en JDK Flight Recorder los eventos de la
+ * compilación de un fichero: el del fichero completo (EventoFichero), el de
+ * cada fase (EventoFase) y las reducciones de cada regla (EventoReducciones).
+ * Los analizadores solo incrementan contadores propios; este registro los lee
+ * al terminar cada fase y el fichero. Si no hay ninguna grabación con estos
+ * eventos activos al crear la sesión, no se acumula nada y los eventos no se
+ * confirman, así que el coste sin grabación es el de crear unos pocos objetos
+ * por fichero.
+ */
+public final class RegistroEventos {
+
+    // Nombres de las fases
+    public static final String FASE_ANALISIS = "analisis";
+    public static final String FASE_LEXICO = "lexico";
+    public static final String FASE_SINTACTICO = "sintactico";
+    public static final String FASE_SEMANTICO = "semantico";
+    public static final String FASE_SINTACTICO_SEMANTICO = "sintactico-semantico";
+    public static final String FASE_SALIDA = "salida";
+
+    private final SesionCompilacion sesion;
+    private final boolean activo;
+    private String fichero;
+
+    // Sumas de las fases, que pueden terminar en hilos distintos
+    private long caracteres;
+    private long tokens;
+
+    /**
+     * Constructor del registro de una sesión.
+     *
+     * @param sesion La sesión de compilación a la que pertenece.
+     */
+    public RegistroEventos(SesionCompilacion sesion) {
+        this.sesion = sesion;
+        this.activo = new EventoFichero().isEnabled() || new EventoFase().isEnabled()
+                || new EventoReducciones().isEnabled();
+        this.fichero = "";
+    }
+
+    /**
+     * Indica si había alguna grabación con los eventos de la compilación activos
+     * al crear la sesión.
+     *
+     * @return true si los eventos se registran.
+     */
+    public boolean isActivo() {
+        return activo;
+    }
+
+    /**
+     * Establece el nombre del fichero que se analiza, con el que se etiquetan
+     * los eventos.
+     *
+     * @param fichero El nombre o la ruta del fichero.
+     */
+    public void setFichero(String fichero) {
+        this.fichero = fichero;
+    }
+
+    public String getFichero() {
+        return fichero;
+    }
+
+    /**
+     * Empieza una fase en el hilo actual.
+     *
+     * @param fase El nombre de la fase.
+     * @return El evento de la fase, que se pasa a terminarFase.
+     */
+    public EventoFase iniciarFase(String fase) {
+        EventoFase evento = new EventoFase();
+        evento.fase = fase;
+        evento.begin();
+        return evento;
+    }
+
+    /**
+     * Termina una fase y registra su evento con los contadores indicados. Los
+     * caracteres y los tokens se suman a los del fichero.
+     *
+     * @param evento     El evento devuelto por iniciarFase.
+     * @param caracteres Caracteres analizados en la fase, o 0.
+     * @param tokens     Tokens generados en la fase, o 0.
+     * @param reglas     Reglas reducidas en la fase, o 0.
+     * @param bytes      Bytes escritos en la fase, o 0.
+     */
+    public void terminarFase(EventoFase evento, long caracteres, long tokens, long reglas, long bytes) {
+        evento.end();
+        if (!activo) {
+            return;
+        }
+        synchronized (this) {
+            this.caracteres += caracteres;
+            this.tokens += tokens;
+        }
+        if (evento.shouldCommit()) {
+            evento.fichero = fichero;
+            evento.caracteres = caracteres;
+            evento.tokens = tokens;
+            evento.reglas = reglas;
+            evento.bytes = bytes;
+            evento.commit();
+        }
+    }
+
+    /**
+     * Empieza la compilación del fichero.
+     *
+     * @return El evento del fichero, que se pasa a terminarFichero.
+     */
+    public EventoFichero iniciarFichero() {
+        EventoFichero evento = new EventoFichero();
+        evento.begin();
+        return evento;
+    }
+
+    /**
+     * Termina la compilación del fichero y registra su evento, con los
+     * contadores de las fases y de los analizadores de la sesión, y el de las
+     * reducciones de cada regla.
+     *
+     * @param evento   El evento devuelto por iniciarFichero.
+     * @param bytes    Bytes escritos en los ficheros de salida.
+     * @param correcto Si el análisis ha terminado sin errores.
+     */
+    public void terminarFichero(EventoFichero evento, long bytes, boolean correcto) {
+        evento.end();
+        if (!activo) {
+            return;
+        }
+        AnalizadorSintactico analizadorSintactico = sesion.getAnalizadorSintactico();
+        if (evento.shouldCommit()) {
+            evento.fichero = fichero;
+            evento.modo = describirModo(sesion.getOpciones());
+            synchronized (this) {
+                evento.caracteres = caracteres;
+                evento.tokens = tokens;
+            }
+            evento.desplazamientos = analizadorSintactico.getDesplazamientos();
+            evento.reducciones = analizadorSintactico.getNumReducciones();
+            evento.tablas = sesion.getGestorTablas().getNumeroDeTablas();
+            evento.bytes = bytes;
+            evento.correcto = correcto;
+            evento.commit();
+        }
+
+        TablasLR tablas = sesion.getParserGramatica().getTablas();
+        for (int regla = 1; regla <= tablas.getNumReglas(); regla++) {
+            long reducciones = analizadorSintactico.getReducciones(regla);
+            if (reducciones > 0) {
+                EventoReducciones eventoRegla = new EventoReducciones();
+                if (eventoRegla.shouldCommit()) {
+                    eventoRegla.fichero = fichero;
+                    eventoRegla.regla = regla;
+                    eventoRegla.noTerminal = tablas.getNoTerminal(tablas.getNoTerminalRegla(regla - 1));
+                    eventoRegla.reducciones = reducciones;
+                    eventoRegla.commit();
+                }
+            }
+        }
+    }
+
+    /**
+     * Describe el modo de ejecución de unas opciones.
+     */
+    private static String describirModo(OpcionesCompilacion opciones) {
+        String modo = opciones.isEtapas() ? "etapas"
+                : opciones.isLexicoParalelo() ? "lexico-paralelo"
+                        : opciones.isLexicoPuro() ? "lexico-puro" : "secuencial";
+        if (opciones.isSemanticoParalelo() && !opciones.isEtapas()) {
+            modo = modo.equals("secuencial") ? "semantico-paralelo" : modo + ", semantico-paralelo";
+        }
+        return opciones.isSalidaContinua() ? modo + ", salida-continua" : modo;
+    }
+}
@@ -0,0 +1,569 @@
+package modulos.generador;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import modulos.generador.OpcionesGenerador.Sentencia;
+
+/**
+ * Clase GeneradorProgramas que genera programas JS-PdL sintéticos y correctos
+ * a partir de la gramática (gramatica.y) y de las reglas de tipos de
+ * AnalizadorSemantico: las sumas y comparaciones son de enteros, la negación es
+ * de booleanos, put y get trabajan con enteros y cadenas, las condiciones son
+ * booleanas, solo se llama a funciones ya definidas con argumentos de sus
+ * tipos y las funciones que no son void terminan con un único return de su
+ * tipo. El programa se escribe a medida que se genera, así que su tamaño no
+ * está limitado por la memoria: solo se recuerdan las variables globales, las
+ * locales de la función actual y las últimas funciones definidas. Con las
+ * mismas opciones (y la misma semilla) el programa es siempre el mismo.
+ *
+ * Uso: GeneradorProgramas [--opcion=valor...] [salida.txt]
+ */
+public final class GeneradorProgramas {
+
+    // Tipos de las variables, funciones y expresiones generadas
+    private static final int TIPO_INT = 0;
+    private static final int TIPO_BOOLEAN = 1;
+    private static final int TIPO_STRING = 2;
+    private static final int TIPO_VOID = 3;
+    private static final String[] NOMBRES_TIPOS = { "int", "boolean", "string", "void" };
+
+    // Límites del lenguaje y del generador
+    private static final int ENTERO_MAXIMO = 32767;
+    private static final int PROFUNDIDAD_EXPRESIONES = 3;
+    private static final int VENTANA_FUNCIONES = 32;
+    private static final String[] CADENAS = {
+            "", "Hola", "Resultado de la funcion", "Introduce un numero:", "fin",
+            "Cadena bastante mas larga que las demas, pero de menos de 64" };
+
+    /**
+     * Firma de una función ya definida, a la que se puede llamar.
+     */
+    private static final class Firma {
+        private final String nombre;
+        private final int tipoRetorno;
+        private final int[] parametros;
+
+        Firma(String nombre, int tipoRetorno, int[] parametros) {
+            this.nombre = nombre;
+            this.tipoRetorno = tipoRetorno;
+            this.parametros = parametros;
+        }
+    }
+
+    private final OpcionesGenerador opciones;
+    private final SplittableRandom aleatorio;
+    private final List<List<String>> globales = new ArrayList<>();
+    private final List<List<String>> locales = new ArrayList<>();
+    private final ArrayDeque<Firma> funciones = new ArrayDeque<>();
+
+    private Appendable salida;
+    private long escritos;
+    private boolean dentroFuncion;
+    private int tipoRetorno;
+    private int numLocales;
+
+    /**
+     * Constructor del generador.
+     *
+     * @param opciones Las opciones con las que se genera el programa.
+     */
+    public GeneradorProgramas(OpcionesGenerador opciones) {
+        this.opciones = opciones;
+        this.aleatorio = new SplittableRandom(opciones.getSemilla());
+        for (int tipo = TIPO_INT; tipo <= TIPO_STRING; tipo++) {
+            globales.add(new ArrayList<>());
+            locales.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Genera el programa y lo escribe en el fichero indicado o, si no se indica
+     * ninguno, en la salida estándar.
+     *
+     * @param args Opciones del generador y, opcionalmente, el fichero de salida.
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    public static void main(String[] args) throws IOException {
+        OpcionesGenerador opciones = new OpcionesGenerador();
+        Path fichero = null;
+        for (String arg : args) {
+            if (!opciones.procesarOpcion(arg)) {
+                if (fichero != null || arg.startsWith("--")) {
+                    throw new IllegalArgumentException("Uso: GeneradorProgramas [--opcion=valor...] [salida.txt]");
+                }
+                fichero = Paths.get(arg);
+            }
+        }
+
+        if (fichero == null) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            new GeneradorProgramas(opciones).generar(writer);
+            writer.flush();
+            return;
+        }
+        if (fichero.getParent() != null) {
+            Files.createDirectories(fichero.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(fichero, StandardCharsets.UTF_8)) {
+            new GeneradorProgramas(opciones).generar(writer);
+        }
+    }
+
+    /**
+     * Genera el programa en memoria.
+     *
+     * @param opciones Las opciones con las que se genera el programa.
+     * @return El texto del programa.
+     */
+    public static String generar(OpcionesGenerador opciones) {
+        StringBuilder programa = new StringBuilder();
+        try {
+            new GeneradorProgramas(opciones).generar(programa);
+        } catch (IOException e) {
+            // Un StringBuilder no lanza IOException
+            throw new UncheckedIOException(e);
+        }
+        return programa.toString();
+    }
+
+    /**
+     * Genera el programa: las variables globales y, tras cada función, unas
+     * sentencias del programa principal que la usan. Se generan tantas funciones
+     * como indican las opciones o, si se ha fijado un tamaño, las necesarias
+     * para alcanzarlo.
+     *
+     * @param salida Destino del texto del programa.
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    public void generar(Appendable salida) throws IOException {
+        this.salida = salida;
+        this.escritos = 0;
+
+        for (int i = 0; i < opciones.getGlobales(); i++) {
+            generarGlobal(i);
+        }
+
+        int funcion = 0;
+        while (opciones.getTamano() > 0 ? escritos < opciones.getTamano() : funcion < opciones.getFunciones()) {
+            generarFuncion(funcion++);
+            for (int i = 0; i < opciones.getSentencias(); i++) {
+                generarSentencia(0);
+            }
+        }
+    }
+
+    /**
+     * B: LET ID T ; | LET ID T = E ; con un tipo al azar. El valor inicial solo
+     * usa las variables globales anteriores.
+     */
+    private void generarGlobal(int indice) throws IOException {
+        int tipo = tipoAleatorio();
+        String nombre = "g" + indice;
+        escribir("let ").escribir(nombre).escribir(" ").escribir(NOMBRES_TIPOS[tipo]);
+        if (aleatorio.nextBoolean()) {
+            escribir(" = ");
+            generarExpresion(tipo, 0);
+        }
+        escribir(";\n");
+        globales.get(tipo).add(nombre);
+    }
+
+    /**
+     * F: F1 { C } con parámetros y tipo de retorno al azar. Si la función no es
+     * void, su última sentencia es el return de su tipo.
+     */
+    private void generarFuncion(int indice) throws IOException {
+        String nombre = "f" + indice;
+        int tipo = aleatorio.nextInt(TIPO_VOID + 1);
+        int[] parametros = new int[aleatorio.nextInt(opciones.getParametros() + 1)];
+
+        for (List<String> variables : locales) {
+            variables.clear();
+        }
+        numLocales = 0;
+
+        escribir("function ").escribir(nombre).escribir(" ").escribir(NOMBRES_TIPOS[tipo]).escribir(" (");
+        if (parametros.length == 0) {
+            escribir("void");
+        }
+        for (int i = 0; i < parametros.length; i++) {
+            parametros[i] = tipoAleatorio();
+            String parametro = "p" + i;
+            escribir(i == 0 ? "" : ", ").escribir(NOMBRES_TIPOS[parametros[i]]).escribir(" ").escribir(parametro);
+            locales.get(parametros[i]).add(parametro);
+        }
+        escribir(")\n{\n");
+
+        dentroFuncion = true;
+        tipoRetorno = tipo;
+        for (int i = 0; i < opciones.getSentencias(); i++) {
+            generarSentencia(1);
+        }
+        if (tipo != TIPO_VOID) {
+            escribir("\treturn ");
+            generarExpresion(tipo, 0);
+            escribir(";\n");
+        }
+        escribir("}\n");
+        dentroFuncion = false;
+
+        for (List<String> variables : locales) {
+            variables.clear();
+        }
+
+        // Solo se llama a las últimas funciones, para que la memoria no crezca
+        // con el tamaño del programa
+        if (funciones.size() == VENTANA_FUNCIONES) {
+            funciones.removeFirst();
+        }
+        funciones.addLast(new Firma(nombre, tipo, parametros));
+    }
+
+    /**
+     * Genera una sentencia de un tipo elegido según la mezcla de las opciones.
+     * Las declaraciones solo se generan dentro de las funciones y los bucles
+     * hasta la profundidad indicada en las opciones. Si la sentencia elegida no
+     * es posible (por ejemplo, un get sin variables enteras ni cadenas), se
+     * genera un put.
+     *
+     * @param nivel Nivel de anidamiento: 0 en el programa principal, 1 en el
+     *              cuerpo de una función y uno más en cada bucle.
+     */
+    private void generarSentencia(int nivel) throws IOException {
+        int bucles = dentroFuncion ? nivel - 1 : nivel;
+        Sentencia sentencia = elegirSentencia(dentroFuncion, bucles < opciones.getProfundidad(), true);
+        indentar(nivel);
+        switch (sentencia) {
+            case LET:
+                generarLocal();
+                break;
+            case WHILE:
+                escribir("while (");
+                generarExpresion(TIPO_BOOLEAN, 0);
+                escribir(")\n");
+                indentar(nivel);
+                escribir("{\n");
+                for (int i = 0; i < opciones.getSentencias(); i++) {
+                    generarSentencia(nivel + 1);
+                }
+                indentar(nivel);
+                escribir("}\n");
+                break;
+            case IF:
+                escribir("if (");
+                generarExpresion(TIPO_BOOLEAN, 0);
+                escribir(") ");
+                if (dentroFuncion && aleatorio.nextInt(8) == 0) {
+                    generarReturn();
+                } else {
+                    generarSentenciaSimple(elegirSentencia(false, false, false));
+                }
+                break;
+            default:
+                generarSentenciaSimple(sentencia);
+        }
+    }
+
+    /**
+     * Elige al azar un tipo de sentencia con los pesos de las opciones.
+     */
+    private Sentencia elegirSentencia(boolean declaraciones, boolean bucles, boolean condiciones) {
+        Sentencia[] sentencias = Sentencia.values();
+        int total = 0;
+        for (Sentencia sentencia : sentencias) {
+            total += permitida(sentencia, declaraciones, bucles, condiciones) ? opciones.getPeso(sentencia) : 0;
+        }
+        if (total == 0) {
+            return Sentencia.PUT;
+        }
+        int eleccion = aleatorio.nextInt(total);
+        for (Sentencia sentencia : sentencias) {
+            if (permitida(sentencia, declaraciones, bucles, condiciones)) {
+                eleccion -= opciones.getPeso(sentencia);
+                if (eleccion < 0) {
+                    return sentencia;
+                }
+            }
+        }
+        return Sentencia.PUT;
+    }
+
+    private static boolean permitida(Sentencia sentencia, boolean declaraciones, boolean bucles,
+            boolean condiciones) {
+        switch (sentencia) {
+            case LET:
+                return declaraciones;
+            case WHILE:
+                return bucles;
+            case IF:
+                return condiciones;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * S: ID = E ; | ID += E ; | ID ( L ) ; | PUT E ; | GET ID ;
+     */
+    private void generarSentenciaSimple(Sentencia sentencia) throws IOException {
+        switch (sentencia) {
+            case ASIGNACION: {
+                int tipo = tipoAleatorio();
+                if (numVariables(tipo) > 0) {
+                    escribir(variableAleatoria(tipo)).escribir(" = ");
+                    generarExpresion(tipo, 0);
+                    escribir(";\n");
+                    return;
+                }
+                break;
+            }
+            case INCREMENTO:
+                if (numVariables(TIPO_INT) > 0) {
+                    escribir(variableAleatoria(TIPO_INT)).escribir(" += ");
+                    generarExpresion(TIPO_INT, 0);
+                    escribir(";\n");
+                    return;
+                }
+                break;
+            case LLAMADA:
+                if (!funciones.isEmpty()) {
+                    generarLlamada(funcionAleatoria(-1), 0);
+                    escribir(";\n");
+                    return;
+                }
+                break;
+            case GET: {
+                int tipo = aleatorio.nextBoolean() ? TIPO_INT : TIPO_STRING;
+                if (numVariables(tipo) > 0) {
+                    escribir("get ").escribir(variableAleatoria(tipo)).escribir(";\n");
+                    return;
+                }
+                break;
+            }
+            default:
+                break;
+        }
+        escribir("put ");
+        generarExpresion(aleatorio.nextBoolean() ? TIPO_INT : TIPO_STRING, 0);
+        escribir(";\n");
+    }
+
+    /**
+     * B: LET ID T ; | LET ID T = E ; dentro de una función. La variable no se
+     * puede usar en su propio valor inicial.
+     */
+    private void generarLocal() throws IOException {
+        int tipo = tipoAleatorio();
+        String nombre = "v" + numLocales++;
+        escribir("let ").escribir(nombre).escribir(" ").escribir(NOMBRES_TIPOS[tipo]);
+        if (aleatorio.nextBoolean()) {
+            escribir(" = ");
+            generarExpresion(tipo, 0);
+        }
+        escribir(";\n");
+        locales.get(tipo).add(nombre);
+    }
+
+    /**
+     * S: RETURN Z ; con el tipo de la función actual.
+     */
+    private void generarReturn() throws IOException {
+        escribir("return");
+        if (tipoRetorno != TIPO_VOID) {
+            escribir(" ");
+            generarExpresion(tipoRetorno, 0);
+        }
+        escribir(";\n");
+    }
+
+    /**
+     * Genera una expresión (E) de un tipo. A partir de la profundidad máxima
+     * solo se generan variables y constantes.
+     */
+    private void generarExpresion(int tipo, int profundidad) throws IOException {
+        switch (tipo) {
+            case TIPO_INT:
+                generarSuma(profundidad);
+                break;
+            case TIPO_BOOLEAN:
+                generarLogica(profundidad);
+                break;
+            default:
+                generarCadena(profundidad);
+        }
+    }
+
+    /**
+     * U: U + V | V con operandos enteros.
+     */
+    private void generarSuma(int profundidad) throws IOException {
+        int operandos = profundidad < PROFUNDIDAD_EXPRESIONES ? 1 + aleatorio.nextInt(3) : 1;
+        for (int i = 0; i < operandos; i++) {
+            if (i > 0) {
+                escribir(" + ");
+            }
+            generarOperandoEntero(profundidad + 1);
+        }
+    }
+
+    /**
+     * W de tipo entero: ID | ( E ) | ID ( L ) | ENTERO
+     */
+    private void generarOperandoEntero(int profundidad) throws IOException {
+        boolean compuesto = profundidad < PROFUNDIDAD_EXPRESIONES;
+        int eleccion = aleatorio.nextInt(10);
+        if (eleccion < 5 && numVariables(TIPO_INT) > 0) {
+            escribir(variableAleatoria(TIPO_INT));
+        } else if (eleccion == 8 && compuesto && funcionAleatoria(TIPO_INT) != null) {
+            generarLlamada(funcionAleatoria(TIPO_INT), profundidad);
+        } else if (eleccion == 9 && compuesto) {
+            escribir("(");
+            generarSuma(profundidad);
+            escribir(")");
+        } else {
+            escribir(Integer.toString(aleatorio.nextInt(eleccion == 7 ? ENTERO_MAXIMO + 1 : 100)));
+        }
+    }
+
+    /**
+     * E de tipo lógico: E == U con enteros, o V: ! W | W con booleanos.
+     */
+    private void generarLogica(int profundidad) throws IOException {
+        if (profundidad >= PROFUNDIDAD_EXPRESIONES || aleatorio.nextInt(3) == 0 || !hayOperandoLogico()) {
+            generarSuma(profundidad + 1);
+            escribir(" == ");
+            generarSuma(profundidad + 1);
+        } else {
+            if (aleatorio.nextInt(3) == 0) {
+                escribir("!");
+            }
+            generarOperandoLogico(profundidad + 1);
+        }
+    }
+
+    private boolean hayOperandoLogico() {
+        return numVariables(TIPO_BOOLEAN) > 0 || funcionAleatoria(TIPO_BOOLEAN) != null;
+    }
+
+    /**
+     * W de tipo lógico: ID | ( E ) | ID ( L ). No hay constantes lógicas, así que
+     * sin variables ni funciones se usa una comparación entre paréntesis.
+     */
+    private void generarOperandoLogico(int profundidad) throws IOException {
+        boolean compuesto = profundidad < PROFUNDIDAD_EXPRESIONES;
+        int eleccion = aleatorio.nextInt(10);
+        if (eleccion < 6 && numVariables(TIPO_BOOLEAN) > 0) {
+            escribir(variableAleatoria(TIPO_BOOLEAN));
+        } else if (eleccion < 8 && compuesto && funcionAleatoria(TIPO_BOOLEAN) != null) {
+            generarLlamada(funcionAleatoria(TIPO_BOOLEAN), profundidad);
+        } else {
+            escribir("(");
+            generarLogica(Math.max(profundidad, PROFUNDIDAD_EXPRESIONES - 1));
+            escribir(")");
+        }
+    }
+
+    /**
+     * W de tipo cadena: ID | ( E ) | ID ( L ) | CADENA
+     */
+    private void generarCadena(int profundidad) throws IOException {
+        boolean compuesto = profundidad < PROFUNDIDAD_EXPRESIONES;
+        int eleccion = aleatorio.nextInt(10);
+        if (eleccion < 5 && numVariables(TIPO_STRING) > 0) {
+            escribir(variableAleatoria(TIPO_STRING));
+        } else if (eleccion == 8 && compuesto && funcionAleatoria(TIPO_STRING) != null) {
+            generarLlamada(funcionAleatoria(TIPO_STRING), profundidad + 1);
+        } else if (eleccion == 9 && compuesto) {
+            escribir("(");
+            generarCadena(profundidad + 1);
+            escribir(")");
+        } else if (eleccion == 7) {
+            escribir("\"texto ").escribir(Integer.toString(aleatorio.nextInt(ENTERO_MAXIMO + 1))).escribir("\"");
+        } else {
+            escribir("\"").escribir(CADENAS[aleatorio.nextInt(CADENAS.length)]).escribir("\"");
+        }
+    }
+
+    /**
+     * ID ( L ) con un argumento del tipo de cada parámetro.
+     */
+    private void generarLlamada(Firma firma, int profundidad) throws IOException {
+        escribir(firma.nombre).escribir("(");
+        for (int i = 0; i < firma.parametros.length; i++) {
+            if (i > 0) {
+                escribir(", ");
+            }
+            generarExpresion(firma.parametros[i], Math.max(profundidad, PROFUNDIDAD_EXPRESIONES - 1));
+        }
+        escribir(")");
+    }
+
+    /**
+     * Obtiene una de las últimas funciones definidas con un tipo de retorno, o
+     * de cualquier tipo si es -1. Las que devuelven un tipo se buscan desde la
+     * última definida, para que la elección dependa solo de la semilla.
+     *
+     * @return La firma de la función, o null si no hay ninguna de ese tipo.
+     */
+    private Firma funcionAleatoria(int tipo) {
+        if (tipo == -1) {
+            int indice = aleatorio.nextInt(funciones.size());
+            for (Firma firma : funciones) {
+                if (indice-- == 0) {
+                    return firma;
+                }
+            }
+        }
+        Iterator<Firma> iterador = funciones.descendingIterator();
+        while (iterador.hasNext()) {
+            Firma firma = iterador.next();
+            if (firma.tipoRetorno == tipo) {
+                return firma;
+            }
+        }
+        return null;
+    }
+
+    private int tipoAleatorio() {
+        return aleatorio.nextInt(TIPO_STRING + 1);
+    }
+
+    /**
+     * Número de variables de un tipo visibles: las globales y, dentro de una
+     * función, sus parámetros y locales.
+     */
+    private int numVariables(int tipo) {
+        return globales.get(tipo).size() + (dentroFuncion ? locales.get(tipo).size() : 0);
+    }
+
+    private String variableAleatoria(int tipo) {
+        int indice = aleatorio.nextInt(numVariables(tipo));
+        List<String> variables = globales.get(tipo);
+        return indice < variables.size() ? variables.get(indice) : locales.get(tipo).get(indice - variables.size());
+    }
+
+    private void indentar(int nivel) throws IOException {
+        for (int i = 0; i < nivel; i++) {
+            escribir("\t");
+        }
+    }
+
+    private GeneradorProgramas escribir(String texto) throws IOException {
+        salida.append(texto);
+        escritos += texto.length();
+        return this;
+    }
+}
@@ -0,0 +1,279 @@
+package modulos.generador;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Clase OpcionesGenerador que agrupa los parámetros con los que
+ * GeneradorProgramas crea un programa sintético: semilla, tamaño, número de
+ * funciones y variables globales, anidamiento de los bucles, parámetros por
+ * función, sentencias por bloque y la proporción de cada tipo de sentencia.
+ * Con las mismas opciones se genera siempre el mismo programa.
+ */
+public class OpcionesGenerador {
+
+    // Opciones de la línea de comandos (--nombre=valor)
+    public static final String OPCION_SEMILLA = "--semilla=";
+    public static final String OPCION_FUNCIONES = "--funciones=";
+    public static final String OPCION_TAMANO = "--tamano=";
+    public static final String OPCION_GLOBALES = "--globales=";
+    public static final String OPCION_PROFUNDIDAD = "--profundidad=";
+    public static final String OPCION_PARAMETROS = "--parametros=";
+    public static final String OPCION_SENTENCIAS = "--sentencias=";
+    public static final String OPCION_MEZCLA = "--mezcla=";
+
+    /**
+     * Tipos de sentencia que genera GeneradorProgramas, con su peso por defecto
+     * en la mezcla.
+     */
+    public enum Sentencia {
+        ASIGNACION(4),
+        INCREMENTO(2),
+        LLAMADA(2),
+        PUT(2),
+        GET(1),
+        IF(2),
+        WHILE(1),
+        LET(2);
+
+        private final int pesoPorDefecto;
+
+        Sentencia(int pesoPorDefecto) {
+            this.pesoPorDefecto = pesoPorDefecto;
+        }
+
+        /**
+         * Obtiene el tipo de sentencia con un nombre, sin distinguir mayúsculas.
+         *
+         * @param nombre El nombre del tipo de sentencia.
+         * @return El tipo de sentencia.
+         * @throws IllegalArgumentException Si no hay ninguno con ese nombre.
+         */
+        public static Sentencia desdeNombre(String nombre) {
+            for (Sentencia sentencia : values()) {
+                if (sentencia.name().equalsIgnoreCase(nombre)) {
+                    return sentencia;
+                }
+            }
+            throw new IllegalArgumentException("Tipo de sentencia no valido: " + nombre);
+        }
+    }
+
+    private long semilla;
+    private int funciones;
+    private long tamano;
+    private int globales;
+    private int profundidad;
+    private int parametros;
+    private int sentencias;
+    private final int[] pesos;
+
+    /**
+     * Constructor con las opciones por defecto: 100 funciones, 20 globales,
+     * bucles anidados hasta 3 niveles, hasta 3 parámetros y 6 sentencias por
+     * bloque, con la semilla 1.
+     */
+    public OpcionesGenerador() {
+        this.semilla = 1;
+        this.funciones = 100;
+        this.tamano = 0;
+        this.globales = 20;
+        this.profundidad = 3;
+        this.parametros = 3;
+        this.sentencias = 6;
+        this.pesos = new int[Sentencia.values().length];
+        for (Sentencia sentencia : Sentencia.values()) {
+            pesos[sentencia.ordinal()] = sentencia.pesoPorDefecto;
+        }
+    }
+
+    /**
+     * Procesa una opción de la línea de comandos.
+     *
+     * @param opcion La opción a procesar.
+     * @return true si la opción se ha reconocido, false en caso contrario.
+     * @throws IllegalArgumentException Si el valor de la opción no es válido.
+     */
+    public boolean procesarOpcion(String opcion) {
+        try {
+            if (opcion.startsWith(OPCION_SEMILLA)) {
+                setSemilla(Long.parseLong(valor(opcion, OPCION_SEMILLA)));
+            } else if (opcion.startsWith(OPCION_FUNCIONES)) {
+                setFunciones(Integer.parseInt(valor(opcion, OPCION_FUNCIONES)));
+            } else if (opcion.startsWith(OPCION_TAMANO)) {
+                setTamano(parsearTamano(valor(opcion, OPCION_TAMANO)));
+            } else if (opcion.startsWith(OPCION_GLOBALES)) {
+                setGlobales(Integer.parseInt(valor(opcion, OPCION_GLOBALES)));
+            } else if (opcion.startsWith(OPCION_PROFUNDIDAD)) {
+                setProfundidad(Integer.parseInt(valor(opcion, OPCION_PROFUNDIDAD)));
+            } else if (opcion.startsWith(OPCION_PARAMETROS)) {
+                setParametros(Integer.parseInt(valor(opcion, OPCION_PARAMETROS)));
+            } else if (opcion.startsWith(OPCION_SENTENCIAS)) {
+                setSentencias(Integer.parseInt(valor(opcion, OPCION_SENTENCIAS)));
+            } else if (opcion.startsWith(OPCION_MEZCLA)) {
+                setMezcla(valor(opcion, OPCION_MEZCLA));
+            } else {
+                return false;
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor no valido en la opcion " + opcion);
+        }
+        return true;
+    }
+
+    private static String valor(String opcion, String prefijo) {
+        return opcion.substring(prefijo.length());
+    }
+
+    /**
+     * Convierte un tamaño con sufijo opcional K, M o G (potencias de 1024) en
+     * número de caracteres.
+     *
+     * @param texto El tamaño, por ejemplo "512K" o "1G".
+     * @return El número de caracteres.
+     * @throws NumberFormatException Si el texto no es un tamaño válido.
+     */
+    public static long parsearTamano(String texto) {
+        String tamano = texto.trim().toUpperCase(Locale.ROOT);
+        long multiplicador = 1;
+        if (tamano.endsWith("K")) {
+            multiplicador = 1L << 10;
+        } else if (tamano.endsWith("M")) {
+            multiplicador = 1L << 20;
+        } else if (tamano.endsWith("G")) {
+            multiplicador = 1L << 30;
+        }
+        if (multiplicador != 1) {
+            tamano = tamano.substring(0, tamano.length() - 1);
+        }
+        return Math.multiplyExact(Long.parseLong(tamano), multiplicador);
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public void setSemilla(long semilla) {
+        this.semilla = semilla;
+    }
+
+    /**
+     * Obtiene el número de funciones del programa, si no se ha fijado un tamaño.
+     *
+     * @return El número de funciones.
+     */
+    public int getFunciones() {
+        return funciones;
+    }
+
+    public void setFunciones(int funciones) {
+        this.funciones = comprobarNoNegativo(funciones, "funciones");
+    }
+
+    /**
+     * Obtiene el tamaño mínimo del programa en caracteres. Si es mayor que 0, se
+     * generan funciones hasta alcanzarlo y se ignora el número de funciones.
+     *
+     * @return El tamaño del programa, o 0.
+     */
+    public long getTamano() {
+        return tamano;
+    }
+
+    public void setTamano(long tamano) {
+        if (tamano < 0) {
+            throw new IllegalArgumentException("Valor no valido para tamano: " + tamano);
+        }
+        this.tamano = tamano;
+    }
+
+    public int getGlobales() {
+        return globales;
+    }
+
+    public void setGlobales(int globales) {
+        this.globales = comprobarNoNegativo(globales, "globales");
+    }
+
+    /**
+     * Obtiene el número máximo de bucles while anidados.
+     *
+     * @return La profundidad de anidamiento.
+     */
+    public int getProfundidad() {
+        return profundidad;
+    }
+
+    public void setProfundidad(int profundidad) {
+        this.profundidad = comprobarNoNegativo(profundidad, "profundidad");
+    }
+
+    /**
+     * Obtiene el número máximo de parámetros de cada función.
+     *
+     * @return El número máximo de parámetros.
+     */
+    public int getParametros() {
+        return parametros;
+    }
+
+    public void setParametros(int parametros) {
+        this.parametros = comprobarNoNegativo(parametros, "parametros");
+    }
+
+    /**
+     * Obtiene el número de sentencias de cada bloque: el cuerpo de una función,
+     * el de un bucle y el programa principal que sigue a cada función.
+     *
+     * @return El número de sentencias por bloque.
+     */
+    public int getSentencias() {
+        return sentencias;
+    }
+
+    public void setSentencias(int sentencias) {
+        this.sentencias = comprobarNoNegativo(sentencias, "sentencias");
+    }
+
+    /**
+     * Obtiene el peso de un tipo de sentencia en la mezcla.
+     *
+     * @param sentencia El tipo de sentencia.
+     * @return Su peso; 0 si no se genera.
+     */
+    public int getPeso(Sentencia sentencia) {
+        return pesos[sentencia.ordinal()];
+    }
+
+    public void setPeso(Sentencia sentencia, int peso) {
+        pesos[sentencia.ordinal()] = comprobarNoNegativo(peso, sentencia.name().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Establece la mezcla de sentencias a partir de una lista de pesos, por
+     * ejemplo "asignacion:4,while:0". Los tipos que no aparecen conservan su
+     * peso.
+     *
+     * @param mezcla La lista de pesos separados por comas.
+     * @throws IllegalArgumentException Si algún tipo o peso no es válido.
+     */
+    public void setMezcla(String mezcla) {
+        for (String entrada : mezcla.split(",")) {
+            String[] partes = entrada.split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Mezcla de sentencias no valida: " + mezcla);
+            }
+            setPeso(Sentencia.desdeNombre(partes[0].trim()), Integer.parseInt(partes[1].trim()));
+        }
+        if (Arrays.stream(pesos).sum() == 0) {
+            throw new IllegalArgumentException("Mezcla de sentencias no valida: " + mezcla);
+        }
+    }
+
+    private static int comprobarNoNegativo(int valor, String nombre) {
+        if (valor < 0) {
+            throw new IllegalArgumentException("Valor no valido para " + nombre + ": " + valor);
+        }
+        return valor;
+    }
+}
@@ -1,7 +1,9 @@
 package modulos.lexico;
 
+import modulos.SesionCompilacion;
 import modulos.lexico.enums.EstadoFinal;
 import modulos.lexico.enums.EstadoTransito;
+import modulos.lexico.fuente.FuenteCaracteres;
 import modulos.token.*;
 
 /**
@@ -13,89 +15,137 @@
 public class AnalizadorLexico {
 
     // Almacena los caracteres leídos para la formación de tokens
-    private StringBuilder bufferCaracteres;
+    private final Lexema lexema;
 
     // Controla si el caracter se ha terminado de procesar
-    private Boolean caracterProcesado;
+    private boolean caracterProcesado;
+
+    // Número de caracteres consumidos de la fuente
+    private int posicion;
+
+    // Número de tokens generados y si se ha consumido el fin de fichero, para
+    // los eventos de JFR
+    private long numTokens;
+    private boolean finDeFichero;
+
+    // Buffer de un solo token para procesarCaracter(int)
+    private final BufferTokens ultimoToken;
 
     // Gestor de estados para el análisis léxico
-    private GestorEstados gestorEstados;
+    private final AutomataLexico gestorEstados;
 
     // Generador de tokens en base a los estados y lexemas identificados
-    private GeneradorToken generadorDeTokens;
-
-    // Instancia única de la clase
-    private static AnalizadorLexico instancia;
+    private final GeneradorToken generadorDeTokens;
 
     /**
-     * Constructor privado que inicializa el analizador léxico.
-     * Inicializa un StringBuilder para el buffer de caracteres y crea instancias
-     * de GestorEstados y GeneradorToken.
+     * Constructor que inicializa el analizador léxico de una sesión.
+     * Inicializa el buffer del lexema y obtiene de la sesión las instancias de
+     * GestorEstados y GeneradorToken.
+     * 
+     * @param sesion La sesión de compilación a la que pertenece.
      */
-    private AnalizadorLexico() {
+    public AnalizadorLexico(SesionCompilacion sesion) {
         this.caracterProcesado = false;
-        this.bufferCaracteres = new StringBuilder();
-        this.gestorEstados = GestorEstados.getInstance();
-        this.generadorDeTokens = GeneradorToken.getInstance();
+        this.posicion = 0;
+        this.ultimoToken = new BufferTokens(sesion.getPoolNombres());
+        this.lexema = new Lexema();
+        this.gestorEstados = sesion.getGestorEstados();
+        this.generadorDeTokens = sesion.getGeneradorToken();
     }
 
     /**
-     * Devuelve la instancia única de la clase.
-     * Si la instancia no ha sido creada aún, la crea.
+     * Procesa un caracter y devuelve el token identificado como objeto Token.
      * 
-     * @return La instancia única de AnalizadorLexico.
+     * @param caracterPorProcesar Caracter a procesar, o
+     *                            FuenteCaracteres.FIN_DE_FICHERO al final.
+     * @return Token identificado tras procesar el caracter, o null.
      */
-    public static AnalizadorLexico getInstance() {
-        if (instancia == null) {
-            synchronized (AnalizadorLexico.class) {
-                if (instancia == null) {
-                    instancia = new AnalizadorLexico();
-                }
-            }
-        }
-        return instancia;
+    public Token procesarCaracter(int caracterPorProcesar) {
+        ultimoToken.vaciar();
+        int indice = procesarCaracter(caracterPorProcesar, ultimoToken);
+        return indice == BufferTokens.SIN_TOKEN ? null : ultimoToken.getToken(indice);
     }
 
     /**
-     * Procesa un caracter y actualiza el estado del analizador léxico.
+     * Procesa un caracter y actualiza el estado del analizador léxico. El token
+     * identificado se añade al buffer de tokens.
      * 
-     * @param caracterPorProcesar Caracter a procesar.
-     * @return Token identificado tras procesar el caracter.
+     * @param caracterPorProcesar Caracter a procesar, o
+     *                            FuenteCaracteres.FIN_DE_FICHERO al final.
+     * @param tokens              Buffer en el que se añade el token.
+     * @return Índice del token identificado, o BufferTokens.SIN_TOKEN.
      */
-    public Token procesarCaracter(Character caracterPorProcesar) {
+    public int procesarCaracter(int caracterPorProcesar, BufferTokens tokens) {
         caracterProcesado = false;
 
-        String lexema = bufferCaracteres.toString();
+        // El token empieza en este caracter si no hay un lexema en curso
+        if (lexema.length() == 0) {
+            lexema.setInicio(posicion);
+        }
 
         // Actualiza el estado según el caracter actual entrante
         gestorEstados.actualizarEstado(caracterPorProcesar, lexema);
 
-        // Generar token y almacenarlo si no es nulo
-        Token token = generadorDeTokens.generarToken(
+        // Generar token y añadirlo al buffer
+        int token = generadorDeTokens.generarToken(
                 gestorEstados.getEstadoFinal(),
                 caracterPorProcesar,
-                lexema);
+                lexema,
+                tokens);
+        if (token != BufferTokens.SIN_TOKEN) {
+            numTokens++;
+        }
 
         // Actualizar buffer de caracteres dependiendo de si es estado inicial o no
         if (gestorEstados.getEstadoTransito() == EstadoTransito.INICIO) {
-            bufferCaracteres.setLength(0);
+            lexema.vaciar();
         } else {
-            bufferCaracteres.append(caracterPorProcesar);
+            lexema.agregar((char) caracterPorProcesar);
         }
 
         // Consumir el caracter si el analizador no se encuentra en ciertos estados
         if (debeConsumirCaracter(gestorEstados.getEstadoFinal())) {
             caracterProcesado = true;
-            caracterPorProcesar = null;
+            posicion++;
+            finDeFichero = caracterPorProcesar == FuenteCaracteres.FIN_DE_FICHERO;
         }
 
         return token;
     }
 
-    public Boolean isCaracterProcesado() {
+    public boolean isCaracterProcesado() {
         return caracterProcesado;
     }
 
+    /**
+     * Obtiene el número de caracteres consumidos de la fuente, sin contar el fin
+     * de fichero.
+     *
+     * @return El número de caracteres.
+     */
+    public long getCaracteresProcesados() {
+        return finDeFichero ? posicion - 1 : posicion;
+    }
+
+    /**
+     * Obtiene el número de tokens generados, incluido el de fin de fichero.
+     *
+     * @return El número de tokens.
+     */
+    public long getTokensGenerados() {
+        return numTokens;
+    }
+
+    /**
+     * Indica si el analizador está en reposo: en el estado inicial y sin ningún
+     * lexema en curso, como al empezar a leer una fuente.
+     *
+     * @return true si el análisis puede continuar con otro analizador nuevo.
+     */
+    public boolean isEnReposo() {
+        return gestorEstados.getEstadoTransito() == EstadoTransito.INICIO;
+    }
+
     /**
      * Determina si se debe consumir el caracter actual en base al estado final.
      * 
@@ -107,16 +157,4 @@ private boolean debeConsumirCaracter(EstadoFinal estado) {
                 estado == EstadoFinal.IDENTIFICADOR || estado == EstadoFinal.ENTERO ||
                 estado == EstadoFinal.PALABRARESERVADA);
     }
-
-    /**
-     * Reinicia el AnalizadorLexico a su estado inicial.
-     */
-    public void resetAnalizadorLexico() {
-        this.caracterProcesado = false;
-        this.bufferCaracteres = new StringBuilder();
-        gestorEstados.resetGestorEstados();
-        generadorDeTokens.resetGeneradorToken();
-        this.gestorEstados = GestorEstados.getInstance();
-        this.generadorDeTokens = GeneradorToken.getInstance();
-    }
 }
@@ -0,0 +1,268 @@
+package modulos.lexico;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.lexico.fuente.FuenteCaracteres;
+import modulos.token.BufferTokens;
+import modulos.token.TipoToken;
+import util.GestorErrores;
+
+/**
+ * Clase AnalizadorLexicoParalelo que analiza léxicamente una fuente grande en
+ * paralelo. La fuente se lee en trozos que terminan en un salto de línea y cada
+ * trozo se analiza en el ForkJoinPool común con su propio analizador léxico
+ * (de una sesión propia, con resolución diferida), que empieza en la línea
+ * global del trozo. Después los tokens se añaden en orden al buffer de la
+ * sesión, con su desplazamiento global y sus textos y nombres de
+ * identificadores internados en el PoolNombres de la sesión.
+ * Tras un salto de línea el analizador vuelve al estado inicial, salvo dentro
+ * de una cadena, que terminará en error. Si un trozo no acaba en reposo, su
+ * propio analizador continúa con los trozos siguientes en lugar de usar su
+ * análisis en paralelo, hasta que vuelve a estar en reposo, de modo que los
+ * tokens y los errores son siempre los del análisis secuencial.
+ */
+public final class AnalizadorLexicoParalelo {
+
+    // Tamaño mínimo por defecto, en caracteres, de cada trozo
+    public static final int TAMANO_TROZO_POR_DEFECTO = 1 << 20;
+    public static final int TAMANO_TROZO_MAXIMO = 1 << 28;
+
+    private final SesionCompilacion sesion;
+    private final OpcionesCompilacion opcionesTrozo;
+    private final int tamanoTrozo;
+    private final ForkJoinPool pool;
+
+    // Número máximo de trozos leídos y pendientes de añadir al buffer
+    private final int maxPendientes;
+
+    // Analizador de un trozo que no acabó en reposo, o null
+    private AnalisisTrozo continuacion;
+
+    // Número de caracteres leídos de la fuente
+    private long caracteresProcesados;
+
+    /**
+     * Trozo de la fuente, que termina en un salto de línea o en el fin de fichero.
+     */
+    private static final class Trozo {
+        private final char[] caracteres;
+        private final int longitud;
+        private final int desplazamiento;
+        private final int linea;
+        private final boolean ultimo;
+        private ForkJoinTask<AnalisisTrozo> analisis;
+
+        Trozo(char[] caracteres, int longitud, int desplazamiento, int linea, boolean ultimo) {
+            this.caracteres = caracteres;
+            this.longitud = longitud;
+            this.desplazamiento = desplazamiento;
+            this.linea = linea;
+            this.ultimo = ultimo;
+        }
+    }
+
+    /**
+     * Análisis léxico de uno o varios trozos consecutivos con un analizador
+     * propio. Los desplazamientos de sus tokens son relativos al primer trozo.
+     */
+    private static final class AnalisisTrozo {
+        private final AnalizadorLexico analizadorLexico;
+        private final GestorErrores gestorErrores;
+        private final PoolNombres poolNombres;
+        private final BufferTokens tokens;
+        private final int desplazamiento;
+        private RuntimeException error;
+        private boolean finDeFichero;
+
+        AnalisisTrozo(OpcionesCompilacion opciones, int desplazamiento, int linea) {
+            SesionCompilacion sesion = new SesionCompilacion(opciones);
+            this.analizadorLexico = sesion.getAnalizadorLexico();
+            this.gestorErrores = sesion.getGestorErroresLexico();
+            this.poolNombres = sesion.getPoolNombres();
+            this.tokens = new BufferTokens(poolNombres);
+            this.desplazamiento = desplazamiento;
+            gestorErrores.setLinea(linea);
+        }
+
+        /**
+         * Analiza los caracteres de un trozo y, si es el último, el fin de
+         * fichero. Se detiene en el primer error.
+         */
+        void analizar(Trozo trozo) {
+            try {
+                for (int i = 0; i < trozo.longitud; i++) {
+                    procesarCaracter(trozo.caracteres[i]);
+                }
+                while (trozo.ultimo && !finDeFichero) {
+                    procesarCaracter(FuenteCaracteres.FIN_DE_FICHERO);
+                }
+            } catch (RuntimeException e) {
+                error = e;
+            }
+        }
+
+        private void procesarCaracter(int caracter) {
+            do {
+                int token = analizadorLexico.procesarCaracter(caracter, tokens);
+                if (token != BufferTokens.SIN_TOKEN) {
+                    tokens.setLinea(token, gestorErrores.getLinea());
+                    finDeFichero = tokens.getTipo(token) == TipoToken.FINDEFICHERO;
+                }
+            } while (!analizadorLexico.isCaracterProcesado());
+            if (caracter == '\n') {
+                gestorErrores.incrementarLinea();
+            }
+        }
+    }
+
+    /**
+     * Constructor del analizador paralelo de una sesión.
+     *
+     * @param sesion La sesión a cuyo buffer y PoolNombres se añaden los tokens.
+     */
+    public AnalizadorLexicoParalelo(SesionCompilacion sesion) {
+        this.sesion = sesion;
+        this.opcionesTrozo = new OpcionesCompilacion();
+        this.opcionesTrozo.setLexicoTabla(sesion.getOpciones().isLexicoTabla());
+        this.opcionesTrozo.setLexicoPuro(true);
+        this.tamanoTrozo = sesion.getOpciones().getTamanoTrozo();
+        this.pool = ForkJoinPool.commonPool();
+        this.maxPendientes = 2 * pool.getParallelism() + 1;
+    }
+
+    /**
+     * Analiza léxicamente toda la fuente y añade sus tokens al buffer, con la
+     * línea de cada uno.
+     *
+     * @param fuente La fuente de caracteres del archivo.
+     * @param tokens Buffer en el que se añaden los tokens.
+     * @return El primer error léxico, o null. Los tokens anteriores a él están
+     *         en el buffer.
+     * @throws IOException Si ocurre un error de lectura.
+     */
+    public RuntimeException analizar(FuenteCaracteres fuente, BufferTokens tokens) throws IOException {
+        Deque<Trozo> pendientes = new ArrayDeque<>();
+        try {
+            int desplazamiento = 0;
+            int linea = GestorErrores.LINEA_INICIAL;
+            boolean ultimo = false;
+
+            while (!ultimo) {
+                char[] caracteres = new char[tamanoTrozo + 1];
+                int longitud = 0;
+                int saltos = 0;
+                while (true) {
+                    int caracter = fuente.leer();
+                    if (caracter == FuenteCaracteres.FIN_DE_FICHERO) {
+                        ultimo = true;
+                        break;
+                    }
+                    if (longitud == caracteres.length) {
+                        caracteres = Arrays.copyOf(caracteres, caracteres.length * 2);
+                    }
+                    caracteres[longitud++] = (char) caracter;
+                    if (caracter == '\n') {
+                        saltos++;
+                        if (longitud >= tamanoTrozo) {
+                            break;
+                        }
+                    }
+                }
+
+                Trozo trozo = new Trozo(caracteres, longitud, desplazamiento, linea, ultimo);
+                trozo.analisis = pool.submit(() -> {
+                    AnalisisTrozo analisis = new AnalisisTrozo(opcionesTrozo, trozo.desplazamiento, trozo.linea);
+                    analisis.analizar(trozo);
+                    return analisis;
+                });
+                pendientes.add(trozo);
+                desplazamiento += longitud;
+                linea += saltos;
+                caracteresProcesados += longitud;
+
+                while (pendientes.size() >= maxPendientes) {
+                    RuntimeException error = agregarTokens(pendientes.poll(), tokens);
+                    if (error != null) {
+                        return error;
+                    }
+                }
+            }
+
+            while (!pendientes.isEmpty()) {
+                RuntimeException error = agregarTokens(pendientes.poll(), tokens);
+                if (error != null) {
+                    return error;
+                }
+            }
+            return null;
+        } finally {
+            for (Trozo trozo : pendientes) {
+                trozo.analisis.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Obtiene el número de caracteres leídos de la fuente.
+     *
+     * @return El número de caracteres.
+     */
+    public long getCaracteresProcesados() {
+        return caracteresProcesados;
+    }
+
+    /**
+     * Añade al buffer los tokens del siguiente trozo, en orden.
+     *
+     * @param trozo  El trozo.
+     * @param tokens Buffer en el que se añaden los tokens.
+     * @return El error léxico del trozo, o null.
+     */
+    private RuntimeException agregarTokens(Trozo trozo, BufferTokens tokens) {
+        AnalisisTrozo analisis;
+        if (continuacion != null) {
+            // El trozo empieza dentro de un lexema: su análisis en paralelo no vale
+            trozo.analisis.cancel(false);
+            analisis = continuacion;
+            analisis.analizar(trozo);
+        } else {
+            analisis = trozo.analisis.join();
+        }
+
+        copiarTokens(analisis, tokens);
+        if (analisis.error != null) {
+            return analisis.error;
+        }
+        continuacion = trozo.ultimo || analisis.analizadorLexico.isEnReposo() ? null : analisis;
+        return null;
+    }
+
+    /**
+     * Copia al buffer de la sesión los tokens de un análisis y vacía el suyo.
+     */
+    private void copiarTokens(AnalisisTrozo analisis, BufferTokens tokens) {
+        PoolNombres poolNombres = sesion.getPoolNombres();
+        int[] nombres = new int[analisis.poolNombres.size()];
+        Arrays.fill(nombres, -1);
+
+        for (int i = 0; i < analisis.tokens.size(); i++) {
+            int token = tokens.agregarCopia(analisis.tokens, i,
+                    analisis.desplazamiento + analisis.tokens.getDesplazamiento(i));
+            if (tokens.getTipo(token) == TipoToken.ID) {
+                int nombre = tokens.getAtributo(token);
+                if (nombres[nombre] < 0) {
+                    nombres[nombre] = poolNombres.internar(analisis.poolNombres.getNombre(nombre));
+                }
+                tokens.setAtributo(token, nombres[nombre]);
+            }
+        }
+        analisis.tokens.vaciar();
+    }
+}
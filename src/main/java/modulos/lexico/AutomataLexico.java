@@ -0,0 +1,44 @@
+package modulos.lexico;
+
+import modulos.lexico.enums.EstadoFinal;
+import modulos.lexico.enums.EstadoTransito;
+
+/**
+ * Interfaz AutomataLexico que define el autómata que reconoce los lexemas.
+ * Tras cada carácter expone el estado de tránsito en el que queda el autómata
+ * y el estado final alcanzado (PENDIENTE si el lexema aún no ha terminado).
+ */
+public interface AutomataLexico {
+
+    /**
+     * Actualiza el estado del autómata en base al carácter actual.
+     * 
+     * @param charActual El carácter actual a procesar, o
+     *                   FuenteCaracteres.FIN_DE_FICHERO al final.
+     * @param lexema     El lexema actual a procesar.
+     */
+    void actualizarEstado(int charActual, Lexema lexema);
+
+    /**
+     * Obtiene el estado actual de transición.
+     * 
+     * @return El estado actual de transición.
+     */
+    EstadoTransito getEstadoTransito();
+
+    /**
+     * Obtiene el estado final alcanzado.
+     * 
+     * @return El estado final alcanzado.
+     */
+    EstadoFinal getEstadoFinal();
+
+    /**
+     * Obtiene el código de la palabra reservada reconocida en el último lexema
+     * terminado (ver PalabraReservada.buscar).
+     * 
+     * @return El código de la palabra reservada, o PalabraReservada.NINGUNA si el
+     *         lexema no lo era.
+     */
+    int getPalabraReservada();
+}
@@ -1,36 +1,37 @@
 package modulos.lexico;
 
-import java.util.ArrayList;
-import java.util.List;
-
+import modulos.SesionCompilacion;
 import modulos.lexico.enums.EstadoFinal;
-import modulos.tablaSimbolos.GestorSimbolos;
-import modulos.tablaSimbolos.GestorTablas;
-import modulos.tablaSimbolos.GestorZonasEspeciales;
-import modulos.tablaSimbolos.Simbolo;
-import modulos.tablaSimbolos.TablaSimbolos;
+import modulos.lexico.enums.PalabraReservada;
+import modulos.sintactico.ParserGramatica;
+import modulos.tablaSimbolos.ResolutorIdentificadores;
 import modulos.token.*;
 import util.GestorErrores;
 
 /**
  * Clase GeneradorToken que se encarga de generar tokens en base a los estados
  * finales y caracteres actuales durante el análisis léxico.
+ * Los identificadores se añaden con el índice de su nombre en PoolNombres y
+ * los resuelve en las tablas de símbolos ResolutorIdentificadores: aquí mismo,
+ * o más tarde si la sesión usa resolución diferida, de modo que el análisis
+ * léxico no dependa del estado del análisis semántico.
  */
 public class GeneradorToken {
 
-    // Token generado
-    private Token token;
+    // Resolutor de identificadores, o null si la resolución es diferida
+    private final ResolutorIdentificadores resolutor;
+
+    // Autómata léxico, que indica la palabra reservada reconocida
+    private final AutomataLexico gestorEstados;
 
-    // Gestor de tablas de simbolos
-    private GestorTablas gestorTablas;
-    private GestorSimbolos gestorSimbolos;
-    private GestorZonasEspeciales gestorZonas;
+    // Gestor de errores de la sesión
+    private final GestorErrores gestorErrores;
 
-    // Simbolos a la espera de ser enviados a Tabla de Simbolos
-    private List<Simbolo> simbolosPorEnviar;
+    // Gramática, que asigna a cada token el índice de su terminal
+    private final ParserGramatica parserGramatica;
 
-    // Ultimo token es PUNTOyCOMA
-    private Boolean ultimoTokenPuntoComa;
+    // Nombres internados de los identificadores
+    private final PoolNombres poolNombres;
 
     // Máximo número de caracteres en una cadena
     private static final int MAX_CARACTERES_CADENA = 64;
@@ -38,35 +39,18 @@ public class GeneradorToken {
     // Máximo valor para una constante entera
     private static final int MAX_VALOR_ENTERO = 32767;
 
-    // Instancia única de la clase
-    private static GeneradorToken instancia;
-
-    /**
-     * Constructor privado por defecto de GeneradorToken.
-     */
-    private GeneradorToken() {
-        this.gestorTablas = GestorTablas.getInstance();
-        this.gestorSimbolos = GestorSimbolos.getInstance();
-        this.gestorZonas = GestorZonasEspeciales.getInstance();
-        this.ultimoTokenPuntoComa = false;
-        this.simbolosPorEnviar = new ArrayList<>();
-    }
-
     /**
-     * Devuelve la instancia única de la clase.
-     * Si la instancia no ha sido creada aún, la crea.
+     * Constructor de GeneradorToken.
      * 
-     * @return La instancia única de GeneradorToken.
+     * @param sesion La sesión de compilación a la que pertenece.
      */
-    public static GeneradorToken getInstance() {
-        if (instancia == null) {
-            synchronized (GeneradorToken.class) {
-                if (instancia == null) {
-                    instancia = new GeneradorToken();
-                }
-            }
-        }
-        return instancia;
+    public GeneradorToken(SesionCompilacion sesion) {
+        this.resolutor = sesion.getOpciones().isResolucionDiferida() ? null
+                : sesion.getResolutorIdentificadores();
+        this.gestorEstados = sesion.getGestorEstados();
+        this.gestorErrores = sesion.getGestorErroresLexico();
+        this.parserGramatica = sesion.getParserGramatica();
+        this.poolNombres = sesion.getPoolNombres();
     }
 
     /**
@@ -76,12 +60,15 @@ public static GeneradorToken getInstance() {
      * 
      * @param estadoFinal El estado final alcanzado en el análisis léxico.
      * @param charActual  El carácter actual en el análisis.
-     * @param lexema      El lexema actual a procesar.
-     * @return El token procesado o null si no hay token.
+     * @param lexema      El lexema actual a procesar. Solo se convierte en String
+     *                    si el token lo necesita.
+     * @param tokens      Buffer en el que se añade el token generado.
+     * @return El índice del token en el buffer, o BufferTokens.SIN_TOKEN si no
+     *         hay token.
      */
-    public Token generarToken(EstadoFinal estadoFinal, Character charActual, String lexema) {
+    public int generarToken(EstadoFinal estadoFinal, int charActual, Lexema lexema, BufferTokens tokens) {
 
-        token = null;
+        int token = BufferTokens.SIN_TOKEN;
 
         switch (estadoFinal) {
             case PENDIENTE:
@@ -101,35 +88,38 @@ public Token generarToken(EstadoFinal estadoFinal, Character charActual, String
             case ASIGNACION:
             case ASIGNACIONSUMA:
             case SUMA:
-                token = crearTokenSimple(estadoFinal);
+                token = crearTokenSimple(estadoFinal, lexema, tokens);
                 break;
 
             case PALABRARESERVADA:
                 validarPalabraReservada(lexema);
-                token = new Token(TipoToken.PALABRARESERVADA, lexema);
+                token = crearTokenTexto(TipoToken.PALABRARESERVADA, parserGramatica.getTerminal(
+                        PalabraReservada.desdeCodigo(gestorEstados.getPalabraReservada())), lexema, tokens);
                 break;
 
             case IDENTIFICADOR:
-                token = procesarIdentificador(lexema);
+                token = tokens.agregar(TipoToken.ID, parserGramatica.getTerminal(TipoToken.ID),
+                        poolNombres.internar(lexema), lexema.getInicio());
                 break;
 
             case CADENA:
                 validarCadena(lexema);
-                token = new Token(TipoToken.CADENA, lexema);
+                token = crearTokenTexto(TipoToken.CADENA, parserGramatica.getTerminal(TipoToken.CADENA), lexema,
+                        tokens);
                 break;
 
             case ENTERO:
-                token = procesarEntero(lexema);
+                token = procesarEntero(lexema, tokens);
                 break;
 
             default:
-                GestorErrores.lanzarError(GestorErrores.TipoError.LEXICO,
+                gestorErrores.lanzarError(GestorErrores.TipoError.LEXICO,
                         GestorErrores.ESTADO_FINAL_NO_MANEJADO + estadoFinal);
         }
 
-        gestionarSimbolosPorEnviar();
-
-        actualizarZonaDeclaracion(token);
+        if (resolutor != null && token != BufferTokens.SIN_TOKEN) {
+            resolutor.resolver(tokens, token);
+        }
 
         return token;
     }
@@ -138,82 +128,41 @@ public Token generarToken(EstadoFinal estadoFinal, Character charActual, String
      * Crea un token simple basado en el estado final proporcionado.
      * 
      * @param estadoFinal El estado final alcanzado en el análisis léxico.
-     * @return El token creado.
+     * @param lexema      El lexema actual, que indica la posición del token.
+     * @param tokens      Buffer en el que se añade el token.
+     * @return El índice del token creado.
      */
-    private Token crearTokenSimple(EstadoFinal estadoFinal) {
-        return new Token(TipoToken.valueOf(estadoFinal.name()), "");
+    private int crearTokenSimple(EstadoFinal estadoFinal, Lexema lexema, BufferTokens tokens) {
+        TipoToken tipo = TipoToken.valueOf(estadoFinal.name());
+        return tokens.agregar(tipo, parserGramatica.getTerminal(tipo), BufferTokens.SIN_ATRIBUTO, lexema.getInicio());
     }
 
     /**
-     * Valida que el lexema de una palabra reservada esté en minúsculas.
+     * Crea un token cuyo atributo es el texto del lexema.
      * 
-     * @param lexema El lexema a validar.
-     * @throws IllegalStateException Si la palabra reservada no está en minúsculas.
+     * @param tipo     El tipo del token.
+     * @param terminal El índice de su terminal en la gramática.
+     * @param lexema   El lexema del token.
+     * @param tokens   Buffer en el que se añade el token.
+     * @return El índice del token creado.
      */
-    private void validarPalabraReservada(String lexema) throws IllegalStateException {
-        if (!lexema.chars().allMatch(Character::isLowerCase)) {
-            GestorErrores.lanzarError(GestorErrores.TipoError.LEXICO,
-                    GestorErrores.PALABRA_RESERVADA_MINUSCULAS + lexema);
-        }
-    }
-
-    /**
-     * Procesa un identificador, gestionando su simbolo en las tablas de símbolos.
-     * 
-     * @param lexema El lexema del identificador.
-     * @return El token del identificador.
-     */
-    private Token procesarIdentificador(String lexema) {
-        String nombre = lexema;
-        Simbolo simbolo;
-        Integer posicionTS;
-
-        simbolo = obtenerSimbolo(nombre);
-
-        // Establecer símbolo como pendiente de gestionar
-        if (!ultimoTokenPuntoComa) {
-            gestorSimbolos.setUltimoSimbolo(simbolo);
-        } else {
-            simbolosPorEnviar.add(simbolo);
-        }
-
-        posicionTS = gestorTablas.obtenerTablaActual().obtenerPosicionSimbolo(simbolo);
-
-        return new Token(TipoToken.ID, posicionTS);
+    private int crearTokenTexto(TipoToken tipo, int terminal, Lexema lexema, BufferTokens tokens) {
+        return tokens.agregarTexto(tipo, terminal, lexema.getCaracteres(), 0, lexema.length(), lexema.getInicio());
     }
 
     /**
-     * Obtiene el símbolo correspondiente al nombre del identificador, ya sea desde
-     * la tabla actual o la tabla global.
+     * Valida que el lexema de una palabra reservada esté en minúsculas. La
+     * comprobación ya la ha hecho PalabraReservada.buscar al reconocer la
+     * palabra en el autómata.
      * 
-     * @param nombre El nombre del identificador.
-     * @return El símbolo correspondiente al identificador.
+     * @param lexema El lexema a validar.
+     * @throws IllegalStateException Si la palabra reservada no está en minúsculas.
      */
-    private Simbolo obtenerSimbolo(String nombre) {
-        Simbolo simbolo;
-        TablaSimbolos tablaActual = gestorTablas.obtenerTablaActual();
-        TablaSimbolos tablaGlobal = gestorTablas.obtenerTablaGlobal();
-
-        // Buscar simbolo en tabla actual
-        if (tablaActual.simboloExiste(nombre)) {
-            simbolo = tablaActual.obtenerSimboloPorNombre(nombre);
-        }
-
-        // Sino, buscar simbolo en tabla global
-        // (siempre que no se esté en una zona especial)
-        else if (tablaGlobal.simboloExiste(nombre)
-                && !gestorZonas.getZonaDeclaracion()
-                && !gestorZonas.getZonaParametros()) {
-            simbolo = tablaGlobal.obtenerSimboloPorNombre(nombre);
-        }
-
-        // Sino, crear un nuevo simbolo
-        else {
-            simbolo = new Simbolo(null, nombre, null, null);
-            tablaActual.agregarSimbolo(simbolo);
+    private void validarPalabraReservada(Lexema lexema) throws IllegalStateException {
+        if (!PalabraReservada.esMinusculas(gestorEstados.getPalabraReservada())) {
+            gestorErrores.lanzarError(GestorErrores.TipoError.LEXICO,
+                    GestorErrores.PALABRA_RESERVADA_MINUSCULAS + lexema);
         }
-
-        return simbolo;
     }
 
     /**
@@ -224,12 +173,12 @@ else if (tablaGlobal.simboloExiste(nombre)
      * @throws IllegalStateException Si la cadena es demasiado larga o contiene
      *                               saltos de línea.
      */
-    private void validarCadena(String lexema) throws IllegalStateException {
+    private void validarCadena(Lexema lexema) throws IllegalStateException {
         if (lexema.length() - 2 >= MAX_CARACTERES_CADENA) {
-            GestorErrores.lanzarError(GestorErrores.TipoError.LEXICO, GestorErrores.CADENA_LARGA + lexema);
+            gestorErrores.lanzarError(GestorErrores.TipoError.LEXICO, GestorErrores.CADENA_LARGA + lexema);
         }
-        if (lexema.contains("\n")) {
-            GestorErrores.lanzarError(GestorErrores.TipoError.LEXICO, GestorErrores.CADENA_SALTO_LINEA);
+        if (lexema.contiene('\n')) {
+            gestorErrores.lanzarError(GestorErrores.TipoError.LEXICO, GestorErrores.CADENA_SALTO_LINEA);
         }
     }
 
@@ -237,59 +186,26 @@ private void validarCadena(String lexema) throws IllegalStateException {
      * Procesa un entero, asegurando que no exceda el valor máximo permitido.
      * 
      * @param lexema El lexema que representa el entero.
-     * @return El token del entero.
+     * @param tokens Buffer en el que se añade el token.
+     * @return El índice del token del entero.
      * @throws IllegalStateException Si el entero excede el valor máximo permitido.
      */
-    private Token procesarEntero(String lexema) throws IllegalStateException {
-        Integer valorEntero = Integer.valueOf(lexema);
+    private int procesarEntero(Lexema lexema, BufferTokens tokens) throws IllegalStateException {
+        int valorEntero;
+        try {
+            valorEntero = Integer.parseInt(lexema, 0, lexema.length(), 10);
+        } catch (NumberFormatException e) {
+            // Se repite la conversión sobre el texto para conservar el mensaje original
+            valorEntero = Integer.valueOf(lexema.toString());
+        }
 
         // Se comprueba si el valor del entero no supera el valor máximo
         if (valorEntero <= MAX_VALOR_ENTERO) {
-            return new Token(TipoToken.ENTERO, valorEntero);
+            return tokens.agregar(TipoToken.ENTERO, parserGramatica.getTerminal(TipoToken.ENTERO), valorEntero,
+                    lexema.getInicio());
         } else {
-            GestorErrores.lanzarError(GestorErrores.TipoError.LEXICO, GestorErrores.ENTERO_MAXIMO + valorEntero);
+            gestorErrores.lanzarError(GestorErrores.TipoError.LEXICO, GestorErrores.ENTERO_MAXIMO + valorEntero);
         }
-        return null;
-    }
-
-    /**
-     * Gestiona la lista de símbolos por enviar, estableciéndolos en la tabla de
-     * símbolos si es necesario.
-     */
-    private void gestionarSimbolosPorEnviar() {
-        if (!ultimoTokenPuntoComa) {
-            simbolosPorEnviar.forEach(gestorSimbolos::setUltimoSimbolo);
-            simbolosPorEnviar.clear();
-        }
-    }
-
-    /**
-     * Actualiza el estado de la zona de declaración según el tipo de token actual.
-     * 
-     * @param token El token procesado.
-     */
-    private void actualizarZonaDeclaracion(Token token) {
-        if (token != null) {
-            if (TipoToken.PALABRARESERVADA.equals(token.getTipo()) && "let".equals(token.getAtributo())) {
-                gestorZonas.setZonaDeclaracion(true);
-            }
-            if (TipoToken.PUNTOCOMA.equals(token.getTipo()) || TipoToken.ID.equals(token.getTipo())) {
-                ultimoTokenPuntoComa = true;
-                gestorZonas.setZonaDeclaracion(false);
-            } else {
-                ultimoTokenPuntoComa = false;
-            }
-        }
-    }
-
-    /**
-     * Reinicia el GeneradorToken a su estado inicial.
-     */
-    public void resetGeneradorToken() {
-        this.gestorTablas = GestorTablas.getInstance();
-        this.gestorSimbolos = GestorSimbolos.getInstance();
-        this.gestorZonas = GestorZonasEspeciales.getInstance();
-        this.ultimoTokenPuntoComa = false;
-        this.simbolosPorEnviar = new ArrayList<>();
+        return BufferTokens.SIN_TOKEN;
     }
 }
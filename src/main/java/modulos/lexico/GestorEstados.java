@@ -1,15 +1,17 @@
 package modulos.lexico;
 
+import modulos.SesionCompilacion;
 import modulos.lexico.enums.EstadoFinal;
 import modulos.lexico.enums.EstadoTransito;
 import modulos.lexico.enums.PalabraReservada;
+import modulos.lexico.fuente.FuenteCaracteres;
 import util.GestorErrores;
 
 /**
  * Clase GestorEstados que maneja los estados de transición y los estados
  * finales durante el análisis léxico de un conjunto de caracteres.
  */
-public class GestorEstados {
+public class GestorEstados implements AutomataLexico {
 
     // Estado actual de transición durante el análisis léxico.
     private EstadoTransito estadoTransito;
@@ -17,33 +19,23 @@ public class GestorEstados {
     // Estado final alcanzado tras el análisis de una serie de caracteres.
     private EstadoFinal estadoFinal;
 
-    // Instancia única de la clase
-    private static GestorEstados instancia;
+    // Código de la palabra reservada del último lexema terminado
+    private int palabraReservada;
 
-    /**
-     * Constructor privado de GestorEstados. Inicializa el estado de transición y
-     * el estado final.
-     */
-    private GestorEstados() {
-        this.estadoTransito = EstadoTransito.INICIO;
-        this.estadoFinal = EstadoFinal.PENDIENTE;
-    }
+    // Gestor de errores de la sesión
+    private final GestorErrores gestorErrores;
 
     /**
-     * Devuelve la instancia única de la clase.
-     * Si la instancia no ha sido creada aún, la crea.
+     * Constructor de GestorEstados. Inicializa el estado de transición y el
+     * estado final.
      * 
-     * @return La instancia única de GestorEstados.
+     * @param sesion La sesión de compilación a la que pertenece.
      */
-    public static GestorEstados getInstance() {
-        if (instancia == null) {
-            synchronized (GestorEstados.class) {
-                if (instancia == null) {
-                    instancia = new GestorEstados();
-                }
-            }
-        }
-        return instancia;
+    public GestorEstados(SesionCompilacion sesion) {
+        this.gestorErrores = sesion.getGestorErroresLexico();
+        this.estadoTransito = EstadoTransito.INICIO;
+        this.estadoFinal = EstadoFinal.PENDIENTE;
+        this.palabraReservada = PalabraReservada.NINGUNA;
     }
 
     /**
@@ -51,6 +43,7 @@ public static GestorEstados getInstance() {
      * 
      * @return El estado actual de transición.
      */
+    @Override
     public EstadoTransito getEstadoTransito() {
         return estadoTransito;
     }
@@ -60,17 +53,25 @@ public EstadoTransito getEstadoTransito() {
      * 
      * @return El estado final alcanzado.
      */
+    @Override
     public EstadoFinal getEstadoFinal() {
         return estadoFinal;
     }
 
+    @Override
+    public int getPalabraReservada() {
+        return palabraReservada;
+    }
+
     /**
      * Actualiza el estado de transición del analizador en base al carácter actual.
      * 
-     * @param charActual El carácter actual a procesar.
+     * @param charActual El carácter actual a procesar, o
+     *                   FuenteCaracteres.FIN_DE_FICHERO al final.
      * @param lexema     El lexema actual a procesar.
      */
-    public void actualizarEstado(Character charActual, String lexema) {
+    @Override
+    public void actualizarEstado(int charActual, Lexema lexema) {
 
         estadoFinal = EstadoFinal.PENDIENTE;
 
@@ -83,13 +84,13 @@ public void actualizarEstado(Character charActual, String lexema) {
                 if (charActual == '/') {
                     estadoTransito = EstadoTransito.TEXTOCOMENTARIO;
                 } else {
-                    GestorErrores.lanzarError(GestorErrores.TipoError.LEXICO,
+                    gestorErrores.lanzarError(GestorErrores.TipoError.LEXICO,
                             GestorErrores.CARACTER_NO_ESPERADO_COMENTARIO);
                 }
                 break;
 
             case TEXTOCOMENTARIO:
-                if (charActual == '\n' || (int) charActual == 65535) {
+                if (charActual == '\n' || charActual == FuenteCaracteres.FIN_DE_FICHERO) {
                     estadoFinal = EstadoFinal.FINCOMENTARIO;
                 }
                 break;
@@ -112,7 +113,8 @@ public void actualizarEstado(Character charActual, String lexema) {
 
             case LEXEMA:
                 if (!(Character.isLetterOrDigit(charActual) || charActual == '_')) {
-                    if (PalabraReservada.contiene(lexema)) {
+                    palabraReservada = PalabraReservada.buscar(lexema.getCaracteres(), 0, lexema.length());
+                    if (palabraReservada != PalabraReservada.NINGUNA) {
                         estadoFinal = EstadoFinal.PALABRARESERVADA;
                     } else {
                         estadoFinal = EstadoFinal.IDENTIFICADOR;
@@ -146,7 +148,7 @@ public void actualizarEstado(Character charActual, String lexema) {
      * @throws IllegalStateException Si se encuentra un error en el procesamiento
      *                               del estado inicial.
      */
-    private void procesarEstadoInicial(Character charActual) {
+    private void procesarEstadoInicial(int charActual) {
 
         switch (charActual) {
 
@@ -198,7 +200,7 @@ private void procesarEstadoInicial(Character charActual) {
 
             // Otros casos
             default:
-                if ((int) charActual == 65535) {
+                if (charActual == FuenteCaracteres.FIN_DE_FICHERO) {
                     estadoFinal = EstadoFinal.FINDEFICHERO;
                 } else if (Character.isLetter(charActual) || charActual == '_') {
                     estadoTransito = EstadoTransito.LEXEMA;
@@ -207,18 +209,10 @@ private void procesarEstadoInicial(Character charActual) {
                 } else if (Character.isWhitespace(charActual) || charActual == '\t' || charActual == '\n') {
                     // Permanecer en el estado inicial
                 } else {
-                    GestorErrores.lanzarError(GestorErrores.TipoError.LEXICO,
-                            GestorErrores.CARACTER_NO_ESPERADO + charActual);
+                    gestorErrores.lanzarError(GestorErrores.TipoError.LEXICO,
+                            GestorErrores.CARACTER_NO_ESPERADO + (char) charActual);
                 }
                 break;
         }
     }
-
-    /**
-     * Reinicia el GestorEstados a su estado inicial.
-     */
-    public void resetGestorEstados() {
-        this.estadoTransito = EstadoTransito.INICIO;
-        this.estadoFinal = EstadoFinal.PENDIENTE;
-    }
 }
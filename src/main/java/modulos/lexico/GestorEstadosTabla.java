@@ -0,0 +1,253 @@
+package modulos.lexico;
+
+import modulos.SesionCompilacion;
+import modulos.lexico.enums.EstadoFinal;
+import modulos.lexico.enums.EstadoTransito;
+import modulos.lexico.enums.PalabraReservada;
+import modulos.lexico.fuente.FuenteCaracteres;
+import util.GestorErrores;
+
+/**
+ * Clase GestorEstadosTabla que implementa el mismo autómata que GestorEstados
+ * mediante una tabla de transiciones precalculada. Cada carácter se traduce a
+ * una clase de carácter (con una tabla de 128 entradas para ASCII y las
+ * funciones de Character para el resto) y la transición se obtiene con un
+ * único acceso a la tabla indexada por estado y clase.
+ */
+public class GestorEstadosTabla implements AutomataLexico {
+
+    // Clases de carácter
+    private static final int OTRO = 0;
+    private static final int LETRA = 1;
+    private static final int DIGITO = 2;
+    private static final int GUION_BAJO = 3;
+    private static final int ESPACIO = 4;
+    private static final int SALTO_LINEA = 5;
+    private static final int BARRA = 6;
+    private static final int MAS = 7;
+    private static final int IGUAL = 8;
+    private static final int COMILLAS = 9;
+    private static final int EXCLAMACION = 10;
+    private static final int COMA = 11;
+    private static final int PUNTOCOMA = 12;
+    private static final int ABREPARENTESIS = 13;
+    private static final int CIERRAPARENTESIS = 14;
+    private static final int ABRECORCHETE = 15;
+    private static final int CIERRACORCHETE = 16;
+    private static final int FIN = 17;
+    private static final int NUM_CLASES = 18;
+
+    // Acciones que no corresponden a un estado final concreto
+    private static final int FIN_LEXEMA = EstadoFinal.values().length;
+    private static final int ERROR_CARACTER = FIN_LEXEMA + 1;
+    private static final int ERROR_COMENTARIO = FIN_LEXEMA + 2;
+
+    // Cada transición se codifica como (acción << BITS_ESTADO) | siguiente estado
+    private static final int BITS_ESTADO = 4;
+    private static final int MASCARA_ESTADO = (1 << BITS_ESTADO) - 1;
+
+    private static final int NUM_ASCII = 128;
+
+    private static final EstadoTransito[] ESTADOS_TRANSITO = EstadoTransito.values();
+    private static final EstadoFinal[] ESTADOS_FINALES = EstadoFinal.values();
+
+    // Clase de cada carácter ASCII
+    private static final byte[] CLASES_ASCII = new byte[NUM_ASCII];
+
+    // Tabla de transiciones indexada por estado * NUM_CLASES + clase
+    private static final int[] TRANSICIONES = new int[ESTADOS_TRANSITO.length * NUM_CLASES];
+
+    static {
+        for (int caracter = 0; caracter < NUM_ASCII; caracter++) {
+            CLASES_ASCII[caracter] = (byte) clasificar(caracter);
+        }
+        construirTransiciones();
+    }
+
+    // Estado actual codificado como ordinal de EstadoTransito
+    private int estadoTransito;
+
+    // Estado final alcanzado tras el último carácter
+    private EstadoFinal estadoFinal;
+
+    // Código de la palabra reservada del último lexema terminado
+    private int palabraReservada;
+
+    // Gestor de errores de la sesión
+    private final GestorErrores gestorErrores;
+
+    /**
+     * Constructor de GestorEstadosTabla. Inicializa el estado de transición y el
+     * estado final.
+     *
+     * @param sesion La sesión de compilación a la que pertenece.
+     */
+    public GestorEstadosTabla(SesionCompilacion sesion) {
+        this.gestorErrores = sesion.getGestorErroresLexico();
+        this.estadoTransito = EstadoTransito.INICIO.ordinal();
+        this.estadoFinal = EstadoFinal.PENDIENTE;
+        this.palabraReservada = PalabraReservada.NINGUNA;
+    }
+
+    @Override
+    public EstadoTransito getEstadoTransito() {
+        return ESTADOS_TRANSITO[estadoTransito];
+    }
+
+    @Override
+    public EstadoFinal getEstadoFinal() {
+        return estadoFinal;
+    }
+
+    @Override
+    public int getPalabraReservada() {
+        return palabraReservada;
+    }
+
+    @Override
+    public void actualizarEstado(int charActual, Lexema lexema) {
+        int clase = charActual >= 0 && charActual < NUM_ASCII ? CLASES_ASCII[charActual] : clasificar(charActual);
+        int transicion = TRANSICIONES[estadoTransito * NUM_CLASES + clase];
+        int accion = transicion >>> BITS_ESTADO;
+
+        if (accion < FIN_LEXEMA) {
+            estadoFinal = ESTADOS_FINALES[accion];
+        } else if (accion == FIN_LEXEMA) {
+            palabraReservada = PalabraReservada.buscar(lexema.getCaracteres(), 0, lexema.length());
+            estadoFinal = palabraReservada != PalabraReservada.NINGUNA ? EstadoFinal.PALABRARESERVADA
+                    : EstadoFinal.IDENTIFICADOR;
+        } else if (accion == ERROR_CARACTER) {
+            gestorErrores.lanzarError(GestorErrores.TipoError.LEXICO,
+                    GestorErrores.CARACTER_NO_ESPERADO + (char) charActual);
+        } else {
+            gestorErrores.lanzarError(GestorErrores.TipoError.LEXICO,
+                    GestorErrores.CARACTER_NO_ESPERADO_COMENTARIO);
+        }
+        estadoTransito = transicion & MASCARA_ESTADO;
+    }
+
+    /**
+     * Obtiene la clase de un carácter. Para ASCII solo se usa al construir
+     * CLASES_ASCII; para el resto de caracteres es el camino lento.
+     *
+     * @param caracter El carácter, o FuenteCaracteres.FIN_DE_FICHERO.
+     * @return La clase del carácter.
+     */
+    private static int clasificar(int caracter) {
+        switch (caracter) {
+            case FuenteCaracteres.FIN_DE_FICHERO:
+                return FIN;
+            case '_':
+                return GUION_BAJO;
+            case '\n':
+                return SALTO_LINEA;
+            case '/':
+                return BARRA;
+            case '+':
+                return MAS;
+            case '=':
+                return IGUAL;
+            case '\"':
+                return COMILLAS;
+            case '!':
+                return EXCLAMACION;
+            case ',':
+                return COMA;
+            case ';':
+                return PUNTOCOMA;
+            case '(':
+                return ABREPARENTESIS;
+            case ')':
+                return CIERRAPARENTESIS;
+            case '{':
+                return ABRECORCHETE;
+            case '}':
+                return CIERRACORCHETE;
+            default:
+                if (Character.isLetter(caracter)) {
+                    return LETRA;
+                } else if (Character.isDigit(caracter)) {
+                    return DIGITO;
+                } else if (Character.isWhitespace(caracter)) {
+                    return ESPACIO;
+                }
+                return OTRO;
+        }
+    }
+
+    /**
+     * Rellena la tabla de transiciones con las mismas reglas que GestorEstados.
+     */
+    private static void construirTransiciones() {
+        for (int clase = 0; clase < NUM_CLASES; clase++) {
+            // Estado inicial: por defecto, carácter no esperado
+            definir(EstadoTransito.INICIO, clase, ERROR_CARACTER);
+
+            // Comentario: solo se admite la segunda barra
+            definir(EstadoTransito.COMENTARIO, clase, ERROR_COMENTARIO);
+
+            // Texto de comentario: se consume hasta el salto de línea
+            definir(EstadoTransito.TEXTOCOMENTARIO, clase, EstadoTransito.TEXTOCOMENTARIO);
+
+            // Igual y suma: el siguiente carácter decide el operador
+            definir(EstadoTransito.SIMBOLOIGUAL, clase, EstadoFinal.ASIGNACION.ordinal());
+            definir(EstadoTransito.SIMBOLOSUMA, clase, EstadoFinal.SUMA.ordinal());
+
+            // Lexema, número y cadena: terminan con cualquier otro carácter
+            definir(EstadoTransito.LEXEMA, clase, FIN_LEXEMA);
+            definir(EstadoTransito.CARACTERNUMERICO, clase, EstadoFinal.ENTERO.ordinal());
+            definir(EstadoTransito.TEXTOCADENA, clase, EstadoTransito.TEXTOCADENA);
+        }
+
+        definir(EstadoTransito.INICIO, EXCLAMACION, EstadoFinal.NEGACION.ordinal());
+        definir(EstadoTransito.INICIO, COMA, EstadoFinal.COMA.ordinal());
+        definir(EstadoTransito.INICIO, PUNTOCOMA, EstadoFinal.PUNTOCOMA.ordinal());
+        definir(EstadoTransito.INICIO, ABREPARENTESIS, EstadoFinal.ABREPARENTESIS.ordinal());
+        definir(EstadoTransito.INICIO, CIERRAPARENTESIS, EstadoFinal.CIERRAPARENTESIS.ordinal());
+        definir(EstadoTransito.INICIO, ABRECORCHETE, EstadoFinal.ABRECORCHETE.ordinal());
+        definir(EstadoTransito.INICIO, CIERRACORCHETE, EstadoFinal.CIERRACORCHETE.ordinal());
+        definir(EstadoTransito.INICIO, FIN, EstadoFinal.FINDEFICHERO.ordinal());
+        definir(EstadoTransito.INICIO, BARRA, EstadoTransito.COMENTARIO);
+        definir(EstadoTransito.INICIO, MAS, EstadoTransito.SIMBOLOSUMA);
+        definir(EstadoTransito.INICIO, IGUAL, EstadoTransito.SIMBOLOIGUAL);
+        definir(EstadoTransito.INICIO, COMILLAS, EstadoTransito.TEXTOCADENA);
+        definir(EstadoTransito.INICIO, LETRA, EstadoTransito.LEXEMA);
+        definir(EstadoTransito.INICIO, GUION_BAJO, EstadoTransito.LEXEMA);
+        definir(EstadoTransito.INICIO, DIGITO, EstadoTransito.CARACTERNUMERICO);
+        definir(EstadoTransito.INICIO, ESPACIO, EstadoTransito.INICIO);
+        definir(EstadoTransito.INICIO, SALTO_LINEA, EstadoTransito.INICIO);
+
+        definir(EstadoTransito.COMENTARIO, BARRA, EstadoTransito.TEXTOCOMENTARIO);
+
+        definir(EstadoTransito.TEXTOCOMENTARIO, SALTO_LINEA, EstadoFinal.FINCOMENTARIO.ordinal());
+        definir(EstadoTransito.TEXTOCOMENTARIO, FIN, EstadoFinal.FINCOMENTARIO.ordinal());
+
+        definir(EstadoTransito.SIMBOLOIGUAL, IGUAL, EstadoFinal.COMPARADOR.ordinal());
+        definir(EstadoTransito.SIMBOLOSUMA, IGUAL, EstadoFinal.ASIGNACIONSUMA.ordinal());
+
+        definir(EstadoTransito.LEXEMA, LETRA, EstadoTransito.LEXEMA);
+        definir(EstadoTransito.LEXEMA, DIGITO, EstadoTransito.LEXEMA);
+        definir(EstadoTransito.LEXEMA, GUION_BAJO, EstadoTransito.LEXEMA);
+
+        definir(EstadoTransito.CARACTERNUMERICO, DIGITO, EstadoTransito.CARACTERNUMERICO);
+
+        definir(EstadoTransito.TEXTOCADENA, COMILLAS, EstadoFinal.CADENA.ordinal());
+    }
+
+    /**
+     * Define una transición a un estado intermedio, sin estado final.
+     */
+    private static void definir(EstadoTransito origen, int clase, EstadoTransito destino) {
+        TRANSICIONES[origen.ordinal() * NUM_CLASES + clase] = (EstadoFinal.PENDIENTE.ordinal() << BITS_ESTADO)
+                | destino.ordinal();
+    }
+
+    /**
+     * Define una transición que termina un lexema o produce un error. En ambos
+     * casos el autómata vuelve al estado inicial.
+     */
+    private static void definir(EstadoTransito origen, int clase, int accion) {
+        TRANSICIONES[origen.ordinal() * NUM_CLASES + clase] = (accion << BITS_ESTADO)
+                | EstadoTransito.INICIO.ordinal();
+    }
+}
@@ -0,0 +1,119 @@
+package modulos.lexico;
+
+import java.util.Arrays;
+
+/**
+ * Clase Lexema que almacena los caracteres del lexema en curso en un buffer
+ * reutilizable. El lexema ocupa las posiciones [0, longitud) del buffer y solo
+ * se convierte en String cuando un token lo necesita, de modo que leer un
+ * carácter no crea objetos nuevos.
+ */
+public class Lexema implements CharSequence {
+
+    // Capacidad inicial del buffer de caracteres
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    private char[] caracteres;
+    private int longitud;
+
+    // Posición en la fuente del primer carácter del lexema
+    private int inicio;
+
+    /**
+     * Constructor de Lexema con un buffer vacío.
+     */
+    public Lexema() {
+        this.caracteres = new char[CAPACIDAD_INICIAL];
+        this.longitud = 0;
+        this.inicio = 0;
+    }
+
+    /**
+     * Añade un carácter al final del lexema, ampliando el buffer si es necesario.
+     *
+     * @param caracter El carácter a añadir.
+     */
+    public void agregar(char caracter) {
+        if (longitud == caracteres.length) {
+            caracteres = Arrays.copyOf(caracteres, caracteres.length * 2);
+        }
+        caracteres[longitud++] = caracter;
+    }
+
+    /**
+     * Vacía el lexema sin liberar el buffer.
+     */
+    public void vaciar() {
+        longitud = 0;
+    }
+
+    /**
+     * Indica si el lexema contiene el carácter dado.
+     *
+     * @param caracter El carácter a buscar.
+     * @return true si el carácter aparece en el lexema.
+     */
+    public boolean contiene(char caracter) {
+        for (int i = 0; i < longitud; i++) {
+            if (caracteres[i] == caracter) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtiene la posición en la fuente del primer carácter del lexema.
+     *
+     * @return La posición de inicio del lexema.
+     */
+    public int getInicio() {
+        return inicio;
+    }
+
+    /**
+     * Establece la posición en la fuente del primer carácter del lexema.
+     *
+     * @param inicio La posición de inicio del lexema.
+     */
+    public void setInicio(int inicio) {
+        this.inicio = inicio;
+    }
+
+    /**
+     * Obtiene el buffer interno. Solo son válidas las posiciones [0, length()).
+     *
+     * @return El buffer de caracteres del lexema.
+     */
+    public char[] getCaracteres() {
+        return caracteres;
+    }
+
+    @Override
+    public int length() {
+        return longitud;
+    }
+
+    @Override
+    public char charAt(int indice) {
+        if (indice >= longitud) {
+            throw new IndexOutOfBoundsException(indice);
+        }
+        return caracteres[indice];
+    }
+
+    @Override
+    public CharSequence subSequence(int inicio, int fin) {
+        return new String(caracteres, inicio, fin - inicio);
+    }
+
+    /**
+     * Crea un String con el contenido actual del lexema.
+     *
+     * @return El lexema como String.
+     */
+    @Override
+    public String toString() {
+        return new String(caracteres, 0, longitud);
+    }
+}
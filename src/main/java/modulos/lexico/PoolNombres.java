@@ -0,0 +1,196 @@
+package modulos.lexico;
+
+import java.util.Arrays;
+
+/**
+ * Clase PoolNombres que interna los nombres de los identificadores y los
+ * textos de las palabras reservadas y cadenas de una sesión: cada texto
+ * distinto se guarda una sola vez y se identifica por un índice, que es el
+ * atributo de los tokens con texto y de los tokens ID hasta que se resuelven en
+ * las tablas de símbolos. Así el analizador léxico no necesita las tablas.
+ * Los textos se buscan directamente por el tramo de caracteres del lexema, en
+ * una tabla hash de direccionamiento abierto, de modo que internar un texto
+ * que ya está no crea ningún objeto. Dentro de la sesión un mismo texto es
+ * siempre el mismo índice y la misma instancia, así que las tablas de símbolos
+ * indexan los nombres por su índice y no comparan textos.
+ * Solo la modifica el hilo del analizador léxico.
+ */
+public final class PoolNombres {
+
+    /**
+     * Índice que devuelve buscar() para un texto que no está en el pool.
+     */
+    public static final int SIN_NOMBRE = -1;
+
+    private static final int CAPACIDAD_INICIAL = 256;
+
+    // Casilla vacía de la tabla hash
+    private static final int VACIA = -1;
+
+    // Textos por índice, con su hash (el de String.hashCode)
+    private String[] nombres;
+    private int[] hashes;
+    private int numNombres;
+
+    // Tabla hash con el índice de cada texto, o VACIA
+    private int[] tabla;
+    private int mascara;
+
+    public PoolNombres() {
+        this.nombres = new String[CAPACIDAD_INICIAL];
+        this.hashes = new int[CAPACIDAD_INICIAL];
+        this.tabla = new int[CAPACIDAD_INICIAL * 2];
+        this.mascara = tabla.length - 1;
+        this.numNombres = 0;
+        Arrays.fill(tabla, VACIA);
+    }
+
+    /**
+     * Interna el texto de un lexema.
+     *
+     * @param lexema El lexema.
+     * @return El índice del texto.
+     */
+    public int internar(Lexema lexema) {
+        return internar(lexema.getCaracteres(), 0, lexema.length());
+    }
+
+    /**
+     * Interna un tramo de caracteres sin crear ningún objeto si ya está.
+     *
+     * @param caracteres Buffer que contiene el texto.
+     * @param inicio     Posición del primer carácter del texto.
+     * @param longitud   Número de caracteres del texto.
+     * @return El índice del texto.
+     */
+    public int internar(char[] caracteres, int inicio, int longitud) {
+        int hash = 0;
+        for (int i = inicio; i < inicio + longitud; i++) {
+            hash = 31 * hash + caracteres[i];
+        }
+
+        int casilla = dispersar(hash);
+        int indice;
+        while ((indice = tabla[casilla]) != VACIA) {
+            if (hashes[indice] == hash && iguales(nombres[indice], caracteres, inicio, longitud)) {
+                return indice;
+            }
+            casilla = (casilla + 1) & mascara;
+        }
+        return agregar(new String(caracteres, inicio, longitud), hash, casilla);
+    }
+
+    /**
+     * Interna un texto ya convertido en String.
+     *
+     * @param nombre El texto.
+     * @return El índice del texto.
+     */
+    public int internar(String nombre) {
+        int hash = nombre.hashCode();
+
+        int casilla = dispersar(hash);
+        int indice;
+        while ((indice = tabla[casilla]) != VACIA) {
+            if (hashes[indice] == hash && nombres[indice].equals(nombre)) {
+                return indice;
+            }
+            casilla = (casilla + 1) & mascara;
+        }
+        return agregar(nombre, hash, casilla);
+    }
+
+    /**
+     * Busca un texto sin internarlo.
+     *
+     * @param nombre El texto.
+     * @return El índice del texto, o SIN_NOMBRE si no está en el pool.
+     */
+    public int buscar(String nombre) {
+        int hash = nombre.hashCode();
+
+        int casilla = dispersar(hash);
+        int indice;
+        while ((indice = tabla[casilla]) != VACIA) {
+            if (hashes[indice] == hash && nombres[indice].equals(nombre)) {
+                return indice;
+            }
+            casilla = (casilla + 1) & mascara;
+        }
+        return SIN_NOMBRE;
+    }
+
+    /**
+     * Guarda un texto nuevo en una casilla vacía de la tabla.
+     */
+    private int agregar(String nombre, int hash, int casilla) {
+        if (numNombres == nombres.length) {
+            nombres = Arrays.copyOf(nombres, numNombres * 2);
+            hashes = Arrays.copyOf(hashes, numNombres * 2);
+        }
+        int indice = numNombres++;
+        nombres[indice] = nombre;
+        hashes[indice] = hash;
+        tabla[casilla] = indice;
+
+        // Se mantiene la tabla ocupada como mucho a la mitad
+        if (numNombres * 2 > tabla.length) {
+            redimensionar();
+        }
+        return indice;
+    }
+
+    /**
+     * Duplica la tabla hash y recoloca los índices.
+     */
+    private void redimensionar() {
+        tabla = new int[tabla.length * 2];
+        mascara = tabla.length - 1;
+        Arrays.fill(tabla, VACIA);
+        for (int indice = 0; indice < numNombres; indice++) {
+            int casilla = dispersar(hashes[indice]);
+            while (tabla[casilla] != VACIA) {
+                casilla = (casilla + 1) & mascara;
+            }
+            tabla[casilla] = indice;
+        }
+    }
+
+    /**
+     * Obtiene la primera casilla de un hash, mezclando sus bits altos.
+     */
+    private int dispersar(int hash) {
+        return (hash ^ (hash >>> 16)) & mascara;
+    }
+
+    private static boolean iguales(String nombre, char[] caracteres, int inicio, int longitud) {
+        if (nombre.length() != longitud) {
+            return false;
+        }
+        for (int i = 0; i < longitud; i++) {
+            if (nombre.charAt(i) != caracteres[inicio + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Obtiene el texto internado con un índice.
+     *
+     * @param indice El índice del texto.
+     * @return El texto; siempre la misma instancia para el mismo índice.
+     */
+    public String getNombre(int indice) {
+        return nombres[indice];
+    }
+
+    /**
+     * Obtiene el número de textos distintos internados.
+     *
+     * @return El número de textos.
+     */
+    public int size() {
+        return numNombres;
+    }
+}
@@ -18,18 +18,139 @@ public enum PalabraReservada {
     WHILE,
     GET;
 
+    // Resultado de buscar() cuando el texto no es una palabra reservada
+    public static final int NINGUNA = -1;
+
+    // Bit que buscar() añade al código si la palabra no está en minúsculas
+    public static final int NO_MINUSCULAS = 1 << 8;
+
+    private static final int MASCARA_ORDINAL = NO_MINUSCULAS - 1;
+    private static final int NUM_LETRAS = 'Z' - 'A' + 1;
+
+    private static final PalabraReservada[] VALORES = values();
+    private static final int LONGITUD_MINIMA;
+    private static final int LONGITUD_MAXIMA;
+
+    // Hash perfecto: la longitud y la primera letra identifican a cada palabra
+    private static final PalabraReservada[] TABLA;
+
+    static {
+        int minima = Integer.MAX_VALUE;
+        int maxima = 0;
+        for (PalabraReservada palabra : VALORES) {
+            minima = Math.min(minima, palabra.nombre.length);
+            maxima = Math.max(maxima, palabra.nombre.length);
+        }
+        LONGITUD_MINIMA = minima;
+        LONGITUD_MAXIMA = maxima;
+
+        TABLA = new PalabraReservada[(maxima - minima + 1) * NUM_LETRAS];
+        for (PalabraReservada palabra : VALORES) {
+            int indice = indice(palabra.nombre.length, palabra.nombre[0]);
+            if (TABLA[indice] != null) {
+                throw new IllegalStateException("Colision entre palabras reservadas: " + TABLA[indice] + ", " + palabra);
+            }
+            TABLA[indice] = palabra;
+        }
+    }
+
+    // Nombre de la palabra reservada en mayúsculas
+    private final char[] nombre;
+
+    private PalabraReservada() {
+        this.nombre = name().toCharArray();
+    }
+
     /**
-     * Verifica si un texto dado corresponde a una palabra reservada del lenguaje.
+     * Busca la palabra reservada que corresponde a un fragmento de texto, sin
+     * distinguir mayúsculas de minúsculas y sin crear objetos. En la misma
+     * pasada comprueba si el texto está escrito en minúsculas.
      * 
-     * @param texto El texto a verificar.
-     * @return true si el texto es una palabra reservada, false en caso contrario.
+     * @param caracteres Buffer que contiene el texto.
+     * @param inicio     Posición del primer carácter del texto.
+     * @param longitud   Número de caracteres del texto.
+     * @return NINGUNA si el texto no es una palabra reservada; en otro caso, el
+     *         ordinal de la palabra, con el bit NO_MINUSCULAS si algún carácter
+     *         no está en minúsculas.
      */
-    public static Boolean contiene(String texto) {
-        for (PalabraReservada palabraReservada : PalabraReservada.values()) {
-            if (palabraReservada.name().equalsIgnoreCase(texto)) {
-                return true;
+    public static int buscar(char[] caracteres, int inicio, int longitud) {
+        if (longitud < LONGITUD_MINIMA || longitud > LONGITUD_MAXIMA) {
+            return NINGUNA;
+        }
+        int primera = plegar(caracteres[inicio]);
+        if (primera < 0) {
+            return NINGUNA;
+        }
+        PalabraReservada candidata = TABLA[indice(longitud, primera)];
+        if (candidata == null) {
+            return NINGUNA;
+        }
+
+        boolean minusculas = true;
+        for (int i = 0; i < longitud; i++) {
+            char caracter = caracteres[inicio + i];
+            if (plegar(caracter) != candidata.nombre[i]) {
+                return NINGUNA;
             }
+            minusculas &= caracter >= 'a' && caracter <= 'z' || Character.isLowerCase(caracter);
+        }
+        return minusculas ? candidata.ordinal() : candidata.ordinal() | NO_MINUSCULAS;
+    }
+
+    /**
+     * Obtiene la palabra reservada de un código devuelto por buscar().
+     * 
+     * @param codigo Código distinto de NINGUNA.
+     * @return La palabra reservada.
+     */
+    public static PalabraReservada desdeCodigo(int codigo) {
+        return VALORES[codigo & MASCARA_ORDINAL];
+    }
+
+    /**
+     * Indica si un código devuelto por buscar() corresponde a un texto escrito en
+     * minúsculas.
+     * 
+     * @param codigo Código distinto de NINGUNA.
+     * @return true si todos los caracteres estaban en minúsculas.
+     */
+    public static boolean esMinusculas(int codigo) {
+        return (codigo & NO_MINUSCULAS) == 0;
+    }
+
+    /**
+     * Calcula la posición de una palabra en la tabla de hash perfecto.
+     */
+    private static int indice(int longitud, int primeraLetra) {
+        return (longitud - LONGITUD_MINIMA) * NUM_LETRAS + (primeraLetra - 'A');
+    }
+
+    /**
+     * Traduce un carácter a la letra mayúscula ASCII con la que coincide sin
+     * distinguir mayúsculas de minúsculas (con el mismo criterio que
+     * String.equalsIgnoreCase), o -1 si no coincide con ninguna.
+     * 
+     * @param caracter El carácter a traducir.
+     * @return La letra entre 'A' y 'Z', o -1.
+     */
+    private static int plegar(char caracter) {
+        if (caracter >= 'a' && caracter <= 'z') {
+            return caracter - ('a' - 'A');
+        }
+        if (caracter >= 'A' && caracter <= 'Z') {
+            return caracter;
+        }
+        if (caracter < 128) {
+            return -1;
+        }
+        char mayuscula = Character.toUpperCase(caracter);
+        if (mayuscula >= 'A' && mayuscula <= 'Z') {
+            return mayuscula;
+        }
+        char minuscula = Character.toLowerCase(caracter);
+        if (minuscula >= 'a' && minuscula <= 'z') {
+            return minuscula - ('a' - 'A');
         }
-        return false;
+        return -1;
     }
 }
@@ -0,0 +1,63 @@
+package modulos.lexico.fuente;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Fuente de caracteres que lee de un Reader por bloques grandes, evitando una
+ * llamada de lectura por cada carácter.
+ */
+public class FuenteBuffer implements FuenteCaracteres {
+
+    // Tamaño del bloque de lectura
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    private final Reader lector;
+    private final char[] buffer;
+
+    // Posición del siguiente carácter y número de caracteres válidos del buffer
+    private int posicion;
+    private int limite;
+
+    /**
+     * Constructor de FuenteBuffer.
+     * 
+     * @param lector El Reader del que se leen los caracteres.
+     */
+    public FuenteBuffer(Reader lector) {
+        this.lector = lector;
+        this.buffer = new char[TAMANO_BUFFER];
+        this.posicion = 0;
+        this.limite = 0;
+    }
+
+    @Override
+    public int leer() throws IOException {
+        if (posicion == limite && !rellenar()) {
+            return FIN_DE_FICHERO;
+        }
+        return buffer[posicion++];
+    }
+
+    /**
+     * Rellena el buffer con el siguiente bloque del Reader.
+     * 
+     * @return true si se han leído caracteres, false al final del fichero.
+     * @throws IOException Si ocurre un error de lectura.
+     */
+    private boolean rellenar() throws IOException {
+        int leidos;
+        do {
+            leidos = lector.read(buffer, 0, buffer.length);
+        } while (leidos == 0);
+
+        posicion = 0;
+        limite = Math.max(leidos, 0);
+        return leidos > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lector.close();
+    }
+}
@@ -0,0 +1,46 @@
+package modulos.lexico.fuente;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+
+/**
+ * Interfaz FuenteCaracteres que abstrae el origen de los caracteres que
+ * consume el analizador léxico. El fin de fichero se indica de forma explícita
+ * con el valor FIN_DE_FICHERO, que no corresponde a ningún carácter válido.
+ */
+public interface FuenteCaracteres extends Closeable {
+
+    // Valor devuelto por leer() cuando no quedan caracteres
+    int FIN_DE_FICHERO = -1;
+
+    // Tamaño a partir del cual un fichero se lee mapeado en memoria
+    long UMBRAL_MAPEO = 1L << 20;
+
+    /**
+     * Lee el siguiente carácter de la fuente.
+     * 
+     * @return El carácter leído, o FIN_DE_FICHERO si se ha alcanzado el final.
+     * @throws IOException Si ocurre un error de lectura.
+     */
+    int leer() throws IOException;
+
+    /**
+     * Abre un fichero eligiendo la fuente más adecuada según su tamaño: los
+     * ficheros grandes se mapean en memoria y el resto se leen con un buffer.
+     * 
+     * @param ruta La ruta del fichero.
+     * @return La fuente de caracteres del fichero.
+     * @throws IOException Si el fichero no se puede abrir.
+     */
+    static FuenteCaracteres abrir(Path ruta) throws IOException {
+        File fichero = ruta.toFile();
+        if (fichero.length() >= UMBRAL_MAPEO) {
+            return new FuenteMapeada(ruta, Charset.defaultCharset());
+        }
+        return new FuenteBuffer(new FileReader(fichero));
+    }
+}
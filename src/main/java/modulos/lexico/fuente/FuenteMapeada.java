@@ -0,0 +1,126 @@
+package modulos.lexico.fuente;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fuente de caracteres que mapea el fichero en memoria (FileChannel.map) y lo
+ * decodifica por bloques. El fichero se recorre en ventanas para admitir
+ * tamaños mayores que el máximo de un único mapeo.
+ */
+public class FuenteMapeada implements FuenteCaracteres {
+
+    // Tamaño de cada ventana mapeada del fichero
+    private static final long TAMANO_VENTANA = 1L << 26;
+
+    // Tamaño del buffer de caracteres decodificados
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    private final FileChannel canal;
+    private final long tamano;
+    private final long tamanoVentana;
+    private final CharsetDecoder decodificador;
+    private final CharBuffer caracteres;
+
+    // Ventana mapeada actual y su posición dentro del fichero
+    private MappedByteBuffer ventana;
+    private long inicioVentana;
+
+    // Indica si ya se ha decodificado el fichero completo
+    private boolean decodificado;
+
+    /**
+     * Constructor de FuenteMapeada.
+     * 
+     * @param ruta    La ruta del fichero.
+     * @param charset La codificación del fichero.
+     * @throws IOException Si el fichero no se puede abrir o mapear.
+     */
+    public FuenteMapeada(Path ruta, Charset charset) throws IOException {
+        this(ruta, charset, TAMANO_VENTANA);
+    }
+
+    /**
+     * Constructor con el tamaño de las ventanas, para probar con ficheros
+     * pequeños los caracteres partidos entre dos ventanas. Una ventana debe
+     * poder contener al menos un carácter completo.
+     * 
+     * @param ruta          La ruta del fichero.
+     * @param charset       La codificación del fichero.
+     * @param tamanoVentana El tamaño de cada ventana mapeada, en bytes.
+     * @throws IOException Si el fichero no se puede abrir o mapear.
+     */
+    FuenteMapeada(Path ruta, Charset charset, long tamanoVentana) throws IOException {
+        this.canal = FileChannel.open(ruta, StandardOpenOption.READ);
+        this.tamano = canal.size();
+        this.tamanoVentana = tamanoVentana;
+        this.decodificador = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.caracteres = CharBuffer.allocate(TAMANO_BUFFER);
+        this.caracteres.flip();
+        this.decodificado = false;
+        mapear(0);
+    }
+
+    @Override
+    public int leer() throws IOException {
+        if (!caracteres.hasRemaining() && !rellenar()) {
+            return FIN_DE_FICHERO;
+        }
+        return caracteres.get();
+    }
+
+    /**
+     * Decodifica el siguiente bloque de caracteres, avanzando de ventana cuando
+     * la actual se agota.
+     * 
+     * @return true si hay caracteres disponibles, false al final del fichero.
+     * @throws IOException Si ocurre un error al mapear o decodificar.
+     */
+    private boolean rellenar() throws IOException {
+        caracteres.clear();
+        while (caracteres.position() == 0 && !decodificado) {
+            boolean ultimaVentana = inicioVentana + ventana.limit() >= tamano;
+            CoderResult resultado = decodificador.decode(ventana, caracteres, ultimaVentana);
+            if (resultado.isError()) {
+                resultado.throwException();
+            }
+            if (resultado.isUnderflow()) {
+                if (ultimaVentana) {
+                    decodificador.flush(caracteres);
+                    decodificado = true;
+                } else {
+                    // Los bytes sin decodificar al final de la ventana se vuelven a mapear
+                    mapear(inicioVentana + ventana.position());
+                }
+            }
+        }
+        caracteres.flip();
+        return caracteres.hasRemaining();
+    }
+
+    /**
+     * Mapea la ventana del fichero que comienza en la posición indicada.
+     * 
+     * @param inicio Posición del fichero en la que comienza la ventana.
+     * @throws IOException Si ocurre un error al mapear.
+     */
+    private void mapear(long inicio) throws IOException {
+        inicioVentana = inicio;
+        ventana = canal.map(FileChannel.MapMode.READ_ONLY, inicio, Math.min(tamanoVentana, tamano - inicio));
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
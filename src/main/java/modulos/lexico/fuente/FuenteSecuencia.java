@@ -0,0 +1,33 @@
+package modulos.lexico.fuente;
+
+/**
+ * Fuente de caracteres que recorre una secuencia que ya está en memoria
+ * (String, StringBuilder, CharBuffer...).
+ */
+public class FuenteSecuencia implements FuenteCaracteres {
+
+    private final CharSequence secuencia;
+    private int posicion;
+
+    /**
+     * Constructor de FuenteSecuencia.
+     * 
+     * @param secuencia La secuencia de caracteres a analizar.
+     */
+    public FuenteSecuencia(CharSequence secuencia) {
+        this.secuencia = secuencia;
+        this.posicion = 0;
+    }
+
+    @Override
+    public int leer() {
+        if (posicion == secuencia.length()) {
+            return FIN_DE_FICHERO;
+        }
+        return secuencia.charAt(posicion++);
+    }
+
+    @Override
+    public void close() {
+    }
+}
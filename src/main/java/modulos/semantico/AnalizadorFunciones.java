@@ -0,0 +1,419 @@
+package modulos.semantico;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import modulos.SesionCompilacion;
+import modulos.lexico.PoolNombres;
+import modulos.sintactico.ArbolSintactico;
+import modulos.sintactico.VisitanteArbol;
+import modulos.tablaSimbolos.GestorSimbolos;
+import modulos.tablaSimbolos.GestorTablas;
+import modulos.tablaSimbolos.ResolutorIdentificadores;
+import modulos.tablaSimbolos.TablaSimbolos;
+import modulos.token.BufferTokens;
+import modulos.token.TipoToken;
+import util.ErrorCompilacion;
+import util.GestorErrores;
+
+/**
+ * Clase AnalizadorFunciones que hace el análisis semántico de un fichero ya
+ * analizado sintácticamente, a partir de su ArbolSintactico, analizando en
+ * paralelo los cuerpos de las funciones (F: F1 { C }).
+ * Primero recorre el árbol con una sesión propia, repitiendo los pasos del
+ * análisis secuencial (resolver cada token y aplicar cada regla) salvo dentro
+ * de los cuerpos: así declara las variables globales y las cabeceras de las
+ * funciones, y aparta la tabla de cada función con sus parámetros. Después
+ * cada cuerpo se analiza en el ForkJoinPool común con una sesión que solo
+ * tiene los componentes semánticos (los cuerpos consecutivos pequeños, en una
+ * misma tarea), cuya tabla global es la de ese recorrido, de solo lectura y
+ * limitada a los símbolos que existían al empezar el cuerpo. Por último se
+ * comprueban las funciones en orden: el tipo de retorno de cada una (regla 13)
+ * depende del último if o while del fichero, que puede estar en un cuerpo
+ * anterior, y el primer error es el del análisis secuencial.
+ * Si un cuerpo no se puede analizar aislado (deja declaraciones o llamadas a
+ * medio procesar, usa símbolos de fuera de su alcance o el token que lo sigue
+ * se resuelve en su tabla), se lanza un CuerpoNoAislado y analizar devuelve
+ * false sin modificar la sesión, para que el fichero se analice
+ * secuencialmente. Solo los ErrorCompilacion son errores del fichero; cualquier
+ * otra excepción es un fallo del compilador y se propaga.
+ */
+public final class AnalizadorFunciones {
+
+    // Reglas que se tratan aparte, numeradas como en las reglas aplicadas
+    private static final int REGLA_IF = 5;
+    private static final int REGLA_WHILE = 6;
+    private static final int REGLA_FUNCION = 13;
+
+    // Posición de los hijos de F: F1 { C }
+    private static final int HIJO_CABECERA = 0;
+    private static final int HIJO_LLAVE_ABRIR = 1;
+    private static final int HIJO_CUERPO = 2;
+    private static final int HIJO_LLAVE_CERRAR = 3;
+
+    // Número mínimo de tokens de los cuerpos que se analizan en cada tarea
+    private static final int TOKENS_POR_TAREA = 1 << 12;
+
+    private final SesionCompilacion sesion;
+    private final ForkJoinPool pool;
+
+    /**
+     * Recorrido del árbol que repite en una sesión los pasos del análisis
+     * secuencial: al visitar cada token resuelve el siguiente, que es lo que
+     * ocurre antes de desplazarlo, y al salir de cada regla la aplica. Los
+     * atributos de los identificadores se guardan en un array común, sin tocar
+     * el buffer.
+     */
+    private static class Recorrido implements VisitanteArbol {
+        final SesionCompilacion sesion;
+        final BufferTokens tokens;
+        final PoolNombres poolNombres;
+        final int[] atributos;
+        final ResolutorIdentificadores resolutor;
+        final AnalizadorSemantico analizadorSemantico;
+        final GestorErrores gestorErrores;
+
+        // Se ha aplicado algún if o while desde la última vez que se consultó
+        boolean condicional;
+
+        Recorrido(SesionCompilacion sesion, BufferTokens tokens, PoolNombres poolNombres, int[] atributos) {
+            this.sesion = sesion;
+            this.tokens = tokens;
+            this.poolNombres = poolNombres;
+            this.atributos = atributos;
+            this.resolutor = sesion.getResolutorIdentificadores();
+            this.analizadorSemantico = sesion.getAnalizadorSemantico();
+            this.gestorErrores = sesion.getGestorErrores();
+        }
+
+        /**
+         * Resuelve un token en la sesión del recorrido, con su línea.
+         *
+         * @param token Índice del token en el buffer.
+         */
+        void resolver(int token) {
+            gestorErrores.setLinea(tokens.getLinea(token));
+            TipoToken tipo = tokens.getTipo(token);
+            if (TipoToken.ID.equals(tipo)) {
+                int nombre = tokens.getAtributo(token);
+                atributos[token] = resolutor.resolver(tipo, tokens.getTerminal(token), nombre,
+                        poolNombres.getNombre(nombre));
+            } else {
+                atributos[token] = resolutor.resolver(tipo, tokens.getTerminal(token), BufferTokens.SIN_ATRIBUTO, null);
+            }
+        }
+
+        @Override
+        public void visitarToken(ArbolSintactico arbol, int nodo) {
+            int siguiente = arbol.getToken(nodo) + 1;
+            if (siguiente < tokens.size()) {
+                resolver(siguiente);
+            }
+        }
+
+        @Override
+        public void salirRegla(ArbolSintactico arbol, int nodo) {
+            int regla = arbol.getRegla(nodo);
+            if (regla == REGLA_IF || regla == REGLA_WHILE) {
+                condicional = true;
+            }
+            analizadorSemantico.procesarRegla(regla);
+        }
+    }
+
+    /**
+     * Recorrido de todo el árbol salvo los cuerpos de las funciones. Al llegar
+     * a la llave que abre un cuerpo, aparta su tabla y el tipo de su cabecera
+     * en un Cuerpo y sigue tras la llave que lo cierra.
+     */
+    private static final class RecorridoCabeceras extends Recorrido {
+        final List<Cuerpo> cuerpos;
+
+        // Nodos de la función actual, o -1 fuera de las funciones
+        int funcion;
+        int llaveAbrir;
+        int cuerpo;
+
+        RecorridoCabeceras(BufferTokens tokens, PoolNombres poolNombres, int[] atributos) {
+            super(SesionCompilacion.crearSesionSemantica(poolNombres), tokens, poolNombres, atributos);
+            this.cuerpos = new ArrayList<>();
+            this.funcion = -1;
+        }
+
+        @Override
+        public boolean visitarRegla(ArbolSintactico arbol, int nodo) {
+            if (arbol.getRegla(nodo) == REGLA_FUNCION) {
+                funcion = nodo;
+                llaveAbrir = arbol.getHijo(nodo, HIJO_LLAVE_ABRIR);
+                cuerpo = arbol.getHijo(nodo, HIJO_CUERPO);
+                return true;
+            }
+            return nodo != cuerpo || funcion < 0;
+        }
+
+        @Override
+        public void visitarToken(ArbolSintactico arbol, int nodo) {
+            if (nodo == llaveAbrir && funcion >= 0) {
+                apartarCuerpo(arbol);
+            } else {
+                super.visitarToken(arbol, nodo);
+            }
+        }
+
+        @Override
+        public void salirRegla(ArbolSintactico arbol, int nodo) {
+            if (nodo == funcion) {
+                // La regla 13 se aplica al comprobar el cuerpo
+                funcion = -1;
+            } else {
+                super.salirRegla(arbol, nodo);
+            }
+        }
+
+        /**
+         * Aparta el cuerpo de la función actual, justo después de su cabecera.
+         *
+         * @throws CuerpoNoAislado Si quedan declaraciones o llamadas a medio
+         *                         procesar que el cuerpo podría usar.
+         */
+        private void apartarCuerpo(ArbolSintactico arbol) {
+            if (sesion.getGestorSimbolos().hayPendientes()) {
+                throw new CuerpoNoAislado("Simbolos pendientes al empezar una funcion");
+            }
+            GestorTablas gestorTablas = sesion.getGestorTablas();
+            TablaSimbolos tabla = gestorTablas.extraerTabla();
+            TablaSimbolos global = gestorTablas.obtenerTablaGlobal();
+            cuerpos.add(new Cuerpo(arbol, funcion, tabla, global, global.getNumeroSimbolos(),
+                    analizadorSemantico.saltarCuerpoFuncion(), condicional,
+                    analizadorSemantico.getTipoReturnCondicional()));
+            condicional = false;
+        }
+    }
+
+    /**
+     * Recorrido del cuerpo de una función, desde el token que sigue a la llave
+     * que lo abre hasta el que sigue a la que lo cierra. Antes de resolver este
+     * último comprueba que el cuerpo no deja nada a medio procesar.
+     */
+    private static final class RecorridoCuerpo extends Recorrido {
+        final TablaSimbolos tabla;
+        final int funcion;
+        final int cabecera;
+        final int llaveCerrar;
+
+        RecorridoCuerpo(SesionCompilacion sesion, BufferTokens tokens, PoolNombres poolNombres, int[] atributos,
+                ArbolSintactico arbol, int funcion, TablaSimbolos tabla) {
+            super(sesion, tokens, poolNombres, atributos);
+            this.tabla = tabla;
+            this.funcion = funcion;
+            this.cabecera = arbol.getHijo(funcion, HIJO_CABECERA);
+            this.llaveCerrar = arbol.getHijo(funcion, HIJO_LLAVE_CERRAR);
+        }
+
+        @Override
+        public boolean visitarRegla(ArbolSintactico arbol, int nodo) {
+            return nodo != cabecera;
+        }
+
+        @Override
+        public void visitarToken(ArbolSintactico arbol, int nodo) {
+            if (nodo != llaveCerrar) {
+                super.visitarToken(arbol, nodo);
+                return;
+            }
+            GestorSimbolos gestorSimbolos = sesion.getGestorSimbolos();
+            if (!analizadorSemantico.isCuerpoFuncionTerminado() || !sesion.getGestorParametros().isVacio()
+                    || gestorSimbolos.hayPendientes() || gestorSimbolos.contieneSimbolosAjenos(tabla)
+                    || sesion.getGestorTablas().isGlobalSinTipo()) {
+                throw new CuerpoNoAislado("El cuerpo de la funcion no es independiente");
+            }
+            super.visitarToken(arbol, nodo);
+
+            // El token siguiente se resuelve aún en la tabla de la función
+            int siguiente = arbol.getToken(nodo) + 1;
+            if (TipoToken.ID.equals(tokens.getTipo(siguiente)) && atributos[siguiente] != BufferTokens.SIN_ATRIBUTO) {
+                throw new CuerpoNoAislado("Identificador de la tabla de la funcion tras su cuerpo");
+            }
+        }
+
+        @Override
+        public void salirRegla(ArbolSintactico arbol, int nodo) {
+            if (nodo != funcion) {
+                super.salirRegla(arbol, nodo);
+            }
+        }
+    }
+
+    /**
+     * Cuerpo de una función apartado por el recorrido de las cabeceras, con el
+     * resultado de su análisis.
+     */
+    private static final class Cuerpo {
+        private final ArbolSintactico arbol;
+        private final int funcion;
+        private final TablaSimbolos tabla;
+        private final TablaSimbolos global;
+        private final int simbolosGlobales;
+        private final byte tipoF1;
+
+        // If o while fuera de las funciones desde la función anterior, y el
+        // tipoReturnCondicional que dejaron
+        private final boolean condicionalAnterior;
+        private final byte tipoCondicionalAnterior;
+
+        private ForkJoinTask<?> analisis;
+        private SesionCompilacion sesion;
+        private boolean condicional;
+        private ErrorCompilacion error;
+        private boolean aislado;
+
+        Cuerpo(ArbolSintactico arbol, int funcion, TablaSimbolos tabla, TablaSimbolos global,
+                int simbolosGlobales, byte tipoF1, boolean condicionalAnterior, byte tipoCondicionalAnterior) {
+            this.arbol = arbol;
+            this.funcion = funcion;
+            this.tabla = tabla;
+            this.global = global;
+            this.simbolosGlobales = simbolosGlobales;
+            this.tipoF1 = tipoF1;
+            this.condicionalAnterior = condicionalAnterior;
+            this.tipoCondicionalAnterior = tipoCondicionalAnterior;
+        }
+
+        /**
+         * Obtiene el número de tokens del cuerpo, entre sus llaves.
+         *
+         * @return El número de tokens.
+         */
+        int getNumTokens() {
+            return arbol.getToken(arbol.getHijo(funcion, HIJO_LLAVE_CERRAR))
+                    - arbol.getToken(arbol.getHijo(funcion, HIJO_LLAVE_ABRIR));
+        }
+
+        /**
+         * Analiza el cuerpo con una sesión semántica propia y destruye su
+         * tabla. Se detiene en el primer error o en cuanto se sabe que el
+         * cuerpo no se puede analizar aparte.
+         */
+        void analizar(BufferTokens tokens, PoolNombres poolNombres, int[] atributos) {
+            sesion = SesionCompilacion.crearSesionSemantica(poolNombres);
+            GestorTablas gestorTablas = sesion.getGestorTablas();
+            gestorTablas.iniciarCuerpoFuncion(global, simbolosGlobales, tabla);
+            sesion.getGestorSimbolos().compartirSimbolosGlobales();
+            sesion.getAnalizadorSemantico().empezarCuerpoFuncion(tipoF1);
+
+            RecorridoCuerpo recorrido = new RecorridoCuerpo(sesion, tokens, poolNombres, atributos, arbol,
+                    funcion, tabla);
+            try {
+                arbol.recorrer(funcion, recorrido);
+                gestorTablas.destruirTabla();
+            } catch (ErrorCompilacion e) {
+                error = e;
+            } catch (CuerpoNoAislado e) {
+                return;
+            }
+            // Tras ocultar un global sin tipo, el error puede no ser el secuencial
+            aislado = !gestorTablas.isGlobalSinTipo();
+            condicional = recorrido.condicional;
+        }
+    }
+
+    /**
+     * Constructor del analizador de las funciones de una sesión.
+     *
+     * @param sesion La sesión en la que se dejan los resultados.
+     */
+    public AnalizadorFunciones(SesionCompilacion sesion) {
+        this.sesion = sesion;
+        this.pool = ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Analiza semánticamente un fichero. Si lo consigue, resuelve los
+     * identificadores del buffer y añade las tablas de símbolos a la sesión,
+     * como el análisis secuencial.
+     *
+     * @param arbol  El árbol sintáctico del fichero, aceptado.
+     * @param tokens Buffer con todos los tokens del fichero, sin resolver.
+     * @return true si se ha analizado el fichero; false si se debe analizar
+     *         secuencialmente, en cuyo caso la sesión y el buffer no cambian.
+     * @throws ErrorCompilacion El primer error semántico, el mismo que en el
+     *                          análisis secuencial.
+     */
+    public boolean analizar(ArbolSintactico arbol, BufferTokens tokens) {
+        PoolNombres poolNombres = sesion.getPoolNombres();
+        int[] atributos = new int[tokens.size()];
+        RecorridoCabeceras cabeceras = new RecorridoCabeceras(tokens, poolNombres, atributos);
+        ErrorCompilacion errorCabeceras = null;
+        try {
+            cabeceras.resolver(0);
+            arbol.recorrer(cabeceras);
+        } catch (ErrorCompilacion e) {
+            errorCabeceras = e;
+        } catch (CuerpoNoAislado e) {
+            return false;
+        }
+
+        List<Cuerpo> cuerpos = cabeceras.cuerpos;
+        int inicio = 0;
+        int tokensTarea = 0;
+        for (int i = 0; i < cuerpos.size(); i++) {
+            tokensTarea += cuerpos.get(i).getNumTokens();
+            if (tokensTarea >= TOKENS_POR_TAREA || i == cuerpos.size() - 1) {
+                List<Cuerpo> tarea = cuerpos.subList(inicio, i + 1);
+                ForkJoinTask<?> analisis = pool.submit(() -> {
+                    for (Cuerpo cuerpo : tarea) {
+                        cuerpo.analizar(tokens, poolNombres, atributos);
+                    }
+                });
+                for (Cuerpo cuerpo : tarea) {
+                    cuerpo.analisis = analisis;
+                }
+                inicio = i + 1;
+                tokensTarea = 0;
+            }
+        }
+
+        StringBuilder impresion = new StringBuilder();
+        try {
+            byte tipoCondicional = PilaTipos.SIN_TIPO;
+            for (Cuerpo cuerpo : cuerpos) {
+                cuerpo.analisis.join();
+                if (!cuerpo.aislado) {
+                    return false;
+                }
+                if (cuerpo.error != null) {
+                    throw cuerpo.error;
+                }
+                if (cuerpo.condicionalAnterior) {
+                    tipoCondicional = cuerpo.tipoCondicionalAnterior;
+                }
+                AnalizadorSemantico analizadorCuerpo = cuerpo.sesion.getAnalizadorSemantico();
+                if (!cuerpo.condicional) {
+                    analizadorCuerpo.setTipoReturnCondicional(tipoCondicional);
+                }
+                analizadorCuerpo.comprobarRetornoFuncion();
+                tipoCondicional = analizadorCuerpo.getTipoReturnCondicional();
+                impresion.append(cuerpo.sesion.getGestorTablas().getImpresionTablas());
+            }
+        } finally {
+            for (Cuerpo cuerpo : cuerpos) {
+                cuerpo.analisis.cancel(false);
+            }
+        }
+        if (errorCabeceras != null) {
+            throw errorCabeceras;
+        }
+
+        for (int token = 0; token < tokens.size(); token++) {
+            if (TipoToken.ID.equals(tokens.getTipo(token))) {
+                tokens.setAtributo(token, atributos[token]);
+            }
+        }
+        GestorTablas tablasCabeceras = cabeceras.sesion.getGestorTablas();
+        impresion.append(tablasCabeceras.getImpresionTablas());
+        sesion.getGestorTablas().agregarTablas(impresion.toString(), tablasCabeceras.getNumeroDeTablas() - 1);
+        return true;
+    }
+}
@@ -4,169 +4,173 @@
 
 import java.util.*;
 
+import modulos.SesionCompilacion;
+import modulos.eventos.EventoReglaSemantica;
+import modulos.sintactico.TablasLR;
 import modulos.tablaSimbolos.*;
 import modulos.tablaSimbolos.enums.Modo;
 import modulos.tablaSimbolos.enums.Tipo;
 
 /**
  * Clase AnalizadorSemantico que se encarga de procesar las reglas semánticas.
+ * Cada número de regla indexa su acción en ACCIONES, los tipos se apilan
+ * codificados en PilaTipos y las comprobaciones de tipos comparan máscaras de
+ * bits.
  */
 public class AnalizadorSemantico {
 
-    private static AnalizadorSemantico instancia;
+    // Con EventoReglaSemantica activo, se mide una de cada PERIODO_MUESTREO reglas
+    public static final int PERIODO_MUESTREO = 64;
 
-    private GestorTablas gestorTablas;
-    private GestorSimbolos gestorSimbolos;
-    private GestorZonasEspeciales gestorZonas;
+    // Conjuntos de tipos admitidos por las comprobaciones
+    private static final int MASCARA_INT = PilaTipos.mascara(PilaTipos.INT);
+    private static final int MASCARA_INT_STRING = PilaTipos.mascara(PilaTipos.INT)
+            | PilaTipos.mascara(PilaTipos.STRING);
+    private static final int MASCARA_EXPRESION = PilaTipos.mascara(PilaTipos.BOOLEAN)
+            | PilaTipos.mascara(PilaTipos.INT) | PilaTipos.mascara(PilaTipos.STRING);
 
-    private Stack<Tipo> pilaTipos;
-    private GestorParametros gestorParametros;
+    /**
+     * Acción semántica de una regla.
+     */
+    @FunctionalInterface
+    private interface AccionSemantica {
+        void aplicar(AnalizadorSemantico analizador);
+    }
 
-    private Boolean returnEjecutado;
-    private Tipo tipoReturnCondicional;
+    private static final AccionSemantica SIN_ACCION = analizador -> {
+    };
+
+    // Acción de cada regla, indexada por el número que devuelve el analizador
+    // sintáctico (la posición 0 no corresponde a ninguna regla)
+    private static final AccionSemantica[] ACCIONES = {
+            null,
+            AnalizadorSemantico::aceptar, // 1: Aceptar
+            SIN_ACCION, // 2: P: B P
+            SIN_ACCION, // 3: P: F P
+            SIN_ACCION, // 4: P: lambda
+            AnalizadorSemantico::procesarIfWhile, // 5: B: IF ( E ) S
+            AnalizadorSemantico::procesarIfWhile, // 6: B: WHILE ( E ) { C }
+            AnalizadorSemantico::procesarDeclaracion, // 7: B: LET ID T ;
+            AnalizadorSemantico::procesarAsignacion, // 8: B: LET ID T = E ;
+            SIN_ACCION, // 9: B: S
+            analizador -> analizador.pilaTipos.apilar(PilaTipos.INT), // 10: T: INT
+            analizador -> analizador.pilaTipos.apilar(PilaTipos.BOOLEAN), // 11: T: BOOLEAN
+            analizador -> analizador.pilaTipos.apilar(PilaTipos.STRING), // 12: T: STRING
+            AnalizadorSemantico::procesarFuncion, // 13: F: F1 { C }
+            AnalizadorSemantico::procesarParametrosFuncion, // 14: F1: F2 ( A )
+            AnalizadorSemantico::procesarFuncionID, // 15: F2: FUNCTION ID H
+            SIN_ACCION, // 16: H: T
+            analizador -> analizador.pilaTipos.apilar(PilaTipos.VOID), // 17: H: VOID
+            AnalizadorSemantico::procesarParametro, // 18: A: T ID K
+            SIN_ACCION, // 19: A: VOID
+            AnalizadorSemantico::procesarParametro, // 20: K: , T ID K
+            SIN_ACCION, // 21: K: lambda
+            AnalizadorSemantico::procesarSentencia, // 22: C: B C
+            analizador -> analizador.pilaTipos.apilar(PilaTipos.OK), // 23: C: lambda
+            AnalizadorSemantico::procesarComparacion, // 24: E: E1 == U
+            SIN_ACCION, // 25: E: U
+            AnalizadorSemantico::procesarSuma, // 26: U: U1 + V
+            SIN_ACCION, // 27: U: V
+            AnalizadorSemantico::procesarNegacion, // 28: V: !W
+            SIN_ACCION, // 29: V: W
+            AnalizadorSemantico::procesarIdentificador, // 30: W: ID
+            AnalizadorSemantico::procesarParentesis, // 31: W: ( E )
+            AnalizadorSemantico::procesarLlamadaFuncion, // 32: W: ID ( L )
+            analizador -> analizador.pilaTipos.apilar(PilaTipos.INT), // 33: W: ENTERO
+            analizador -> analizador.pilaTipos.apilar(PilaTipos.STRING), // 34: W: CADENA
+            AnalizadorSemantico::procesarAsignacionConOperacion, // 35: S: ID = E ;
+            AnalizadorSemantico::procesarAsignacionConOperacion, // 36: S: ID += E ;
+            AnalizadorSemantico::procesarLlamadaFuncionConParametros, // 37: S: ID ( L ) ;
+            AnalizadorSemantico::procesarPut, // 38: S: PUT E ;
+            AnalizadorSemantico::procesarGet, // 39: S: GET ID ;
+            AnalizadorSemantico::procesarReturn, // 40: S: RETURN Z ;
+            AnalizadorSemantico::procesarArgumento, // 41: L: E Q
+            SIN_ACCION, // 42: L: lambda
+            AnalizadorSemantico::procesarArgumento, // 43: Q: , E Q
+            SIN_ACCION, // 44: Q: lambda
+            SIN_ACCION, // 45: Z: E
+            analizador -> analizador.pilaTipos.apilar(PilaTipos.VOID), // 46: Z: lambda
+    };
+
+    private final GestorTablas gestorTablas;
+    private final GestorSimbolos gestorSimbolos;
+    private final GestorZonasEspeciales gestorZonas;
+    private final GestorErrores gestorErrores;
+
+    private final PilaTipos pilaTipos;
+    private final GestorParametros gestorParametros;
+
+    private boolean returnEjecutado;
+    private byte tipoReturnCondicional;
+
+    // Muestreo de la duración de las reglas para JFR
+    private final boolean muestreo;
+    private final TablasLR tablas;
+    private int reglasHastaMuestra;
 
     /**
-     * Constructor privado para evitar la creación de instancias.
+     * Constructor del analizador semántico de una sesión.
+     *
+     * @param sesion La sesión de compilación a la que pertenece.
      */
-    private AnalizadorSemantico() {
-        this.gestorTablas = GestorTablas.getInstance();
-        this.gestorSimbolos = GestorSimbolos.getInstance();
-        this.gestorZonas = GestorZonasEspeciales.getInstance();
-        this.pilaTipos = new Stack<>();
-        this.gestorParametros = GestorParametros.getInstance();
+    public AnalizadorSemantico(SesionCompilacion sesion) {
+        this.gestorTablas = sesion.getGestorTablas();
+        this.gestorSimbolos = sesion.getGestorSimbolos();
+        this.gestorZonas = sesion.getGestorZonas();
+        this.gestorErrores = sesion.getGestorErrores();
+        this.pilaTipos = new PilaTipos();
+        this.gestorParametros = sesion.getGestorParametros();
         this.returnEjecutado = false;
+        this.tipoReturnCondicional = PilaTipos.SIN_TIPO;
+        this.muestreo = new EventoReglaSemantica().isEnabled();
+        this.tablas = sesion.getParserGramatica().getTablas();
+        this.reglasHastaMuestra = PERIODO_MUESTREO;
     }
 
     /**
-     * Devuelve la instancia única de la clase.
-     * Si la instancia no ha sido creada aún, la crea.
+     * Procesa una regla específica en función de su número. Si EventoReglaSemantica
+     * estaba activo al crear la sesión, una de cada PERIODO_MUESTREO reglas se
+     * mide y se registra en JFR.
      *
-     * @return La instancia única de AnalizadorSemantico.
+     * @param numeroRegla El número de la regla a procesar.
      */
-    public static synchronized AnalizadorSemantico getInstance() {
-        if (instancia == null) {
-            instancia = new AnalizadorSemantico();
+    public void procesarRegla(int numeroRegla) {
+        if (muestreo && --reglasHastaMuestra == 0) {
+            reglasHastaMuestra = PERIODO_MUESTREO;
+            medirRegla(numeroRegla);
+        } else {
+            aplicarRegla(numeroRegla);
         }
-        return instancia;
     }
 
     /**
-     * Procesa una regla específica en función de su número.
+     * Procesa una regla y registra su duración en un EventoReglaSemantica.
      *
      * @param numeroRegla El número de la regla a procesar.
      */
-    public void procesarRegla(Integer numeroRegla) {
-        switch (numeroRegla) {
-            case 1: // Aceptar
-                aceptar();
-                break;
-            case 2: // P: B P
-            case 3: // P: F P
-            case 4: // P: lambda
-            case 9: // B: S
-            case 16: // H: T
-            case 19: // A: VOID
-            case 21: // K: lambda
-            case 25: // E: U
-            case 27: // U: V
-            case 29: // V: W
-            case 42: // L: lambda
-            case 44: // Q: lambda
-            case 45: // Z: E
-                break;
-            case 5: // B: IF ( E ) S
-            case 6: // B: WHILE ( E ) { C }
-                procesarIfWhile();
-                break;
-            case 7: // B: LET ID T ;
-                procesarDeclaracion();
-                break;
-            case 8: // B: LET ID T = E ;
-                procesarAsignacion();
-                break;
-            case 10: // T: INT
-                pilaTipos.add(Tipo.INT);
-                break;
-            case 11: // T: BOOLEAN
-                pilaTipos.add(Tipo.BOOLEAN);
-                break;
-            case 12: // T: STRING
-                pilaTipos.add(Tipo.STRING);
-                break;
-            case 13: // F: F1 { C }
-                procesarFuncion();
-                break;
-            case 14: // F1: F2 ( A )
-                procesarParametrosFuncion();
-                break;
-            case 15: // F2: FUNCTION ID H
-                procesarFuncionID();
-                break;
-            case 17: // H: VOID
-                pilaTipos.add(Tipo.VOID);
-                break;
-            case 18: // A: T ID K
-            case 20: // K: , T ID K
-                procesarParametro();
-                break;
-            case 22: // C: B C
-                procesarSentencia();
-                break;
-            case 23: // C: lambda
-                pilaTipos.add(Tipo.OK);
-                break;
-            case 24: // E: E1 == U
-                procesarComparacion();
-                break;
-            case 26: // U: U1 + V
-                procesarSuma();
-                break;
-            case 28: // V: !W
-                procesarNegacion();
-                break;
-            case 30: // W: ID
-                procesarIdentificador();
-                break;
-            case 31: // W: ( E )
-                procesarParentesis();
-                break;
-            case 32: // W: ID ( L )
-                procesarLlamadaFuncion();
-                break;
-            case 33: // W: ENTERO
-                pilaTipos.add(Tipo.INT);
-                break;
-            case 34: // W: CADENA
-                pilaTipos.add(Tipo.STRING);
-                break;
-            case 35: // S: ID = E ;
-            case 36: // S: ID += E ;
-                procesarAsignacionConOperacion();
-                break;
-            case 37: // S: ID ( L ) ;
-                procesarLlamadaFuncionConParametros();
-                break;
-            case 38: // S: PUT E ;
-                procesarPut();
-                break;
-            case 39: // S: GET ID ;
-                procesarGet();
-                break;
-            case 40: // S: RETURN Z ;
-                procesarReturn();
-                break;
-            case 41: // L: E Q
-            case 43: // Q: , E Q
-                gestorParametros.addParametro(pilaTipos.pop());
-                break;
-            case 46: // Z: lambda
-                pilaTipos.add(Tipo.VOID);
-                break;
-            default:
-                GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_REGLA_NO_IMPLEMENTADA);
+    private void medirRegla(int numeroRegla) {
+        EventoReglaSemantica evento = new EventoReglaSemantica();
+        evento.begin();
+        aplicarRegla(numeroRegla);
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.setRegla(numeroRegla, tablas.getNoTerminal(tablas.getNoTerminalRegla(numeroRegla - 1)));
+            evento.commit();
         }
     }
 
+    /**
+     * Aplica las acciones semánticas de una regla.
+     *
+     * @param numeroRegla El número de la regla a procesar.
+     */
+    private void aplicarRegla(int numeroRegla) {
+        if (numeroRegla <= 0 || numeroRegla >= ACCIONES.length) {
+            gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_REGLA_NO_IMPLEMENTADA);
+        }
+        ACCIONES[numeroRegla].aplicar(this);
+    }
+
     /**
      * Procesa la regla de aceptación, destruyendo la tabla de símbolos actual.
      */
@@ -181,15 +185,15 @@ private void aceptar() {
      * case 6: // B: WHILE ( E ) { C }
      */
     private void procesarIfWhile() {
-        Tipo tipoS = pilaTipos.pop();
-        Tipo tipoE = pilaTipos.pop();
+        byte tipoS = pilaTipos.desapilar();
+        byte tipoE = pilaTipos.desapilar();
 
-        if (!tipoE.equals(Tipo.BOOLEAN)) {
-            GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPO_BOOLEAN);
+        if (tipoE != PilaTipos.BOOLEAN) {
+            gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPO_BOOLEAN);
         }
 
         tipoReturnCondicional = tipoS;
-        pilaTipos.add(Tipo.OK);
+        pilaTipos.apilar(PilaTipos.OK);
     }
 
     /**
@@ -198,11 +202,11 @@ private void procesarIfWhile() {
      * case 7: // B: LET ID T ;
      */
     private void procesarDeclaracion() {
-        Tipo tipo = pilaTipos.pop();
+        byte tipo = pilaTipos.desapilar();
         Simbolo simbolo = gestorSimbolos.consumirSimboloSinTipo();
-        gestorTablas.asignarTipo(simbolo, tipo);
+        gestorTablas.asignarTipo(simbolo, PilaTipos.decodificar(tipo));
 
-        pilaTipos.add(Tipo.OK);
+        pilaTipos.apilar(PilaTipos.OK);
     }
 
     /**
@@ -211,17 +215,17 @@ private void procesarDeclaracion() {
      * case 8: // B: LET ID T = E ;
      */
     private void procesarAsignacion() {
-        Tipo tipoE = pilaTipos.pop();
-        Tipo tipoT = pilaTipos.pop();
+        byte tipoE = pilaTipos.desapilar();
+        byte tipoT = pilaTipos.desapilar();
 
         if (tipoE == tipoT) {
             Simbolo simbolo = gestorSimbolos.consumirSimboloSinTipo();
-            gestorTablas.asignarTipo(simbolo, tipoT);
+            gestorTablas.asignarTipo(simbolo, PilaTipos.decodificar(tipoT));
         } else {
-            GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPOS_NO_COINCIDEN);
+            gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPOS_NO_COINCIDEN);
         }
 
-        pilaTipos.add(Tipo.OK);
+        pilaTipos.apilar(PilaTipos.OK);
     }
 
     /**
@@ -231,20 +235,66 @@ private void procesarAsignacion() {
      * case 13: // F: F1 { C }
      */
     private void procesarFuncion() {
-        Tipo tipoC = pilaTipos.pop();
-        Tipo tipoF1 = pilaTipos.pop();
-
-        if (!(tipoF1.equals(tipoC))) {
-            if (!(tipoF1.equals(Tipo.VOID) && tipoC == Tipo.OK)) {
-                if (returnEjecutado
-                        && !(tipoF1.equals(tipoReturnCondicional))) {
-                    GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO,
+        comprobarRetornoFuncion();
+        gestorTablas.destruirTabla();
+    }
+
+    /**
+     * Comprueba el tipo de retorno de una función con los tipos de F1 y de su
+     * cuerpo, que se desapilan.
+     */
+    void comprobarRetornoFuncion() {
+        byte tipoC = pilaTipos.desapilar();
+        byte tipoF1 = pilaTipos.desapilar();
+
+        if (tipoF1 != tipoC) {
+            if (!(tipoF1 == PilaTipos.VOID && tipoC == PilaTipos.OK)) {
+                if (returnEjecutado && tipoF1 != tipoReturnCondicional) {
+                    gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO,
                             GestorErrores.ERROR_TIPO_RETORNO_FUNCION);
                 }
             }
         }
+    }
 
-        gestorTablas.destruirTabla();
+    /**
+     * Deja sin analizar el cuerpo de la función actual, que se analiza en otra
+     * sesión (AnalizadorFunciones): desapila el tipo de F1, que la regla 13 de
+     * esa sesión necesita.
+     *
+     * @return El código del tipo de F1.
+     */
+    byte saltarCuerpoFuncion() {
+        return pilaTipos.desapilar();
+    }
+
+    /**
+     * Prepara el analizador, recién creado, para analizar solo el cuerpo de una
+     * función, como si acabase de reducir su cabecera.
+     *
+     * @param tipoF1 El código del tipo de F1, que devolvió saltarCuerpoFuncion.
+     */
+    void empezarCuerpoFuncion(byte tipoF1) {
+        pilaTipos.apilar(tipoF1);
+    }
+
+    /**
+     * Indica si la pila de tipos contiene solo los tipos de F1 y del cuerpo,
+     * como al terminar el cuerpo de una función empezado con
+     * empezarCuerpoFuncion.
+     *
+     * @return true si la pila tiene exactamente dos tipos.
+     */
+    boolean isCuerpoFuncionTerminado() {
+        return pilaTipos.size() == 2;
+    }
+
+    byte getTipoReturnCondicional() {
+        return tipoReturnCondicional;
+    }
+
+    void setTipoReturnCondicional(byte tipoReturnCondicional) {
+        this.tipoReturnCondicional = tipoReturnCondicional;
     }
 
     /**
@@ -258,8 +308,7 @@ private void procesarParametrosFuncion() {
         // de simbolos
         Simbolo simbolo = gestorSimbolos.getUltimoSimboloFuncion();
         simbolo.setNumeroParametros(gestorParametros.getNumeroParametrosFuncion());
-        simbolo.setTipoParametros(new ArrayList<>(gestorParametros.getTipoParametrosFuncion()));
-        simbolo.setModoPaso(new ArrayList<>(gestorParametros.getModoPasoParametros()));
+        simbolo.setFirma(gestorParametros.getTipoParametrosFuncion(), gestorParametros.getModoPasoParametros());
 
         // Se sale de la zona de parametros
         gestorZonas.setZonaParametros(false);
@@ -279,9 +328,9 @@ private void procesarFuncionID() {
         returnEjecutado = false;
 
         // Asignar tipo de la funcion a la tabla de sinbolos
-        Tipo tipo = pilaTipos.peek();
+        Tipo tipo = PilaTipos.decodificar(pilaTipos.cima());
         Simbolo simbolo = gestorSimbolos.consumirSimboloSinTipo();
-        simbolo.setNumeroParametros(0);
+        gestorSimbolos.declararFuncion(simbolo);
         simbolo.setTipoRetorno(tipo);
         gestorTablas.asignarTipo(simbolo, tipo);
     }
@@ -293,7 +342,7 @@ private void procesarFuncionID() {
      * case 20: // K: , T ID K
      */
     private void procesarParametro() {
-        Tipo tipo = pilaTipos.pop();
+        Tipo tipo = PilaTipos.decodificar(pilaTipos.desapilar());
         Simbolo simbolo = gestorSimbolos.consumirSimboloSinTipo();
         gestorTablas.asignarTipo(simbolo, tipo);
         gestorParametros.addParametroFuncion(tipo, Modo.VALOR);
@@ -305,15 +354,15 @@ private void procesarParametro() {
      * case 22: // C: B C
      */
     private void procesarSentencia() {
-        Tipo tipoC = pilaTipos.pop();
-        Tipo tipoB = pilaTipos.pop();
-        if (tipoB != Tipo.OK && tipoC != Tipo.OK) {
-            GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPO_RETORNO_FUNCION);
+        byte tipoC = pilaTipos.desapilar();
+        byte tipoB = pilaTipos.desapilar();
+        if (tipoB != PilaTipos.OK && tipoC != PilaTipos.OK) {
+            gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPO_RETORNO_FUNCION);
         } else {
-            if (tipoB != Tipo.OK) {
-                pilaTipos.add(tipoB);
+            if (tipoB != PilaTipos.OK) {
+                pilaTipos.apilar(tipoB);
             } else {
-                pilaTipos.add(tipoC);
+                pilaTipos.apilar(tipoC);
             }
         }
     }
@@ -324,12 +373,13 @@ private void procesarSentencia() {
      * case 24: // E: E1 == U
      */
     private void procesarComparacion() {
-        Tipo tipoE1 = pilaTipos.pop();
-        Tipo tipoU = pilaTipos.pop();
-        if (tipoE1 == tipoU && tipoE1.equals(Tipo.INT)) {
-            pilaTipos.add(Tipo.BOOLEAN);
+        byte tipoE1 = pilaTipos.desapilar();
+        byte tipoU = pilaTipos.desapilar();
+        // Los dos operandos son enteros
+        if ((PilaTipos.mascara(tipoE1) | PilaTipos.mascara(tipoU)) == MASCARA_INT) {
+            pilaTipos.apilar(PilaTipos.BOOLEAN);
         } else {
-            GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPOS_NO_COINCIDEN);
+            gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPOS_NO_COINCIDEN);
         }
     }
 
@@ -339,12 +389,12 @@ private void procesarComparacion() {
      * case 26: // U: U1 + V
      */
     private void procesarSuma() {
-        Tipo tipoU1 = pilaTipos.pop();
-        Tipo tipoV = pilaTipos.pop();
-        if (tipoU1 == tipoV && tipoU1.equals(Tipo.INT)) {
-            pilaTipos.add(Tipo.INT);
+        byte tipoU1 = pilaTipos.desapilar();
+        byte tipoV = pilaTipos.desapilar();
+        if ((PilaTipos.mascara(tipoU1) | PilaTipos.mascara(tipoV)) == MASCARA_INT) {
+            pilaTipos.apilar(PilaTipos.INT);
         } else {
-            GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPOS_NO_COINCIDEN);
+            gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPOS_NO_COINCIDEN);
         }
     }
 
@@ -354,11 +404,10 @@ private void procesarSuma() {
      * case 28: // V: !W
      */
     private void procesarNegacion() {
-        Tipo tipo = pilaTipos.pop();
-        if (tipo.equals(Tipo.BOOLEAN)) {
-            pilaTipos.add(Tipo.BOOLEAN);
+        if (pilaTipos.desapilar() == PilaTipos.BOOLEAN) {
+            pilaTipos.apilar(PilaTipos.BOOLEAN);
         } else {
-            GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPO_NO_COMPATIBLE);
+            gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPO_NO_COMPATIBLE);
         }
     }
 
@@ -373,7 +422,7 @@ private void procesarIdentificador() {
             gestorSimbolos.eliminarSimboloSinTipo(simbolo);
             simbolo.setTipo(Tipo.INT);
         }
-        pilaTipos.add(simbolo.getTipo());
+        pilaTipos.apilar(PilaTipos.codificar(simbolo.getTipo()));
     }
 
     /**
@@ -382,9 +431,8 @@ private void procesarIdentificador() {
      * case 31: // W: ( E )
      */
     private void procesarParentesis() {
-        Tipo tipo = pilaTipos.peek();
-        if (!(tipo.equals(Tipo.BOOLEAN) || tipo.equals(Tipo.INT) || tipo.equals(Tipo.STRING))) {
-            GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPO_NO_COMPATIBLE);
+        if ((PilaTipos.mascara(pilaTipos.cima()) & MASCARA_EXPRESION) == 0) {
+            gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPO_NO_COMPATIBLE);
         }
     }
 
@@ -396,12 +444,7 @@ private void procesarParentesis() {
     private void procesarLlamadaFuncion() {
         Simbolo simboloFuncion = gestorSimbolos.getUltimoSimboloFuncion();
         verificarLlamadaFuncion(simboloFuncion);
-
-        if (simboloFuncion.getTipo() == null) {
-            pilaTipos.add(pilaTipos.peek());
-        } else {
-            pilaTipos.add(simboloFuncion.getTipo());
-        }
+        pilaTipos.apilar(tipoLlamada(simboloFuncion));
     }
 
     /**
@@ -412,13 +455,21 @@ private void procesarLlamadaFuncion() {
     private void procesarLlamadaFuncionConParametros() {
         Simbolo simboloFuncion = gestorSimbolos.getUltimoSimboloFuncion();
         verificarLlamadaFuncion(simboloFuncion);
-        if (simboloFuncion.getTipo() == null) {
-            pilaTipos.add(pilaTipos.peek());
-        } else {
-            pilaTipos.add(simboloFuncion.getTipo());
-        }
-        pilaTipos.pop();
-        pilaTipos.add(Tipo.OK);
+        // El tipo de la llamada se descarta
+        tipoLlamada(simboloFuncion);
+        pilaTipos.apilar(PilaTipos.OK);
+    }
+
+    /**
+     * Obtiene el tipo de una llamada: el de la función o, si no lo tiene aún,
+     * el de la cima de la pila.
+     *
+     * @param simboloFuncion El símbolo de la función llamada.
+     * @return El código del tipo de la llamada.
+     */
+    private byte tipoLlamada(Simbolo simboloFuncion) {
+        Tipo tipo = simboloFuncion.getTipo();
+        return tipo == null ? pilaTipos.cima() : PilaTipos.codificar(tipo);
     }
 
     /**
@@ -428,16 +479,16 @@ private void procesarLlamadaFuncionConParametros() {
      * case 36: // S: ID += E ;
      */
     private void procesarAsignacionConOperacion() {
-        Tipo tipoE = pilaTipos.pop();
+        byte tipoE = pilaTipos.desapilar();
         Simbolo simbolo = gestorSimbolos.getUltimoSimbolo();
         if (simbolo.getTipo() == null) {
             gestorSimbolos.eliminarSimboloSinTipo(simbolo);
             gestorTablas.asignarTipo(simbolo, Tipo.INT);
         }
-        if (!tipoE.equals(simbolo.getTipo())) {
-            GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPOS_NO_COINCIDEN);
+        if (tipoE != PilaTipos.codificar(simbolo.getTipo())) {
+            gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPOS_NO_COINCIDEN);
         }
-        pilaTipos.add(Tipo.OK);
+        pilaTipos.apilar(PilaTipos.OK);
     }
 
     /**
@@ -446,11 +497,10 @@ private void procesarAsignacionConOperacion() {
      * case 38: // S: PUT E ;
      */
     private void procesarPut() {
-        Tipo tipoE = pilaTipos.pop();
-        if (tipoE.equals(Tipo.INT) || tipoE.equals(Tipo.STRING)) {
-            pilaTipos.add(Tipo.OK);
+        if ((PilaTipos.mascara(pilaTipos.desapilar()) & MASCARA_INT_STRING) != 0) {
+            pilaTipos.apilar(PilaTipos.OK);
         } else {
-            GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPO_NO_COMPATIBLE);
+            gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPO_NO_COMPATIBLE);
         }
     }
 
@@ -465,10 +515,10 @@ private void procesarGet() {
             gestorSimbolos.eliminarSimboloSinTipo(simbolo);
             simbolo.setTipo(Tipo.INT);
         }
-        if (simbolo.getTipo().equals(Tipo.INT) || simbolo.getTipo().equals(Tipo.STRING)) {
-            pilaTipos.add(Tipo.OK);
+        if ((PilaTipos.mascara(PilaTipos.codificar(simbolo.getTipo())) & MASCARA_INT_STRING) != 0) {
+            pilaTipos.apilar(PilaTipos.OK);
         } else {
-            GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPO_NO_COMPATIBLE);
+            gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPO_NO_COMPATIBLE);
         }
     }
 
@@ -482,18 +532,36 @@ private void procesarReturn() {
     }
 
     /**
-     * Verifica una llamada a una función.
+     * Procesa un argumento de una llamada.
+     * 
+     * case 41: // L: E Q
+     * case 43: // Q: , E Q
+     */
+    private void procesarArgumento() {
+        gestorParametros.addParametro(PilaTipos.decodificar(pilaTipos.desapilar()));
+    }
+
+    /**
+     * Verifica una llamada a una función. Si la clave de los argumentos coincide
+     * con la de la firma de la función, la llamada es correcta; si no, se
+     * comparan las listas para lanzar el error que corresponda.
      *
      * @param simboloFuncion El símbolo de la función a verificar.
      */
     private void verificarLlamadaFuncion(Simbolo simboloFuncion) {
         if (simboloFuncion == null) {
-            GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO,
+            gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO,
                     GestorErrores.ERROR_LLAMADA_FUNCION_NO_DECLARADA);
         }
+        long claveArgumentos = gestorParametros.getClaveArgumentos();
+        if (claveArgumentos != PoolFirmas.SIN_CLAVE && claveArgumentos == simboloFuncion.getClaveTipos()
+                && simboloFuncion.getNumeroParametros() != null) {
+            gestorParametros.reset();
+            return;
+        }
         List<Tipo> parametrosFuncion = obtenerParametrosFuncion(simboloFuncion);
         if (parametrosFuncion.size() != gestorParametros.getListaDeParametros().size()) {
-            GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_NUMERO_PARAMETROS);
+            gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_NUMERO_PARAMETROS);
         }
         verificarTipoParametros(parametrosFuncion);
         gestorParametros.reset();
@@ -519,28 +587,12 @@ private List<Tipo> obtenerParametrosFuncion(Simbolo simboloFuncion) {
      * @param parametrosFuncion La lista de tipos de parámetros de la función.
      */
     private void verificarTipoParametros(List<Tipo> parametrosFuncion) {
-        List<Tipo> listaDeParametros = new ArrayList<>(gestorParametros.getListaDeParametros());
+        List<Tipo> listaDeParametros = gestorParametros.getListaDeParametros();
         for (int i = 0; i < listaDeParametros.size(); i++) {
             Tipo tipoParametro = listaDeParametros.get(i);
             if (tipoParametro == null || !tipoParametro.equals(parametrosFuncion.get(i))) {
-                GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPO_PARAMETROS);
+                gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPO_PARAMETROS);
             }
         }
     }
-
-    /**
-     * Reinicia el procesador de reglas a su estado inicial.
-     */
-    public void resetAnalizadorSemantico() {
-        gestorParametros.reset();
-        gestorSimbolos.resetGestorSimbolos();
-        gestorZonas.resetGestorZonas();
-        this.gestorTablas = GestorTablas.getInstance();
-        this.gestorSimbolos = GestorSimbolos.getInstance();
-        this.gestorZonas = GestorZonasEspeciales.getInstance();
-        this.pilaTipos = new Stack<>();
-        this.gestorParametros = GestorParametros.getInstance();
-        this.returnEjecutado = false;
-        this.tipoReturnCondicional = null;
-    }
 }
@@ -0,0 +1,20 @@
+package modulos.semantico;
+
+/**
+ * Excepción con la que AnalizadorFunciones detiene el análisis aparte de una
+ * función cuyo cuerpo depende de lo que lo rodea, para analizar el fichero
+ * secuencialmente. No es un error del fichero: no sale de AnalizadorFunciones.
+ */
+final class CuerpoNoAislado extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor con el motivo, sin traza, ya que no se muestra.
+     *
+     * @param motivo Por qué el cuerpo no se puede analizar aparte.
+     */
+    CuerpoNoAislado(String motivo) {
+        super(motivo, null, false, false);
+    }
+}
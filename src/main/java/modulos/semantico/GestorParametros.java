@@ -2,6 +2,7 @@
 
 import java.util.ArrayList;
 
+import modulos.tablaSimbolos.PoolFirmas;
 import modulos.tablaSimbolos.enums.Modo;
 import modulos.tablaSimbolos.enums.Tipo;
 
@@ -10,33 +11,22 @@
  */
 public class GestorParametros {
 
-    private static GestorParametros instancia;
+    private final ArrayList<Tipo> tipoParametrosFuncion;
+    private final ArrayList<Modo> modoPasoParametros;
+    private final ArrayList<Tipo> listaDeParametros;
 
-    private ArrayList<Tipo> tipoParametrosFuncion;
-    private ArrayList<Modo> modoPasoParametros;
-    private ArrayList<Tipo> listaDeParametros;
+    // Clave de PoolFirmas de los tipos de listaDeParametros
+    private long claveArgumentos;
 
     /**
-     * Constructor privado de la clase GestorParametros.
+     * Constructor de la clase GestorParametros.
      * Inicializa las listas de tipos y modos de paso de los parámetros.
      */
-    private GestorParametros() {
+    public GestorParametros() {
         this.tipoParametrosFuncion = new ArrayList<>();
         this.modoPasoParametros = new ArrayList<>();
         this.listaDeParametros = new ArrayList<>();
-    }
-
-    /**
-     * Devuelve la instancia única de la clase.
-     * Si la instancia no ha sido creada aún, la crea.
-     *
-     * @return La instancia única de GestorParametros.
-     */
-    public static synchronized GestorParametros getInstance() {
-        if (instancia == null) {
-            instancia = new GestorParametros();
-        }
-        return instancia;
+        this.claveArgumentos = PoolFirmas.CLAVE_VACIA;
     }
 
     /**
@@ -66,6 +56,16 @@ public ArrayList<Tipo> getListaDeParametros() {
         return listaDeParametros;
     }
 
+    /**
+     * Obtiene la clave de los tipos de la lista de parámetros, comparable con
+     * la de la firma de una función (Simbolo.getClaveTipos).
+     *
+     * @return La clave, o PoolFirmas.SIN_CLAVE.
+     */
+    public long getClaveArgumentos() {
+        return claveArgumentos;
+    }
+
     /**
      * Añade un parámetro a las listas de parámetros de la función.
      *
@@ -83,6 +83,7 @@ public void addParametroFuncion(Tipo tipo, Modo modo) {
      */
     public void addParametro(Tipo tipo) {
         listaDeParametros.add(tipo);
+        claveArgumentos = PoolFirmas.anadirTipo(claveArgumentos, tipo);
     }
 
     /**
@@ -94,6 +95,15 @@ public int getNumeroParametrosFuncion() {
         return tipoParametrosFuncion.size();
     }
 
+    /**
+     * Indica si las listas de parámetros están vacías, como tras reset.
+     *
+     * @return true si no hay parámetros pendientes.
+     */
+    public boolean isVacio() {
+        return tipoParametrosFuncion.isEmpty() && modoPasoParametros.isEmpty() && listaDeParametros.isEmpty();
+    }
+
     /**
      * Reinicia las listas de tipos y modos de paso de los parámetros a su estado
      * inicial.
@@ -102,5 +112,6 @@ public void reset() {
         tipoParametrosFuncion.clear();
         modoPasoParametros.clear();
         listaDeParametros.clear();
+        claveArgumentos = PoolFirmas.CLAVE_VACIA;
     }
 }
@@ -0,0 +1,115 @@
+package modulos.semantico;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+import modulos.tablaSimbolos.enums.Tipo;
+
+/**
+ * Clase PilaTipos que guarda la pila de tipos del analizador semántico en un
+ * array de bytes que crece según se necesita. Los tipos se codifican con su
+ * ordinal, como en AlmacenSimbolos, y SIN_TIPO representa null. Con esta
+ * codificación, comprobar si un tipo pertenece a un conjunto es una operación
+ * con máscaras de bits: mascara(tipo) & (mascara(A) | mascara(B)).
+ */
+final class PilaTipos {
+
+    // Código de la ausencia de tipo (null)
+    static final byte SIN_TIPO = -1;
+
+    // Códigos de los tipos
+    static final byte BOOLEAN = (byte) Tipo.BOOLEAN.ordinal();
+    static final byte FUNCTION = (byte) Tipo.FUNCTION.ordinal();
+    static final byte INT = (byte) Tipo.INT.ordinal();
+    static final byte STRING = (byte) Tipo.STRING.ordinal();
+    static final byte VOID = (byte) Tipo.VOID.ordinal();
+    static final byte OK = (byte) Tipo.OK.ordinal();
+
+    private static final Tipo[] TIPOS = Tipo.values();
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    private byte[] tipos;
+    private int tamano;
+
+    PilaTipos() {
+        this.tipos = new byte[CAPACIDAD_INICIAL];
+    }
+
+    /**
+     * Apila un tipo.
+     *
+     * @param tipo El código del tipo.
+     */
+    void apilar(byte tipo) {
+        if (tamano == tipos.length) {
+            tipos = Arrays.copyOf(tipos, tamano * 2);
+        }
+        tipos[tamano++] = tipo;
+    }
+
+    /**
+     * Desapila el tipo de la cima.
+     *
+     * @return El código del tipo.
+     * @throws EmptyStackException Si la pila está vacía, como Stack.
+     */
+    byte desapilar() {
+        if (tamano == 0) {
+            throw new EmptyStackException();
+        }
+        return tipos[--tamano];
+    }
+
+    /**
+     * Obtiene el tipo de la cima sin desapilarlo.
+     *
+     * @return El código del tipo.
+     * @throws EmptyStackException Si la pila está vacía, como Stack.
+     */
+    byte cima() {
+        if (tamano == 0) {
+            throw new EmptyStackException();
+        }
+        return tipos[tamano - 1];
+    }
+
+    /**
+     * Obtiene el número de tipos apilados.
+     *
+     * @return El tamaño de la pila.
+     */
+    int size() {
+        return tamano;
+    }
+
+    /**
+     * Obtiene la máscara de bits de un tipo. SIN_TIPO no pertenece a ninguna
+     * máscara formada con los demás tipos.
+     *
+     * @param tipo El código del tipo.
+     * @return La máscara con el bit del tipo.
+     */
+    static int mascara(byte tipo) {
+        return 1 << (tipo & 0x1f);
+    }
+
+    /**
+     * Codifica un tipo.
+     *
+     * @param tipo El tipo, o null.
+     * @return Su código, o SIN_TIPO.
+     */
+    static byte codificar(Tipo tipo) {
+        return tipo == null ? SIN_TIPO : (byte) tipo.ordinal();
+    }
+
+    /**
+     * Decodifica un tipo.
+     *
+     * @param tipo El código del tipo.
+     * @return El tipo, o null si es SIN_TIPO.
+     */
+    static Tipo decodificar(byte tipo) {
+        return tipo == SIN_TIPO ? null : TIPOS[tipo];
+    }
+}
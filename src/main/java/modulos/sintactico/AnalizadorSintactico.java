@@ -1,109 +1,146 @@
 package modulos.sintactico;
 
-import java.util.Map;
-
-import modulos.sintactico.accion.Accion;
-import modulos.sintactico.accion.AccionAceptar;
-import modulos.sintactico.accion.AccionDesplazar;
+import modulos.SesionCompilacion;
 import modulos.token.*;
 import util.GestorErrores;
 
 /**
  * Clase AnalizadorSintactico para procesar tokens y aplicar reglas de análisis
- * sintáctico LR(1).
+ * sintáctico LR(1). Las acciones se leen de las tablas LR como enteros
+ * codificados y se ejecutan directamente sobre la pila de estados, sin crear
+ * objetos por token.
+ * Si las opciones de la sesión lo indican, las acciones también construyen el
+ * árbol sintáctico del fichero, que queda disponible tras la aceptación.
  */
 public class AnalizadorSintactico {
 
-    private GestorPilas gestorPilas;
+    // Valor devuelto por procesarToken cuando no se aplica ninguna regla
+    public static final int SIN_REGLA = -1;
+
+    // Regla que se emite al aceptar la entrada
+    private static final int REGLA_ACEPTAR = 1;
+
+    private final GestorPilas gestorPilas;
+    private final GestorErrores gestorErrores;
+    private final TablasLR tablas;
     private Boolean tokenProcesado;
 
-    // Instancia única de la clase
-    private static AnalizadorSintactico instancia;
+    // Contadores para los eventos de JFR: desplazamientos y reducciones de cada
+    // regla (indexadas por el número que devuelve procesarToken)
+    private long desplazamientos;
+    private final long[] reducciones;
+
+    // Constructor del árbol sintáctico, o null si no se construye
+    private final ConstructorArbol constructorArbol;
+    private boolean aceptado;
 
     /**
-     * Constructor privado del analizador sintáctico para evitar la creación de
-     * instancias.
+     * Constructor del analizador sintáctico de una sesión.
+     * 
+     * @param sesion La sesión de compilación a la que pertenece.
      */
-    private AnalizadorSintactico() {
+    public AnalizadorSintactico(SesionCompilacion sesion) {
         this.tokenProcesado = false;
-        gestorPilas = GestorPilas.getInstance();
+        this.gestorPilas = sesion.getGestorPilas();
+        this.gestorErrores = sesion.getGestorErroresSintactico();
+        this.tablas = sesion.getParserGramatica().getTablas();
+        this.reducciones = new long[tablas.getNumReglas() + 1];
+        this.constructorArbol = sesion.getOpciones().isArbol() ? new ConstructorArbol(tablas) : null;
     }
 
     /**
-     * Devuelve la instancia única de la clase.
-     * Si la instancia no ha sido creada aún, la crea.
+     * Procesa un token y aplica la acción sintáctica correspondiente.
      * 
-     * @return La instancia única de AnalizadorSintactico.
+     * @param tokens Buffer que contiene el token.
+     * @param token  Índice del token a procesar.
+     * @return El número de la regla aplicada, o SIN_REGLA si no se ha aplicado
+     *         ninguna.
      */
-    public static synchronized AnalizadorSintactico getInstance() {
-        if (instancia == null) {
-            instancia = new AnalizadorSintactico();
+    public int procesarToken(BufferTokens tokens, int token) {
+        tokenProcesado = false;
+        int accion = obtenerAccion(tokens, token);
+
+        switch (TablasLR.tipo(accion)) {
+            case TablasLR.DESPLAZAR:
+                gestorPilas.apilar(TablasLR.valor(accion));
+                if (constructorArbol != null) {
+                    // Los tokens se desplazan en orden, así que el número de
+                    // desplazamientos es el número del token en el fichero
+                    constructorArbol.desplazar(tokens.getTerminal(token), (int) desplazamientos);
+                }
+                desplazamientos++;
+                // Ir a por el siguiente token, salvo con el fin de fichero, que se
+                // sigue procesando hasta la aceptación
+                tokenProcesado = !tokens.getTipo(token).equals(TipoToken.FINDEFICHERO);
+                return SIN_REGLA;
+
+            case TablasLR.REDUCIR:
+                return reducir(TablasLR.valor(accion));
+
+            default:
+                // Aceptación: finalizar el procesamiento
+                tokenProcesado = true;
+                reducciones[REGLA_ACEPTAR]++;
+                if (constructorArbol != null) {
+                    constructorArbol.reducir(REGLA_ACEPTAR, tablas.getLongitudRegla(REGLA_ACEPTAR - 1));
+                }
+                aceptado = true;
+                return REGLA_ACEPTAR;
         }
-        return instancia;
     }
 
     /**
-     * Procesa un token y aplica las reglas sintácticas correspondientes.
+     * Reduce por una regla: desapila de una vez los estados de su parte derecha
+     * y apila el estado destino de la tabla goto.
      * 
-     * @param token El token a procesar.
-     * @return Lista de reglas aplicadas durante el procesamiento.
+     * @param regla La regla de la gramática (numerada desde 0).
+     * @return El número de la regla aplicada (numerada desde 1).
      */
-    public Integer procesarToken(Token token) {
-        tokenProcesado = false;
-        Accion accion = obtenerAccion(token);
-
-        Integer reglaAplicada = accion.ejecutar();
-
-        // Si la acción es de aceptación, finalizar el procesamiento
-        if (accion instanceof AccionAceptar) {
-            tokenProcesado = true;
-        }
-
-        // Caso especial para el fin de fichero sin aceptación: continuar procesando
-        if (token.getTipo().equals(TipoToken.FINDEFICHERO)) {
-            return reglaAplicada;
+    private int reducir(int regla) {
+        int longitud = tablas.getLongitudRegla(regla);
+        gestorPilas.desapilar(longitud);
+        gestorPilas.apilar(tablas.getIrA(gestorPilas.getCima(), tablas.getNoTerminalRegla(regla)));
+        if (constructorArbol != null) {
+            constructorArbol.reducir(regla + 1, longitud);
         }
-
-        // En caso de ser una acción de desplazar, ir a por el siguiente token
-        if (accion instanceof AccionDesplazar) {
-            tokenProcesado = true;
-        }
-
-        return reglaAplicada;
+        reducciones[regla + 1]++;
+        return regla + 1;
     }
 
     /**
-     * Obtiene la acción correspondiente a un token y un estado.
+     * Obtiene la acción correspondiente a un token y un estado. El token ya
+     * lleva el índice de su terminal, por lo que la acción se obtiene con un
+     * único acceso a la tabla.
      * 
-     * @param token El token.
-     * @return La acción correspondiente.
+     * @param tokens Buffer que contiene el token.
+     * @param token  Índice del token.
+     * @return La acción codificada.
      */
-    private Accion obtenerAccion(Token token) {
-        String textoToken = obtenerContenidoToken(token);
-        Integer estadoCima = gestorPilas.getPilaEstados().peek();
-        Map<String, Accion> accionesEstado = ParserGramatica.getInstance().getTablaAccion().get(estadoCima);
-        Accion accion = accionesEstado.getOrDefault(textoToken, accionesEstado.get("$DEFAULT"));
-
-        if (accion == null) {
-            GestorErrores.lanzarError(
+    private int obtenerAccion(BufferTokens tokens, int token) {
+        int accion = tablas.getAccionResuelta(gestorPilas.getCima(), tokens.getTerminal(token));
+
+        if (TablasLR.tipo(accion) == TablasLR.ERROR) {
+            gestorErrores.lanzarError(
                     GestorErrores.TipoError.SINTACTICO,
-                    GestorErrores.ERROR_TOKEN_NO_ESPERADO + textoToken);
+                    GestorErrores.ERROR_TOKEN_NO_ESPERADO + obtenerContenidoToken(tokens, token));
         }
 
         return accion;
     }
 
     /**
-     * Obtiene el contenido del token procesado en la posición actual del análisis.
-     * Si el token es una palabra reservada, devuelve su atributo en mayúsculas.
+     * Obtiene el contenido del token procesado en la posición actual del análisis,
+     * para el mensaje de error. Si el token es una palabra reservada, devuelve su
+     * atributo en mayúsculas.
      * 
-     * @param token El token a procesar.
+     * @param tokens Buffer que contiene el token.
+     * @param token  Índice del token a procesar.
      * @return El contenido del token.
      */
-    private String obtenerContenidoToken(Token token) {
+    private String obtenerContenidoToken(BufferTokens tokens, int token) {
         // Se devuelve el tipo o el atributo dependiendo de si es palabra reservada
-        return token.getTipo().equals(TipoToken.PALABRARESERVADA) ? String.valueOf(token.getAtributo()).toUpperCase()
-                : String.valueOf(token.getTipo()).toUpperCase();
+        return tokens.getTipo(token).equals(TipoToken.PALABRARESERVADA) ? tokens.getTexto(token).toUpperCase()
+                : String.valueOf(tokens.getTipo(token)).toUpperCase();
     }
 
     public boolean isTokenProcesado() {
@@ -111,13 +148,47 @@ public boolean isTokenProcesado() {
     }
 
     /**
-     * Reinicia el analizador sintactico a su estado inicial.
+     * Obtiene el árbol sintáctico del fichero. Sus hojas guardan el número de
+     * cada token en el fichero, que es su índice en el BufferTokens salvo con
+     * la salida continua, que vacía el buffer tras cada token.
+     *
+     * @return El árbol, o null si la sesión no lo construye o la entrada aún no
+     *         se ha aceptado.
      */
-    public void resetAnalizadorSintactico() {
-        this.tokenProcesado = false;
-        ParserGramatica.getInstance().resetParserGramatica();
-        gestorPilas.resetGestorPilas();
-        gestorPilas = GestorPilas.getInstance();
+    public ArbolSintactico getArbol() {
+        return constructorArbol != null && aceptado ? constructorArbol.getArbol() : null;
+    }
+
+    /**
+     * Obtiene el número de tokens desplazados a la pila.
+     *
+     * @return El número de desplazamientos.
+     */
+    public long getDesplazamientos() {
+        return desplazamientos;
+    }
+
+    /**
+     * Obtiene el número de veces que se ha aplicado una regla, incluida la de
+     * aceptación.
+     *
+     * @param regla El número de la regla, como lo devuelve procesarToken.
+     * @return El número de reducciones de la regla.
+     */
+    public long getReducciones(int regla) {
+        return reducciones[regla];
     }
 
+    /**
+     * Obtiene el número total de reglas aplicadas.
+     *
+     * @return La suma de las reducciones de todas las reglas.
+     */
+    public long getNumReducciones() {
+        long total = 0;
+        for (long numero : reducciones) {
+            total += numero;
+        }
+        return total;
+    }
 }
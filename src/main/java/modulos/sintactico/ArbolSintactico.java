@@ -0,0 +1,262 @@
+package modulos.sintactico;
+
+import java.util.Arrays;
+
+import modulos.token.BufferTokens;
+
+/**
+ * Clase ArbolSintactico que guarda el árbol de derivación de un fichero en
+ * arrays paralelos de enteros, sin crear un objeto por nodo. Cada nodo se
+ * identifica por su índice, en el orden en el que se creó: las hojas al
+ * desplazar su token y los nodos de regla al reducir, después de todos sus
+ * hijos, de modo que la raíz es el último nodo.
+ * Cada nodo guarda su símbolo y una referencia: en una hoja, el terminal y el
+ * número del token en el fichero (su índice en el BufferTokens si este guarda
+ * todos los tokens); en un nodo de regla, la regla (numerada como en las
+ * reglas aplicadas) y la posición de sus hijos en un array común, en el que
+ * los hijos de cada nodo son consecutivos y están de izquierda a derecha. El
+ * número de hijos es la longitud de la regla en TablasLR.
+ * Los arrays se reservan por bloques de tamaño fijo que no se copian al
+ * crecer, así que construir el árbol de una fuente grande no duplica la
+ * memoria ni copia los nodos ya creados.
+ * El árbol se recorre con un VisitanteArbol.
+ */
+public final class ArbolSintactico {
+
+    // Valor devuelto por getRegla en una hoja
+    public static final int SIN_REGLA = AnalizadorSintactico.SIN_REGLA;
+
+    // Valor devuelto por getTerminal en un nodo de regla
+    public static final int SIN_TERMINAL = -1;
+
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    // Cada bloque guarda 2^BITS_BLOQUE enteros
+    private static final int BITS_BLOQUE = 12;
+    private static final int TAMANO_BLOQUE = 1 << BITS_BLOQUE;
+    private static final int MASCARA_BLOQUE = TAMANO_BLOQUE - 1;
+
+    // Regla de cada nodo, o el complemento (~) del terminal en las hojas
+    private int[][] simbolos;
+
+    // Token de cada hoja, o posición del primer hijo en hijos
+    private int[][] referencias;
+
+    private int[][] hijos;
+
+    private int numNodos;
+    private int numHijos;
+
+    private final TablasLR tablas;
+
+    /**
+     * Constructor de un árbol vacío.
+     *
+     * @param tablas Las tablas de la gramática, con la longitud de cada regla.
+     */
+    ArbolSintactico(TablasLR tablas) {
+        this.simbolos = new int[0][];
+        this.referencias = new int[0][];
+        this.hijos = new int[0][];
+        this.tablas = tablas;
+    }
+
+    /**
+     * Añade una hoja.
+     *
+     * @param terminal El índice del terminal del token.
+     * @param token    El número del token en el fichero.
+     * @return El índice del nodo.
+     */
+    int agregarHoja(int terminal, int token) {
+        return agregarNodo(~terminal, token);
+    }
+
+    /**
+     * Añade un nodo de regla cuyos hijos, de izquierda a derecha, están en un
+     * array.
+     *
+     * @param regla    La regla, numerada desde 1.
+     * @param origen   Array que contiene los índices de los hijos.
+     * @param inicio   Posición del primer hijo en el array.
+     * @param cantidad Número de hijos.
+     * @return El índice del nodo.
+     */
+    int agregarRegla(int regla, int[] origen, int inicio, int cantidad) {
+        int nodo = agregarNodo(regla, numHijos);
+        for (int i = 0; i < cantidad; i++) {
+            if ((numHijos & MASCARA_BLOQUE) == 0) {
+                hijos = agregarBloque(hijos, numHijos);
+            }
+            hijos[numHijos >>> BITS_BLOQUE][numHijos & MASCARA_BLOQUE] = origen[inicio + i];
+            numHijos++;
+        }
+        return nodo;
+    }
+
+    private int agregarNodo(int simbolo, int referencia) {
+        if ((numNodos & MASCARA_BLOQUE) == 0) {
+            simbolos = agregarBloque(simbolos, numNodos);
+            referencias = agregarBloque(referencias, numNodos);
+        }
+        simbolos[numNodos >>> BITS_BLOQUE][numNodos & MASCARA_BLOQUE] = simbolo;
+        referencias[numNodos >>> BITS_BLOQUE][numNodos & MASCARA_BLOQUE] = referencia;
+        return numNodos++;
+    }
+
+    /**
+     * Añade un bloque a un array por bloques que está lleno. Solo se copia el
+     * array de bloques, no su contenido.
+     *
+     * @param bloques   Los bloques.
+     * @param elementos Número de elementos guardados, múltiplo del tamaño de
+     *                  bloque.
+     * @return Los bloques con uno más al final.
+     */
+    private static int[][] agregarBloque(int[][] bloques, int elementos) {
+        int bloque = elementos >>> BITS_BLOQUE;
+        if (bloque == bloques.length) {
+            bloques = Arrays.copyOf(bloques, Math.max(1, bloques.length * 2));
+        }
+        bloques[bloque] = new int[TAMANO_BLOQUE];
+        return bloques;
+    }
+
+    private int getSimbolo(int nodo) {
+        return simbolos[nodo >>> BITS_BLOQUE][nodo & MASCARA_BLOQUE];
+    }
+
+    private int getReferencia(int nodo) {
+        return referencias[nodo >>> BITS_BLOQUE][nodo & MASCARA_BLOQUE];
+    }
+
+    private int getHijoEn(int posicion) {
+        return hijos[posicion >>> BITS_BLOQUE][posicion & MASCARA_BLOQUE];
+    }
+
+    public int getNumNodos() {
+        return numNodos;
+    }
+
+    /**
+     * Devuelve la raíz del árbol, el nodo de la regla de aceptación.
+     *
+     * @return El índice de la raíz.
+     */
+    public int getRaiz() {
+        return numNodos - 1;
+    }
+
+    /**
+     * Indica si un nodo es una hoja, es decir, un token.
+     *
+     * @param nodo El índice del nodo.
+     * @return true si el nodo es una hoja.
+     */
+    public boolean isHoja(int nodo) {
+        return getSimbolo(nodo) < 0;
+    }
+
+    /**
+     * Obtiene la regla de un nodo.
+     *
+     * @param nodo El índice del nodo.
+     * @return La regla, numerada desde 1, o SIN_REGLA si el nodo es una hoja.
+     */
+    public int getRegla(int nodo) {
+        return isHoja(nodo) ? SIN_REGLA : getSimbolo(nodo);
+    }
+
+    /**
+     * Obtiene el terminal de una hoja.
+     *
+     * @param nodo El índice del nodo.
+     * @return El índice del terminal en TablasLR, o SIN_TERMINAL si el nodo no
+     *         es una hoja.
+     */
+    public int getTerminal(int nodo) {
+        return isHoja(nodo) ? ~getSimbolo(nodo) : SIN_TERMINAL;
+    }
+
+    /**
+     * Obtiene el token de una hoja.
+     *
+     * @param nodo El índice del nodo.
+     * @return El número del token en el fichero, o BufferTokens.SIN_TOKEN si el
+     *         nodo no es una hoja.
+     */
+    public int getToken(int nodo) {
+        return isHoja(nodo) ? getReferencia(nodo) : BufferTokens.SIN_TOKEN;
+    }
+
+    /**
+     * Obtiene el número de hijos de un nodo.
+     *
+     * @param nodo El índice del nodo.
+     * @return El número de hijos, 0 en las hojas.
+     */
+    public int getNumHijos(int nodo) {
+        return isHoja(nodo) ? 0 : tablas.getLongitudRegla(getSimbolo(nodo) - 1);
+    }
+
+    /**
+     * Obtiene un hijo de un nodo de regla.
+     *
+     * @param nodo   El índice del nodo.
+     * @param indice La posición del hijo, desde 0 y de izquierda a derecha.
+     * @return El índice del hijo.
+     * @throws IndexOutOfBoundsException Si el nodo no tiene ese hijo.
+     */
+    public int getHijo(int nodo, int indice) {
+        if (indice < 0 || indice >= getNumHijos(nodo)) {
+            throw new IndexOutOfBoundsException("Hijo " + indice + " del nodo " + nodo);
+        }
+        return getHijoEn(getReferencia(nodo) + indice);
+    }
+
+    /**
+     * Recorre el árbol desde la raíz en profundidad y de izquierda a derecha,
+     * así que los tokens se visitan en el orden de la fuente. El recorrido usa
+     * una pila propia, por lo que la profundidad del árbol no está limitada por
+     * la pila del hilo.
+     *
+     * @param visitante El visitante al que se notifica cada nodo.
+     */
+    public void recorrer(VisitanteArbol visitante) {
+        recorrer(getRaiz(), visitante);
+    }
+
+    /**
+     * Recorre el subárbol de un nodo en profundidad y de izquierda a derecha.
+     *
+     * @param nodo      El índice del nodo raíz del recorrido.
+     * @param visitante El visitante al que se notifica cada nodo.
+     */
+    public void recorrer(int nodo, VisitanteArbol visitante) {
+        // Los nodos pendientes se apilan tal cual y los nodos de regla ya
+        // visitados se vuelven a apilar complementados, para notificar su salida
+        int[] pendientes = new int[CAPACIDAD_INICIAL];
+        int numPendientes = 0;
+        pendientes[numPendientes++] = nodo;
+
+        while (numPendientes > 0) {
+            int actual = pendientes[--numPendientes];
+            if (actual < 0) {
+                visitante.salirRegla(this, ~actual);
+            } else if (isHoja(actual)) {
+                visitante.visitarToken(this, actual);
+            } else if (visitante.visitarRegla(this, actual)) {
+                int cantidad = getNumHijos(actual);
+                if (numPendientes + cantidad + 1 > pendientes.length) {
+                    pendientes = Arrays.copyOf(pendientes,
+                            Math.max(pendientes.length * 2, numPendientes + cantidad + 1));
+                }
+                pendientes[numPendientes++] = ~actual;
+                int primero = getReferencia(actual);
+                for (int i = primero + cantidad - 1; i >= primero; i--) {
+                    pendientes[numPendientes++] = getHijoEn(i);
+                }
+            }
+        }
+    }
+}
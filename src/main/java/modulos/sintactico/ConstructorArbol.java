@@ -0,0 +1,56 @@
+package modulos.sintactico;
+
+import java.util.Arrays;
+
+/**
+ * Clase ConstructorArbol que construye el ArbolSintactico a partir de las
+ * acciones del analizador sintáctico. Guarda una pila de nodos paralela a la
+ * pila de estados: desplazar apila una hoja y reducir sustituye los nodos de
+ * la parte derecha de la regla por un nodo nuevo que los tiene como hijos.
+ */
+final class ConstructorArbol {
+
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    private final ArbolSintactico arbol;
+
+    private int[] pilaNodos;
+    private int numNodos;
+
+    ConstructorArbol(TablasLR tablas) {
+        this.arbol = new ArbolSintactico(tablas);
+        this.pilaNodos = new int[CAPACIDAD_INICIAL];
+    }
+
+    /**
+     * Apila la hoja de un token desplazado.
+     *
+     * @param terminal El índice del terminal del token.
+     * @param token    El número del token en el fichero.
+     */
+    void desplazar(int terminal, int token) {
+        apilar(arbol.agregarHoja(terminal, token));
+    }
+
+    /**
+     * Sustituye los nodos de la parte derecha de una regla por su nodo.
+     *
+     * @param regla    La regla, numerada desde 1.
+     * @param longitud Número de símbolos de la parte derecha de la regla.
+     */
+    void reducir(int regla, int longitud) {
+        numNodos -= longitud;
+        apilar(arbol.agregarRegla(regla, pilaNodos, numNodos, longitud));
+    }
+
+    private void apilar(int nodo) {
+        if (numNodos == pilaNodos.length) {
+            pilaNodos = Arrays.copyOf(pilaNodos, numNodos * 2);
+        }
+        pilaNodos[numNodos++] = nodo;
+    }
+
+    ArbolSintactico getArbol() {
+        return arbol;
+    }
+}
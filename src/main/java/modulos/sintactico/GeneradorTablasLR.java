@@ -0,0 +1,282 @@
+package modulos.sintactico;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import modulos.token.TipoToken;
+
+/**
+ * Clase GeneradorTablasLR que lee el fichero de salida de Bison
+ * (gramatica.output) y construye las tablas LR densas (TablasLR). Se ejecuta
+ * durante la compilación del proyecto con la tarea de Gradle generarTablasLR,
+ * que guarda el resultado como recurso del classpath.
+ *
+ * Uso: GeneradorTablasLR gramatica.output gramatica.tablas
+ */
+public final class GeneradorTablasLR {
+
+    private static final String GRAMMAR_SECTION = "Grammar";
+    private static final String TERMINALS_SECTION = "Terminals";
+    private static final String NONTERMINALS_SECTION = "Nonterminals";
+    private static final String STATE_SECTION = "State";
+
+    private static final String SIMBOLO_DEFECTO = "$default";
+    private static final String REGLA_VACIA = "ε";
+    private static final String ALTERNATIVA = "|";
+
+    private static final Pattern REGLA = Pattern.compile("^\\s*(\\d+)\\s+(\\S+)(.*)$");
+    private static final Pattern SIMBOLO = Pattern.compile("^\\s+(\\S+) \\((\\d+)\\).*$");
+    private static final Pattern ESTADO = Pattern.compile("^State (\\d+)$");
+    private static final Pattern DESPLAZAR = Pattern.compile("^\\s+(\\S+)\\s+shift, and go to state (\\d+)$");
+    private static final Pattern REDUCIR = Pattern.compile("^\\s+(\\S+)\\s+reduce using rule (\\d+) \\((\\S+)\\)$");
+    private static final Pattern ACEPTAR = Pattern.compile("^\\s+(\\S+)\\s+accept$");
+    private static final Pattern IR_A = Pattern.compile("^\\s+(\\S+)\\s+go to state (\\d+)$");
+
+    // Datos leídos del fichero, antes de construir las tablas densas
+    private final List<String> terminales = new ArrayList<>();
+    private final List<String> noTerminales = new ArrayList<>();
+    private final List<String> parteIzquierda = new ArrayList<>();
+    private final List<Integer> longitudes = new ArrayList<>();
+    private final Map<Integer, Map<String, Integer>> accionesEstado = new HashMap<>();
+    private final Map<Integer, Map<String, Integer>> irAEstado = new HashMap<>();
+    private int numEstados;
+
+    /**
+     * Constructor privado: se usa a través de generar().
+     */
+    private GeneradorTablasLR() {
+    }
+
+    /**
+     * Genera el fichero de tablas a partir del fichero de Bison.
+     *
+     * @param args Ruta de gramatica.output y ruta del fichero de tablas.
+     * @throws IOException Si ocurre un error de lectura o escritura.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Uso: GeneradorTablasLR gramatica.output gramatica.tablas");
+        }
+
+        TablasLR tablas;
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            tablas = generar(reader);
+        }
+
+        Path salida = Paths.get(args[1]);
+        if (salida.getParent() != null) {
+            Files.createDirectories(salida.getParent());
+        }
+        try (OutputStream flujo = Files.newOutputStream(salida)) {
+            tablas.escribir(flujo);
+        }
+    }
+
+    /**
+     * Lee el fichero de Bison y construye las tablas LR.
+     *
+     * @param reader Lector del fichero gramatica.output.
+     * @return Las tablas generadas.
+     * @throws IOException Si ocurre un error de lectura.
+     */
+    public static TablasLR generar(BufferedReader reader) throws IOException {
+        GeneradorTablasLR generador = new GeneradorTablasLR();
+        generador.leer(reader);
+        return generador.construirTablas();
+    }
+
+    /**
+     * Recorre el fichero línea a línea, procesando cada sección.
+     */
+    private void leer(BufferedReader reader) throws IOException {
+        String seccion = "";
+        int estado = -1;
+
+        String linea;
+        while ((linea = reader.readLine()) != null) {
+            if (linea.contains("conflicts") || linea.contains("unused") || linea.contains("useless")) {
+                continue;
+            }
+
+            if (!linea.isEmpty() && !Character.isWhitespace(linea.charAt(0))) {
+                Matcher cabeceraEstado = ESTADO.matcher(linea);
+                if (cabeceraEstado.matches()) {
+                    seccion = STATE_SECTION;
+                    estado = Integer.parseInt(cabeceraEstado.group(1));
+                    numEstados = Math.max(numEstados, estado + 1);
+                } else if (linea.startsWith(GRAMMAR_SECTION)) {
+                    seccion = GRAMMAR_SECTION;
+                } else if (linea.startsWith(TERMINALS_SECTION)) {
+                    seccion = TERMINALS_SECTION;
+                } else if (linea.startsWith(NONTERMINALS_SECTION)) {
+                    seccion = NONTERMINALS_SECTION;
+                }
+                continue;
+            }
+
+            switch (seccion) {
+                case GRAMMAR_SECTION:
+                    procesarRegla(linea);
+                    break;
+                case TERMINALS_SECTION:
+                    procesarSimbolo(linea, terminales, true);
+                    break;
+                case NONTERMINALS_SECTION:
+                    procesarSimbolo(linea, noTerminales, false);
+                    break;
+                case STATE_SECTION:
+                    procesarEstado(linea, estado);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Procesa una línea de la sección de reglas, guardando su parte izquierda y
+     * el número de símbolos de su parte derecha.
+     */
+    private void procesarRegla(String linea) {
+        Matcher regla = REGLA.matcher(linea);
+        if (!regla.matches()) {
+            return;
+        }
+
+        int numeroRegla = Integer.parseInt(regla.group(1));
+        String izquierda = regla.group(2);
+        if (izquierda.equals(ALTERNATIVA)) {
+            izquierda = parteIzquierda.get(numeroRegla - 1);
+        } else {
+            izquierda = izquierda.replace(":", "");
+        }
+
+        int longitud = 0;
+        for (String simbolo : regla.group(3).trim().split("\\s+")) {
+            if (!simbolo.isEmpty() && !simbolo.equals(REGLA_VACIA)) {
+                longitud++;
+            }
+        }
+
+        parteIzquierda.add(izquierda);
+        longitudes.add(longitud);
+    }
+
+    /**
+     * Procesa una línea de la sección de terminales o no terminales.
+     */
+    private void procesarSimbolo(String linea, List<String> simbolos, boolean esTerminal) {
+        Matcher simbolo = SIMBOLO.matcher(linea);
+        if (simbolo.matches()) {
+            String nombre = simbolo.group(1);
+            simbolos.add(esTerminal ? procesarTerminal(nombre) : nombre);
+        }
+    }
+
+    /**
+     * Procesa una línea de acción o de goto de un estado.
+     */
+    private void procesarEstado(String linea, int estado) {
+        Map<String, Integer> acciones = accionesEstado.computeIfAbsent(estado, e -> new HashMap<>());
+        Map<String, Integer> irA = irAEstado.computeIfAbsent(estado, e -> new HashMap<>());
+
+        Matcher matcher;
+        if ((matcher = DESPLAZAR.matcher(linea)).matches()) {
+            acciones.put(matcher.group(1),
+                    TablasLR.codificar(TablasLR.DESPLAZAR, Integer.parseInt(matcher.group(2))));
+        } else if ((matcher = REDUCIR.matcher(linea)).matches()) {
+            acciones.put(matcher.group(1),
+                    TablasLR.codificar(TablasLR.REDUCIR, Integer.parseInt(matcher.group(2))));
+        } else if ((matcher = ACEPTAR.matcher(linea)).matches()) {
+            acciones.put(matcher.group(1), TablasLR.codificar(TablasLR.ACEPTAR, 0));
+        } else if ((matcher = IR_A.matcher(linea)).matches()) {
+            irA.put(matcher.group(1), Integer.parseInt(matcher.group(2)));
+        }
+    }
+
+    /**
+     * Construye los arrays densos a partir de los datos leídos.
+     */
+    private TablasLR construirTablas() {
+        String[] nombresTerminales = terminales.toArray(new String[0]);
+        String[] nombresNoTerminales = noTerminales.toArray(new String[0]);
+        Map<String, Integer> indiceTerminales = indexar(nombresTerminales);
+        Map<String, Integer> indiceNoTerminales = indexar(nombresNoTerminales);
+
+        int[] noTerminalRegla = new int[parteIzquierda.size()];
+        int[] longitudRegla = new int[parteIzquierda.size()];
+        for (int regla = 0; regla < parteIzquierda.size(); regla++) {
+            noTerminalRegla[regla] = indice(indiceNoTerminales, parteIzquierda.get(regla));
+            longitudRegla[regla] = longitudes.get(regla);
+        }
+
+        int[] acciones = new int[numEstados * nombresTerminales.length];
+        int[] accionesPorDefecto = new int[numEstados];
+        int[] irA = new int[numEstados * nombresNoTerminales.length];
+        Arrays.fill(irA, TablasLR.SIN_ESTADO);
+
+        for (int estado = 0; estado < numEstados; estado++) {
+            for (Map.Entry<String, Integer> accion : accionesEstado.getOrDefault(estado, Map.of()).entrySet()) {
+                if (accion.getKey().equals(SIMBOLO_DEFECTO)) {
+                    accionesPorDefecto[estado] = accion.getValue();
+                } else {
+                    int terminal = indice(indiceTerminales, procesarTerminal(accion.getKey()));
+                    acciones[estado * nombresTerminales.length + terminal] = accion.getValue();
+                }
+            }
+            for (Map.Entry<String, Integer> destino : irAEstado.getOrDefault(estado, Map.of()).entrySet()) {
+                int noTerminal = indice(indiceNoTerminales, destino.getKey());
+                irA[estado * nombresNoTerminales.length + noTerminal] = destino.getValue();
+            }
+        }
+
+        return new TablasLR(nombresTerminales, nombresNoTerminales, noTerminalRegla, longitudRegla, numEstados,
+                acciones, accionesPorDefecto, irA);
+    }
+
+    /**
+     * Procesa un terminal de la gramática, traduciéndolo al nombre del TipoToken
+     * correspondiente o, si es una palabra reservada, a su nombre en mayúsculas.
+     *
+     * @param terminalSinProcesar El terminal tal y como aparece en el fichero.
+     * @return El terminal procesado.
+     */
+    static String procesarTerminal(String terminalSinProcesar) {
+        TipoToken tipoToken = TipoToken.procesarTipoToken(terminalSinProcesar);
+
+        if (tipoToken != null) {
+            return tipoToken.name();
+        } else {
+            // Caso para palabra reservada
+            return terminalSinProcesar.toUpperCase();
+        }
+    }
+
+    private static Map<String, Integer> indexar(String[] nombres) {
+        Map<String, Integer> indice = new HashMap<>();
+        for (int i = 0; i < nombres.length; i++) {
+            indice.put(nombres[i], i);
+        }
+        return indice;
+    }
+
+    private static int indice(Map<String, Integer> indice, String nombre) {
+        Integer posicion = indice.get(nombre);
+        if (posicion == null) {
+            throw new IllegalStateException("Simbolo desconocido en gramatica.output: " + nombre);
+        }
+        return posicion;
+    }
+}
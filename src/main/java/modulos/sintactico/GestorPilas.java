@@ -1,72 +1,68 @@
 package modulos.sintactico;
 
-import java.util.Stack;
+import java.util.Arrays;
 
 /**
- * Clase GestorPilas que maneja las pilas de estados y símbolos
- * para el análisis sintáctico de un lenguaje.
- * Proporciona métodos para acceder y manipular dichas pilas.
+ * Clase GestorPilas que maneja la pila de estados del análisis sintáctico.
+ * La pila se guarda en un array de enteros que crece cuando se llena, de modo
+ * que desplazar y reducir no crean objetos. La reducción desapila todos los
+ * estados de la regla en una única operación.
  */
 public class GestorPilas {
 
-    private Stack<Integer> pilaEstados;
-    private Stack<String> pilaSimbolos;
+    private static final int CAPACIDAD_INICIAL = 64;
 
-    private static final String FIN_DE_FICHERO = "FINDEFICHERO";
+    private static final int ESTADO_INICIAL = 0;
 
-    // Instancia única de la clase
-    private static GestorPilas instancia;
+    private int[] pilaEstados;
+    private int numEstados;
 
     /**
-     * Constructor privado de la clase GestorPilas.
-     * Inicializa las pilas de estados y símbolos, y agrega el estado inicial (0)
-     * y el símbolo de fin de fichero.
+     * Constructor de la clase GestorPilas.
+     * Inicializa la pila de estados con el estado inicial (0).
      */
-    private GestorPilas() {
-        this.pilaEstados = new Stack<>();
-        this.pilaSimbolos = new Stack<>();
-        pilaEstados.push(0);
-        pilaSimbolos.push(FIN_DE_FICHERO);
+    public GestorPilas() {
+        this.pilaEstados = new int[CAPACIDAD_INICIAL];
+        this.numEstados = 0;
+        apilar(ESTADO_INICIAL);
     }
 
     /**
-     * Devuelve la instancia única de la clase.
-     * Si la instancia no ha sido creada aún, la crea.
-     * 
-     * @return La instancia única de GestorPilas.
+     * Apila un estado.
+     *
+     * @param estado El estado a apilar.
      */
-    public static synchronized GestorPilas getInstance() {
-        if (instancia == null) {
-            instancia = new GestorPilas();
+    public void apilar(int estado) {
+        if (numEstados == pilaEstados.length) {
+            pilaEstados = Arrays.copyOf(pilaEstados, pilaEstados.length * 2);
         }
-        return instancia;
+        pilaEstados[numEstados++] = estado;
     }
 
     /**
-     * Devuelve la pila de estados.
-     * 
-     * @return La pila de estados.
+     * Desapila varios estados de una sola vez.
+     *
+     * @param cantidad Número de estados a desapilar.
      */
-    public Stack<Integer> getPilaEstados() {
-        return pilaEstados;
+    public void desapilar(int cantidad) {
+        numEstados -= cantidad;
     }
 
     /**
-     * Devuelve la pila de símbolos.
-     * 
-     * @return La pila de símbolos.
+     * Devuelve el estado de la cima de la pila.
+     *
+     * @return El estado de la cima.
      */
-    public Stack<String> getPilaSimbolos() {
-        return pilaSimbolos;
+    public int getCima() {
+        return pilaEstados[numEstados - 1];
     }
 
     /**
-     * Reinicia el gestor de pilas a su estado inicial.
+     * Devuelve el número de estados de la pila.
+     *
+     * @return El número de estados.
      */
-    public void resetGestorPilas() {
-        this.pilaEstados = new Stack<>();
-        this.pilaSimbolos = new Stack<>();
-        pilaEstados.push(0);
-        pilaSimbolos.push(FIN_DE_FICHERO);
+    public int size() {
+        return numEstados;
     }
 }
@@ -1,54 +1,59 @@
 package modulos.sintactico;
 
 import java.io.*;
-import java.util.*;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
 
-import modulos.sintactico.accion.Accion;
-import modulos.sintactico.accion.AccionAceptar;
-import modulos.sintactico.accion.AccionDesplazar;
-import modulos.sintactico.accion.AccionReducir;
+import modulos.lexico.enums.PalabraReservada;
 import modulos.token.TipoToken;
 import util.GestorErrores;
 
 /**
- * Clase que se encarga de parsear un archivo de texto generado por Bison.
- * Crea estructuras de datos para ser utilizadas por un analizador sintáctico
- * LR(1).
+ * Clase que carga las tablas de la gramática generada por Bison utilizadas por
+ * el analizador sintáctico LR(1). Las tablas se precompilan durante la
+ * compilación del proyecto (tarea generarTablasLR) y se leen del classpath, de
+ * modo que no dependen del directorio de trabajo. Las tablas no se modifican tras la carga, por lo que
+ * una única instancia se comparte entre todas las sesiones de compilación.
+ *
+ * Al cargar la gramática se asigna a cada tipo de token y a cada palabra
+ * reservada el índice de su terminal, de modo que el analizador sintáctico
+ * obtiene la acción con un único acceso a TablasLR, sin comparar textos.
  */
 public class ParserGramatica {
 
-    private static final String GRAMMAR_SECTION = "Grammar";
-    private static final String TERMINALS_SECTION = "Terminals";
-    private static final String NONTERMINALS_SECTION = "Nonterminals";
-    private static final String STATE_SECTION = "State";
-    private static final String FILE_PATH = "src/main/resources/gramatica.output";
+    // Tablas precompiladas y fichero de Bison, como recursos del classpath
+    private static final String RECURSO_TABLAS = "/gramatica.tablas";
+    private static final String RECURSO_GRAMATICA = "/gramatica.output";
 
-    private Map<Integer, Map<String, Accion>> tablaAccion;
-    private Map<Integer, Map<String, Integer>> tablaGoTo;
-    private Map<Integer, List<String>> reglas;
-    private Set<String> terminales;
-    private Set<String> noTerminales;
+    private final TablasLR tablas;
 
-    // Instancia única de la clase
-    private static ParserGramatica instancia;
+    // Índice del terminal de cada tipo de token y de cada palabra reservada
+    private final int[] terminalesTipoToken;
+    private final int[] terminalesPalabraReservada;
+
+    // Instancia única de la clase, compartida entre sesiones
+    private static volatile ParserGramatica instancia;
 
     /**
      * Constructor privado para evitar la creación de instancias fuera de la clase.
      */
     private ParserGramatica() {
-        tablaAccion = new HashMap<>();
-        tablaGoTo = new HashMap<>();
-        reglas = new HashMap<>();
-        terminales = new HashSet<>();
-        noTerminales = new HashSet<>();
+        tablas = cargarTablas();
 
-        generarTabla(FILE_PATH);
+        terminalesTipoToken = new int[TipoToken.values().length];
+        for (TipoToken tipo : TipoToken.values()) {
+            terminalesTipoToken[tipo.ordinal()] = indiceTerminal(tipo.name());
+        }
+        terminalesPalabraReservada = new int[PalabraReservada.values().length];
+        for (PalabraReservada palabra : PalabraReservada.values()) {
+            terminalesPalabraReservada[palabra.ordinal()] = indiceTerminal(palabra.name());
+        }
     }
 
     /**
      * Devuelve la instancia única de la clase.
      * Si la instancia no ha sido creada aún, la crea.
-     * 
+     *
      * @return La instancia única de ParserGramatica.
      */
     public static ParserGramatica getInstance() {
@@ -63,255 +68,85 @@ public static ParserGramatica getInstance() {
     }
 
     /**
-     * Genera las tablas de acción y de goto a partir del archivo de gramática.
-     * 
-     * @param filePath La ruta del archivo de gramática.
-     */
-    private void generarTabla(String filePath) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String linea;
-            while ((linea = reader.readLine()) != null) {
-
-                if (linea.contains("conflicts") || linea.contains("unused") || linea.contains("useless")) {
-                    continue;
-                }
-
-                switch (getSeccion(linea)) {
-                    case GRAMMAR_SECTION:
-                        procesarReglas(reader);
-                        break;
-                    case TERMINALS_SECTION:
-                        procesarTerminales(reader);
-                        break;
-                    case NONTERMINALS_SECTION:
-                        procesarNoTerminales(reader);
-                        break;
-                    case STATE_SECTION:
-                        procesarEstado(reader, linea);
-                        break;
-                }
-            }
-        } catch (IOException e) {
-            GestorErrores.lanzarError(GestorErrores.TipoError.SINTACTICO,
-                    GestorErrores.ARCHIVO_GRAMATICA_NO_ENCONTRADO);
-        }
-    }
-
-    /**
-     * Obtiene la sección del archivo de gramática a la que pertenece una línea.
-     * 
-     * @param linea La línea a evaluar.
-     * @return La sección correspondiente, o null si no corresponde a ninguna
-     *         sección conocida.
+     * Carga las tablas precompiladas del classpath. Si no existen (por ejemplo,
+     * al ejecutar el proyecto sin Gradle), se generan a partir del fichero de
+     * Bison incluido en los recursos.
+     *
+     * @return Las tablas LR de la gramática.
      */
-    private String getSeccion(String linea) {
-        if (linea.startsWith(GRAMMAR_SECTION)) {
-            return GRAMMAR_SECTION;
-        } else if (linea.startsWith(TERMINALS_SECTION)) {
-            return TERMINALS_SECTION;
-        } else if (linea.startsWith(NONTERMINALS_SECTION)) {
-            return NONTERMINALS_SECTION;
-        } else if (linea.startsWith(STATE_SECTION)) {
-            return STATE_SECTION;
-        }
-        return "";
+    private static TablasLR cargarTablas() {
+        return cargarTablas(ParserGramatica.class::getResourceAsStream);
     }
 
     /**
-     * Procesa las reglas de gramática del archivo.
-     * 
-     * @param reader El BufferedReader para leer el archivo.
-     * @throws IOException Si ocurre un error de lectura.
+     * Carga las tablas de los recursos que abre la función dada, que devuelve
+     * null si el recurso no existe. Un recurso que existe pero no se puede leer
+     * (truncado o dañado) no se confunde con uno que falta: se informa aparte,
+     * conservando la causa.
+     *
+     * @param abrirRecurso Función que abre un recurso por su nombre.
+     * @return Las tablas LR de la gramática.
+     * @throws UncheckedIOException Si un recurso existe pero no es válido.
      */
-    private void procesarReglas(BufferedReader reader) throws IOException {
-        String line;
-        int contadorLineasVacias = 0;
-
-        while (contadorLineasVacias < 2) {
-            line = reader.readLine();
-            if (line == null)
-                break;
-
-            if (line.isEmpty()) {
-                contadorLineasVacias++;
-                continue;
-            }
-
-            contadorLineasVacias = 0;
-            String[] partes = line.split("\\s+");
-            int numeroRegla = Integer.parseInt(partes[1]);
-            List<String> contenidoRegla = new ArrayList<>();
-
-            for (String parte : partes) {
-                if (esNoNumericaYNoVacia(parte)) {
-                    if (parte.equals("|")) {
-                        parte = reglas.get(numeroRegla - 1).get(0);
-                    }
-                    String terminalProcesado = procesarTerminal(parte.replaceAll("[:?]", ""));
-                    if (!parte.equals("ε")) {
-                        contenidoRegla.add(terminalProcesado);
-                    }
+    static TablasLR cargarTablas(Function<String, InputStream> abrirRecurso) {
+        String recurso = RECURSO_TABLAS;
+        try {
+            try (InputStream recursoTablas = abrirRecurso.apply(RECURSO_TABLAS)) {
+                if (recursoTablas != null) {
+                    return TablasLR.leer(new BufferedInputStream(recursoTablas));
                 }
             }
-
-            reglas.put(numeroRegla, contenidoRegla);
-        }
-    }
-
-    /**
-     * Verifica si una cadena no es numérica y no está vacía.
-     * 
-     * @param cadena La cadena a verificar.
-     * @return true si la cadena no es numérica y no está vacía, false en caso
-     *         contrario.
-     */
-    private boolean esNoNumericaYNoVacia(String cadena) {
-        return !cadena.matches("-?\\d+") && !cadena.isEmpty();
-    }
-
-    /**
-     * Procesa los terminales de la gramática del archivo.
-     * 
-     * @param reader El BufferedReader para leer el archivo.
-     * @throws IOException Si ocurre un error de lectura.
-     */
-    private void procesarTerminales(BufferedReader reader) throws IOException {
-        String line;
-        int contadorLineasVacias = 0;
-        while (contadorLineasVacias < 2) {
-            line = reader.readLine();
-            if (line.isEmpty()) {
-                contadorLineasVacias++;
-                continue;
-            }
-
-            String terminalSinProcesar = line.split("\\s+")[1].replace("'", "");
-
-            // Añadir los terminales sin las comillas simples
-            terminales.add(procesarTerminal(terminalSinProcesar));
-        }
-    }
-
-    /**
-     * Procesa un terminal de la gramática.
-     * 
-     * @param terminalSinProcesar El terminal sin procesar.
-     * @return El terminal procesado.
-     */
-    private String procesarTerminal(String terminalSinProcesar) {
-        TipoToken tipoToken = TipoToken.procesarTipoToken(terminalSinProcesar);
-
-        if (tipoToken != null) {
-            return tipoToken.name();
-        } else {
-            // Caso para palabra reservada
-            return terminalSinProcesar.toUpperCase();
-        }
-    }
-
-    /**
-     * Procesa los no terminales de la gramática del archivo.
-     * 
-     * @param reader El BufferedReader para leer el archivo.
-     * @throws IOException Si ocurre un error de lectura.
-     */
-    private void procesarNoTerminales(BufferedReader reader) throws IOException {
-        String line;
-        int contadorLineasVacias = 0;
-        while (contadorLineasVacias < 2) {
-            line = reader.readLine();
-            if (line.isEmpty()) {
-                contadorLineasVacias++;
-                continue;
-            } else if (line.contains("left") || line.contains("right")) {
-                continue;
+            recurso = RECURSO_GRAMATICA;
+            try (InputStream recursoGramatica = abrirRecurso.apply(RECURSO_GRAMATICA)) {
+                if (recursoGramatica != null) {
+                    return GeneradorTablasLR.generar(new BufferedReader(
+                            new InputStreamReader(recursoGramatica, StandardCharsets.UTF_8)));
+                }
             }
-
-            noTerminales.add(line.split("\\s+")[1]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(GestorErrores.ARCHIVO_GRAMATICA_NO_VALIDO + recurso, e);
         }
+        GestorErrores.lanzarError(GestorErrores.TipoError.SINTACTICO,
+                GestorErrores.ARCHIVO_GRAMATICA_NO_ENCONTRADO, GestorErrores.LINEA_INICIAL);
+        return null;
     }
 
     /**
-     * Procesa los estados de la gramática del archivo.
-     * 
-     * @param reader    El BufferedReader para leer el archivo.
-     * @param firstLine La primera línea del estado.
-     * @throws IOException Si ocurre un error de lectura.
+     * Obtiene el índice del terminal con el nombre dado, o el del terminal
+     * desconocido si la gramática no lo usa.
      */
-    private void procesarEstado(BufferedReader reader, String firstLine) throws IOException {
-        int stateNumber = Integer.parseInt(firstLine.split("\\s+")[1]);
-        Map<String, Accion> actionMap = new HashMap<>();
-        Map<String, Integer> gotoMap = new HashMap<>();
-
-        String line;
-        int contadorLineasVacias = 0;
-        while (contadorLineasVacias < 2) {
-            line = reader.readLine();
-            if (line == null) {
-                break;
-            }
-            if (line.isEmpty()) {
-                contadorLineasVacias++;
-                continue;
-            } else {
-                contadorLineasVacias = 0;
-            }
-
-            String[] parts = line.trim().split("\\s+");
-            String simbolo = parts[0];
-            if (parts[1].equals("shift,")) {
-                int estado = Integer.parseInt(parts[6]);
-                String token = procesarTerminal(parts[0]);
-                AccionDesplazar accionDesplazar = new AccionDesplazar(estado, token);
-                actionMap.put(procesarTerminal(simbolo), accionDesplazar);
-            } else if (parts[1].equals("reduce")) {
-                int regla = Integer.parseInt(parts[4].replaceAll("[^0-9]", ""));
-                String noTerminal = parts[5].replaceAll("\\(|\\)", "");
-                Integer numeroDesapilar = reglas.get(regla).size() - 1;
-                AccionReducir accionReducir = new AccionReducir(regla, noTerminal, numeroDesapilar);
-                actionMap.put(procesarTerminal(simbolo), accionReducir);
-            } else if (parts[1].equals("accept")) {
-                AccionAceptar accionAceptar = new AccionAceptar();
-                actionMap.put(procesarTerminal(simbolo), accionAceptar);
-            } else if (parts[1].equals("go")) {
-                int goToState = Integer.parseInt(parts[4]);
-                gotoMap.put(simbolo, goToState);
-            }
-
-        }
-
-        tablaAccion.put(stateNumber, actionMap);
-        tablaGoTo.put(stateNumber, gotoMap);
+    private int indiceTerminal(String nombre) {
+        Integer terminal = tablas.getIndiceTerminal(nombre);
+        return terminal != null ? terminal : tablas.getTerminalDesconocido();
     }
 
     /**
-     * Obtiene la tabla de acción.
-     * 
-     * @return La tabla de acción.
+     * Obtiene las tablas densas de la gramática.
+     *
+     * @return Las tablas LR.
      */
-    public Map<Integer, Map<String, Accion>> getTablaAccion() {
-        return this.tablaAccion;
+    public TablasLR getTablas() {
+        return this.tablas;
     }
 
     /**
-     * Obtiene la tabla GoTo.
-     * 
-     * @return La tabla GoTo.
+     * Obtiene el índice del terminal de un tipo de token. Para las palabras
+     * reservadas se usa getTerminal(PalabraReservada).
+     *
+     * @param tipo El tipo de token.
+     * @return El índice del terminal.
      */
-    public Map<Integer, Map<String, Integer>> getTablaGoTo() {
-        return this.tablaGoTo;
+    public int getTerminal(TipoToken tipo) {
+        return terminalesTipoToken[tipo.ordinal()];
     }
 
     /**
-     * Reinicia el Parser Gramatica a su estado inicial.
+     * Obtiene el índice del terminal de una palabra reservada.
+     *
+     * @param palabra La palabra reservada.
+     * @return El índice del terminal.
      */
-    public void resetParserGramatica() {
-        tablaAccion = new HashMap<>();
-        tablaGoTo = new HashMap<>();
-        reglas = new HashMap<>();
-        terminales = new HashSet<>();
-        noTerminales = new HashSet<>();
-
-        generarTabla(FILE_PATH);
+    public int getTerminal(PalabraReservada palabra) {
+        return terminalesPalabraReservada[palabra.ordinal()];
     }
 }
@@ -0,0 +1,322 @@
+package modulos.sintactico;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Clase TablasLR que contiene las tablas de acción y goto de la gramática en
+ * arrays densos de enteros. Los terminales, no terminales y estados se
+ * identifican por su índice. Las tablas se generan durante la compilación del
+ * proyecto (GeneradorTablasLR) y se leen del classpath al arrancar.
+ *
+ * Cada acción se codifica en un entero: los dos bits bajos indican el tipo
+ * (ERROR, DESPLAZAR, REDUCIR o ACEPTAR) y el resto el estado destino o la
+ * regla a reducir.
+ */
+public final class TablasLR {
+
+    // Tipos de acción
+    public static final int ERROR = 0;
+    public static final int DESPLAZAR = 1;
+    public static final int REDUCIR = 2;
+    public static final int ACEPTAR = 3;
+
+    // Entrada de la tabla goto sin estado destino
+    public static final int SIN_ESTADO = -1;
+
+    private static final int BITS_TIPO = 2;
+    private static final int MASCARA_TIPO = (1 << BITS_TIPO) - 1;
+
+    // Cabecera del formato binario
+    private static final int MAGICO = 0x544C5231;
+
+    private final String[] terminales;
+    private final String[] noTerminales;
+    private final int[] noTerminalRegla;
+    private final int[] longitudRegla;
+    private final int numEstados;
+    private final int[] acciones;
+    private final int[] accionesPorDefecto;
+    private final int[] irA;
+
+    // Acciones con la acción por defecto ya aplicada. Tiene una columna más que
+    // la tabla de acciones, la de un terminal desconocido.
+    private final int[] accionesResueltas;
+
+    private final Map<String, Integer> indiceTerminales;
+    private final Map<String, Integer> indiceNoTerminales;
+
+    /**
+     * Constructor de las tablas a partir de sus arrays.
+     *
+     * @param terminales         Nombres de los terminales, por índice.
+     * @param noTerminales       Nombres de los no terminales, por índice.
+     * @param noTerminalRegla    No terminal de la parte izquierda de cada regla.
+     * @param longitudRegla      Número de símbolos de la parte derecha de cada
+     *                           regla.
+     * @param numEstados         Número de estados del autómata.
+     * @param acciones           Acción de cada par (estado, terminal).
+     * @param accionesPorDefecto Acción por defecto de cada estado.
+     * @param irA                Estado destino de cada par (estado, no terminal).
+     */
+    TablasLR(String[] terminales, String[] noTerminales, int[] noTerminalRegla, int[] longitudRegla,
+            int numEstados, int[] acciones, int[] accionesPorDefecto, int[] irA) {
+        this.terminales = terminales;
+        this.noTerminales = noTerminales;
+        this.noTerminalRegla = noTerminalRegla;
+        this.longitudRegla = longitudRegla;
+        this.numEstados = numEstados;
+        this.acciones = acciones;
+        this.accionesPorDefecto = accionesPorDefecto;
+        this.irA = irA;
+        this.accionesResueltas = resolverAcciones();
+        this.indiceTerminales = indexar(terminales);
+        this.indiceNoTerminales = indexar(noTerminales);
+    }
+
+    /**
+     * Construye la tabla de acciones en la que cada entrada sin acción explícita
+     * toma la acción por defecto de su estado.
+     *
+     * @return La tabla de acciones resueltas.
+     */
+    private int[] resolverAcciones() {
+        int columnas = terminales.length + 1;
+        int[] resueltas = new int[numEstados * columnas];
+        for (int estado = 0; estado < numEstados; estado++) {
+            for (int terminal = 0; terminal < columnas; terminal++) {
+                int accion = terminal < terminales.length ? getAccion(estado, terminal) : ERROR;
+                resueltas[estado * columnas + terminal] = tipo(accion) != ERROR ? accion
+                        : accionesPorDefecto[estado];
+            }
+        }
+        return resueltas;
+    }
+
+    /**
+     * Codifica una acción en un entero.
+     *
+     * @param tipo  Tipo de la acción.
+     * @param valor Estado destino o regla de la acción.
+     * @return La acción codificada.
+     */
+    public static int codificar(int tipo, int valor) {
+        return (valor << BITS_TIPO) | tipo;
+    }
+
+    /**
+     * Obtiene el tipo de una acción codificada.
+     *
+     * @param accion La acción codificada.
+     * @return ERROR, DESPLAZAR, REDUCIR o ACEPTAR.
+     */
+    public static int tipo(int accion) {
+        return accion & MASCARA_TIPO;
+    }
+
+    /**
+     * Obtiene el estado destino o la regla de una acción codificada.
+     *
+     * @param accion La acción codificada.
+     * @return El estado destino (DESPLAZAR) o la regla (REDUCIR).
+     */
+    public static int valor(int accion) {
+        return accion >>> BITS_TIPO;
+    }
+
+    public int getNumEstados() {
+        return numEstados;
+    }
+
+    public int getNumTerminales() {
+        return terminales.length;
+    }
+
+    public int getNumNoTerminales() {
+        return noTerminales.length;
+    }
+
+    public int getNumReglas() {
+        return longitudRegla.length;
+    }
+
+    public String getTerminal(int terminal) {
+        return terminales[terminal];
+    }
+
+    public String getNoTerminal(int noTerminal) {
+        return noTerminales[noTerminal];
+    }
+
+    /**
+     * Obtiene el índice de un terminal a partir de su nombre.
+     *
+     * @param nombre Nombre del terminal (por ejemplo, "ID" o "FINDEFICHERO").
+     * @return El índice del terminal, o null si no existe.
+     */
+    public Integer getIndiceTerminal(String nombre) {
+        return indiceTerminales.get(nombre);
+    }
+
+    /**
+     * Obtiene el índice de un no terminal a partir de su nombre.
+     *
+     * @param nombre Nombre del no terminal.
+     * @return El índice del no terminal, o null si no existe.
+     */
+    public Integer getIndiceNoTerminal(String nombre) {
+        return indiceNoTerminales.get(nombre);
+    }
+
+    /**
+     * Obtiene la acción explícita de un estado para un terminal.
+     *
+     * @param estado   El estado.
+     * @param terminal El índice del terminal.
+     * @return La acción codificada, ERROR si no hay acción explícita.
+     */
+    public int getAccion(int estado, int terminal) {
+        return acciones[estado * terminales.length + terminal];
+    }
+
+    /**
+     * Obtiene la acción por defecto ($default) de un estado.
+     *
+     * @param estado El estado.
+     * @return La acción codificada, ERROR si el estado no tiene acción por
+     *         defecto.
+     */
+    public int getAccionPorDefecto(int estado) {
+        return accionesPorDefecto[estado];
+    }
+
+    /**
+     * Obtiene el índice que representa a un terminal que no aparece en la
+     * gramática. Solo admite la acción por defecto de cada estado.
+     *
+     * @return El índice del terminal desconocido.
+     */
+    public int getTerminalDesconocido() {
+        return terminales.length;
+    }
+
+    /**
+     * Obtiene la acción de un estado para un terminal, aplicando la acción por
+     * defecto del estado si no hay una explícita. Es un único acceso a array.
+     *
+     * @param estado   El estado.
+     * @param terminal El índice del terminal, o getTerminalDesconocido().
+     * @return La acción codificada, ERROR si el terminal no es válido en el
+     *         estado.
+     */
+    public int getAccionResuelta(int estado, int terminal) {
+        return accionesResueltas[estado * (terminales.length + 1) + terminal];
+    }
+
+    /**
+     * Obtiene el estado destino de la tabla goto.
+     *
+     * @param estado     El estado.
+     * @param noTerminal El índice del no terminal.
+     * @return El estado destino, o SIN_ESTADO.
+     */
+    public int getIrA(int estado, int noTerminal) {
+        return irA[estado * noTerminales.length + noTerminal];
+    }
+
+    public int getNoTerminalRegla(int regla) {
+        return noTerminalRegla[regla];
+    }
+
+    public int getLongitudRegla(int regla) {
+        return longitudRegla[regla];
+    }
+
+    /**
+     * Escribe las tablas en formato binario.
+     *
+     * @param salida Flujo de salida.
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    public void escribir(OutputStream salida) throws IOException {
+        DataOutputStream datos = new DataOutputStream(salida);
+        datos.writeInt(MAGICO);
+        escribirNombres(datos, terminales);
+        escribirNombres(datos, noTerminales);
+        escribirEnteros(datos, noTerminalRegla);
+        escribirEnteros(datos, longitudRegla);
+        datos.writeInt(numEstados);
+        escribirEnteros(datos, acciones);
+        escribirEnteros(datos, accionesPorDefecto);
+        escribirEnteros(datos, irA);
+        datos.flush();
+    }
+
+    /**
+     * Lee unas tablas escritas con escribir().
+     *
+     * @param entrada Flujo de entrada.
+     * @return Las tablas leídas.
+     * @throws IOException Si ocurre un error de lectura o el formato no es
+     *                     válido.
+     */
+    public static TablasLR leer(InputStream entrada) throws IOException {
+        DataInputStream datos = new DataInputStream(entrada);
+        if (datos.readInt() != MAGICO) {
+            throw new IOException("Formato de tablas LR no valido");
+        }
+        String[] terminales = leerNombres(datos);
+        String[] noTerminales = leerNombres(datos);
+        int[] noTerminalRegla = leerEnteros(datos);
+        int[] longitudRegla = leerEnteros(datos);
+        int numEstados = datos.readInt();
+        int[] acciones = leerEnteros(datos);
+        int[] accionesPorDefecto = leerEnteros(datos);
+        int[] irA = leerEnteros(datos);
+        return new TablasLR(terminales, noTerminales, noTerminalRegla, longitudRegla, numEstados, acciones,
+                accionesPorDefecto, irA);
+    }
+
+    private static Map<String, Integer> indexar(String[] nombres) {
+        Map<String, Integer> indice = new HashMap<>();
+        for (int i = 0; i < nombres.length; i++) {
+            indice.put(nombres[i], i);
+        }
+        return indice;
+    }
+
+    private static void escribirNombres(DataOutputStream datos, String[] nombres) throws IOException {
+        datos.writeInt(nombres.length);
+        for (String nombre : nombres) {
+            datos.writeUTF(nombre);
+        }
+    }
+
+    private static String[] leerNombres(DataInputStream datos) throws IOException {
+        String[] nombres = new String[datos.readInt()];
+        for (int i = 0; i < nombres.length; i++) {
+            nombres[i] = datos.readUTF();
+        }
+        return nombres;
+    }
+
+    private static void escribirEnteros(DataOutputStream datos, int[] enteros) throws IOException {
+        datos.writeInt(enteros.length);
+        for (int entero : enteros) {
+            datos.writeInt(entero);
+        }
+    }
+
+    private static int[] leerEnteros(DataInputStream datos) throws IOException {
+        int[] enteros = new int[datos.readInt()];
+        for (int i = 0; i < enteros.length; i++) {
+            enteros[i] = datos.readInt();
+        }
+        return enteros;
+    }
+}
@@ -0,0 +1,41 @@
+package modulos.sintactico;
+
+/**
+ * Interfaz VisitanteArbol con las notificaciones del recorrido de un
+ * ArbolSintactico. Los nodos se identifican por su índice en el árbol, que
+ * también se pasa para consultar su regla, su token o sus hijos. Todos los
+ * métodos tienen una implementación vacía, así que cada visitante solo
+ * sobrescribe los que necesita.
+ */
+public interface VisitanteArbol {
+
+    /**
+     * Se llama al llegar a un nodo de regla, antes que a sus hijos.
+     *
+     * @param arbol El árbol que se recorre.
+     * @param nodo  El índice del nodo.
+     * @return true para recorrer los hijos del nodo y llamar después a
+     *         salirRegla, false para saltar el subárbol.
+     */
+    default boolean visitarRegla(ArbolSintactico arbol, int nodo) {
+        return true;
+    }
+
+    /**
+     * Se llama después de recorrer los hijos de un nodo de regla.
+     *
+     * @param arbol El árbol que se recorre.
+     * @param nodo  El índice del nodo.
+     */
+    default void salirRegla(ArbolSintactico arbol, int nodo) {
+    }
+
+    /**
+     * Se llama en cada hoja, es decir, en cada token.
+     *
+     * @param arbol El árbol que se recorre.
+     * @param nodo  El índice del nodo.
+     */
+    default void visitarToken(ArbolSintactico arbol, int nodo) {
+    }
+}
@@ -0,0 +1,239 @@
+package modulos.tablaSimbolos;
+
+import java.util.Arrays;
+
+import modulos.tablaSimbolos.enums.Tipo;
+
+/**
+ * Clase AlmacenSimbolos que guarda los atributos de los símbolos de una tabla
+ * por columnas, en arrays primitivos paralelos indexados por la posición del
+ * símbolo. Los tipos se guardan como ordinales y las firmas de las funciones
+ * como identificadores en el PoolFirmas del almacén, que es el de la sesión.
+ * El almacén no guarda objetos por símbolo: las vistas Simbolo se crean al
+ * pedirlas (getSimbolo) y el estado de cada símbolo en GestorSimbolos también
+ * se guarda por columnas.
+ */
+final class AlmacenSimbolos {
+
+    // Valores que representan un atributo sin asignar (null en Simbolo)
+    static final byte SIN_TIPO = -1;
+    static final int SIN_VALOR = Integer.MIN_VALUE;
+
+    private static final Tipo[] TIPOS = Tipo.values();
+
+    private String[] nombres;
+    private byte[] tipos;
+    private byte[] tiposRetorno;
+    private int[] desplazamientos;
+    private int[] bytes;
+    private int[] numerosParametros;
+    private int[] firmas;
+    private int numSimbolos;
+
+    // Estado de cada símbolo en GestorSimbolos: veces que está en PilaSimbolos
+    // y sus entradas primera y última en ListaSinTipo
+    private int[] apariciones;
+    private int[] primerasSinTipo;
+    private int[] ultimasSinTipo;
+
+    // Pool en el que están las firmas de la columna firmas
+    private final PoolFirmas poolFirmas;
+
+    /**
+     * Constructor de un almacén vacío.
+     *
+     * @param capacidad  Número de símbolos para el que se reserva espacio.
+     * @param poolFirmas Pool en el que se internan las firmas.
+     */
+    AlmacenSimbolos(int capacidad, PoolFirmas poolFirmas) {
+        this.poolFirmas = poolFirmas;
+        nombres = new String[capacidad];
+        tipos = new byte[capacidad];
+        tiposRetorno = new byte[capacidad];
+        desplazamientos = new int[capacidad];
+        bytes = new int[capacidad];
+        numerosParametros = new int[capacidad];
+        firmas = new int[capacidad];
+        apariciones = new int[capacidad];
+        primerasSinTipo = new int[capacidad];
+        ultimasSinTipo = new int[capacidad];
+        numSimbolos = 0;
+    }
+
+    /**
+     * Añade una fila con los atributos de un símbolo de variable.
+     *
+     * @param nombre         El nombre del símbolo.
+     * @param tipo           Su tipo, o null.
+     * @param desplazamiento Su desplazamiento, o null.
+     * @param ancho          Su ancho en bytes, o null.
+     * @return La posición de la fila.
+     */
+    int agregar(String nombre, Tipo tipo, Integer desplazamiento, Integer ancho) {
+        if (numSimbolos == nombres.length) {
+            crecer();
+        }
+        int indice = numSimbolos++;
+        nombres[indice] = nombre;
+        setTipo(indice, tipo);
+        setTipoRetorno(indice, null);
+        setDesplazamiento(indice, desplazamiento);
+        setBytes(indice, ancho);
+        setNumeroParametros(indice, null);
+        firmas[indice] = PoolFirmas.SIN_FIRMA;
+        apariciones[indice] = 0;
+        primerasSinTipo[indice] = ListaSinTipo.SIN_ENTRADA;
+        ultimasSinTipo[indice] = ListaSinTipo.SIN_ENTRADA;
+        return indice;
+    }
+
+    /**
+     * Copia una fila de otro almacén al final de este. Si los almacenes no
+     * comparten PoolFirmas, la firma se interna en el de este.
+     *
+     * @param origen El almacén de origen.
+     * @param fila   La posición de la fila en el origen.
+     * @return La posición de la fila copiada.
+     */
+    int copiar(AlmacenSimbolos origen, int fila) {
+        int indice = agregar(origen.nombres[fila], null, null, null);
+        tipos[indice] = origen.tipos[fila];
+        tiposRetorno[indice] = origen.tiposRetorno[fila];
+        desplazamientos[indice] = origen.desplazamientos[fila];
+        bytes[indice] = origen.bytes[fila];
+        numerosParametros[indice] = origen.numerosParametros[fila];
+        int firma = origen.firmas[fila];
+        if (firma != PoolFirmas.SIN_FIRMA && origen.poolFirmas != poolFirmas) {
+            firma = poolFirmas.internar(origen.poolFirmas.getTipos(firma), origen.poolFirmas.getModos(firma));
+        }
+        firmas[indice] = firma;
+        apariciones[indice] = origen.apariciones[fila];
+        primerasSinTipo[indice] = origen.primerasSinTipo[fila];
+        ultimasSinTipo[indice] = origen.ultimasSinTipo[fila];
+        return indice;
+    }
+
+    private void crecer() {
+        int capacidad = Math.max(nombres.length * 2, 1);
+        nombres = Arrays.copyOf(nombres, capacidad);
+        tipos = Arrays.copyOf(tipos, capacidad);
+        tiposRetorno = Arrays.copyOf(tiposRetorno, capacidad);
+        desplazamientos = Arrays.copyOf(desplazamientos, capacidad);
+        bytes = Arrays.copyOf(bytes, capacidad);
+        numerosParametros = Arrays.copyOf(numerosParametros, capacidad);
+        firmas = Arrays.copyOf(firmas, capacidad);
+        apariciones = Arrays.copyOf(apariciones, capacidad);
+        primerasSinTipo = Arrays.copyOf(primerasSinTipo, capacidad);
+        ultimasSinTipo = Arrays.copyOf(ultimasSinTipo, capacidad);
+    }
+
+    int size() {
+        return numSimbolos;
+    }
+
+    /**
+     * Crea una vista sobre una fila.
+     *
+     * @param indice La posición de la fila.
+     * @return La vista; dos vistas de la misma fila son iguales (equals).
+     */
+    Simbolo getSimbolo(int indice) {
+        return new Simbolo(this, indice);
+    }
+
+    String getNombre(int indice) {
+        return nombres[indice];
+    }
+
+    Tipo getTipo(int indice) {
+        return desdeOrdinal(tipos[indice]);
+    }
+
+    void setTipo(int indice, Tipo tipo) {
+        tipos[indice] = aOrdinal(tipo);
+    }
+
+    Tipo getTipoRetorno(int indice) {
+        return desdeOrdinal(tiposRetorno[indice]);
+    }
+
+    void setTipoRetorno(int indice, Tipo tipo) {
+        tiposRetorno[indice] = aOrdinal(tipo);
+    }
+
+    Integer getDesplazamiento(int indice) {
+        return desdeValor(desplazamientos[indice]);
+    }
+
+    void setDesplazamiento(int indice, Integer desplazamiento) {
+        desplazamientos[indice] = aValor(desplazamiento);
+    }
+
+    Integer getBytes(int indice) {
+        return desdeValor(bytes[indice]);
+    }
+
+    void setBytes(int indice, Integer ancho) {
+        bytes[indice] = aValor(ancho);
+    }
+
+    Integer getNumeroParametros(int indice) {
+        return desdeValor(numerosParametros[indice]);
+    }
+
+    void setNumeroParametros(int indice, Integer numeroParametros) {
+        numerosParametros[indice] = aValor(numeroParametros);
+    }
+
+    int getFirma(int indice) {
+        return firmas[indice];
+    }
+
+    void setFirma(int indice, int firma) {
+        firmas[indice] = firma;
+    }
+
+    PoolFirmas getPoolFirmas() {
+        return poolFirmas;
+    }
+
+    int getApariciones(int indice) {
+        return apariciones[indice];
+    }
+
+    void setApariciones(int indice, int numApariciones) {
+        apariciones[indice] = numApariciones;
+    }
+
+    int getPrimeraSinTipo(int indice) {
+        return primerasSinTipo[indice];
+    }
+
+    void setPrimeraSinTipo(int indice, int entrada) {
+        primerasSinTipo[indice] = entrada;
+    }
+
+    int getUltimaSinTipo(int indice) {
+        return ultimasSinTipo[indice];
+    }
+
+    void setUltimaSinTipo(int indice, int entrada) {
+        ultimasSinTipo[indice] = entrada;
+    }
+
+    private static Tipo desdeOrdinal(byte ordinal) {
+        return ordinal == SIN_TIPO ? null : TIPOS[ordinal];
+    }
+
+    private static byte aOrdinal(Tipo tipo) {
+        return tipo == null ? SIN_TIPO : (byte) tipo.ordinal();
+    }
+
+    private static Integer desdeValor(int valor) {
+        return valor == SIN_VALOR ? null : valor;
+    }
+
+    private static int aValor(Integer valor) {
+        return valor == null ? SIN_VALOR : valor;
+    }
+}
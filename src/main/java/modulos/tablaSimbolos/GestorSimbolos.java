@@ -1,45 +1,36 @@
 package modulos.tablaSimbolos;
 
-import java.util.Stack;
-
+import modulos.SesionCompilacion;
 import util.GestorErrores;
 
-import java.util.LinkedList;
-
 /**
  * Gestiona los simbolos que se van encontrando en el input para su asignación y
- * comprobación de tipos.
+ * comprobación de tipos. Todas las operaciones son de coste constante: la
+ * pila de últimos símbolos indexa sus funciones (PilaSimbolos) y la lista de
+ * símbolos sin tipo enlaza las entradas de cada símbolo (ListaSinTipo).
  */
 public class GestorSimbolos {
 
     // Simbolos que aún no tienen un tipo asignado (FIFO)
-    private LinkedList<Simbolo> simbolosSinTipo;
+    private final ListaSinTipo simbolosSinTipo;
 
     // Ultimos simbolos insertados en la tabla (LIFO)
-    private Stack<Simbolo> ultimosSimbolos;
+    private final PilaSimbolos ultimosSimbolos;
 
-    // Instancia única de la clase
-    private static GestorSimbolos instancia;
-
-    /**
-     * Constructor privado para evitar la creación de instancias.
-     */
-    private GestorSimbolos() {
-        simbolosSinTipo = new LinkedList<>();
-        ultimosSimbolos = new Stack<>();
-    }
+    // Gestores de la sesión
+    private final GestorZonasEspeciales gestorZonas;
+    private final GestorErrores gestorErrores;
 
     /**
-     * Devuelve la instancia única de la clase.
-     * Si la instancia no ha sido creada aún, la crea.
+     * Constructor del gestor de símbolos de una sesión.
      * 
-     * @return La instancia única de GestorSimbolos.
+     * @param sesion La sesión de compilación a la que pertenece.
      */
-    public static synchronized GestorSimbolos getInstance() {
-        if (instancia == null) {
-            instancia = new GestorSimbolos();
-        }
-        return instancia;
+    public GestorSimbolos(SesionCompilacion sesion) {
+        simbolosSinTipo = new ListaSinTipo();
+        ultimosSimbolos = new PilaSimbolos();
+        gestorZonas = sesion.getGestorZonas();
+        gestorErrores = sesion.getGestorErrores();
     }
 
     /**
@@ -49,7 +40,7 @@ public static synchronized GestorSimbolos getInstance() {
      * @param simbolo El símbolo a añadir.
      */
     public void setUltimoSimbolo(Simbolo simbolo) {
-        ultimosSimbolos.push(simbolo);
+        ultimosSimbolos.apilar(simbolo);
 
         if (simbolo.getTipo() == null) {
             simbolosSinTipo.add(simbolo);
@@ -62,36 +53,64 @@ public void setUltimoSimbolo(Simbolo simbolo) {
      * @return El último símbolo insertado.
      */
     public Simbolo getUltimoSimbolo() {
-        return ultimosSimbolos.pop();
+        return ultimosSimbolos.desapilar();
     }
 
     /**
-     * Obtiene el último símbolo de función insertado en la tabla.
+     * Obtiene y quita de la lista de últimos símbolos el último símbolo de
+     * función insertado en la tabla.
      * 
-     * @return El último símbolo de función.
+     * @return El último símbolo de función, o null si no hay ninguno.
      */
     public Simbolo getUltimoSimboloFuncion() {
-        Stack<Simbolo> tempStack = new Stack<>();
-        Simbolo simbolo = null;
-
-        // Buscar el elemento mientras la pila original no esté vacía
-        while (!ultimosSimbolos.isEmpty()) {
-            Simbolo elemento = ultimosSimbolos.pop();
-            tempStack.push(elemento);
-
-            if (elemento.getNumeroParametros() != null) {
-                simbolo = elemento;
-                tempStack.pop();
-                break;
-            }
-        }
+        return ultimosSimbolos.sacarFuncion();
+    }
 
-        // Restaurar el stack original
-        while (!tempStack.isEmpty()) {
-            ultimosSimbolos.push(tempStack.pop());
+    /**
+     * Convierte un símbolo en una función, todavía sin parámetros. Es la única
+     * forma de que un símbolo que ya está en la lista de últimos símbolos pase a
+     * ser una función.
+     * 
+     * @param simbolo El símbolo de la función.
+     */
+    public void declararFuncion(Simbolo simbolo) {
+        boolean eraFuncion = simbolo.getNumeroParametros() != null;
+        simbolo.setNumeroParametros(0);
+        if (!eraFuncion) {
+            ultimosSimbolos.marcarFuncion(simbolo);
         }
+    }
 
-        return simbolo;
+    /**
+     * Prepara el gestor para el cuerpo de una función que se analiza a la vez
+     * que otros (AnalizadorFunciones). En un cuerpo no se declaran funciones,
+     * así que la pila no cuenta las apariciones de los símbolos, que solo usa
+     * declararFuncion, y no modifica los de la tabla global, que comparten
+     * todos los cuerpos.
+     */
+    public void compartirSimbolosGlobales() {
+        ultimosSimbolos.compartirSimbolos();
+    }
+
+    /**
+     * Indica si quedan símbolos sin tipo o funciones en la lista de últimos
+     * símbolos, es decir, declaraciones o llamadas a medio procesar.
+     *
+     * @return true si queda alguno.
+     */
+    public boolean hayPendientes() {
+        return simbolosSinTipo.size() > 0 || ultimosSimbolos.hayFunciones();
+    }
+
+    /**
+     * Indica si la lista de últimos símbolos contiene algún símbolo que no es
+     * de una tabla.
+     *
+     * @param tabla La tabla.
+     * @return true si contiene algún símbolo de otra tabla.
+     */
+    public boolean contieneSimbolosAjenos(TablaSimbolos tabla) {
+        return ultimosSimbolos.contieneAjenos(tabla);
     }
 
     /**
@@ -101,12 +120,12 @@ public Simbolo getUltimoSimboloFuncion() {
      */
     public Simbolo consumirSimboloSinTipo() {
         if (simbolosSinTipo.size() < 1) {
-            GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_VARIABLE_REDECLARADA);
+            gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_VARIABLE_REDECLARADA);
         }
 
         Simbolo simboloSinTipo = null;
 
-        if (GestorZonasEspeciales.getInstance().getZonaParametros()) {
+        if (gestorZonas.getZonaParametros()) {
             simboloSinTipo = simbolosSinTipo.removeLast();
         } else {
             simboloSinTipo = simbolosSinTipo.removeFirst();
@@ -123,12 +142,4 @@ public Simbolo consumirSimboloSinTipo() {
     public void eliminarSimboloSinTipo(Simbolo simbolo) {
         simbolosSinTipo.remove(simbolo);
     }
-
-    /**
-     * Reinicia el gestor de simbolos a su estado inicial.
-     */
-    public void resetGestorSimbolos() {
-        simbolosSinTipo = new LinkedList<>();
-        ultimosSimbolos = new Stack<>();
-    }
 }
@@ -1,8 +1,13 @@
 package modulos.tablaSimbolos;
 
+import modulos.SesionCompilacion;
+import modulos.lexico.PoolNombres;
 import modulos.tablaSimbolos.enums.Tipo;
 import util.GestorErrores;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Stack;
 
 /**
@@ -15,38 +20,48 @@ public class GestorTablas {
     private static final int BYTES_BOOLEAN = 2;
     private static final int BYTES_VOID = 0;
 
-    private Stack<TablaSimbolos> tablas;
+    private final Stack<TablaSimbolos> tablas;
     private Boolean tablaGlobal;
     private int numeroDeTablas;
 
+    // Símbolos de la tabla global visibles desde el cuerpo de una función que
+    // se analiza aparte, o -1 si la tabla global es la de la sesión
+    private int simbolosGlobales;
+
+    // Se ha buscado un símbolo global visible sin tipo desde ese cuerpo
+    private boolean globalSinTipo;
+
     // Almacena el texto de impresión de las tablas que se van creando
-    private StringBuilder impresionTabla;
+    private final StringBuilder impresionTabla;
+
+    // Destino en el que se escriben las tablas al destruirlas, o null para
+    // guardarlas en impresionTabla
+    private Writer salidaTablas;
+
+    // Gestor de errores de la sesión
+    private final GestorErrores gestorErrores;
 
-    // Instancia única de la clase
-    private static GestorTablas instancia;
+    // Nombres de la sesión, con los que se indexan todas sus tablas
+    private final PoolNombres poolNombres;
+
+    // Firmas de las funciones de la sesión
+    private final PoolFirmas poolFirmas;
 
     /**
-     * Constructor privado para evitar la creación de instancias.
+     * Constructor del gestor de tablas de una sesión.
+     * 
+     * @param sesion La sesión de compilación a la que pertenece.
      */
-    private GestorTablas() {
+    public GestorTablas(SesionCompilacion sesion) {
+        gestorErrores = sesion.getGestorErrores();
+        poolNombres = sesion.getPoolNombres();
+        poolFirmas = sesion.getPoolFirmas();
         numeroDeTablas = 0;
         tablas = new Stack<TablaSimbolos>();
-        tablas.add(new TablaSimbolos(numeroDeTablas));
+        tablas.add(new TablaSimbolos(numeroDeTablas, poolNombres, poolFirmas));
         impresionTabla = new StringBuilder();
         tablaGlobal = true;
-    }
-
-    /**
-     * Devuelve la instancia única de la clase.
-     * Si la instancia no ha sido creada aún, la crea.
-     * 
-     * @return La instancia única de GestorTablas.
-     */
-    public static synchronized GestorTablas getInstance() {
-        if (instancia == null) {
-            instancia = new GestorTablas();
-        }
-        return instancia;
+        simbolosGlobales = -1;
     }
 
     /**
@@ -55,7 +70,16 @@ public static synchronized GestorTablas getInstance() {
     public void nuevaTabla() {
         tablaGlobal = false;
         numeroDeTablas += 1;
-        tablas.push(new TablaSimbolos(numeroDeTablas));
+        tablas.push(new TablaSimbolos(numeroDeTablas, poolNombres, poolFirmas));
+    }
+
+    /**
+     * Obtiene el número de tablas de símbolos creadas, incluida la global.
+     *
+     * @return El número de tablas.
+     */
+    public int getNumeroDeTablas() {
+        return numeroDeTablas + 1;
     }
 
     /**
@@ -64,7 +88,105 @@ public void nuevaTabla() {
     public void destruirTabla() {
         tablaGlobal = true;
         TablaSimbolos ts = tablas.pop();
-        impresionTabla.append(ts.imprimirTabla());
+        if (salidaTablas == null) {
+            impresionTabla.append(ts.imprimirTabla());
+        } else {
+            try {
+                salidaTablas.write(ts.imprimirTabla());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Quita la tabla de símbolos actual sin imprimirla, para analizar aparte el
+     * resto de su función.
+     *
+     * @return La tabla quitada.
+     */
+    public TablaSimbolos extraerTabla() {
+        tablaGlobal = true;
+        return tablas.pop();
+    }
+
+    /**
+     * Prepara el gestor para analizar el cuerpo de una función aparte: la
+     * tabla actual es la de la función y la global es la de otra sesión, de la
+     * que solo son visibles los primeros símbolos, los que existían al empezar
+     * el cuerpo. La tabla global no se modifica.
+     *
+     * @param global           La tabla global de la sesión que analiza el
+     *                         resto del fichero.
+     * @param simbolosGlobales Número de símbolos visibles de la tabla global.
+     * @param funcion          La tabla de la función, con sus parámetros.
+     */
+    public void iniciarCuerpoFuncion(TablaSimbolos global, int simbolosGlobales, TablaSimbolos funcion) {
+        tablas.clear();
+        tablas.push(global);
+        tablas.push(funcion);
+        tablaGlobal = false;
+        this.simbolosGlobales = simbolosGlobales;
+    }
+
+    /**
+     * Busca un símbolo por el índice de su nombre en la tabla global. En el cuerpo
+     * de una función que se analiza aparte, los símbolos añadidos después de
+     * empezar el cuerpo no son visibles, y tampoco un símbolo sin tipo, porque
+     * se le asignaría uno en una tabla que es de solo lectura; en ese caso el
+     * análisis del cuerpo ya no es el secuencial y se anota para que
+     * isGlobalSinTipo lo indique.
+     *
+     * @param nombre El índice del nombre del símbolo en PoolNombres.
+     * @return El símbolo, o null si no existe o no es visible.
+     */
+    Simbolo obtenerSimboloGlobal(int nombre) {
+        Simbolo simbolo = obtenerTablaGlobal().obtenerSimboloInternado(nombre);
+        if (simbolo == null || simbolosGlobales < 0) {
+            return simbolo;
+        }
+        if (simbolo.getIndice() >= simbolosGlobales) {
+            return null;
+        }
+        if (simbolo.getTipo() == null) {
+            globalSinTipo = true;
+            return null;
+        }
+        return simbolo;
+    }
+
+    /**
+     * Indica si el cuerpo de función que se analiza aparte ha buscado un
+     * símbolo global sin tipo, que el análisis secuencial habría usado.
+     *
+     * @return true si obtenerSimboloGlobal ha ocultado algún símbolo sin tipo.
+     */
+    public boolean isGlobalSinTipo() {
+        return globalSinTipo;
+    }
+
+    /**
+     * Añade a las de esta sesión las tablas impresas y creadas por otra, como si
+     * se hubiesen destruido aquí.
+     *
+     * @param impresion     La impresión de las tablas, en el orden en el que se
+     *                      destruyeron.
+     * @param tablasCreadas Número de tablas creadas.
+     */
+    public void agregarTablas(String impresion, int tablasCreadas) {
+        impresionTabla.append(impresion);
+        numeroDeTablas += tablasCreadas;
+    }
+
+    /**
+     * Establece el destino en el que se escribe cada tabla al destruirla. Las
+     * tablas escritas no se guardan en memoria ni aparecen en
+     * getImpresionTablas().
+     *
+     * @param salidaTablas El destino de las tablas, o null para guardarlas.
+     */
+    public void setSalidaTablas(Writer salidaTablas) {
+        this.salidaTablas = salidaTablas;
     }
 
     /**
@@ -113,7 +235,7 @@ public void asignarTipo(Simbolo simbolo, Tipo tipo) {
         TablaSimbolos tabla = obtenerTablaActual();
 
         if (simbolo.getTipo() != null) {
-            GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_VARIABLE_REDECLARADA);
+            gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_VARIABLE_REDECLARADA);
         }
         simbolo.setTipo(tipo);
         simbolo.setBytes(calcularBytes(tipo));
@@ -141,19 +263,8 @@ private int calcularBytes(Tipo tipo) {
             case VOID:
                 return BYTES_VOID;
             default:
-                GestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPO_NO_COMPATIBLE);
+                gestorErrores.lanzarError(GestorErrores.TipoError.SEMANTICO, GestorErrores.ERROR_TIPO_NO_COMPATIBLE);
                 return -1;
         }
     }
-
-    /**
-     * Reinicia el gestor de tablas a su estado inicial.
-     */
-    public void resetGestorTablas() {
-        numeroDeTablas = 0;
-        tablas = new Stack<TablaSimbolos>();
-        tablas.add(new TablaSimbolos(numeroDeTablas));
-        impresionTabla = new StringBuilder();
-        tablaGlobal = true;
-    }
 }
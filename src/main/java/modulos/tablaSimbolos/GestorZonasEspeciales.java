@@ -11,30 +11,14 @@ public class GestorZonasEspeciales {
     // Indica si el programa se encuentra en una sentencia de declaracion
     private Boolean zonaDeclaracion;
 
-    // Instancia única de la clase
-    private static GestorZonasEspeciales instancia;
-
     /**
-     * Constructor privado para evitar la creación de instancias.
+     * Constructor del gestor de zonas de una sesión.
      */
-    private GestorZonasEspeciales() {
+    public GestorZonasEspeciales() {
         zonaParametros = false;
         zonaDeclaracion = false;
     }
 
-    /**
-     * Devuelve la instancia única de la clase.
-     * Si la instancia no ha sido creada aún, la crea.
-     * 
-     * @return La instancia única de GestorZonas.
-     */
-    public static synchronized GestorZonasEspeciales getInstance() {
-        if (instancia == null) {
-            instancia = new GestorZonasEspeciales();
-        }
-        return instancia;
-    }
-
     /**
      * Obtiene el estado de la zona de declaración.
      * 
@@ -72,12 +56,4 @@ public Boolean getZonaParametros() {
     public void setZonaParametros(Boolean value) {
         zonaParametros = value;
     }
-
-    /**
-     * Reinicia el gestor de zonas a su estado inicial.
-     */
-    public void resetGestorZonas() {
-        zonaParametros = false;
-        zonaDeclaracion = false;
-    }
 }
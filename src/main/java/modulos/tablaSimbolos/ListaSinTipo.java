@@ -0,0 +1,170 @@
+package modulos.tablaSimbolos;
+
+import java.util.Arrays;
+
+/**
+ * Clase ListaSinTipo que guarda los símbolos que aún no tienen tipo, en orden
+ * de llegada. Es una lista doblemente enlazada sobre arrays de enteros cuyas
+ * entradas libres se reutilizan. Además, las entradas de cada símbolo forman
+ * su propia lista enlazada, cuyos extremos se guardan en la fila del símbolo,
+ * así que quitar la primera entrada de un símbolo no necesita recorrer la
+ * lista.
+ * Un mismo símbolo puede estar varias veces, una por cada vez que se encontró
+ * sin tipo.
+ */
+final class ListaSinTipo {
+
+    // Entrada que no existe
+    static final int SIN_ENTRADA = -1;
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private Simbolo[] simbolos;
+
+    // Enlaces de la lista completa
+    private int[] anteriores;
+    private int[] siguientes;
+
+    // Enlaces entre las entradas del mismo símbolo
+    private int[] anterioresSimbolo;
+    private int[] siguientesSimbolo;
+
+    private int primera;
+    private int ultima;
+    private int tamano;
+
+    // Entradas libres, enlazadas por siguientes
+    private int libre;
+    private int usadas;
+
+    ListaSinTipo() {
+        this.simbolos = new Simbolo[CAPACIDAD_INICIAL];
+        this.anteriores = new int[CAPACIDAD_INICIAL];
+        this.siguientes = new int[CAPACIDAD_INICIAL];
+        this.anterioresSimbolo = new int[CAPACIDAD_INICIAL];
+        this.siguientesSimbolo = new int[CAPACIDAD_INICIAL];
+        this.primera = SIN_ENTRADA;
+        this.ultima = SIN_ENTRADA;
+        this.libre = SIN_ENTRADA;
+    }
+
+    int size() {
+        return tamano;
+    }
+
+    /**
+     * Añade un símbolo al final de la lista.
+     *
+     * @param simbolo El símbolo.
+     */
+    void add(Simbolo simbolo) {
+        int entrada = reservarEntrada();
+        simbolos[entrada] = simbolo;
+
+        anteriores[entrada] = ultima;
+        siguientes[entrada] = SIN_ENTRADA;
+        if (ultima == SIN_ENTRADA) {
+            primera = entrada;
+        } else {
+            siguientes[ultima] = entrada;
+        }
+        ultima = entrada;
+
+        int ultimaSimbolo = simbolo.getUltimaSinTipo();
+        anterioresSimbolo[entrada] = ultimaSimbolo;
+        siguientesSimbolo[entrada] = SIN_ENTRADA;
+        if (ultimaSimbolo == SIN_ENTRADA) {
+            simbolo.setPrimeraSinTipo(entrada);
+        } else {
+            siguientesSimbolo[ultimaSimbolo] = entrada;
+        }
+        simbolo.setUltimaSinTipo(entrada);
+        tamano++;
+    }
+
+    /**
+     * Quita el primer símbolo de la lista. La lista no debe estar vacía.
+     *
+     * @return El símbolo.
+     */
+    Simbolo removeFirst() {
+        Simbolo simbolo = simbolos[primera];
+        quitar(primera);
+        return simbolo;
+    }
+
+    /**
+     * Quita el último símbolo de la lista. La lista no debe estar vacía.
+     *
+     * @return El símbolo.
+     */
+    Simbolo removeLast() {
+        Simbolo simbolo = simbolos[ultima];
+        quitar(ultima);
+        return simbolo;
+    }
+
+    /**
+     * Quita la primera entrada de un símbolo, si está en la lista.
+     *
+     * @param simbolo El símbolo.
+     */
+    void remove(Simbolo simbolo) {
+        int primeraSimbolo = simbolo.getPrimeraSinTipo();
+        if (primeraSimbolo != SIN_ENTRADA) {
+            quitar(primeraSimbolo);
+        }
+    }
+
+    private void quitar(int entrada) {
+        Simbolo simbolo = simbolos[entrada];
+
+        int anterior = anteriores[entrada];
+        int siguiente = siguientes[entrada];
+        if (anterior == SIN_ENTRADA) {
+            primera = siguiente;
+        } else {
+            siguientes[anterior] = siguiente;
+        }
+        if (siguiente == SIN_ENTRADA) {
+            ultima = anterior;
+        } else {
+            anteriores[siguiente] = anterior;
+        }
+
+        anterior = anterioresSimbolo[entrada];
+        siguiente = siguientesSimbolo[entrada];
+        if (anterior == SIN_ENTRADA) {
+            simbolo.setPrimeraSinTipo(siguiente);
+        } else {
+            siguientesSimbolo[anterior] = siguiente;
+        }
+        if (siguiente == SIN_ENTRADA) {
+            simbolo.setUltimaSinTipo(anterior);
+        } else {
+            anterioresSimbolo[siguiente] = anterior;
+        }
+
+        simbolos[entrada] = null;
+        siguientes[entrada] = libre;
+        libre = entrada;
+        tamano--;
+    }
+
+    private int reservarEntrada() {
+        if (libre != SIN_ENTRADA) {
+            int entrada = libre;
+            libre = siguientes[entrada];
+            return entrada;
+        }
+        if (usadas == simbolos.length) {
+            int capacidad = usadas * 2;
+            simbolos = Arrays.copyOf(simbolos, capacidad);
+            anteriores = Arrays.copyOf(anteriores, capacidad);
+            siguientes = Arrays.copyOf(siguientes, capacidad);
+            anterioresSimbolo = Arrays.copyOf(anterioresSimbolo, capacidad);
+            siguientesSimbolo = Arrays.copyOf(siguientesSimbolo, capacidad);
+        }
+        return usadas++;
+    }
+}
@@ -0,0 +1,170 @@
+package modulos.tablaSimbolos;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * Clase PilaSimbolos que guarda los últimos símbolos encontrados en el input
+ * (LIFO) junto con un índice de las posiciones que contienen funciones, en
+ * orden creciente. La función más cercana a la cima es la última entrada del
+ * índice, así que se encuentra sin recorrer la pila.
+ * Un símbolo pasa a ser función después de apilarse (al reducir la cabecera de
+ * su declaración); marcarFuncion añade entonces al índice las posiciones en las
+ * que ya estaba, que se cuentan en la fila del símbolo. Si la pila comparte
+ * símbolos con otras que se usan a la vez, no los cuenta y no admite
+ * marcarFuncion.
+ */
+final class PilaSimbolos {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private Simbolo[] simbolos;
+    private int tamano;
+
+    // Posiciones de la pila que contienen funciones, en orden creciente
+    private int[] funciones;
+    private int numFunciones;
+
+    // Contar en cada símbolo sus apariciones en la pila
+    private boolean contarApariciones;
+
+    PilaSimbolos() {
+        this.simbolos = new Simbolo[CAPACIDAD_INICIAL];
+        this.funciones = new int[CAPACIDAD_INICIAL];
+        this.contarApariciones = true;
+    }
+
+    /**
+     * Deja de contar las apariciones de los símbolos, para que la pila no
+     * modifique símbolos que comparte con otras. Debe llamarse con la pila
+     * vacía.
+     */
+    void compartirSimbolos() {
+        contarApariciones = false;
+    }
+
+    /**
+     * Apila un símbolo.
+     *
+     * @param simbolo El símbolo.
+     */
+    void apilar(Simbolo simbolo) {
+        if (tamano == simbolos.length) {
+            simbolos = Arrays.copyOf(simbolos, tamano * 2);
+        }
+        if (simbolo.getNumeroParametros() != null) {
+            indexarFuncion(tamano);
+        }
+        simbolos[tamano++] = simbolo;
+        if (contarApariciones) {
+            simbolo.setApariciones(simbolo.getApariciones() + 1);
+        }
+    }
+
+    /**
+     * Desapila el símbolo de la cima.
+     *
+     * @return El símbolo.
+     * @throws EmptyStackException Si la pila está vacía, como Stack.
+     */
+    Simbolo desapilar() {
+        if (tamano == 0) {
+            throw new EmptyStackException();
+        }
+        Simbolo simbolo = simbolos[--tamano];
+        simbolos[tamano] = null;
+        if (contarApariciones) {
+            simbolo.setApariciones(simbolo.getApariciones() - 1);
+        }
+        if (numFunciones > 0 && funciones[numFunciones - 1] == tamano) {
+            numFunciones--;
+        }
+        return simbolo;
+    }
+
+    /**
+     * Saca de la pila la función más cercana a la cima. Los símbolos que tenía
+     * encima conservan su orden.
+     *
+     * @return La función, o null si no hay ninguna en la pila.
+     */
+    Simbolo sacarFuncion() {
+        if (numFunciones == 0) {
+            return null;
+        }
+        // Por encima de la última función del índice no hay ninguna otra, así que
+        // las demás entradas del índice no cambian de posición
+        int posicion = funciones[--numFunciones];
+        Simbolo simbolo = simbolos[posicion];
+        System.arraycopy(simbolos, posicion + 1, simbolos, posicion, tamano - posicion - 1);
+        simbolos[--tamano] = null;
+        if (contarApariciones) {
+            simbolo.setApariciones(simbolo.getApariciones() - 1);
+        }
+        return simbolo;
+    }
+
+    /**
+     * Añade al índice las posiciones de un símbolo que acaba de pasar a ser una
+     * función. Normalmente está solo en la cima.
+     *
+     * @param simbolo El símbolo.
+     * @throws IllegalStateException Si la pila no cuenta las apariciones, lo
+     *                               que solo ocurre en el cuerpo de una
+     *                               función, donde no se declaran funciones.
+     */
+    void marcarFuncion(Simbolo simbolo) {
+        if (!contarApariciones) {
+            throw new IllegalStateException("La pila no cuenta las apariciones de los simbolos");
+        }
+        int pendientes = simbolo.getApariciones();
+        for (int posicion = tamano - 1; pendientes > 0; posicion--) {
+            if (simbolos[posicion].equals(simbolo)) {
+                pendientes--;
+                if (Arrays.binarySearch(funciones, 0, numFunciones, posicion) < 0) {
+                    indexarFuncion(posicion);
+                }
+            }
+        }
+    }
+
+    /**
+     * Indica si hay alguna función en la pila.
+     *
+     * @return true si el índice de funciones no está vacío.
+     */
+    boolean hayFunciones() {
+        return numFunciones > 0;
+    }
+
+    /**
+     * Indica si la pila contiene algún símbolo que no pertenece a una tabla.
+     *
+     * @param tabla La tabla.
+     * @return true si algún símbolo de la pila es de otra tabla.
+     */
+    boolean contieneAjenos(TablaSimbolos tabla) {
+        for (int i = 0; i < tamano; i++) {
+            if (tabla.obtenerPosicionSimbolo(simbolos[i]) == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Añade una posición al índice de funciones manteniendo el orden.
+     */
+    private void indexarFuncion(int posicion) {
+        if (numFunciones == funciones.length) {
+            funciones = Arrays.copyOf(funciones, numFunciones * 2);
+        }
+        int destino = numFunciones;
+        while (destino > 0 && funciones[destino - 1] > posicion) {
+            destino--;
+        }
+        System.arraycopy(funciones, destino, funciones, destino + 1, numFunciones - destino);
+        funciones[destino] = posicion;
+        numFunciones++;
+    }
+}
@@ -0,0 +1,218 @@
+package modulos.tablaSimbolos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import modulos.tablaSimbolos.enums.Modo;
+import modulos.tablaSimbolos.enums.Tipo;
+
+/**
+ * Clase PoolFirmas que guarda una única copia de cada firma de función (tipos
+ * y modos de paso de sus parámetros) de una sesión y la identifica con un
+ * entero: las funciones con la misma firma comparten sus listas. Como
+ * PoolNombres, es propia de la sesión y se libera con ella; cada
+ * AlmacenSimbolos guarda el pool en el que están sus firmas.
+ * Las firmas se buscan en una tabla hash de direccionamiento abierto con las
+ * listas recibidas, de modo que internar una firma que ya está no crea ningún
+ * objeto ni copia las listas.
+ * Cada firma guarda además la clave de los tipos de sus parámetros, que
+ * empaqueta la lista en un long (tres bits por tipo). Los argumentos de una
+ * llamada se empaquetan igual según se reducen (GestorParametros), así que una
+ * llamada correcta se comprueba comparando dos claves.
+ * Solo la modifica el hilo del analizador semántico de la sesión; otros hilos
+ * la leen cuando ese análisis ha terminado (AnalizadorFunciones).
+ */
+public final class PoolFirmas {
+
+    // Identificador de un símbolo sin firma
+    public static final int SIN_FIRMA = -1;
+
+    // Clave de la lista vacía de tipos, y de una lista que no se puede
+    // empaquetar: con un null o con más tipos de los que caben en un long
+    public static final long CLAVE_VACIA = 0;
+    public static final long SIN_CLAVE = -1;
+
+    // Una clave con un tipo en los bits 60 a 62 ya no admite más tipos
+    private static final long LIMITE_CLAVE = 1L << 60;
+
+    private static final int CAPACIDAD_INICIAL = 8;
+
+    // Casilla vacía de la tabla hash
+    private static final int VACIA = -1;
+
+    // Firmas por identificador, solo se añaden al final
+    private Firma[] firmas;
+    private int numFirmas;
+
+    // Tabla hash con el identificador de cada firma, o VACIA
+    private int[] tabla;
+    private int mascara;
+
+    public PoolFirmas() {
+        this.firmas = new Firma[CAPACIDAD_INICIAL];
+        this.numFirmas = 0;
+        this.tabla = new int[CAPACIDAD_INICIAL * 2];
+        this.mascara = tabla.length - 1;
+        Arrays.fill(tabla, VACIA);
+    }
+
+    /**
+     * Obtiene el identificador de una firma, añadiéndola al pool si no existe.
+     * Las listas solo se copian si la firma es nueva.
+     *
+     * @param tipos Tipos de los parámetros, o null.
+     * @param modos Modos de paso de los parámetros, o null.
+     * @return El identificador de la firma.
+     */
+    public int internar(List<Tipo> tipos, List<Modo> modos) {
+        int hash = 31 * Objects.hashCode(tipos) + Objects.hashCode(modos);
+
+        int casilla = dispersar(hash);
+        int identificador;
+        while ((identificador = tabla[casilla]) != VACIA) {
+            Firma firma = firmas[identificador];
+            if (firma.hash == hash && Objects.equals(firma.tipos, tipos) && Objects.equals(firma.modos, modos)) {
+                return identificador;
+            }
+            casilla = (casilla + 1) & mascara;
+        }
+        return agregar(new Firma(copiar(tipos), copiar(modos), hash), casilla);
+    }
+
+    /**
+     * Guarda una firma nueva en una casilla vacía de la tabla.
+     */
+    private int agregar(Firma firma, int casilla) {
+        if (numFirmas == firmas.length) {
+            firmas = Arrays.copyOf(firmas, numFirmas * 2);
+        }
+        int identificador = numFirmas++;
+        firmas[identificador] = firma;
+        tabla[casilla] = identificador;
+
+        // Se mantiene la tabla ocupada como mucho a la mitad
+        if (numFirmas * 2 > tabla.length) {
+            redimensionar();
+        }
+        return identificador;
+    }
+
+    /**
+     * Duplica la tabla hash y recoloca los identificadores.
+     */
+    private void redimensionar() {
+        tabla = new int[tabla.length * 2];
+        mascara = tabla.length - 1;
+        Arrays.fill(tabla, VACIA);
+        for (int identificador = 0; identificador < numFirmas; identificador++) {
+            int casilla = dispersar(firmas[identificador].hash);
+            while (tabla[casilla] != VACIA) {
+                casilla = (casilla + 1) & mascara;
+            }
+            tabla[casilla] = identificador;
+        }
+    }
+
+    /**
+     * Obtiene la primera casilla de un hash, mezclando sus bits altos.
+     */
+    private int dispersar(int hash) {
+        return (hash ^ (hash >>> 16)) & mascara;
+    }
+
+    /**
+     * Obtiene los tipos de los parámetros de una firma.
+     *
+     * @param firma El identificador de la firma.
+     * @return La lista inmutable de tipos, o null.
+     */
+    public List<Tipo> getTipos(int firma) {
+        return firmas[firma].tipos;
+    }
+
+    /**
+     * Obtiene los modos de paso de los parámetros de una firma.
+     *
+     * @param firma El identificador de la firma.
+     * @return La lista inmutable de modos de paso, o null.
+     */
+    public List<Modo> getModos(int firma) {
+        return firmas[firma].modos;
+    }
+
+    /**
+     * Obtiene la clave de los tipos de los parámetros de una firma.
+     *
+     * @param firma El identificador de la firma.
+     * @return La clave, o SIN_CLAVE.
+     */
+    public long getClaveTipos(int firma) {
+        return firmas[firma].claveTipos;
+    }
+
+    /**
+     * Obtiene el número de firmas distintas internadas.
+     *
+     * @return El número de firmas.
+     */
+    public int size() {
+        return numFirmas;
+    }
+
+    /**
+     * Añade un tipo al final de la lista de tipos empaquetada en una clave.
+     * Cada tipo ocupa tres bits con su ordinal más uno, de forma que listas
+     * distintas tienen claves distintas.
+     *
+     * @param clave La clave de la lista, CLAVE_VACIA o SIN_CLAVE.
+     * @param tipo  El tipo que se añade, o null.
+     * @return La clave de la lista con el tipo al final, o SIN_CLAVE.
+     */
+    public static long anadirTipo(long clave, Tipo tipo) {
+        if (clave == SIN_CLAVE || tipo == null || clave >= LIMITE_CLAVE) {
+            return SIN_CLAVE;
+        }
+        return clave << 3 | (tipo.ordinal() + 1);
+    }
+
+    /**
+     * Empaqueta una lista de tipos en una clave.
+     *
+     * @param tipos La lista de tipos, o null.
+     * @return La clave, o SIN_CLAVE.
+     */
+    static long claveTipos(List<Tipo> tipos) {
+        if (tipos == null) {
+            return SIN_CLAVE;
+        }
+        long clave = CLAVE_VACIA;
+        for (Tipo tipo : tipos) {
+            clave = anadirTipo(clave, tipo);
+        }
+        return clave;
+    }
+
+    private static <T> List<T> copiar(List<T> lista) {
+        return lista == null ? null : Collections.unmodifiableList(new ArrayList<>(lista));
+    }
+
+    /**
+     * Firma de una función con su hash, el de sus listas.
+     */
+    private static final class Firma {
+        private final List<Tipo> tipos;
+        private final List<Modo> modos;
+        private final long claveTipos;
+        private final int hash;
+
+        private Firma(List<Tipo> tipos, List<Modo> modos, int hash) {
+            this.tipos = tipos;
+            this.modos = modos;
+            this.claveTipos = claveTipos(tipos);
+            this.hash = hash;
+        }
+    }
+}
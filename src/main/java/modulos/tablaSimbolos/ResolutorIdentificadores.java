@@ -0,0 +1,179 @@
+package modulos.tablaSimbolos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import modulos.SesionCompilacion;
+import modulos.lexico.PoolNombres;
+import modulos.lexico.enums.PalabraReservada;
+import modulos.token.BufferTokens;
+import modulos.token.TipoToken;
+
+/**
+ * Clase ResolutorIdentificadores que asigna a cada identificador su símbolo y
+ * su posición en la tabla de símbolos, y mantiene la zona de declaración y los
+ * símbolos pendientes de GestorSimbolos.
+ * El resultado depende de las tablas y zonas que deja el análisis semántico de
+ * los tokens anteriores, por lo que los tokens deben resolverse en orden, justo
+ * antes de que el analizador sintáctico procese cada uno. Sin resolución
+ * diferida lo hace GeneradorToken al crear el token; con ella, quien consume
+ * los tokens del analizador léxico.
+ */
+public class ResolutorIdentificadores {
+
+    private final GestorTablas gestorTablas;
+    private final GestorSimbolos gestorSimbolos;
+    private final GestorZonasEspeciales gestorZonas;
+    private final PoolNombres poolNombres;
+
+    // Terminal de la palabra reservada "let", que abre la zona de declaración
+    private final int terminalLet;
+
+    // Simbolos a la espera de ser enviados a Tabla de Simbolos
+    private final List<Simbolo> simbolosPorEnviar;
+
+    // Ultimo token es PUNTOyCOMA
+    private Boolean ultimoTokenPuntoComa;
+
+    /**
+     * Constructor del resolutor de una sesión.
+     *
+     * @param sesion La sesión de compilación a la que pertenece.
+     */
+    public ResolutorIdentificadores(SesionCompilacion sesion) {
+        this.gestorTablas = sesion.getGestorTablas();
+        this.gestorSimbolos = sesion.getGestorSimbolos();
+        this.gestorZonas = sesion.getGestorZonas();
+        this.poolNombres = sesion.getPoolNombres();
+        this.terminalLet = sesion.getParserGramatica().getTerminal(PalabraReservada.LET);
+        this.ultimoTokenPuntoComa = false;
+        this.simbolosPorEnviar = new ArrayList<>();
+    }
+
+    /**
+     * Resuelve un token del buffer. Si es un identificador, sustituye el índice
+     * de su nombre en PoolNombres por su posición en la tabla actual.
+     *
+     * @param tokens Buffer que contiene el token.
+     * @param token  Índice del token.
+     */
+    public void resolver(BufferTokens tokens, int token) {
+        TipoToken tipo = tokens.getTipo(token);
+        if (TipoToken.ID.equals(tipo)) {
+            int nombre = tokens.getAtributo(token);
+            tokens.setAtributo(token,
+                    resolver(tipo, tokens.getTerminal(token), nombre, poolNombres.getNombre(nombre)));
+        } else {
+            resolver(tipo, tokens.getTerminal(token), BufferTokens.SIN_ATRIBUTO, null);
+        }
+    }
+
+    /**
+     * Resuelve un token a partir de sus campos. Los símbolos se buscan por el
+     * índice del nombre; el texto solo se usa al crear uno nuevo, de modo que
+     * no hace falta leer el PoolNombres.
+     *
+     * @param tipo     El tipo del token.
+     * @param terminal El índice de su terminal en la gramática.
+     * @param nombre   El índice del nombre del identificador en PoolNombres,
+     *                 o BufferTokens.SIN_ATRIBUTO si no es un ID.
+     * @param texto    El texto del nombre, o null si no es un ID.
+     * @return La posición del identificador en la tabla actual, o
+     *         BufferTokens.SIN_ATRIBUTO.
+     */
+    public int resolver(TipoToken tipo, int terminal, int nombre, String texto) {
+        int atributo = BufferTokens.SIN_ATRIBUTO;
+
+        gestionarSimbolosPorEnviar();
+
+        if (TipoToken.ID.equals(tipo)) {
+            atributo = procesarIdentificador(nombre, texto);
+        }
+
+        actualizarZonaDeclaracion(tipo, terminal);
+        return atributo;
+    }
+
+    /**
+     * Procesa un identificador, gestionando su simbolo en las tablas de símbolos.
+     *
+     * @param nombre El índice del nombre del identificador en PoolNombres.
+     * @param texto  El texto del nombre.
+     * @return Su posición en la tabla actual, o BufferTokens.SIN_ATRIBUTO.
+     */
+    private int procesarIdentificador(int nombre, String texto) {
+        Simbolo simbolo = obtenerSimbolo(nombre, texto);
+
+        // Establecer símbolo como pendiente de gestionar
+        if (!ultimoTokenPuntoComa) {
+            gestorSimbolos.setUltimoSimbolo(simbolo);
+        } else {
+            simbolosPorEnviar.add(simbolo);
+        }
+
+        Integer posicionTS = gestorTablas.obtenerTablaActual().obtenerPosicionSimbolo(simbolo);
+        return posicionTS == null ? BufferTokens.SIN_ATRIBUTO : posicionTS;
+    }
+
+    /**
+     * Obtiene el símbolo correspondiente al nombre del identificador, ya sea desde
+     * la tabla actual o la tabla global.
+     *
+     * @param nombre El índice del nombre del identificador en PoolNombres.
+     * @param texto  El texto del nombre.
+     * @return El símbolo correspondiente al identificador.
+     */
+    private Simbolo obtenerSimbolo(int nombre, String texto) {
+        TablaSimbolos tablaActual = gestorTablas.obtenerTablaActual();
+
+        // Buscar simbolo en tabla actual
+        Simbolo simbolo = tablaActual.obtenerSimboloInternado(nombre);
+
+        // Sino, buscar simbolo en tabla global
+        // (siempre que no se esté en una zona especial)
+        if (simbolo == null && !gestorZonas.getZonaDeclaracion() && !gestorZonas.getZonaParametros()) {
+            simbolo = gestorTablas.obtenerSimboloGlobal(nombre);
+        }
+
+        // Sino, crear un nuevo simbolo
+        if (simbolo == null) {
+            simbolo = tablaActual.agregarSimbolo(nombre, texto);
+        }
+
+        return simbolo;
+    }
+
+    /**
+     * Gestiona la lista de símbolos por enviar, estableciéndolos en la tabla de
+     * símbolos si es necesario. Los símbolos se envían en cuanto llega un token
+     * que no es un identificador ni un punto y coma, antes de resolver el
+     * siguiente.
+     */
+    private void gestionarSimbolosPorEnviar() {
+        if (!ultimoTokenPuntoComa && !simbolosPorEnviar.isEmpty()) {
+            for (Simbolo simbolo : simbolosPorEnviar) {
+                gestorSimbolos.setUltimoSimbolo(simbolo);
+            }
+            simbolosPorEnviar.clear();
+        }
+    }
+
+    /**
+     * Actualiza el estado de la zona de declaración según el tipo de token actual.
+     *
+     * @param tipo     El tipo del token.
+     * @param terminal El índice de su terminal en la gramática.
+     */
+    private void actualizarZonaDeclaracion(TipoToken tipo, int terminal) {
+        // Una palabra reservada ya validada en minúsculas con el terminal de LET es "let"
+        if (TipoToken.PALABRARESERVADA.equals(tipo) && terminal == terminalLet) {
+            gestorZonas.setZonaDeclaracion(true);
+        }
+        if (TipoToken.PUNTOCOMA.equals(tipo) || TipoToken.ID.equals(tipo)) {
+            ultimoTokenPuntoComa = true;
+            gestorZonas.setZonaDeclaracion(false);
+        } else {
+            ultimoTokenPuntoComa = false;
+        }
+    }
+}
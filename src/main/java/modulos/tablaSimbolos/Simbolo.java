@@ -9,24 +9,22 @@
  * Clase que representa un símbolo en la tabla de símbolos.
  * Los símbolos pueden ser variables o funciones y contienen información sobre
  * su tipo, nombre, desplazamiento y parámetros.
+ * Los atributos se guardan por columnas en el AlmacenSimbolos de la tabla a la
+ * que pertenece el símbolo; el objeto Simbolo es solo una vista sobre su fila,
+ * que se crea al pedirla, así que dos vistas de un mismo símbolo son iguales
+ * (equals) pero no necesariamente el mismo objeto.
+ * Las listas de parámetros de las funciones se comparten a través del
+ * PoolFirmas del almacén.
  */
 public class Simbolo {
 
-    private String nombre;
-    private Tipo tipo;
-    private Tipo tipoRetorno;
-
-    // Parámetros para los símbolos normales
-    private Integer desplazamiento;
-    private Integer bytes;
-
-    // Parámetros para los símbolos de las funciones
-    private Integer numeroParametros;
-    private List<Tipo> tipoParametros;
-    private List<Modo> modoPaso;
+    // Almacén y fila que contienen los atributos del símbolo
+    private AlmacenSimbolos almacen;
+    private int indice;
 
     /**
-     * Constructor para crear un símbolo.
+     * Constructor para crear un símbolo que aún no pertenece a ninguna tabla. Sus
+     * atributos, y su firma, se copian al almacén de la tabla al agregarlo.
      * 
      * @param tipo           El tipo del símbolo.
      * @param nombre         El nombre del símbolo.
@@ -34,11 +32,96 @@ public class Simbolo {
      * @param bytes          El ancho del símbolo en la memoria.
      */
     public Simbolo(Tipo tipo, String nombre, Integer desplazamiento, Integer bytes) {
-        this.tipo = tipo;
-        this.nombre = nombre;
-        this.desplazamiento = desplazamiento;
-        this.bytes = bytes;
-        this.tipoRetorno = null;
+        this.almacen = new AlmacenSimbolos(1, new PoolFirmas());
+        this.indice = almacen.agregar(nombre, tipo, desplazamiento, bytes);
+    }
+
+    /**
+     * Constructor de la vista de una fila ya existente.
+     *
+     * @param almacen El almacén que contiene la fila.
+     * @param indice  La posición de la fila.
+     */
+    Simbolo(AlmacenSimbolos almacen, int indice) {
+        this.almacen = almacen;
+        this.indice = indice;
+    }
+
+    /**
+     * Crea un símbolo directamente en el almacén de una tabla.
+     * 
+     * @param almacen El almacén de la tabla.
+     * @param nombre  El nombre del símbolo.
+     * @return La vista del símbolo creado.
+     */
+    static Simbolo crear(AlmacenSimbolos almacen, String nombre) {
+        return new Simbolo(almacen, almacen.agregar(nombre, null, null, null));
+    }
+
+    /**
+     * Mueve los atributos del símbolo al almacén de una tabla, a partir de ese
+     * momento la vista apunta a la nueva fila.
+     * 
+     * @param destino El almacén de la tabla.
+     * @return La posición del símbolo en el almacén.
+     */
+    int moverA(AlmacenSimbolos destino) {
+        indice = destino.copiar(almacen, indice);
+        almacen = destino;
+        return indice;
+    }
+
+    AlmacenSimbolos getAlmacen() {
+        return almacen;
+    }
+
+    int getIndice() {
+        return indice;
+    }
+
+    // Estado del símbolo en las estructuras de GestorSimbolos, guardado en su
+    // fila: veces que está en PilaSimbolos y sus entradas primera y última en
+    // ListaSinTipo
+
+    int getApariciones() {
+        return almacen.getApariciones(indice);
+    }
+
+    void setApariciones(int apariciones) {
+        almacen.setApariciones(indice, apariciones);
+    }
+
+    int getPrimeraSinTipo() {
+        return almacen.getPrimeraSinTipo(indice);
+    }
+
+    void setPrimeraSinTipo(int entrada) {
+        almacen.setPrimeraSinTipo(indice, entrada);
+    }
+
+    int getUltimaSinTipo() {
+        return almacen.getUltimaSinTipo(indice);
+    }
+
+    void setUltimaSinTipo(int entrada) {
+        almacen.setUltimaSinTipo(indice, entrada);
+    }
+
+    /**
+     * Dos símbolos son iguales si son vistas de la misma fila.
+     */
+    @Override
+    public boolean equals(Object objeto) {
+        if (!(objeto instanceof Simbolo)) {
+            return false;
+        }
+        Simbolo otro = (Simbolo) objeto;
+        return almacen == otro.almacen && indice == otro.indice;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(almacen) + indice;
     }
 
     /**
@@ -47,7 +130,7 @@ public Simbolo(Tipo tipo, String nombre, Integer desplazamiento, Integer bytes)
      * @return El nombre del símbolo.
      */
     public String getNombre() {
-        return this.nombre;
+        return almacen.getNombre(indice);
     }
 
     /**
@@ -56,7 +139,7 @@ public String getNombre() {
      * @return El tipo del símbolo.
      */
     public Tipo getTipo() {
-        return this.tipo;
+        return almacen.getTipo(indice);
     }
 
     /**
@@ -65,7 +148,7 @@ public Tipo getTipo() {
      * @param tipo El tipo del símbolo.
      */
     public void setTipo(Tipo tipo) {
-        this.tipo = tipo;
+        almacen.setTipo(indice, tipo);
     }
 
     /**
@@ -74,7 +157,7 @@ public void setTipo(Tipo tipo) {
      * @return El ancho del símbolo.
      */
     public Integer getBytes() {
-        return this.bytes;
+        return almacen.getBytes(indice);
     }
 
     /**
@@ -83,7 +166,7 @@ public Integer getBytes() {
      * @param ancho El ancho del símbolo.
      */
     public void setBytes(Integer ancho) {
-        this.bytes = ancho;
+        almacen.setBytes(indice, ancho);
     }
 
     /**
@@ -92,7 +175,7 @@ public void setBytes(Integer ancho) {
      * @return El desplazamiento del símbolo.
      */
     public Integer getDesplazamiento() {
-        return this.desplazamiento;
+        return almacen.getDesplazamiento(indice);
     }
 
     /**
@@ -101,7 +184,7 @@ public Integer getDesplazamiento() {
      * @param desplazamiento El desplazamiento del símbolo.
      */
     public void setDesplazamiento(Integer desplazamiento) {
-        this.desplazamiento = desplazamiento;
+        almacen.setDesplazamiento(indice, desplazamiento);
     }
 
     /**
@@ -110,7 +193,7 @@ public void setDesplazamiento(Integer desplazamiento) {
      * @return El tipo de retorno del símbolo.
      */
     public Tipo getTipoRetorno() {
-        return this.tipoRetorno;
+        return almacen.getTipoRetorno(indice);
     }
 
     /**
@@ -119,7 +202,7 @@ public Tipo getTipoRetorno() {
      * @param retorno El tipo de retorno del símbolo.
      */
     public void setTipoRetorno(Tipo retorno) {
-        this.tipoRetorno = retorno;
+        almacen.setTipoRetorno(indice, retorno);
     }
 
     /**
@@ -128,7 +211,7 @@ public void setTipoRetorno(Tipo retorno) {
      * @return El número de parámetros del símbolo.
      */
     public Integer getNumeroParametros() {
-        return this.numeroParametros;
+        return almacen.getNumeroParametros(indice);
     }
 
     /**
@@ -137,7 +220,7 @@ public Integer getNumeroParametros() {
      * @param numeroParametros El número de parámetros del símbolo.
      */
     public void setNumeroParametros(Integer numeroParametros) {
-        this.numeroParametros = numeroParametros;
+        almacen.setNumeroParametros(indice, numeroParametros);
     }
 
     /**
@@ -146,7 +229,8 @@ public void setNumeroParametros(Integer numeroParametros) {
      * @return La lista de tipos de los parámetros del símbolo.
      */
     public List<Tipo> getTipoParametros() {
-        return this.tipoParametros;
+        int firma = almacen.getFirma(indice);
+        return firma == PoolFirmas.SIN_FIRMA ? null : almacen.getPoolFirmas().getTipos(firma);
     }
 
     /**
@@ -155,7 +239,7 @@ public List<Tipo> getTipoParametros() {
      * @param tipoParametros La lista de tipos de los parámetros del símbolo.
      */
     public void setTipoParametros(List<Tipo> tipoParametros) {
-        this.tipoParametros = tipoParametros;
+        setFirma(tipoParametros, getModoPaso());
     }
 
     /**
@@ -165,7 +249,8 @@ public void setTipoParametros(List<Tipo> tipoParametros) {
      * @return La lista de modos de paso de los parámetros del símbolo.
      */
     public List<Modo> getModoPaso() {
-        return this.modoPaso;
+        int firma = almacen.getFirma(indice);
+        return firma == PoolFirmas.SIN_FIRMA ? null : almacen.getPoolFirmas().getModos(firma);
     }
 
     /**
@@ -175,6 +260,38 @@ public List<Modo> getModoPaso() {
      * @param modoPaso La lista de modos de paso de los parámetros del símbolo.
      */
     public void setModoPaso(List<Modo> modoPaso) {
-        this.modoPaso = modoPaso;
+        setFirma(getTipoParametros(), modoPaso);
+    }
+
+    /**
+     * Establece la firma de la función: los tipos y los modos de paso de sus
+     * parámetros. Las listas se copian una sola vez en el PoolFirmas de la
+     * sesión.
+     * 
+     * @param tipoParametros La lista de tipos de los parámetros.
+     * @param modoPaso       La lista de modos de paso de los parámetros.
+     */
+    public void setFirma(List<Tipo> tipoParametros, List<Modo> modoPaso) {
+        almacen.setFirma(indice, almacen.getPoolFirmas().internar(tipoParametros, modoPaso));
+    }
+
+    /**
+     * Obtiene el identificador en PoolFirmas de la firma de la función.
+     * 
+     * @return El identificador de la firma, o PoolFirmas.SIN_FIRMA.
+     */
+    public int getFirma() {
+        return almacen.getFirma(indice);
+    }
+
+    /**
+     * Obtiene la clave de los tipos de los parámetros de la función, que se
+     * compara con la de los argumentos de una llamada.
+     * 
+     * @return La clave, o PoolFirmas.SIN_CLAVE si no tiene firma.
+     */
+    public long getClaveTipos() {
+        int firma = almacen.getFirma(indice);
+        return firma == PoolFirmas.SIN_FIRMA ? PoolFirmas.SIN_CLAVE : almacen.getPoolFirmas().getClaveTipos(firma);
     }
 }
@@ -1,46 +1,151 @@
 package modulos.tablaSimbolos;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
+import modulos.lexico.PoolNombres;
 import modulos.tablaSimbolos.enums.Modo;
 import modulos.tablaSimbolos.enums.Tipo;
 
-import java.util.HashMap;
-
 /**
  * Clase TablaSimbolos que representa una tabla de símbolos utilizada en un
  * compilador.
  * La tabla de símbolos almacena información sobre identificadores como
  * variables y funciones.
+ * Los símbolos se guardan por columnas (AlmacenSimbolos) en orden de inserción,
+ * que es su posición en la tabla, y un índice por nombre permite buscarlos sin
+ * recorrer la tabla. Cada símbolo pertenece a una única tabla.
+ * El índice guarda el número de cada nombre en el PoolNombres de la sesión,
+ * así que las búsquedas comparan enteros y nunca textos.
  */
 public class TablaSimbolos {
 
-    // Estructura para almacenar los símbolos
-    private final Map<Integer, Simbolo> tabla;
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    // Casilla vacía del índice por nombre
+    private static final int VACIA = -1;
+
+    // Atributos de los símbolos de la tabla, indexados por su posición
+    private final AlmacenSimbolos tabla;
+
+    // Nombres de la sesión, con cuyos índices se indexan los símbolos
+    private final PoolNombres poolNombres;
+
+    // Índice por nombre: tabla hash de direccionamiento abierto con el índice
+    // en PoolNombres del nombre de cada casilla (VACIA si está vacía) y la
+    // posición del símbolo
+    private int[] nombres;
+    private int[] posiciones;
+    private int numNombres;
 
     // Número identificador para la tabla de símbolos
     private Integer numeroTabla;
     private Integer desplazamiento;
 
     /**
-     * Constructor que inicializa la tabla de símbolos con un número de tabla dado.
+     * Constructor que inicializa una tabla de símbolos suelta, con sus propios
+     * nombres.
      * 
      * @param numeroTabla El número identificador de la tabla de símbolos.
      */
     public TablaSimbolos(Integer numeroTabla) {
-        this.tabla = new HashMap<>();
+        this(numeroTabla, new PoolNombres(), new PoolFirmas());
+    }
+
+    /**
+     * Constructor que inicializa la tabla de símbolos de una sesión.
+     * 
+     * @param numeroTabla El número identificador de la tabla de símbolos.
+     * @param poolNombres El pool de nombres de la sesión.
+     * @param poolFirmas  El pool de firmas de la sesión.
+     */
+    public TablaSimbolos(Integer numeroTabla, PoolNombres poolNombres, PoolFirmas poolFirmas) {
+        this.tabla = new AlmacenSimbolos(CAPACIDAD_INICIAL, poolFirmas);
+        this.poolNombres = poolNombres;
+        this.nombres = new int[CAPACIDAD_INICIAL * 2];
+        this.posiciones = new int[CAPACIDAD_INICIAL * 2];
+        this.numNombres = 0;
         this.numeroTabla = numeroTabla;
         this.desplazamiento = 0;
+        Arrays.fill(nombres, VACIA);
     }
 
     /**
-     * Agrega un símbolo a la tabla.
+     * Agrega un símbolo a la tabla. Si ya hay un símbolo con el mismo nombre,
+     * las búsquedas por nombre siguen devolviendo el primero.
      * 
      * @param simbolo El símbolo a agregar.
      */
     public void agregarSimbolo(Simbolo simbolo) {
-        tabla.put(tabla.size(), simbolo);
+        int nombre = poolNombres.internar(simbolo.getNombre());
+        indexar(nombre, simbolo.moverA(tabla));
+    }
+
+    /**
+     * Crea un símbolo sin tipo directamente en la tabla.
+     * 
+     * @param nombre El nombre del símbolo.
+     * @return El símbolo creado.
+     */
+    public Simbolo agregarSimbolo(String nombre) {
+        return agregarSimbolo(poolNombres.internar(nombre), nombre);
+    }
+
+    /**
+     * Crea un símbolo sin tipo cuyo nombre ya está en el PoolNombres de la
+     * sesión. No modifica el pool.
+     * 
+     * @param nombre El índice del nombre en PoolNombres.
+     * @param texto  El texto del nombre.
+     * @return El símbolo creado.
+     */
+    Simbolo agregarSimbolo(int nombre, String texto) {
+        Simbolo simbolo = Simbolo.crear(tabla, texto);
+        indexar(nombre, simbolo.getIndice());
+        return simbolo;
+    }
+
+    /**
+     * Añade un nombre al índice, salvo que ya esté.
+     */
+    private void indexar(int nombre, int posicion) {
+        int casilla = buscarCasilla(nombre);
+        if (nombres[casilla] != VACIA) {
+            return;
+        }
+        nombres[casilla] = nombre;
+        posiciones[casilla] = posicion;
+
+        // Se mantiene el índice ocupado como mucho a la mitad
+        if (++numNombres * 2 > nombres.length) {
+            int[] anteriores = nombres;
+            int[] posicionesAnteriores = posiciones;
+            nombres = new int[anteriores.length * 2];
+            posiciones = new int[anteriores.length * 2];
+            Arrays.fill(nombres, VACIA);
+            for (int i = 0; i < anteriores.length; i++) {
+                if (anteriores[i] != VACIA) {
+                    int nueva = buscarCasilla(anteriores[i]);
+                    nombres[nueva] = anteriores[i];
+                    posiciones[nueva] = posicionesAnteriores[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Busca la casilla de un nombre: la que lo contiene o la casilla vacía en
+     * la que iría. Los índices de PoolNombres son consecutivos, así que se
+     * mezclan antes de reducirlos a la máscara.
+     */
+    private int buscarCasilla(int nombre) {
+        int mascara = nombres.length - 1;
+        int hash = nombre * 0x9E3779B9;
+        int casilla = (hash ^ (hash >>> 16)) & mascara;
+        while (nombres[casilla] != VACIA && nombres[casilla] != nombre) {
+            casilla = (casilla + 1) & mascara;
+        }
+        return casilla;
     }
 
     /**
@@ -61,6 +166,15 @@ public Integer getDesplazamiento() {
         return this.desplazamiento;
     }
 
+    /**
+     * Obtiene el número de símbolos de la tabla.
+     *
+     * @return El número de símbolos.
+     */
+    public int getNumeroSimbolos() {
+        return tabla.size();
+    }
+
     /**
      * Obtiene la posición de un símbolo existente en la tabla.
      * 
@@ -68,12 +182,8 @@ public Integer getDesplazamiento() {
      * @return La posición del símbolo en la tabla, o null si no se encuentra.
      */
     public Integer obtenerPosicionSimbolo(Simbolo simbolo) {
-        for (Map.Entry<Integer, Simbolo> entry : tabla.entrySet()) {
-            if (entry.getValue().equals(simbolo)) {
-                return entry.getKey();
-            }
-        }
-        return null;
+        // La vista del símbolo ya conoce su posición en el almacén
+        return simbolo.getAlmacen() == tabla ? simbolo.getIndice() : null;
     }
 
     /**
@@ -83,12 +193,7 @@ public Integer obtenerPosicionSimbolo(Simbolo simbolo) {
      * @return true si el símbolo existe, false en caso contrario.
      */
     public boolean simboloExiste(String nombre) {
-        for (Simbolo simbolo : tabla.values()) {
-            if (simbolo.getNombre().equals(nombre)) {
-                return true;
-            }
-        }
-        return false;
+        return obtenerSimboloPorNombre(nombre) != null;
     }
 
     /**
@@ -98,12 +203,20 @@ public boolean simboloExiste(String nombre) {
      * @return El símbolo correspondiente, o null si no se encuentra.
      */
     public Simbolo obtenerSimboloPorNombre(String nombre) {
-        for (Simbolo simbolo : tabla.values()) {
-            if (simbolo.getNombre().equals(nombre)) {
-                return simbolo;
-            }
-        }
-        return null;
+        int indice = poolNombres.buscar(nombre);
+        return indice == PoolNombres.SIN_NOMBRE ? null : obtenerSimboloInternado(indice);
+    }
+
+    /**
+     * Obtiene un símbolo de la tabla por el índice de su nombre en el
+     * PoolNombres de la sesión. Es la búsqueda de ResolutorIdentificadores.
+     * 
+     * @param nombre El índice del nombre en PoolNombres.
+     * @return El símbolo correspondiente, o null si no se encuentra.
+     */
+    Simbolo obtenerSimboloInternado(int nombre) {
+        int casilla = buscarCasilla(nombre);
+        return nombres[casilla] != VACIA ? tabla.getSimbolo(posiciones[casilla]) : null;
     }
 
     /**
@@ -117,14 +230,13 @@ public String imprimirTabla() {
 
         sb.append("CONTENIDOS DE LA TABLA #" + numeroTabla + ":\n");
 
-        for (Map.Entry<Integer, Simbolo> entrada : tabla.entrySet()) {
+        for (int fila = 0; fila < tabla.size(); fila++) {
 
-            // Obtenemos parametros de la entrada
-            Simbolo simbolo = entrada.getValue();
-            String nombre = simbolo.getNombre().toString();
-            Tipo tipo = simbolo.getTipo();
-            Integer desplazamientoSimbolo = simbolo.getDesplazamiento();
-            Tipo tipoRetorno = simbolo.getTipoRetorno();
+            // Obtenemos parametros de la entrada, directamente del almacén
+            String nombre = tabla.getNombre(fila);
+            Tipo tipo = tabla.getTipo(fila);
+            Integer desplazamientoSimbolo = tabla.getDesplazamiento(fila);
+            Tipo tipoRetorno = tabla.getTipoRetorno(fila);
 
             // Imprimimos la entrada
 
@@ -140,9 +252,11 @@ public String imprimirTabla() {
                 sb.append("\n+ despl: ");
                 sb.append(desplazamientoSimbolo);
             } else {
-                Integer numParam = simbolo.getNumeroParametros();
-                List<Tipo> parametros = simbolo.getTipoParametros();
-                List<Modo> modoParametros = simbolo.getModoPaso();
+                Integer numParam = tabla.getNumeroParametros(fila);
+                int firma = tabla.getFirma(fila);
+                PoolFirmas poolFirmas = tabla.getPoolFirmas();
+                List<Tipo> parametros = firma == PoolFirmas.SIN_FIRMA ? null : poolFirmas.getTipos(firma);
+                List<Modo> modoParametros = firma == PoolFirmas.SIN_FIRMA ? null : poolFirmas.getModos(firma);
 
                 sb.append("\n*\t");
                 sb.append("LEXEMA\t:\t");
@@ -0,0 +1,304 @@
+package modulos.token;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+import modulos.lexico.PoolNombres;
+
+/**
+ * Clase BufferTokens que almacena la secuencia de tokens de un fichero en
+ * arrays primitivos paralelos: tipo, terminal de la gramática, atributo y
+ * desplazamiento en la fuente.
+ * Cada token se identifica por su índice en el buffer. Los textos de las
+ * palabras reservadas y cadenas se internan en un PoolNombres, de modo que cada
+ * texto repetido se guarda una vez y el atributo del token es su índice, y los
+ * objetos Token solo se crean cuando se piden con getToken().
+ * Un identificador sin resolver guarda como atributo el índice de su nombre en
+ * el PoolNombres de la sesión, hasta que se sustituye por su posición en la
+ * tabla de símbolos con setAtributo(). Opcionalmente se guarda la línea de
+ * cada token, para los análisis que procesan los tokens después de leer la
+ * fuente; la columna de líneas solo se reserva con el primer setLinea().
+ */
+public class BufferTokens {
+
+    // Índice devuelto cuando no se ha generado ningún token
+    public static final int SIN_TOKEN = -1;
+
+    // Atributo de un identificador que no está en la tabla actual (null en Token)
+    public static final int SIN_ATRIBUTO = -1;
+
+    // Línea de un token cuya línea no se ha indicado
+    public static final int SIN_LINEA = 0;
+
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    private static final TipoToken[] TIPOS = TipoToken.values();
+
+    // Ordinal del TipoToken de cada token
+    private byte[] tipos;
+
+    // Índice del terminal de la gramática de cada token, asignado por el léxico
+    private short[] terminales;
+
+    // Valor entero, posición en la tabla de símbolos o índice del texto
+    private int[] atributos;
+
+    // Posición en la fuente del primer carácter de cada token
+    private int[] desplazamientos;
+
+    // Línea en la que se generó cada token; null hasta que se indica alguna
+    private int[] lineas;
+
+    private int numTokens;
+
+    // Textos internados de los tokens
+    private final PoolNombres textos;
+
+    /**
+     * Constructor de un buffer vacío con su propio PoolNombres.
+     */
+    public BufferTokens() {
+        this(new PoolNombres());
+    }
+
+    /**
+     * Constructor de un buffer vacío que interna los textos en un PoolNombres
+     * compartido, normalmente el de la sesión. Solo debe usarlo el hilo que
+     * usa el PoolNombres.
+     *
+     * @param textos El PoolNombres en el que se internan los textos.
+     */
+    public BufferTokens(PoolNombres textos) {
+        this.tipos = new byte[CAPACIDAD_INICIAL];
+        this.terminales = new short[CAPACIDAD_INICIAL];
+        this.atributos = new int[CAPACIDAD_INICIAL];
+        this.desplazamientos = new int[CAPACIDAD_INICIAL];
+        this.textos = textos;
+        this.numTokens = 0;
+    }
+
+    /**
+     * Añade un token sin texto: un token simple, un entero o un identificador.
+     *
+     * @param tipo           El tipo del token.
+     * @param terminal       El índice de su terminal en la gramática.
+     * @param atributo       Su atributo entero (se ignora en los tokens simples).
+     * @param desplazamiento Posición del token en la fuente.
+     * @return El índice del token añadido.
+     */
+    public int agregar(TipoToken tipo, int terminal, int atributo, int desplazamiento) {
+        if (numTokens == tipos.length) {
+            int capacidad = tipos.length * 2;
+            tipos = Arrays.copyOf(tipos, capacidad);
+            terminales = Arrays.copyOf(terminales, capacidad);
+            atributos = Arrays.copyOf(atributos, capacidad);
+            desplazamientos = Arrays.copyOf(desplazamientos, capacidad);
+            if (lineas != null) {
+                lineas = Arrays.copyOf(lineas, capacidad);
+            }
+        }
+        tipos[numTokens] = (byte) tipo.ordinal();
+        terminales[numTokens] = (short) terminal;
+        atributos[numTokens] = atributo;
+        desplazamientos[numTokens] = desplazamiento;
+        return numTokens++;
+    }
+
+    /**
+     * Añade un token cuyo atributo es un texto (palabra reservada o cadena),
+     * internando sus caracteres. Si el texto ya está, no se crea ningún objeto.
+     *
+     * @param tipo           El tipo del token.
+     * @param terminal       El índice de su terminal en la gramática.
+     * @param caracteres     Buffer que contiene el texto.
+     * @param inicio         Posición del primer carácter del texto.
+     * @param longitud       Número de caracteres del texto.
+     * @param desplazamiento Posición del token en la fuente.
+     * @return El índice del token añadido.
+     */
+    public int agregarTexto(TipoToken tipo, int terminal, char[] caracteres, int inicio, int longitud,
+            int desplazamiento) {
+        return agregar(tipo, terminal, textos.internar(caracteres, inicio, longitud), desplazamiento);
+    }
+
+    /**
+     * Añade un token cuyo atributo es un texto ya convertido en String.
+     *
+     * @param tipo           El tipo del token.
+     * @param terminal       El índice de su terminal en la gramática.
+     * @param texto          El texto del token.
+     * @param desplazamiento Posición del token en la fuente.
+     * @return El índice del token añadido.
+     */
+    public int agregarTexto(TipoToken tipo, int terminal, String texto, int desplazamiento) {
+        return agregar(tipo, terminal, textos.internar(texto), desplazamiento);
+    }
+
+    /**
+     * Añade una copia de un token de otro buffer, con su texto y su línea. Si
+     * los buffers no comparten PoolNombres, el texto se interna en el de este.
+     *
+     * @param origen         Buffer que contiene el token.
+     * @param indice         Índice del token en el buffer de origen.
+     * @param desplazamiento Posición del token en la fuente de este buffer.
+     * @return El índice del token añadido.
+     */
+    public int agregarCopia(BufferTokens origen, int indice, int desplazamiento) {
+        int token;
+        if (origen.tieneTexto(indice) && origen.textos != textos) {
+            token = agregarTexto(origen.getTipo(indice), origen.terminales[indice], origen.getTexto(indice),
+                    desplazamiento);
+        } else {
+            token = agregar(origen.getTipo(indice), origen.terminales[indice], origen.atributos[indice],
+                    desplazamiento);
+        }
+        if (origen.lineas != null) {
+            setLinea(token, origen.lineas[indice]);
+        } else if (lineas != null) {
+            lineas[token] = SIN_LINEA;
+        }
+        return token;
+    }
+
+    /**
+     * Vacía el buffer sin liberar los arrays. Los textos siguen internados.
+     */
+    public void vaciar() {
+        numTokens = 0;
+    }
+
+    /**
+     * Obtiene el número de tokens del buffer.
+     *
+     * @return El número de tokens.
+     */
+    public int size() {
+        return numTokens;
+    }
+
+    public TipoToken getTipo(int indice) {
+        return TIPOS[tipos[indice]];
+    }
+
+    public int getTerminal(int indice) {
+        return terminales[indice];
+    }
+
+    public int getAtributo(int indice) {
+        return atributos[indice];
+    }
+
+    /**
+     * Establece el atributo de un token. Se usa para guardar la posición en la
+     * tabla de símbolos de un identificador que se añadió sin resolver.
+     *
+     * @param indice   Índice del token.
+     * @param atributo El nuevo atributo.
+     */
+    public void setAtributo(int indice, int atributo) {
+        atributos[indice] = atributo;
+    }
+
+    public int getDesplazamiento(int indice) {
+        return desplazamientos[indice];
+    }
+
+    /**
+     * Obtiene la línea del fichero en la que se ha generado un token.
+     *
+     * @param indice Índice del token.
+     * @return La línea, o SIN_LINEA si no se ha indicado la de ningún token.
+     */
+    public int getLinea(int indice) {
+        return lineas != null ? lineas[indice] : SIN_LINEA;
+    }
+
+    /**
+     * Establece la línea del fichero en la que se ha generado un token.
+     *
+     * @param indice Índice del token.
+     * @param linea  La línea.
+     */
+    public void setLinea(int indice, int linea) {
+        if (lineas == null) {
+            lineas = new int[tipos.length];
+        }
+        lineas[indice] = linea;
+    }
+
+    /**
+     * Indica si el atributo de un token es un texto.
+     *
+     * @param indice Índice del token.
+     * @return true si el token es una palabra reservada o una cadena.
+     */
+    public boolean tieneTexto(int indice) {
+        TipoToken tipo = getTipo(indice);
+        return tipo == TipoToken.PALABRARESERVADA || tipo == TipoToken.CADENA;
+    }
+
+    /**
+     * Obtiene el texto de una palabra reservada o una cadena.
+     *
+     * @param indice Índice del token.
+     * @return El texto del token.
+     */
+    public String getTexto(int indice) {
+        return textos.getNombre(atributos[indice]);
+    }
+
+    /**
+     * Crea un objeto Token equivalente al almacenado en el buffer.
+     *
+     * @param indice Índice del token.
+     * @return El token.
+     */
+    public Token getToken(int indice) {
+        return new Token(getTipo(indice), getAtributoObjeto(indice));
+    }
+
+    /**
+     * Escribe el token con el mismo formato que Token.toString(), sin crear el
+     * objeto Token.
+     *
+     * @param indice Índice del token.
+     * @param writer Destino de la escritura.
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    public void escribirToken(int indice, Writer writer) throws IOException {
+        writer.write('<');
+        writer.write(getTipo(indice).name());
+        writer.write(", ");
+        switch (getTipo(indice)) {
+            case PALABRARESERVADA:
+            case CADENA:
+                writer.write(getTexto(indice));
+                break;
+            case ENTERO:
+            case ID:
+                writer.write(String.valueOf(getAtributoObjeto(indice)));
+                break;
+            default:
+                break;
+        }
+        writer.write('>');
+    }
+
+    /**
+     * Obtiene el atributo del token tal y como lo guarda un objeto Token.
+     */
+    private Object getAtributoObjeto(int indice) {
+        switch (getTipo(indice)) {
+            case PALABRARESERVADA:
+            case CADENA:
+                return getTexto(indice);
+            case ENTERO:
+                return atributos[indice];
+            case ID:
+                return atributos[indice] == SIN_ATRIBUTO ? null : atributos[indice];
+            default:
+                return "";
+        }
+    }
+}
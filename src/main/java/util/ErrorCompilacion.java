@@ -0,0 +1,22 @@
+package util;
+
+/**
+ * Clase ErrorCompilacion, la excepción con la que GestorErrores informa de un
+ * error léxico, sintáctico, semántico o genérico del fichero analizado. Es una
+ * IllegalStateException para que quien solo muestra el mensaje no tenga que
+ * distinguirla; quien necesite separar los errores del fichero de los fallos
+ * del propio compilador captura esta clase.
+ */
+public final class ErrorCompilacion extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor de un error con su mensaje ya formateado.
+     *
+     * @param mensaje El mensaje, con el tipo de error y la línea.
+     */
+    ErrorCompilacion(String mensaje) {
+        super(mensaje);
+    }
+}
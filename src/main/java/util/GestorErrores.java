@@ -3,10 +3,16 @@
 /**
  * Clase que contiene mensajes de error constantes para la aplicación,
  * agrupados por tipo de error: léxicos, sintácticos, semánticos y genéricos.
+ * Cada sesión de compilación dispone de su propia instancia, que lleva la
+ * cuenta de la línea en curso del fichero que se está analizando.
  */
 public final class GestorErrores {
 
-    private static Integer linea = 1;
+    // Línea con la que comienza el análisis de cualquier fichero
+    public static final int LINEA_INICIAL = 1;
+
+    // Línea actual del fichero analizado por la sesión
+    private int linea;
 
     // Enum para los tipos de errores
     public enum TipoError {
@@ -38,24 +44,85 @@ public enum TipoError {
 
     // Mensajes de error genéricos
     public static final String ARCHIVO_GRAMATICA_NO_ENCONTRADO = "El archivo de gramatica.output no se ha encontrado (directorio resources)";
+    public static final String ARCHIVO_GRAMATICA_NO_VALIDO = "El recurso de la gramatica esta truncado o no es valido: ";
+
+    /**
+     * Constructor del gestor de errores de una sesión de compilación.
+     */
+    public GestorErrores() {
+        this.linea = LINEA_INICIAL;
+    }
+
+    /**
+     * Lanza una excepción con el mensaje de error especificado y el tipo de error,
+     * indicando la línea actual de la sesión.
+     *
+     * @param tipoError El tipo de error.
+     * @param mensaje   El mensaje de error.
+     */
+    public void lanzarError(TipoError tipoError, String mensaje) {
+        lanzarError(tipoError, mensaje, linea);
+    }
+
+    /**
+     * Crea, sin lanzarla, la excepción correspondiente a un error en la línea
+     * actual de la sesión.
+     *
+     * @param tipoError El tipo de error.
+     * @param mensaje   El mensaje de error.
+     * @return La excepción con el mensaje formateado.
+     */
+    public ErrorCompilacion crearError(TipoError tipoError, String mensaje) {
+        return crearError(tipoError, mensaje, linea);
+    }
 
-    // Constructor privado para evitar instanciación
-    private GestorErrores() {
-        throw new UnsupportedOperationException("Esta es una clase de utilidad y no debe ser instanciada.");
+    /**
+     * Lanza una excepción con el mensaje de error especificado, el tipo de error y
+     * la línea indicada. Se utiliza fuera de una sesión de compilación.
+     *
+     * @param tipoError El tipo de error.
+     * @param mensaje   El mensaje de error.
+     * @param linea     La línea en la que se ha producido el error.
+     */
+    public static void lanzarError(TipoError tipoError, String mensaje, int linea) {
+        throw crearError(tipoError, mensaje, linea);
     }
 
     /**
-     * Lanza una excepción con el mensaje de error especificado y el tipo de error.
+     * Crea, sin lanzarla, la excepción correspondiente a un error en la línea
+     * indicada. Se utiliza fuera de una sesión de compilación, por ejemplo con
+     * los errores de los argumentos.
      *
      * @param tipoError El tipo de error.
      * @param mensaje   El mensaje de error.
+     * @param linea     La línea en la que se ha producido el error.
+     * @return La excepción con el mensaje formateado.
      */
-    public static void lanzarError(TipoError tipoError, String mensaje) {
+    public static ErrorCompilacion crearError(TipoError tipoError, String mensaje, int linea) {
         String tipo = tipoError.name().toLowerCase();
-        throw new IllegalStateException("Error " + tipo + ": " + mensaje + " en linea " + linea);
+        return new ErrorCompilacion("Error " + tipo + ": " + mensaje + " en linea " + linea);
     }
 
-    public static void incrementarLinea() {
+    /**
+     * Obtiene la línea actual del fichero analizado.
+     *
+     * @return La línea actual.
+     */
+    public int getLinea() {
+        return linea;
+    }
+
+    public void incrementarLinea() {
         linea++;
     }
+
+    /**
+     * Establece la línea actual. Lo usan las etapas que no leen la fuente, con
+     * la línea en la que se generó el token que procesan.
+     *
+     * @param linea La nueva línea actual.
+     */
+    public void setLinea(int linea) {
+        this.linea = linea;
+    }
 }
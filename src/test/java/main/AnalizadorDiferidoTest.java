@@ -0,0 +1,58 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.lexico.AnalizadorLexico;
+import modulos.lexico.PoolNombres;
+import modulos.lexico.fuente.FuenteCaracteres;
+import modulos.lexico.fuente.FuenteSecuencia;
+import modulos.token.BufferTokens;
+import modulos.token.TipoToken;
+
+/**
+ * Comprueba que el análisis léxico puro no toca las tablas de símbolos. Que
+ * resolver los identificadores después genera los mismos ficheros y errores
+ * que el análisis secuencial lo comprueba ModosCompilacionTest.
+ */
+public class AnalizadorDiferidoTest {
+
+    @Test
+    public void elLexicoPuroSoloInternaLosNombres() throws IOException {
+        OpcionesCompilacion opciones = new OpcionesCompilacion();
+        opciones.setLexicoPuro(true);
+        SesionCompilacion sesion = new SesionCompilacion(opciones);
+        AnalizadorLexico analizadorLexico = sesion.getAnalizadorLexico();
+        PoolNombres poolNombres = sesion.getPoolNombres();
+
+        FuenteCaracteres fuente = new FuenteSecuencia("let x int; x = y + x;");
+        BufferTokens tokens = new BufferTokens();
+        int caracter;
+        do {
+            caracter = fuente.leer();
+            do {
+                analizadorLexico.procesarCaracter(caracter, tokens);
+            } while (!analizadorLexico.isCaracterProcesado());
+        } while (caracter != FuenteCaracteres.FIN_DE_FICHERO);
+
+        List<String> nombres = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            if (tokens.getTipo(i) == TipoToken.ID) {
+                nombres.add(poolNombres.getNombre(tokens.getAtributo(i)));
+            }
+        }
+        assertEquals(List.of("x", "x", "y", "x"), nombres);
+        assertSame(nombres.get(0), nombres.get(3));
+        assertEquals(2, poolNombres.size());
+        assertFalse(sesion.getGestorTablas().obtenerTablaGlobal().simboloExiste("x"));
+    }
+}
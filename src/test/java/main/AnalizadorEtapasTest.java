@@ -0,0 +1,52 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.etapas.InformeEtapas;
+import modulos.lexico.fuente.FuenteCaracteres;
+
+/**
+ * Comprueba que la ejecución en etapas informa de sus tres etapas y que el
+ * análisis secuencial no devuelve informe. Que genera los mismos ficheros y
+ * errores que el análisis secuencial, con anillos muy pequeños, lo comprueba
+ * ModosCompilacionTest.
+ */
+public class AnalizadorEtapasTest {
+
+    private static final String TEST_DIR = "src/test/java/archivosTest/";
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    public void informaDeLasTresEtapas() throws IOException {
+        assertNull(compilar("test_completo_correcto.txt", false, directorio.resolve("secuencial")));
+        InformeEtapas informe = compilar("test_completo_correcto.txt", true, directorio.resolve("etapas"));
+
+        assertEquals(3, informe.getEtapas().size());
+        for (InformeEtapas.Etapa etapa : informe.getEtapas()) {
+            assertTrue(etapa.getEventos() > 0, etapa.getNombre());
+        }
+    }
+
+    private static InformeEtapas compilar(String fichero, boolean etapas, Path salida) throws IOException {
+        OpcionesCompilacion opciones = new OpcionesCompilacion();
+        opciones.setEtapas(etapas);
+        opciones.setCapacidadAnillo(2);
+
+        try (FuenteCaracteres fuente = FuenteCaracteres.abrir(Paths.get(TEST_DIR + fichero))) {
+            return Analizador.procesarFichero(fuente, new SesionCompilacion(opciones), salida);
+        }
+    }
+}
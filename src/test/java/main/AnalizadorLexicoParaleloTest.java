@@ -0,0 +1,57 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.lexico.AnalizadorLexicoParalelo;
+import modulos.lexico.fuente.FuenteSecuencia;
+import modulos.token.BufferTokens;
+import modulos.token.TipoToken;
+
+/**
+ * Comprueba que el análisis léxico por trozos en paralelo concatena los tokens
+ * en orden y da los errores con la línea global, también con trozos de un
+ * solo carácter. Los ficheros y errores los compara con los del análisis
+ * secuencial ModosCompilacionTest.
+ */
+public class AnalizadorLexicoParaleloTest {
+
+    @Test
+    public void concatenaLosTokensEnOrden() throws IOException {
+        String programa = "let x int;\nlet s string;\n// comentario\nx = y + x;\ns = \"a b\";\n";
+        OpcionesCompilacion opciones = new OpcionesCompilacion();
+        opciones.setLexicoParalelo(true);
+        opciones.setTamanoTrozo(1);
+        SesionCompilacion sesion = new SesionCompilacion(opciones);
+
+        BufferTokens tokens = new BufferTokens();
+        assertNull(new AnalizadorLexicoParalelo(sesion).analizar(new FuenteSecuencia(programa), tokens));
+
+        assertEquals(TipoToken.FINDEFICHERO, tokens.getTipo(tokens.size() - 1));
+        assertEquals(Integer.valueOf(1), Integer.valueOf(tokens.getLinea(0)));
+        assertEquals(Integer.valueOf(6), Integer.valueOf(tokens.getLinea(tokens.size() - 1)));
+        assertEquals(Integer.valueOf(programa.indexOf("x = y")), Integer.valueOf(tokens.getDesplazamiento(8)));
+        assertEquals(Integer.valueOf(4), Integer.valueOf(tokens.getLinea(8)));
+        assertEquals("x", sesion.getPoolNombres().getNombre(tokens.getAtributo(8)));
+        assertEquals("y", sesion.getPoolNombres().getNombre(tokens.getAtributo(10)));
+        assertEquals(Integer.valueOf(tokens.getAtributo(1)), Integer.valueOf(tokens.getAtributo(12)));
+    }
+
+    @Test
+    public void unaCadenaEntreTrozosDaElErrorEnSuLinea() throws IOException {
+        String programa = "let s string;\ns = \"abc\ndef\nghi\";\nlet x int;\n";
+        OpcionesCompilacion opciones = new OpcionesCompilacion();
+        opciones.setLexicoParalelo(true);
+        opciones.setTamanoTrozo(1);
+
+        RuntimeException error = new AnalizadorLexicoParalelo(new SesionCompilacion(opciones))
+                .analizar(new FuenteSecuencia(programa), new BufferTokens());
+        assertEquals("Error lexico: Cadena no puede contener salto de linea en linea 4", error.getMessage());
+    }
+}
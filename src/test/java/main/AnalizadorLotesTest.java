@@ -0,0 +1,163 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import modulos.OpcionesCompilacion;
+
+/**
+ * Comprueba la interpretación de los argumentos del modo por lotes, la
+ * búsqueda de ficheros y que cada fichero se escribe en su propio directorio
+ * de salida, también cuando las rutas indicadas tienen ficheros con el mismo
+ * nombre.
+ */
+public class AnalizadorLotesTest {
+
+    private static final String TEST_DIR = "src/test/java/archivosTest/";
+    private static final String CORRECTO = "let x int; x = x + 1;";
+    private static final String INCORRECTO = "let x int";
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    public void interpretaLasOpciones() {
+        AnalizadorLotes.Argumentos argumentos = AnalizadorLotes
+                .procesarArgumentos(new String[] { "-j", "3", "--lexico-puro", "-o", "salida", "a", "b" });
+
+        assertEquals(3, argumentos.getHilos());
+        assertEquals(Paths.get("salida"), argumentos.getDirectorioSalida());
+        assertTrue(argumentos.getOpciones().isLexicoPuro());
+        assertEquals(List.of("a", "b"), argumentos.getRutas());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "-j x a", "-j 0 a", "-j -2 a", "a -j", "a -o", "-j 2", "--etapas-capacidad=x a",
+            "--lexico-paralelo-trozo=0 a", "--etapas-espera=nada a" })
+    public void rechazaLosArgumentosIncorrectos(String args) {
+        assertThrows(IllegalArgumentException.class, () -> AnalizadorLotes.procesarArgumentos(args.split(" ")));
+    }
+
+    @Test
+    public void detectaElModoPorLotes() {
+        assertFalse(AnalizadorLotes.esModoLotes(new String[] { TEST_DIR + "funcion_correcto1.txt" }));
+        assertTrue(AnalizadorLotes.esModoLotes(new String[] { TEST_DIR }));
+        assertTrue(AnalizadorLotes.esModoLotes(new String[] { TEST_DIR + "*.txt" }));
+        assertTrue(AnalizadorLotes.esModoLotes(new String[] { "-j", "2", TEST_DIR + "funcion_correcto1.txt" }));
+    }
+
+    @Test
+    public void unFicheroConservaSuRutaRelativa() throws IOException {
+        String ruta = TEST_DIR + "funcion_correcto1.txt";
+        List<AnalizadorLotes.Entrada> entradas = AnalizadorLotes.buscarFicheros(ruta);
+
+        assertEquals(1, entradas.size());
+        assertEquals(Paths.get(ruta), entradas.get(0).getRutaRelativa());
+    }
+
+    @Test
+    public void unDirectorioRelativoConservaSuRuta() throws IOException {
+        List<AnalizadorLotes.Entrada> entradas = AnalizadorLotes.buscarFicheros(TEST_DIR);
+
+        assertFalse(entradas.isEmpty());
+        for (AnalizadorLotes.Entrada entrada : entradas) {
+            assertEquals(entrada.getFichero().normalize(), entrada.getRutaRelativa());
+        }
+    }
+
+    @Test
+    public void ficherosConElMismoNombreEnDirectoriosDistintos() throws IOException {
+        escribir("entrada/a/x.txt", CORRECTO);
+        escribir("entrada/b/x.txt", "let y boolean;");
+        Path salida = directorio.resolve("salida");
+
+        List<AnalizadorLotes.Resultado> resultados = compilar(salida,
+                directorio.resolve("entrada/a/x.txt").toString(), directorio.resolve("entrada").toString());
+
+        // El fichero de a/ aparece dos veces pero se compila una sola
+        assertEquals(2, resultados.size());
+        assertNull(resultados.get(0).getError());
+        assertNull(resultados.get(1).getError());
+        assertTrue(Files.readString(salida.resolve("x").resolve(GestorSalida.ARCHIVO_TS)).contains("'x'"));
+        assertTrue(Files.readString(salida.resolve("entrada").resolve("b").resolve("x")
+                .resolve(GestorSalida.ARCHIVO_TS)).contains("'y'"));
+    }
+
+    @Test
+    public void directoriosConLosMismosFicheros() throws IOException {
+        escribir("dirA/prog.txt", CORRECTO);
+        escribir("dirB/prog.txt", "let y boolean;");
+        Path salida = directorio.resolve("salida");
+
+        List<AnalizadorLotes.Resultado> resultados = compilar(salida,
+                directorio.resolve("dirA").toString(), directorio.resolve("dirB").toString());
+
+        assertEquals(2, resultados.size());
+        assertTrue(Files.readString(salida.resolve("dirA").resolve("prog").resolve(GestorSalida.ARCHIVO_TS))
+                .contains("'x'"));
+        assertTrue(Files.readString(salida.resolve("dirB").resolve("prog").resolve(GestorSalida.ARCHIVO_TS))
+                .contains("'y'"));
+    }
+
+    @Test
+    public void numeraLosFicherosConLaMismaSalida() throws IOException {
+        escribir("a/x.txt", CORRECTO);
+        escribir("b/x.txt", "let y boolean;");
+        escribir("b/x.js", "let z string;");
+        Path salida = directorio.resolve("salida");
+
+        List<AnalizadorLotes.Resultado> resultados = compilar(salida, directorio.resolve("a/x.txt").toString(),
+                directorio.resolve("b/x.txt").toString(), directorio.resolve("b/x.js").toString());
+
+        assertEquals(3, resultados.size());
+        assertTrue(Files.readString(salida.resolve("x").resolve(GestorSalida.ARCHIVO_TS)).contains("'x'"));
+        assertTrue(Files.readString(salida.resolve("x-2").resolve(GestorSalida.ARCHIVO_TS)).contains("'y'"));
+        assertTrue(Files.readString(salida.resolve("x-3").resolve(GestorSalida.ARCHIVO_TS)).contains("'z'"));
+    }
+
+    @Test
+    public void compilaLosFicherosDeUnPatron() throws IOException {
+        escribir("entrada/a/uno.txt", CORRECTO);
+        escribir("entrada/a/dos.txt", INCORRECTO);
+        escribir("entrada/a/tres.js", CORRECTO);
+        Path salida = directorio.resolve("salida");
+
+        List<AnalizadorLotes.Resultado> resultados = compilar(salida,
+                directorio.resolve("entrada/**/*.txt").toString());
+
+        assertEquals(2, resultados.size());
+        assertEquals(1, resultados.stream().filter(AnalizadorLotes.Resultado::isCorrecto).count());
+        assertTrue(Files.exists(salida.resolve("entrada").resolve("a").resolve("uno")
+                .resolve(GestorSalida.ARCHIVO_TS)));
+        assertFalse(Files.exists(salida.resolve("entrada").resolve("a").resolve("tres")));
+    }
+
+    private void escribir(String ruta, String contenido) throws IOException {
+        Path fichero = directorio.resolve(ruta);
+        Files.createDirectories(fichero.getParent());
+        Files.writeString(fichero, contenido);
+    }
+
+    private static List<AnalizadorLotes.Resultado> compilar(Path salida, String... rutas) throws IOException {
+        List<AnalizadorLotes.Entrada> entradas = new ArrayList<>();
+        for (String ruta : rutas) {
+            entradas.addAll(AnalizadorLotes.buscarFicheros(ruta));
+        }
+        return AnalizadorLotes.compilar(entradas, salida, 2, new OpcionesCompilacion());
+    }
+}
@@ -9,11 +9,6 @@
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
-import modulos.lexico.AnalizadorLexico;
-import modulos.semantico.AnalizadorSemantico;
-import modulos.sintactico.AnalizadorSintactico;
-import modulos.tablaSimbolos.GestorTablas;
-
 import org.junit.jupiter.params.provider.Arguments;
 
 import java.io.ByteArrayOutputStream;
@@ -44,11 +39,6 @@ public void restoreStreams() {
         System.setErr(originalErr);
         outContent.reset();
         errContent.reset();
-        // Reiniciar singletons y cualquier otra configuración necesaria
-        GestorTablas.getInstance().resetGestorTablas();
-        AnalizadorSintactico.getInstance().resetAnalizadorSintactico();
-        AnalizadorLexico.getInstance().resetAnalizadorLexico();
-        AnalizadorSemantico.getInstance().resetAnalizadorSemantico();
     }
 
     private void runTest(String inputFile, boolean esCorrecto) throws IOException {
@@ -0,0 +1,176 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.lexico.fuente.FuenteCaracteres;
+import modulos.lexico.fuente.FuenteSecuencia;
+import modulos.sintactico.ArbolSintactico;
+import modulos.sintactico.VisitanteArbol;
+import modulos.token.BufferTokens;
+
+/**
+ * Comprueba que el árbol sintáctico reproduce el análisis en todos los modos:
+ * recorrido en profundidad, sus reglas salen en el orden de las reglas
+ * aplicadas y sus hojas son los tokens en el orden de la fuente.
+ */
+public class ArbolSintacticoTest {
+
+    private static final String TEST_DIR = "src/test/java/archivosTest/";
+    private static final String FICHERO = "test_completo_correcto.txt";
+
+    @TempDir
+    Path directorio;
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "--lexico-puro", "--lexico-paralelo", "--etapas", "--salida-continua" })
+    public void reproduceLasReglasYLosTokens(String opcion) throws IOException {
+        OpcionesCompilacion opciones = new OpcionesCompilacion();
+        if (!opcion.isEmpty()) {
+            assertTrue(opciones.procesarOpcion(opcion));
+        }
+        opciones.setArbol(true);
+        SesionCompilacion sesion = new SesionCompilacion(opciones);
+        try (FuenteCaracteres fuente = FuenteCaracteres.abrir(Paths.get(TEST_DIR + FICHERO))) {
+            Analizador.procesarFichero(fuente, sesion, directorio);
+        }
+        ArbolSintactico arbol = sesion.getAnalizadorSintactico().getArbol();
+
+        // La primera palabra del fichero de reglas es la cabecera
+        String[] palabras = Files.readString(directorio.resolve(GestorSalida.ARCHIVO_REGLAS)).trim().split("\\s+");
+        List<Integer> reglas = Arrays.stream(palabras, 1, palabras.length).map(Integer::valueOf)
+                .collect(Collectors.toList());
+        int numTokens = Files.readAllLines(directorio.resolve(GestorSalida.ARCHIVO_TOKENS)).size();
+
+        List<Integer> reglasArbol = new ArrayList<>();
+        List<Integer> tokensArbol = new ArrayList<>();
+        arbol.recorrer(new VisitanteArbol() {
+            @Override
+            public void salirRegla(ArbolSintactico arbol, int nodo) {
+                reglasArbol.add(arbol.getRegla(nodo));
+            }
+
+            @Override
+            public void visitarToken(ArbolSintactico arbol, int nodo) {
+                tokensArbol.add(arbol.getToken(nodo));
+            }
+        });
+
+        assertEquals(reglas, reglasArbol);
+        assertEquals(numTokens, tokensArbol.size());
+        for (int i = 0; i < numTokens; i++) {
+            assertEquals(Integer.valueOf(i), tokensArbol.get(i));
+        }
+        assertEquals(reglas.size() + numTokens, arbol.getNumNodos());
+    }
+
+    @Test
+    public void consultaLosHijosDeCadaNodo() throws IOException {
+        ArbolSintactico arbol = construir("let x int; x = x + 1;");
+        int raiz = arbol.getRaiz();
+
+        // $accept: P $end
+        assertEquals(1, arbol.getRegla(raiz));
+        assertEquals(2, arbol.getNumHijos(raiz));
+        int fin = arbol.getHijo(raiz, 1);
+        assertTrue(arbol.isHoja(fin));
+        assertEquals(ArbolSintactico.SIN_REGLA, arbol.getRegla(fin));
+        assertEquals(ArbolSintactico.SIN_TERMINAL, arbol.getTerminal(raiz));
+        assertEquals(BufferTokens.SIN_TOKEN, arbol.getToken(raiz));
+        assertThrows(IndexOutOfBoundsException.class, () -> arbol.getHijo(raiz, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> arbol.getHijo(fin, 0));
+
+        // P: B P, con la declaración; la lista termina en P: lambda
+        int programa = arbol.getHijo(raiz, 0);
+        assertEquals(2, arbol.getRegla(programa));
+        int resto = arbol.getHijo(arbol.getHijo(programa, 1), 1);
+        assertEquals(4, arbol.getRegla(resto));
+        assertEquals(0, arbol.getNumHijos(resto));
+    }
+
+    @Test
+    public void saltaLosSubarbolesQueSeIndican() throws IOException {
+        ArbolSintactico arbol = construir("let x int; x = x + 1;");
+
+        int[] tokens = new int[1];
+        arbol.recorrer(new VisitanteArbol() {
+            @Override
+            public boolean visitarRegla(ArbolSintactico arbol, int nodo) {
+                // No entrar en las sentencias (B: S)
+                return arbol.getRegla(nodo) != 9;
+            }
+
+            @Override
+            public void visitarToken(ArbolSintactico arbol, int nodo) {
+                tokens[0]++;
+            }
+        });
+        // let x int ; y el fin de fichero
+        assertEquals(5, tokens[0]);
+    }
+
+    @Test
+    public void recorreArbolesProfundosSinRecursion() throws IOException {
+        int sentencias = 200_000;
+        StringBuilder programa = new StringBuilder("let x int;\n");
+        for (int i = 0; i < sentencias; i++) {
+            programa.append("x = 1;\n");
+        }
+        ArbolSintactico arbol = construir(programa.toString());
+
+        int[] reglas = new int[1];
+        arbol.recorrer(new VisitanteArbol() {
+            @Override
+            public void salirRegla(ArbolSintactico arbol, int nodo) {
+                reglas[0]++;
+            }
+        });
+        assertEquals(arbol.getNumNodos() - (4 + 4 * sentencias + 1), reglas[0]);
+    }
+
+    @Test
+    public void soloSeConstruyeSiSeIndicaYSeAcepta() throws IOException {
+        SesionCompilacion sinArbol = new SesionCompilacion();
+        compilar(sinArbol, "let x int;");
+        assertNull(sinArbol.getAnalizadorSintactico().getArbol());
+
+        OpcionesCompilacion opciones = new OpcionesCompilacion();
+        opciones.setArbol(true);
+        SesionCompilacion conError = new SesionCompilacion(opciones);
+        assertThrows(IllegalStateException.class, () -> compilar(conError, "let x int"));
+        assertNull(conError.getAnalizadorSintactico().getArbol());
+    }
+
+    private ArbolSintactico construir(String programa) throws IOException {
+        OpcionesCompilacion opciones = new OpcionesCompilacion();
+        opciones.setArbol(true);
+        SesionCompilacion sesion = new SesionCompilacion(opciones);
+        compilar(sesion, programa);
+        ArbolSintactico arbol = sesion.getAnalizadorSintactico().getArbol();
+        assertNotNull(arbol);
+        return arbol;
+    }
+
+    private void compilar(SesionCompilacion sesion, String programa) throws IOException {
+        Analizador.procesarFichero(new FuenteSecuencia(programa), sesion, directorio);
+    }
+}
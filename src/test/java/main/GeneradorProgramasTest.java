@@ -0,0 +1,91 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import modulos.SesionCompilacion;
+import modulos.generador.GeneradorProgramas;
+import modulos.generador.OpcionesGenerador;
+import modulos.lexico.fuente.FuenteSecuencia;
+
+/**
+ * Comprueba que los programas de GeneradorProgramas se compilan sin errores
+ * con cualquier semilla y combinación de opciones, y que la misma semilla
+ * genera siempre el mismo programa.
+ */
+public class GeneradorProgramasTest {
+
+    @TempDir
+    Path directorio;
+
+    @ParameterizedTest
+    @ValueSource(longs = { 1, 2, 3, 42, 1234, -7 })
+    public void generaProgramasCorrectos(long semilla) throws IOException {
+        OpcionesGenerador opciones = new OpcionesGenerador();
+        opciones.setSemilla(semilla);
+        opciones.setFunciones(40);
+        compilar(GeneradorProgramas.generar(opciones));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "--parametros=0", "--parametros=8", "--globales=0", "--profundidad=0",
+            "--profundidad=6", "--sentencias=1", "--mezcla=while:8,let:0", "--mezcla=llamada:10,if:10",
+            "--mezcla=asignacion:0,incremento:0,llamada:0,put:0,get:0,if:0,while:0,let:1" })
+    public void generaProgramasCorrectosConCadaOpcion(String opcion) throws IOException {
+        OpcionesGenerador opciones = new OpcionesGenerador();
+        opciones.setFunciones(30);
+        assertTrue(opciones.procesarOpcion(opcion));
+        for (long semilla = 0; semilla < 3; semilla++) {
+            opciones.setSemilla(semilla);
+            compilar(GeneradorProgramas.generar(opciones));
+        }
+    }
+
+    @Test
+    public void laMismaSemillaGeneraElMismoPrograma() {
+        OpcionesGenerador opciones = new OpcionesGenerador();
+        opciones.setSemilla(99);
+        String programa = GeneradorProgramas.generar(opciones);
+
+        assertEquals(programa, GeneradorProgramas.generar(opciones));
+        opciones.setSemilla(100);
+        assertNotEquals(programa, GeneradorProgramas.generar(opciones));
+    }
+
+    @Test
+    public void alcanzaElTamanoIndicado() throws IOException {
+        OpcionesGenerador opciones = new OpcionesGenerador();
+        assertTrue(opciones.procesarOpcion("--tamano=256K"));
+        String programa = GeneradorProgramas.generar(opciones);
+
+        assertTrue(programa.length() >= 256 * 1024);
+        assertTrue(programa.length() < 264 * 1024);
+        compilar(programa);
+    }
+
+    @Test
+    public void rechazaOpcionesNoValidas() {
+        OpcionesGenerador opciones = new OpcionesGenerador();
+        assertFalse(opciones.procesarOpcion("--lexico-puro"));
+        assertThrows(IllegalArgumentException.class, () -> opciones.procesarOpcion("--funciones=-1"));
+        assertThrows(IllegalArgumentException.class, () -> opciones.procesarOpcion("--tamano=1X"));
+        assertThrows(IllegalArgumentException.class, () -> opciones.procesarOpcion("--mezcla=bucle:1"));
+        assertThrows(IllegalArgumentException.class, () -> opciones.procesarOpcion("--mezcla=put:0,if:0,"
+                + "asignacion:0,incremento:0,llamada:0,get:0,while:0,let:0"));
+    }
+
+    private void compilar(String programa) throws IOException {
+        Analizador.procesarFichero(new FuenteSecuencia(programa), new SesionCompilacion(), directorio);
+    }
+}
@@ -0,0 +1,104 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.lexico.fuente.FuenteCaracteres;
+
+/**
+ * Comprueba que cada modo de compilación genera los mismos ficheros y el mismo
+ * primer error que el análisis secuencial. Los trozos y los anillos son los
+ * más pequeños posibles, para que los casos límite aparezcan también con
+ * ficheros pequeños. Las comprobaciones propias de cada modo están en su
+ * clase de prueba.
+ */
+public class ModosCompilacionTest {
+
+    private static final String TEST_DIR = "src/test/java/archivosTest/";
+
+    // Opciones de cada modo, separadas por espacios
+    private static final List<String> MODOS = List.of(
+            OpcionesCompilacion.OPCION_LEXICO_TABLA,
+            OpcionesCompilacion.OPCION_SALIDA_CONTINUA,
+            OpcionesCompilacion.OPCION_LEXICO_PURO,
+            OpcionesCompilacion.OPCION_LEXICO_PARALELO + " " + OpcionesCompilacion.OPCION_TAMANO_TROZO + "1",
+            OpcionesCompilacion.OPCION_SEMANTICO_PARALELO,
+            OpcionesCompilacion.OPCION_ETAPAS + " " + OpcionesCompilacion.OPCION_CAPACIDAD_ANILLO + "2");
+
+    private static final List<String> CORRECTOS = List.of("test_completo_correcto.txt", "funcion_correcto1.txt",
+            "funcion_correcto9.txt", "recursivo_correcto2.txt", "id_locales_globales_correcto1.txt",
+            "id_locales_globales_correcto2.txt", "cadenas_correcto1.txt", "if_correcto2.txt", "while_correcto2.txt");
+
+    private static final List<String> ERRONEOS = List.of("funcion_error1.txt", "funcion_error2.txt",
+            "funcion_error5.txt", "cadenas_error1.txt", "cadenas_error2.txt", "declaracion_error2.txt",
+            "constantes_error.txt", "expresiones_error3.txt", "id_locales_globales_error1.txt",
+            "id_locales_globales_error2.txt", "recursivo_error3.txt", "recursivo_error4.txt");
+
+    @TempDir
+    Path directorio;
+
+    static Stream<Arguments> correctos() {
+        return combinar(CORRECTOS);
+    }
+
+    static Stream<Arguments> erroneos() {
+        return combinar(ERRONEOS);
+    }
+
+    private static Stream<Arguments> combinar(List<String> ficheros) {
+        return MODOS.stream().flatMap(modo -> ficheros.stream().map(fichero -> arguments(modo, fichero)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("correctos")
+    public void generaLosMismosFicheros(String modo, String fichero) throws IOException {
+        Path secuencial = directorio.resolve("secuencial");
+        Path obtenida = directorio.resolve("modo");
+        compilar(fichero, "", secuencial);
+        compilar(fichero, modo, obtenida);
+
+        for (String archivo : List.of(GestorSalida.ARCHIVO_TOKENS, GestorSalida.ARCHIVO_REGLAS,
+                GestorSalida.ARCHIVO_TS)) {
+            assertEquals(Files.readString(secuencial.resolve(archivo)), Files.readString(obtenida.resolve(archivo)),
+                    modo + ": " + archivo);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("erroneos")
+    public void lanzaElMismoError(String modo, String fichero) {
+        IllegalStateException secuencial = assertThrows(IllegalStateException.class,
+                () -> compilar(fichero, "", directorio.resolve("secuencial")));
+        IllegalStateException obtenido = assertThrows(IllegalStateException.class,
+                () -> compilar(fichero, modo, directorio.resolve("modo")));
+
+        assertEquals(secuencial.getMessage(), obtenido.getMessage(), modo);
+    }
+
+    private static void compilar(String fichero, String modo, Path salida) throws IOException {
+        OpcionesCompilacion opciones = new OpcionesCompilacion();
+        for (String opcion : modo.split(" ")) {
+            assertTrue(opcion.isEmpty() || opciones.procesarOpcion(opcion), opcion);
+        }
+
+        try (FuenteCaracteres fuente = FuenteCaracteres.abrir(Paths.get(TEST_DIR + fichero))) {
+            Analizador.procesarFichero(fuente, new SesionCompilacion(opciones), salida);
+        }
+    }
+}
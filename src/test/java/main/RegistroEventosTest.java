@@ -0,0 +1,167 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.lexico.fuente.FuenteCaracteres;
+import modulos.semantico.AnalizadorSemantico;
+
+/**
+ * Comprueba los eventos de JFR de la compilación: los contadores del fichero
+ * coinciden con sus resultados en todos los modos, las fases suman lo mismo
+ * que el fichero y sin grabación no se registra nada.
+ */
+public class RegistroEventosTest {
+
+    private static final String TEST_DIR = "src/test/java/archivosTest/";
+    private static final String FICHERO = "test_completo_correcto.txt";
+
+    @TempDir
+    Path directorio;
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "--lexico-puro", "--lexico-paralelo", "--etapas", "--salida-continua" })
+    public void registraLosContadoresDelFichero(String opcion) throws IOException {
+        OpcionesCompilacion opciones = new OpcionesCompilacion();
+        if (!opcion.isEmpty()) {
+            assertTrue(opciones.procesarOpcion(opcion));
+        }
+        List<RecordedEvent> eventos = grabar(opciones, FICHERO);
+
+        RecordedEvent fichero = filtrar(eventos, "jspdl.Fichero").get(0);
+        List<String> lineasTokens = Files.readAllLines(directorio.resolve(GestorSalida.ARCHIVO_TOKENS));
+        String[] reglas = Files.readString(directorio.resolve(GestorSalida.ARCHIVO_REGLAS)).trim().split("\\s+");
+
+        assertEquals(TEST_DIR + FICHERO, fichero.getString("fichero"));
+        assertTrue(fichero.getBoolean("correcto"));
+        assertEquals(Files.readString(Paths.get(TEST_DIR + FICHERO), Charset.defaultCharset()).length(), fichero.getLong("caracteres"));
+        assertEquals(lineasTokens.size(), fichero.getLong("tokens"));
+        // Todos los tokens se desplazan, también el fin de fichero antes de aceptar
+        assertEquals(lineasTokens.size(), fichero.getLong("desplazamientos"));
+        // La primera palabra del fichero de reglas es la cabecera
+        assertEquals(reglas.length - 1, fichero.getLong("reducciones"));
+        assertEquals(GestorSalida.contarBytes(directorio), fichero.getLong("bytes"));
+
+        long caracteres = 0;
+        long tokens = 0;
+        for (RecordedEvent fase : filtrar(eventos, "jspdl.Fase")) {
+            caracteres += fase.getLong("caracteres");
+            tokens += fase.getLong("tokens");
+        }
+        assertEquals(fichero.getLong("caracteres"), caracteres);
+        assertEquals(fichero.getLong("tokens"), tokens);
+    }
+
+    @Test
+    public void registraLasReduccionesDeCadaRegla() throws IOException {
+        List<RecordedEvent> eventos = grabar(new OpcionesCompilacion(), FICHERO);
+
+        Map<Integer, Long> esperadas = new TreeMap<>();
+        String[] reglas = Files.readString(directorio.resolve(GestorSalida.ARCHIVO_REGLAS)).trim().split("\\s+");
+        for (int i = 1; i < reglas.length; i++) {
+            esperadas.merge(Integer.valueOf(reglas[i]), 1L, Long::sum);
+        }
+        Map<Integer, Long> registradas = filtrar(eventos, "jspdl.Reducciones").stream()
+                .collect(Collectors.toMap(evento -> evento.getInt("regla"), evento -> evento.getLong("reducciones"),
+                        Long::sum, TreeMap::new));
+
+        assertEquals(esperadas, registradas);
+    }
+
+    @Test
+    public void registraLaTablaDeCadaFuncion() throws IOException {
+        List<RecordedEvent> eventos = grabar(new OpcionesCompilacion(), "funcion_correcto1.txt");
+
+        long funciones = Files.readAllLines(Paths.get(TEST_DIR + "funcion_correcto1.txt")).stream()
+                .filter(linea -> linea.trim().startsWith("function")).count();
+        assertEquals(funciones + 1, filtrar(eventos, "jspdl.Fichero").get(0).getLong("tablas"));
+    }
+
+    @Test
+    public void muestreaLasReglasSemanticas() throws IOException {
+        List<RecordedEvent> eventos = grabar(new OpcionesCompilacion(), FICHERO);
+
+        long reducciones = filtrar(eventos, "jspdl.Fichero").get(0).getLong("reducciones");
+        List<RecordedEvent> muestras = filtrar(eventos, "jspdl.ReglaSemantica");
+        assertEquals(reducciones / AnalizadorSemantico.PERIODO_MUESTREO, muestras.size());
+        for (RecordedEvent muestra : muestras) {
+            assertFalse(muestra.getString("noTerminal").isEmpty());
+        }
+    }
+
+    @Test
+    public void registraElFicheroConError() throws IOException {
+        Path jfr = directorio.resolve("eventos.jfr");
+        try (Recording grabacion = new Recording()) {
+            grabacion.enable("jspdl.Fichero");
+            grabacion.start();
+            assertThrows(IllegalStateException.class, () -> compilar(new OpcionesCompilacion(), "funcion_error1.txt"));
+            grabacion.stop();
+            grabacion.dump(jfr);
+        }
+
+        RecordedEvent fichero = filtrar(RecordingFile.readAllEvents(jfr), "jspdl.Fichero").get(0);
+        assertFalse(fichero.getBoolean("correcto"));
+    }
+
+    @Test
+    public void sinGrabacionNoSeRegistraNada() {
+        SesionCompilacion sesion = new SesionCompilacion();
+        assertFalse(sesion.getRegistroEventos().isActivo());
+    }
+
+    /**
+     * Compila un fichero de archivosTest mientras se graban los eventos de la
+     * compilación y devuelve los eventos grabados.
+     */
+    private List<RecordedEvent> grabar(OpcionesCompilacion opciones, String fichero) throws IOException {
+        Path jfr = directorio.resolve("eventos.jfr");
+        try (Recording grabacion = new Recording()) {
+            for (String evento : List.of("jspdl.Fichero", "jspdl.Fase", "jspdl.Reducciones",
+                    "jspdl.ReglaSemantica")) {
+                grabacion.enable(evento);
+            }
+            grabacion.start();
+            compilar(opciones, fichero);
+            grabacion.stop();
+            grabacion.dump(jfr);
+        }
+        return RecordingFile.readAllEvents(jfr);
+    }
+
+    private void compilar(OpcionesCompilacion opciones, String fichero) throws IOException {
+        SesionCompilacion sesion = new SesionCompilacion(opciones);
+        sesion.getRegistroEventos().setFichero(TEST_DIR + fichero);
+        try (FuenteCaracteres fuente = FuenteCaracteres.abrir(Paths.get(TEST_DIR + fichero))) {
+            Analizador.procesarFichero(fuente, sesion, directorio);
+        }
+    }
+
+    private static List<RecordedEvent> filtrar(List<RecordedEvent> eventos, String nombre) {
+        return eventos.stream()
+                .filter(evento -> evento.getEventType().getName().equals(nombre))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,156 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EmptyStackException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import modulos.SesionCompilacion;
+import modulos.lexico.fuente.FuenteSecuencia;
+import modulos.semantico.AnalizadorSemantico;
+import util.ErrorCompilacion;
+import util.GestorErrores;
+
+/**
+ * Comprueba regla a regla las acciones semánticas: cada regla de la 1 a la 46
+ * se aplica en algún programa correcto, y cada comprobación de tipos lanza el
+ * mismo error que lanzaba el analizador semántico anterior a la tabla de
+ * acciones, que es el que se espera aquí.
+ */
+public class ReglasSemanticasTest {
+
+    private static final int NUMERO_REGLAS = 46;
+
+    @TempDir
+    Path directorio;
+
+    // Regla que se comprueba y un programa correcto que la aplica
+    static Stream<Arguments> correctos() {
+        return Stream.of(
+                arguments(1, ""),
+                arguments(2, "let a int;"),
+                arguments(3, "function f void (void) { }"),
+                arguments(5, "let c boolean; if (c) put 1;"),
+                arguments(6, "let c boolean; while (c) { put 1; }"),
+                arguments(8, "let a int = 1;"),
+                arguments(9, "let a int; a = 1;"),
+                arguments(11, "let a boolean;"),
+                arguments(12, "let a string;"),
+                arguments(13, "function f int (void) { return 1; }"),
+                arguments(18, "function f int (int x) { return x; }"),
+                arguments(20, "function f int (int x, string y) { put y; return x; }"),
+                arguments(24, "let b boolean = 1 == 2;"),
+                arguments(26, "let a int; a = 1 + 2;"),
+                arguments(28, "let b boolean; let c boolean = !b;"),
+                arguments(31, "let a int; a = (1);"),
+                arguments(32, "function f int (void) { return 1; } let a int = f();"),
+                arguments(34, "let s string = \"x\";"),
+                arguments(36, "let a int; a += 1;"),
+                arguments(37, "function f void (void) { } f();"),
+                arguments(39, "let a int; get a;"),
+                arguments(41, "function f int (int x) { return x; } let a int = f(1);"),
+                arguments(43, "function f int (int x, int y) { return x; } f(1, 2);"),
+                arguments(46, "function f void (void) { return; }"));
+    }
+
+    // Regla que lanza el error, programa y mensaje esperado
+    static Stream<Arguments> erroneos() {
+        String booleano = "Error semantico: La expresion deberia ser de tipo booleano en linea ";
+        String noCoinciden = "Error semantico: Los tipos de la expresion no coinciden en linea ";
+        String noCompatible = "Error semantico: Tipo de la expresion no compatible en linea ";
+        String retorno = "Error semantico: Tipo retorno de la funcion y tipo de funcion no coinciden en linea ";
+        String tiposParametros = "Error semantico: El tipos de parametros no coinciden con los de la funcion en linea ";
+        return Stream.of(
+                arguments(5, "let a int; if (a) put 1;", booleano + 2),
+                arguments(6, "let a int; while (a) { put 1; }", booleano + 2),
+                arguments(8, "let a int = \"x\";", noCoinciden + 2),
+                arguments(13, "function f int (void) { return \"a\"; }", retorno + 2),
+                arguments(22, "function f int (void) { return 1; return 2; }", retorno + 1),
+                arguments(24, "let b boolean = \"a\" == 1;", noCoinciden + 1),
+                arguments(26, "let a int; a = 1 + \"x\";", noCoinciden + 1),
+                arguments(28, "let b boolean = !1;", noCompatible + 1),
+                arguments(31, "function f void (void) { } put (f());", noCompatible + 1),
+                arguments(32, "let a int = g();",
+                        "Error semantico: Se esta haciendo una llamada a una funcion no declarada en linea 1"),
+                arguments(32, "function f int (void) { return 1; } let a int = f(1);",
+                        "Error semantico: El numero de parametros no coinciden con los de la funcion en linea 1"),
+                arguments(32, "function f int (int x) { return x; } let a int = f(\"s\");", tiposParametros + 1),
+                arguments(35, "let a int; a = \"x\";", noCoinciden + 2),
+                arguments(36, "let a int; a += \"x\";", noCoinciden + 2),
+                arguments(37, "function f void (int x) { } f(\"s\");", tiposParametros + 2),
+                arguments(38, "let b boolean; put b;", noCompatible + 2),
+                arguments(39, "let b boolean; get b;", noCompatible + 2));
+    }
+
+    @ParameterizedTest
+    @MethodSource("correctos")
+    public void aplicaLaRegla(int regla, String programa) throws IOException {
+        assertTrue(compilar(programa).contains(regla), "regla " + regla);
+    }
+
+    @Test
+    public void losProgramasCorrectosAplicanTodasLasReglas() throws IOException {
+        Set<Integer> aplicadas = new TreeSet<>();
+        for (Arguments argumentos : correctos().collect(Collectors.toList())) {
+            aplicadas.addAll(compilar((String) argumentos.get()[1]));
+        }
+        assertEquals(IntStream.rangeClosed(1, NUMERO_REGLAS).boxed().collect(Collectors.toSet()), aplicadas);
+    }
+
+    @ParameterizedTest
+    @MethodSource("erroneos")
+    public void lanzaElErrorDeLaRegla(int regla, String programa, String mensaje) {
+        ErrorCompilacion error = assertThrows(ErrorCompilacion.class, () -> compilar(programa));
+        assertEquals(mensaje, error.getMessage(), "regla " + regla);
+    }
+
+    @Test
+    public void unaReglaFueraDeLaTablaEsUnError() {
+        AnalizadorSemantico analizador = new SesionCompilacion().getAnalizadorSemantico();
+
+        for (int regla : new int[] { -1, 0, NUMERO_REGLAS + 1 }) {
+            ErrorCompilacion error = assertThrows(ErrorCompilacion.class, () -> analizador.procesarRegla(regla));
+            assertTrue(error.getMessage().contains(GestorErrores.ERROR_REGLA_NO_IMPLEMENTADA), error.getMessage());
+        }
+    }
+
+    @Test
+    public void unaReglaSinSusTiposVaciaLaPilaComoStack() {
+        // 24: E: E1 == U desapila dos tipos
+        AnalizadorSemantico analizador = new SesionCompilacion().getAnalizadorSemantico();
+        assertThrows(EmptyStackException.class, () -> analizador.procesarRegla(24));
+    }
+
+    /**
+     * Compila un programa y devuelve las reglas que ha aplicado.
+     */
+    private Set<Integer> compilar(String programa) throws IOException {
+        // El salto de línea final fija la línea de los errores detectados al
+        // llegar al fin de fichero
+        Analizador.procesarFichero(new FuenteSecuencia(programa + "\n"), new SesionCompilacion(), directorio);
+
+        Set<Integer> reglas = new TreeSet<>();
+        for (String linea : Files.readAllLines(directorio.resolve(GestorSalida.ARCHIVO_REGLAS))) {
+            if (!linea.isEmpty() && Character.isDigit(linea.charAt(0))) {
+                reglas.add(Integer.valueOf(linea));
+            }
+        }
+        return reglas;
+    }
+}
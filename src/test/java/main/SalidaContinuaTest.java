@@ -0,0 +1,46 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.lexico.fuente.FuenteCaracteres;
+
+/**
+ * Comprueba que la salida continua conserva lo generado hasta un error. Que
+ * genera los mismos ficheros que la salida que se escribe al final del
+ * análisis lo comprueba ModosCompilacionTest.
+ */
+public class SalidaContinuaTest {
+
+    private static final String TEST_DIR = "src/test/java/archivosTest/";
+
+    @TempDir
+    Path directorio;
+
+    @ParameterizedTest
+    @ValueSource(strings = { "funcion_error1.txt" })
+    public void conservaLoGeneradoHastaElError(String fichero) throws IOException {
+        OpcionesCompilacion opciones = new OpcionesCompilacion();
+        opciones.setSalidaContinua(true);
+
+        assertThrows(IllegalStateException.class, () -> {
+            try (FuenteCaracteres fuente = FuenteCaracteres.abrir(Paths.get(TEST_DIR + fichero))) {
+                Analizador.procesarFichero(fuente, new SesionCompilacion(opciones), directorio);
+            }
+        });
+
+        String tokens = Files.readString(directorio.resolve(GestorSalida.ARCHIVO_TOKENS));
+        assertTrue(tokens.startsWith("<"), tokens);
+    }
+}
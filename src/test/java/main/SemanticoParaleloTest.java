@@ -0,0 +1,128 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import modulos.OpcionesCompilacion;
+import modulos.SesionCompilacion;
+import modulos.lexico.fuente.FuenteCaracteres;
+import modulos.lexico.fuente.FuenteSecuencia;
+import util.ErrorCompilacion;
+
+/**
+ * Comprueba que comprobar los cuerpos de las funciones en paralelo genera los
+ * mismos ficheros y el mismo primer error que el análisis secuencial en los
+ * casos propios del modo: muchas funciones, errores dentro y fuera de los
+ * cuerpos, returns condicionales y la vuelta al análisis secuencial. Los
+ * ficheros de prueba los compara ModosCompilacionTest.
+ */
+public class SemanticoParaleloTest {
+
+    private static final List<String> ARCHIVOS = List.of(GestorSalida.ARCHIVO_TOKENS, GestorSalida.ARCHIVO_REGLAS,
+            GestorSalida.ARCHIVO_TS);
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    public void compruebaLasFuncionesDeUnModuloGrande() throws IOException {
+        StringBuilder programa = new StringBuilder("let total int;\nlet activo boolean;\n");
+        for (int i = 0; i < 500; i++) {
+            programa.append("function f").append(i).append(" int (int a, boolean b) {\n")
+                    .append("    let x int = a + total;\n")
+                    .append("    while (b) { x = x + 1; b = !b; }\n")
+                    .append("    if (activo) return x;\n");
+            if (i > 0) {
+                programa.append("    x = f").append(i - 1).append("(x, b);\n");
+            }
+            programa.append("    return x;\n}\n")
+                    .append("let g").append(i).append(" int = f").append(i).append("(").append(i)
+                    .append(", activo);\n");
+        }
+
+        mismosFicheros(programa.toString());
+    }
+
+    @Test
+    public void elPrimerErrorEsElDeLaFuente() {
+        // Error en el cuerpo de la segunda función, antes que el de fuera
+        String cuerpo = "function f int (void) { return 1; }\n"
+                + "function g int (void) { return \"a\"; }\n"
+                + "let x int = \"b\";\n";
+        assertTrue(mismoError(cuerpo).contains("Tipo retorno de la funcion"));
+
+        // Error fuera de las funciones, antes que el de un cuerpo
+        String cabecera = "let x int = \"b\";\n"
+                + "function g int (void) { return \"a\"; }\n";
+        assertTrue(mismoError(cabecera).contains("Los tipos de la expresion"));
+    }
+
+    @Test
+    public void elReturnCondicionalPasaDeUnaFuncionALaSiguiente() throws IOException {
+        // El tipo del último return dentro de un if se usa al comprobar las
+        // funciones siguientes, tanto si el if está en un cuerpo como fuera
+        mismosFicheros("let c boolean;\n"
+                + "function f int (void) { if (c) return 1; return 2; }\n"
+                + "function g int (void) { return \"a\"; }\n");
+        mismosFicheros("let c boolean;\n"
+                + "function f int (void) { return 2; }\n"
+                + "if (c) return 1;\n"
+                + "function g int (void) { return \"a\"; }\n");
+
+        String error = mismoError("let c boolean;\n"
+                + "function f int (void) { if (c) return 1; return 2; }\n"
+                + "if (c) return \"b\";\n"
+                + "function g int (void) { return \"a\"; }\n");
+        assertTrue(error.contains("Tipo retorno de la funcion"));
+    }
+
+    @Test
+    public void vuelveAlAnalisisSecuencialSiUnCuerpoNoEsIndependiente() throws IOException {
+        // El identificador que sigue a la función se resuelve con la tabla de
+        // la función todavía abierta, así que el cuerpo no se puede separar
+        mismosFicheros("function f string (void) { }\n"
+                + "x = 1;\n"
+                + "let y int = x;\n");
+    }
+
+    private void mismosFicheros(String programa) throws IOException {
+        Path secuencial = directorio.resolve("secuencial");
+        Path paralelo = directorio.resolve("paralelo");
+        compilar(new FuenteSecuencia(programa), false, secuencial);
+        compilar(new FuenteSecuencia(programa), true, paralelo);
+
+        for (String archivo : ARCHIVOS) {
+            assertEquals(Files.readString(secuencial.resolve(archivo)), Files.readString(paralelo.resolve(archivo)),
+                    archivo);
+        }
+    }
+
+    private String mismoError(String programa) {
+        IllegalStateException secuencial = assertThrows(IllegalStateException.class,
+                () -> compilar(new FuenteSecuencia(programa), false, directorio.resolve("secuencial")));
+        // Solo los errores del fichero salen como ErrorCompilacion
+        ErrorCompilacion paralelo = assertThrows(ErrorCompilacion.class,
+                () -> compilar(new FuenteSecuencia(programa), true, directorio.resolve("paralelo")));
+        assertEquals(secuencial.getMessage(), paralelo.getMessage());
+        return paralelo.getMessage();
+    }
+
+    private static void compilar(FuenteCaracteres fuente, boolean semanticoParalelo, Path salida)
+            throws IOException {
+        OpcionesCompilacion opciones = new OpcionesCompilacion();
+        opciones.setSemanticoParalelo(semanticoParalelo);
+
+        try (fuente) {
+            Analizador.procesarFichero(fuente, new SesionCompilacion(opciones), salida);
+        }
+    }
+}
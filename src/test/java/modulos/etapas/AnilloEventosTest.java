@@ -0,0 +1,79 @@
+package modulos.etapas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Comprueba que AnilloEventos entrega los eventos de un hilo a otro en orden,
+ * con cualquier capacidad y estrategia de espera.
+ */
+public class AnilloEventosTest {
+
+    private static final int EVENTOS = 100_000;
+
+    @Test
+    public void entregaLosEventosEnOrden() throws InterruptedException {
+        for (EstrategiaEspera estrategia : EstrategiaEspera.values()) {
+            AnilloEventos anillo = new AnilloEventos(3, estrategia);
+            assertEquals(4, anillo.getCapacidad());
+
+            Thread productor = new Thread(() -> {
+                for (int i = 0; i < EVENTOS; i++) {
+                    anillo.publicar(0, i, -i, i * 2, i + 1, i % 7 == 0 ? Integer.toString(i) : null);
+                }
+                anillo.publicarFin();
+            });
+            productor.start();
+
+            for (int i = 0; i < EVENTOS; i++) {
+                int evento = anillo.siguiente();
+                assertEquals(i, anillo.getTerminal(evento));
+                assertEquals(-i, anillo.getAtributo(evento));
+                assertEquals(i * 2, anillo.getDesplazamiento(evento));
+                assertEquals(i + 1, anillo.getLinea(evento));
+                assertEquals(i % 7 == 0 ? Integer.toString(i) : null, anillo.getObjeto(evento));
+                anillo.liberar();
+            }
+            assertEquals(AnilloEventos.EVENTO_FIN, anillo.getTipo(anillo.siguiente()));
+            productor.join();
+            assertEquals(EVENTOS + 1, anillo.getEventosPublicados());
+        }
+    }
+
+    @Test
+    public void cancelarDetieneAlProductorQueEspera() throws InterruptedException {
+        AnilloEventos anillo = new AnilloEventos(2, EstrategiaEspera.DORMIR);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Thread productor = new Thread(() -> {
+            try {
+                while (true) {
+                    anillo.publicarRegla(1);
+                }
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        });
+        productor.start();
+        while (anillo.getEsperasProductor() == 0 && productor.isAlive()) {
+            Thread.yield();
+        }
+        anillo.cancelar();
+        productor.join();
+
+        assertTrue(error.get() instanceof CancellationException, String.valueOf(error.get()));
+    }
+
+    @Test
+    public void rechazaCapacidadesNoValidas() {
+        assertThrows(IllegalArgumentException.class, () -> new AnilloEventos(0, EstrategiaEspera.ACTIVA));
+        assertEquals(1, new AnilloEventos(1, EstrategiaEspera.ACTIVA).getCapacidad());
+        assertEquals(1024, new AnilloEventos(1000, EstrategiaEspera.ACTIVA).getCapacidad());
+    }
+}
@@ -0,0 +1,98 @@
+package modulos.lexico;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+import modulos.SesionCompilacion;
+import modulos.lexico.fuente.FuenteCaracteres;
+import modulos.lexico.fuente.FuenteSecuencia;
+import modulos.token.Token;
+
+/**
+ * Benchmark de memoria del analizador léxico: comprueba que los bytes
+ * reservados por token no crecen con la longitud de los lexemas ni con el
+ * tamaño de la entrada.
+ */
+public class AnalizadorLexicoMemoriaTest {
+
+    // Margen admitido entre dos mediciones de bytes por token
+    private static final double TOLERANCIA = 1.25;
+
+    private static final int REPETICIONES = 2_000;
+
+    @Test
+    public void bytesPorTokenNoDependenDeLaLongitudDelLexema() throws IOException {
+        medirBytesPorToken(generarPrograma(REPETICIONES, 16));
+
+        double lexemasCortos = medirBytesPorToken(generarPrograma(REPETICIONES, 16));
+        double lexemasLargos = medirBytesPorToken(generarPrograma(REPETICIONES, 1024));
+
+        assertTrue(lexemasLargos <= lexemasCortos * TOLERANCIA,
+                "Bytes por token con lexemas cortos: " + lexemasCortos + ", con lexemas largos: " + lexemasLargos);
+    }
+
+    @Test
+    public void bytesPorTokenNoDependenDelTamanoDeLaEntrada() throws IOException {
+        medirBytesPorToken(generarPrograma(REPETICIONES, 64));
+
+        double entradaPequena = medirBytesPorToken(generarPrograma(REPETICIONES, 64));
+        double entradaGrande = medirBytesPorToken(generarPrograma(REPETICIONES * 8, 64));
+
+        assertTrue(entradaGrande <= entradaPequena * TOLERANCIA,
+                "Bytes por token con entrada pequeña: " + entradaPequena + ", con entrada grande: " + entradaGrande);
+    }
+
+    /**
+     * Genera un programa con líneas de cinco tokens seguidas de un comentario de
+     * la longitud indicada.
+     *
+     * @param lineas              Número de líneas del programa.
+     * @param longitudComentario  Número de caracteres de cada comentario.
+     * @return El texto del programa.
+     */
+    private static String generarPrograma(int lineas, int longitudComentario) {
+        String comentario = "//" + "c".repeat(longitudComentario) + "\n";
+        StringBuilder programa = new StringBuilder();
+        for (int i = 0; i < lineas; i++) {
+            programa.append("put 12345 + 678;").append(comentario);
+        }
+        return programa.toString();
+    }
+
+    /**
+     * Analiza léxicamente el programa y mide los bytes reservados por el hilo
+     * actual divididos entre el número de tokens generados.
+     *
+     * @param programa El texto del programa.
+     * @return Bytes reservados por token.
+     * @throws IOException Si ocurre un error de lectura.
+     */
+    private static double medirBytesPorToken(String programa) throws IOException {
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long idHilo = Thread.currentThread().getId();
+
+        AnalizadorLexico analizadorLexico = new SesionCompilacion().getAnalizadorLexico();
+        FuenteCaracteres fuente = new FuenteSecuencia(programa);
+        long tokens = 0;
+
+        long inicio = hilos.getThreadAllocatedBytes(idHilo);
+        int caracter;
+        do {
+            caracter = fuente.leer();
+            do {
+                Token token = analizadorLexico.procesarCaracter(caracter);
+                if (token != null) {
+                    tokens++;
+                }
+            } while (!analizadorLexico.isCaracterProcesado());
+        } while (caracter != FuenteCaracteres.FIN_DE_FICHERO);
+        long fin = hilos.getThreadAllocatedBytes(idHilo);
+
+        return (double) (fin - inicio) / tokens;
+    }
+}
@@ -0,0 +1,54 @@
+package modulos.lexico;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import modulos.SesionCompilacion;
+import modulos.lexico.fuente.FuenteCaracteres;
+
+/**
+ * Comprueba que GestorEstadosTabla produce exactamente las mismas transiciones
+ * que GestorEstados para todos los caracteres desde cada estado de tránsito.
+ */
+public class GestorEstadosTablaTest {
+
+    private static final int ULTIMO_CARACTER = Character.MAX_VALUE;
+
+    private final SesionCompilacion sesion = new SesionCompilacion();
+
+    /**
+     * Lleva ambos autómatas al estado que deja el prefijo y compara el resultado
+     * de procesar a continuación cada carácter posible y el fin de fichero.
+     *
+     * @param prefijo Caracteres que llevan al estado de tránsito a probar.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = { "", "/", "//", "//x", "=", "+", "a", "if", "_1", "1", "\"", "\"x" })
+    public void mismasTransicionesQueGestorEstados(String prefijo) {
+        for (int caracter = FuenteCaracteres.FIN_DE_FICHERO; caracter <= ULTIMO_CARACTER; caracter++) {
+            assertEquals(procesar(new GestorEstados(sesion), prefijo, caracter),
+                    procesar(new GestorEstadosTabla(sesion), prefijo, caracter),
+                    "Prefijo \"" + prefijo + "\", caracter " + caracter);
+        }
+    }
+
+    /**
+     * Procesa el prefijo y el carácter indicado y describe el estado resultante
+     * o el error producido.
+     */
+    private static String procesar(AutomataLexico automata, String prefijo, int caracter) {
+        Lexema lexema = new Lexema();
+        try {
+            for (int i = 0; i < prefijo.length(); i++) {
+                automata.actualizarEstado(prefijo.charAt(i), lexema);
+                lexema.agregar(prefijo.charAt(i));
+            }
+            automata.actualizarEstado(caracter, lexema);
+            return automata.getEstadoTransito() + " " + automata.getEstadoFinal();
+        } catch (IllegalStateException e) {
+            return e.getMessage();
+        }
+    }
+}
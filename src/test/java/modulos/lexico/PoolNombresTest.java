@@ -0,0 +1,103 @@
+package modulos.lexico;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+import modulos.token.BufferTokens;
+import modulos.token.TipoToken;
+
+/**
+ * Comprueba que PoolNombres devuelve el mismo índice y la misma instancia para
+ * un mismo texto, venga de un tramo de caracteres o de un String, y que
+ * internar un texto que ya está no reserva memoria.
+ */
+public class PoolNombresTest {
+
+    private static final int REPETICIONES = 100_000;
+
+    @Test
+    public void unMismoTextoTieneUnSoloIndice() {
+        PoolNombres pool = new PoolNombres();
+        char[] fuente = "xx contador x contador".toCharArray();
+
+        int contador = pool.internar(fuente, 3, 8);
+        int x = pool.internar(fuente, 12, 1);
+
+        assertEquals(contador, pool.internar(fuente, 14, 8));
+        assertEquals(contador, pool.internar("contador"));
+        assertEquals(x, pool.internar(fuente, 0, 1));
+        assertEquals(pool.internar(fuente, 0, 2), pool.internar("xx"));
+        assertEquals(3, pool.size());
+
+        // Cada texto es siempre la misma instancia dentro del pool
+        assertEquals("contador", pool.getNombre(contador));
+        assertSame(pool.getNombre(contador), pool.getNombre(pool.internar("contador".toCharArray(), 0, 8)));
+        assertEquals("x", pool.getNombre(x));
+    }
+
+    @Test
+    public void buscarNoAgregaElTexto() {
+        PoolNombres pool = new PoolNombres();
+        int contador = pool.internar("contador");
+
+        assertEquals(contador, pool.buscar(new String("contador")));
+        assertEquals(PoolNombres.SIN_NOMBRE, pool.buscar("x"));
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void conservaLosIndicesAlCrecer() {
+        PoolNombres pool = new PoolNombres();
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, pool.internar("v" + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            char[] nombre = ("v" + i).toCharArray();
+            assertEquals(i, pool.internar(nombre, 0, nombre.length));
+            assertEquals("v" + i, pool.getNombre(i));
+        }
+        assertEquals(10_000, pool.size());
+    }
+
+    @Test
+    public void lasCadenasRepetidasCompartenSuTexto() {
+        BufferTokens tokens = new BufferTokens();
+        char[] cadena = "\"hola".toCharArray();
+        int primera = tokens.agregarTexto(TipoToken.CADENA, 0, cadena, 0, cadena.length, 0);
+        int segunda = tokens.agregarTexto(TipoToken.CADENA, 0, cadena, 0, cadena.length, 10);
+
+        assertEquals(tokens.getAtributo(primera), tokens.getAtributo(segunda));
+        assertSame(tokens.getTexto(primera), tokens.getTexto(segunda));
+    }
+
+    @Test
+    public void internarUnTextoExistenteNoReservaMemoria() {
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long idHilo = Thread.currentThread().getId();
+
+        PoolNombres pool = new PoolNombres();
+        char[] fuente = "let contador int; contador = contador + 1;".toCharArray();
+        pool.internar(fuente, 0, 3);
+        int indice = pool.internar(fuente, 4, 8);
+        int suma = 0;
+        for (int i = 0; i < REPETICIONES; i++) {
+            suma += pool.internar(fuente, 18, 8);
+        }
+
+        long inicio = hilos.getThreadAllocatedBytes(idHilo);
+        for (int i = 0; i < REPETICIONES; i++) {
+            suma += pool.internar(fuente, 29, 8);
+        }
+        long fin = hilos.getThreadAllocatedBytes(idHilo);
+
+        assertEquals(2 * REPETICIONES * indice, suma);
+        assertTrue((double) (fin - inicio) / REPETICIONES < 1.0,
+                "Bytes reservados en " + REPETICIONES + " búsquedas: " + (fin - inicio));
+    }
+}
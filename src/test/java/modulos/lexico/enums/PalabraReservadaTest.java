@@ -0,0 +1,71 @@
+package modulos.lexico.enums;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Comprueba que PalabraReservada.buscar reconoce las mismas palabras que una
+ * comparación con equalsIgnoreCase y detecta las que no están en minúsculas.
+ */
+public class PalabraReservadaTest {
+
+    @Test
+    public void reconoceLasPalabrasEnMinusculas() {
+        for (PalabraReservada palabra : PalabraReservada.values()) {
+            char[] texto = palabra.name().toLowerCase().toCharArray();
+            int codigo = PalabraReservada.buscar(texto, 0, texto.length);
+
+            assertEquals(palabra, PalabraReservada.desdeCodigo(codigo));
+            assertEquals(true, PalabraReservada.esMinusculas(codigo));
+        }
+    }
+
+    @Test
+    public void mismoResultadoQueEqualsIgnoreCase() {
+        for (PalabraReservada palabra : PalabraReservada.values()) {
+            String nombre = palabra.name().toLowerCase();
+            for (int posicion = 0; posicion < nombre.length(); posicion++) {
+                for (int caracter = 0; caracter <= Character.MAX_VALUE; caracter++) {
+                    char[] texto = nombre.toCharArray();
+                    texto[posicion] = (char) caracter;
+                    comprobar(new String(texto));
+                }
+            }
+            comprobar(nombre.substring(1));
+            comprobar(nombre + "s");
+        }
+    }
+
+    @Test
+    public void buscaDentroDeUnBuffer() {
+        char[] buffer = "xxWhiLexx".toCharArray();
+        int codigo = PalabraReservada.buscar(buffer, 2, 5);
+
+        assertEquals(PalabraReservada.WHILE, PalabraReservada.desdeCodigo(codigo));
+        assertEquals(false, PalabraReservada.esMinusculas(codigo));
+        assertEquals(PalabraReservada.NINGUNA, PalabraReservada.buscar(buffer, 1, 5));
+    }
+
+    /**
+     * Compara buscar con equalsIgnoreCase y la comprobación de minúsculas con
+     * Character.isLowerCase para un texto.
+     */
+    private static void comprobar(String texto) {
+        PalabraReservada esperada = null;
+        for (PalabraReservada palabra : PalabraReservada.values()) {
+            if (palabra.name().equalsIgnoreCase(texto)) {
+                esperada = palabra;
+            }
+        }
+
+        int codigo = PalabraReservada.buscar(texto.toCharArray(), 0, texto.length());
+        if (esperada == null) {
+            assertEquals(PalabraReservada.NINGUNA, codigo, texto);
+        } else {
+            assertEquals(esperada, PalabraReservada.desdeCodigo(codigo), texto);
+            assertEquals(texto.chars().allMatch(Character::isLowerCase), PalabraReservada.esMinusculas(codigo),
+                    texto);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package modulos.lexico.fuente;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Comprueba que FuenteBuffer devuelve todos los caracteres del Reader aunque
+ * ocupen varios bloques, que sustituye los bytes mal formados y que el fin de
+ * fichero se repite.
+ */
+public class FuenteBufferTest {
+
+    // Tamaño del bloque de lectura de FuenteBuffer
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    @Test
+    public void elFinDeFicheroSeRepite() throws IOException {
+        try (FuenteBuffer fuente = new FuenteBuffer(new StringReader("ab"))) {
+            assertEquals('a', fuente.leer());
+            assertEquals('b', fuente.leer());
+            for (int i = 0; i < 3; i++) {
+                assertEquals(FuenteCaracteres.FIN_DE_FICHERO, fuente.leer());
+            }
+        }
+        try (FuenteBuffer fuente = new FuenteBuffer(new StringReader(""))) {
+            assertEquals(FuenteCaracteres.FIN_DE_FICHERO, fuente.leer());
+            assertEquals(FuenteCaracteres.FIN_DE_FICHERO, fuente.leer());
+        }
+    }
+
+    @Test
+    public void recomponeLosCaracteresPartidosEntreBloques() throws IOException {
+        // El par suplente de 𝄞 queda partido entre el primer bloque y el
+        // segundo, y los bytes de ñ entre lecturas del InputStreamReader
+        String texto = "x".repeat(TAMANO_BUFFER - 1) + "𝄞" + "ñ".repeat(TAMANO_BUFFER) + "z";
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+
+        try (FuenteBuffer fuente = new FuenteBuffer(
+                new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8))) {
+            assertEquals(texto, FuenteMapeadaTest.leerTodo(fuente));
+        }
+    }
+
+    @Test
+    public void sustituyeLosBytesMalFormados() throws IOException {
+        byte[] bytes = { 'a', (byte) 0xFF, 'b', (byte) 0xC3 };
+
+        try (FuenteBuffer fuente = new FuenteBuffer(
+                new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8))) {
+            assertEquals("a�b�", FuenteMapeadaTest.leerTodo(fuente));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package modulos.lexico.fuente;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Comprueba que FuenteCaracteres.abrir mapea en memoria los ficheros a partir
+ * de UMBRAL_MAPEO bytes y lee el resto con un buffer, con el mismo contenido.
+ */
+public class FuenteCaracteresTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    public void eligeLaFuenteSegunElTamano() throws IOException {
+        Path pequeno = escribir("pequeno.txt", FuenteCaracteres.UMBRAL_MAPEO - 1);
+        Path grande = escribir("grande.txt", FuenteCaracteres.UMBRAL_MAPEO);
+
+        try (FuenteCaracteres fuente = FuenteCaracteres.abrir(pequeno)) {
+            assertTrue(fuente instanceof FuenteBuffer, fuente.getClass().getName());
+            assertEquals(Files.readString(pequeno), FuenteMapeadaTest.leerTodo(fuente));
+        }
+        try (FuenteCaracteres fuente = FuenteCaracteres.abrir(grande)) {
+            assertTrue(fuente instanceof FuenteMapeada, fuente.getClass().getName());
+            assertEquals(Files.readString(grande), FuenteMapeadaTest.leerTodo(fuente));
+        }
+    }
+
+    /**
+     * Escribe un fichero ASCII del tamaño indicado, igual en cualquier
+     * codificación por defecto.
+     */
+    private Path escribir(String nombre, long tamano) throws IOException {
+        byte[] bytes = new byte[(int) tamano];
+        Arrays.fill(bytes, (byte) 'a');
+        for (int i = 79; i < bytes.length; i += 80) {
+            bytes[i] = '\n';
+        }
+        return Files.write(directorio.resolve(nombre), bytes);
+    }
+}
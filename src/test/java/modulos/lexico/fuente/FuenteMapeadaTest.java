@@ -0,0 +1,99 @@
+package modulos.lexico.fuente;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Comprueba que FuenteMapeada decodifica el fichero completo aunque los
+ * caracteres queden partidos entre ventanas o entre bloques decodificados,
+ * que sustituye los bytes mal formados y que el fin de fichero se repite.
+ */
+public class FuenteMapeadaTest {
+
+    // Caracteres de uno a cuatro bytes en UTF-8
+    private static final String TEXTO = "let s string = \"año €uro 𝄞\";\n";
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    public void elFinDeFicheroSeRepite() throws IOException {
+        Path fichero = directorio.resolve("fuente.txt");
+        Files.writeString(fichero, "ab");
+
+        try (FuenteMapeada fuente = new FuenteMapeada(fichero, StandardCharsets.UTF_8)) {
+            assertEquals('a', fuente.leer());
+            assertEquals('b', fuente.leer());
+            for (int i = 0; i < 3; i++) {
+                assertEquals(FuenteCaracteres.FIN_DE_FICHERO, fuente.leer());
+            }
+        }
+    }
+
+    @Test
+    public void unFicheroVacioSoloTieneElFinDeFichero() throws IOException {
+        Path fichero = Files.createFile(directorio.resolve("vacio.txt"));
+
+        try (FuenteMapeada fuente = new FuenteMapeada(fichero, StandardCharsets.UTF_8)) {
+            assertEquals(FuenteCaracteres.FIN_DE_FICHERO, fuente.leer());
+            assertEquals(FuenteCaracteres.FIN_DE_FICHERO, fuente.leer());
+        }
+    }
+
+    @Test
+    public void recomponeLosCaracteresPartidosEntreVentanas() throws IOException {
+        Path fichero = directorio.resolve("fuente.txt");
+        String texto = TEXTO.repeat(50);
+        Files.writeString(fichero, texto, StandardCharsets.UTF_8);
+
+        // Con ventanas de 4 a 7 bytes, cada carácter multibyte queda partido
+        // en alguna de ellas
+        for (int tamanoVentana = 4; tamanoVentana <= 7; tamanoVentana++) {
+            try (FuenteMapeada fuente = new FuenteMapeada(fichero, StandardCharsets.UTF_8, tamanoVentana)) {
+                assertEquals(texto, leerTodo(fuente), "ventana de " + tamanoVentana);
+            }
+        }
+    }
+
+    @Test
+    public void recomponeLosCaracteresPartidosEntreBloques() throws IOException {
+        // Varios bloques de caracteres decodificados: los caracteres que no
+        // caben enteros al final de un bloque pasan al siguiente
+        Path fichero = directorio.resolve("fuente.txt");
+        String texto = "x" + TEXTO.repeat(5000);
+        Files.writeString(fichero, texto, StandardCharsets.UTF_8);
+
+        try (FuenteMapeada fuente = new FuenteMapeada(fichero, StandardCharsets.UTF_8)) {
+            assertEquals(texto, leerTodo(fuente));
+        }
+    }
+
+    @Test
+    public void sustituyeLosBytesMalFormados() throws IOException {
+        Path fichero = directorio.resolve("fuente.txt");
+        // 0xFF no es válido en UTF-8 y 0xC3 empieza un carácter que no termina
+        Files.write(fichero, new byte[] { 'a', (byte) 0xFF, 'b', (byte) 0xC3 });
+
+        for (long tamanoVentana : new long[] { 4, 2 }) {
+            try (FuenteMapeada fuente = new FuenteMapeada(fichero, StandardCharsets.UTF_8, tamanoVentana)) {
+                assertEquals("a�b�", leerTodo(fuente), "ventana de " + tamanoVentana);
+            }
+        }
+    }
+
+    static String leerTodo(FuenteCaracteres fuente) throws IOException {
+        StringBuilder leido = new StringBuilder();
+        int caracter;
+        while ((caracter = fuente.leer()) != FuenteCaracteres.FIN_DE_FICHERO) {
+            leido.append((char) caracter);
+        }
+        return leido.toString();
+    }
+}
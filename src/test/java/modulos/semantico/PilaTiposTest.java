@@ -0,0 +1,73 @@
+package modulos.semantico;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.EmptyStackException;
+
+import org.junit.jupiter.api.Test;
+
+import modulos.tablaSimbolos.enums.Tipo;
+
+/**
+ * Comprueba la pila de tipos del analizador semántico: que crece sin perder
+ * los tipos, que vacía se comporta como Stack y que la ausencia de tipo no
+ * pertenece a ninguna máscara.
+ */
+public class PilaTiposTest {
+
+    private static final byte[] CODIGOS = { PilaTipos.SIN_TIPO, PilaTipos.BOOLEAN, PilaTipos.FUNCTION,
+            PilaTipos.INT, PilaTipos.STRING, PilaTipos.VOID, PilaTipos.OK };
+
+    @Test
+    public void creceSinPerderLosTipos() {
+        PilaTipos pila = new PilaTipos();
+        int numTipos = 1000;
+        for (int i = 0; i < numTipos; i++) {
+            pila.apilar(CODIGOS[i % CODIGOS.length]);
+            assertEquals(i + 1, pila.size());
+            assertEquals(CODIGOS[i % CODIGOS.length], pila.cima());
+        }
+
+        for (int i = numTipos - 1; i >= 0; i--) {
+            assertEquals(CODIGOS[i % CODIGOS.length], pila.desapilar());
+        }
+        assertEquals(0, pila.size());
+    }
+
+    @Test
+    public void vaciaLanzaEmptyStackException() {
+        PilaTipos pila = new PilaTipos();
+        assertThrows(EmptyStackException.class, pila::desapilar);
+        assertThrows(EmptyStackException.class, pila::cima);
+
+        pila.apilar(PilaTipos.INT);
+        pila.desapilar();
+        assertThrows(EmptyStackException.class, pila::desapilar);
+        assertThrows(EmptyStackException.class, pila::cima);
+        assertEquals(0, pila.size());
+    }
+
+    @Test
+    public void sinTipoNoPerteneceANingunaMascara() {
+        int todos = 0;
+        for (Tipo tipo : Tipo.values()) {
+            int mascara = PilaTipos.mascara(PilaTipos.codificar(tipo));
+            assertEquals(0, mascara & PilaTipos.mascara(PilaTipos.SIN_TIPO), tipo.name());
+            assertEquals(0, mascara & todos, tipo.name());
+            todos |= mascara;
+        }
+        assertEquals(0, todos & PilaTipos.mascara(PilaTipos.SIN_TIPO));
+    }
+
+    @Test
+    public void codificaLosTiposComoSusOrdinales() {
+        for (Tipo tipo : Tipo.values()) {
+            assertEquals(tipo.ordinal(), PilaTipos.codificar(tipo));
+            assertEquals(tipo, PilaTipos.decodificar(PilaTipos.codificar(tipo)));
+        }
+        assertEquals(PilaTipos.SIN_TIPO, PilaTipos.codificar(null));
+        assertNull(PilaTipos.decodificar(PilaTipos.SIN_TIPO));
+    }
+}
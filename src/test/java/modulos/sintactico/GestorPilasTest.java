@@ -0,0 +1,36 @@
+package modulos.sintactico;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Comprueba la pila de estados del analizador sintáctico.
+ */
+public class GestorPilasTest {
+
+    @Test
+    public void empiezaEnElEstadoInicial() {
+        GestorPilas pilas = new GestorPilas();
+
+        assertEquals(1, pilas.size());
+        assertEquals(0, pilas.getCima());
+    }
+
+    @Test
+    public void creceYDesapilaVariosEstadosDeUnaVez() {
+        GestorPilas pilas = new GestorPilas();
+        for (int estado = 1; estado <= 1000; estado++) {
+            pilas.apilar(estado);
+        }
+        assertEquals(1001, pilas.size());
+        assertEquals(1000, pilas.getCima());
+
+        pilas.desapilar(3);
+        assertEquals(997, pilas.getCima());
+
+        pilas.apilar(5);
+        assertEquals(5, pilas.getCima());
+        assertEquals(999, pilas.size());
+    }
+}
@@ -0,0 +1,104 @@
+package modulos.sintactico;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import util.ErrorCompilacion;
+import util.GestorErrores;
+
+/**
+ * Comprueba la carga de las tablas de la gramática desde los recursos: un
+ * recurso truncado o dañado se informa con su causa y no como gramática no
+ * encontrada.
+ */
+public class ParserGramaticaTest {
+
+    private static final String GRAMATICA = "src/main/resources/gramatica.output";
+
+    @Test
+    public void cargaLasTablasPrecompiladas() throws IOException {
+        byte[] tablas = tablasPrecompiladas();
+        TablasLR cargadas = ParserGramatica.cargarTablas(recursos(Map.of("/gramatica.tablas", tablas)));
+        assertEquals(generar().getNumEstados(), cargadas.getNumEstados());
+    }
+
+    @Test
+    public void sinTablasLasGeneraDeLaGramatica() throws IOException {
+        byte[] gramatica = Files.readAllBytes(Paths.get(GRAMATICA));
+        TablasLR cargadas = ParserGramatica.cargarTablas(recursos(Map.of("/gramatica.output", gramatica)));
+        assertEquals(generar().getNumEstados(), cargadas.getNumEstados());
+    }
+
+    @Test
+    public void tablasTruncadasNoSeInformanComoNoEncontradas() throws IOException {
+        byte[] tablas = tablasPrecompiladas();
+        byte[] truncadas = Arrays.copyOf(tablas, tablas.length / 2);
+
+        UncheckedIOException error = assertThrows(UncheckedIOException.class,
+                () -> ParserGramatica.cargarTablas(recursos(Map.of("/gramatica.tablas", truncadas))));
+        assertEquals(GestorErrores.ARCHIVO_GRAMATICA_NO_VALIDO + "/gramatica.tablas", error.getMessage());
+        assertTrue(error.getCause() instanceof EOFException, String.valueOf(error.getCause()));
+    }
+
+    @Test
+    public void tablasDanadasConservanLaCausa() {
+        byte[] danadas = "no son tablas".getBytes(StandardCharsets.UTF_8);
+
+        UncheckedIOException error = assertThrows(UncheckedIOException.class,
+                () -> ParserGramatica.cargarTablas(recursos(Map.of("/gramatica.tablas", danadas))));
+        assertEquals(GestorErrores.ARCHIVO_GRAMATICA_NO_VALIDO + "/gramatica.tablas", error.getMessage());
+        assertTrue(error.getCause().getMessage().contains("no valido"), error.getCause().getMessage());
+    }
+
+    @Test
+    public void sinRecursosLaGramaticaNoSeEncuentra() {
+        ErrorCompilacion error = assertThrows(ErrorCompilacion.class,
+                () -> ParserGramatica.cargarTablas(recursos(Map.of())));
+        assertTrue(error.getMessage().contains(GestorErrores.ARCHIVO_GRAMATICA_NO_ENCONTRADO), error.getMessage());
+    }
+
+    @Test
+    public void lasTablasCargadasCoincidenConLasGeneradas() throws IOException {
+        byte[] tablas = tablasPrecompiladas();
+        ByteArrayOutputStream releidas = new ByteArrayOutputStream();
+        ParserGramatica.cargarTablas(recursos(Map.of("/gramatica.tablas", tablas))).escribir(releidas);
+        assertArrayEquals(tablas, releidas.toByteArray());
+    }
+
+    /**
+     * Recursos en memoria; los que no están en el mapa no existen.
+     */
+    private static Function<String, InputStream> recursos(Map<String, byte[]> contenidos) {
+        return nombre -> contenidos.containsKey(nombre) ? new ByteArrayInputStream(contenidos.get(nombre)) : null;
+    }
+
+    private static byte[] tablasPrecompiladas() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        generar().escribir(salida);
+        return salida.toByteArray();
+    }
+
+    private static TablasLR generar() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(GRAMATICA))) {
+            return GeneradorTablasLR.generar(reader);
+        }
+    }
+}
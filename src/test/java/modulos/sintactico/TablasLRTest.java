@@ -0,0 +1,89 @@
+package modulos.sintactico;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Comprueba las tablas LR generadas a partir de gramatica.output y su
+ * escritura y lectura en formato binario.
+ */
+public class TablasLRTest {
+
+    private static final String GRAMATICA = "src/main/resources/gramatica.output";
+
+    @Test
+    public void accionesDelEstadoInicial() throws IOException {
+        TablasLR tablas = generar();
+        int id = tablas.getIndiceTerminal("ID");
+        int p = tablas.getIndiceNoTerminal("P");
+
+        assertEquals(TablasLR.codificar(TablasLR.DESPLAZAR, 1), tablas.getAccion(0, id));
+        assertEquals(TablasLR.codificar(TablasLR.REDUCIR, 3), tablas.getAccionPorDefecto(0));
+        assertEquals(9, tablas.getIrA(0, p));
+        assertEquals(TablasLR.ERROR, tablas.getAccion(0, tablas.getIndiceTerminal("COMA")));
+        assertEquals(p, tablas.getNoTerminalRegla(1));
+        assertEquals(2, tablas.getLongitudRegla(1));
+        assertEquals(0, tablas.getLongitudRegla(3));
+    }
+
+    @Test
+    public void accionesResueltasAplicanLaAccionPorDefecto() throws IOException {
+        TablasLR tablas = generar();
+        int reducir = TablasLR.codificar(TablasLR.REDUCIR, 3);
+
+        assertEquals(TablasLR.codificar(TablasLR.DESPLAZAR, 1),
+                tablas.getAccionResuelta(0, tablas.getIndiceTerminal("ID")));
+        assertEquals(reducir, tablas.getAccionResuelta(0, tablas.getIndiceTerminal("COMA")));
+        assertEquals(reducir, tablas.getAccionResuelta(0, tablas.getTerminalDesconocido()));
+    }
+
+    @Test
+    public void escribirYLeerConservaLasTablas() throws IOException {
+        TablasLR tablas = generar();
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        tablas.escribir(salida);
+        TablasLR leidas = TablasLR.leer(new ByteArrayInputStream(salida.toByteArray()));
+
+        assertEquals(tablas.getNumEstados(), leidas.getNumEstados());
+        assertArrayEquals(volcar(tablas), volcar(leidas));
+    }
+
+    private static TablasLR generar() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(GRAMATICA), StandardCharsets.UTF_8)) {
+            return GeneradorTablasLR.generar(reader);
+        }
+    }
+
+    /**
+     * Recorre todas las entradas de las tablas en un único array.
+     */
+    private static int[] volcar(TablasLR tablas) {
+        int columnas = tablas.getNumTerminales() + tablas.getNumNoTerminales() + 1;
+        int[] entradas = new int[tablas.getNumEstados() * columnas + tablas.getNumReglas() * 2];
+        int i = 0;
+        for (int estado = 0; estado < tablas.getNumEstados(); estado++) {
+            for (int terminal = 0; terminal < tablas.getNumTerminales(); terminal++) {
+                entradas[i++] = tablas.getAccion(estado, terminal);
+            }
+            for (int noTerminal = 0; noTerminal < tablas.getNumNoTerminales(); noTerminal++) {
+                entradas[i++] = tablas.getIrA(estado, noTerminal);
+            }
+            entradas[i++] = tablas.getAccionPorDefecto(estado);
+        }
+        for (int regla = 0; regla < tablas.getNumReglas(); regla++) {
+            entradas[i++] = tablas.getNoTerminalRegla(regla);
+            entradas[i++] = tablas.getLongitudRegla(regla);
+        }
+        return entradas;
+    }
+}
@@ -0,0 +1,183 @@
+package modulos.tablaSimbolos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.EmptyStackException;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.Stack;
+
+import org.junit.jupiter.api.Test;
+
+import modulos.SesionCompilacion;
+import modulos.tablaSimbolos.enums.Tipo;
+
+/**
+ * Comprueba que GestorSimbolos encuentra la última función y quita los
+ * símbolos sin tipo igual que una pila y una lista recorridas de principio a
+ * fin, también con símbolos repetidos y con símbolos que pasan a ser funciones
+ * estando ya en la pila.
+ */
+public class GestorSimbolosTest {
+
+    @Test
+    public void sacaLaFuncionMasCercanaSinCambiarElResto() {
+        SesionCompilacion sesion = new SesionCompilacion();
+        GestorSimbolos gestor = sesion.getGestorSimbolos();
+        Simbolo f = funcion("f");
+        Simbolo g = funcion("g");
+        Simbolo a = new Simbolo(Tipo.INT, "a", 0, 2);
+        Simbolo b = new Simbolo(Tipo.INT, "b", 2, 2);
+
+        gestor.setUltimoSimbolo(f);
+        gestor.setUltimoSimbolo(a);
+        gestor.setUltimoSimbolo(g);
+        gestor.setUltimoSimbolo(b);
+
+        assertSame(g, gestor.getUltimoSimboloFuncion());
+        assertSame(f, gestor.getUltimoSimboloFuncion());
+        assertNull(gestor.getUltimoSimboloFuncion());
+        assertSame(b, gestor.getUltimoSimbolo());
+        assertSame(a, gestor.getUltimoSimbolo());
+        assertThrows(EmptyStackException.class, gestor::getUltimoSimbolo);
+    }
+
+    @Test
+    public void indexaElSimboloDeclaradoComoFuncion() {
+        SesionCompilacion sesion = new SesionCompilacion();
+        GestorSimbolos gestor = sesion.getGestorSimbolos();
+        Simbolo f = new Simbolo(null, "f", null, null);
+        Simbolo p = new Simbolo(null, "p", null, null);
+
+        gestor.setUltimoSimbolo(f);
+        gestor.setUltimoSimbolo(p);
+        assertNull(gestor.getUltimoSimboloFuncion());
+
+        gestor.declararFuncion(f);
+        assertEquals(Integer.valueOf(0), f.getNumeroParametros());
+        assertSame(f, gestor.getUltimoSimboloFuncion());
+        assertSame(p, gestor.getUltimoSimbolo());
+    }
+
+    @Test
+    public void declaraLaFuncionConOtraVistaDelSimbolo() {
+        SesionCompilacion sesion = new SesionCompilacion();
+        GestorSimbolos gestor = sesion.getGestorSimbolos();
+        TablaSimbolos tabla = sesion.getGestorTablas().obtenerTablaGlobal();
+        Simbolo f = tabla.agregarSimbolo("f");
+        Simbolo a = tabla.agregarSimbolo("a");
+
+        // Cada búsqueda en la tabla devuelve una vista nueva de la misma fila
+        gestor.setUltimoSimbolo(tabla.obtenerSimboloPorNombre("f"));
+        gestor.setUltimoSimbolo(a);
+        gestor.setUltimoSimbolo(tabla.obtenerSimboloPorNombre("f"));
+        gestor.declararFuncion(f);
+
+        assertEquals(f, gestor.getUltimoSimboloFuncion());
+        assertEquals(f, gestor.getUltimoSimboloFuncion());
+        assertNull(gestor.getUltimoSimboloFuncion());
+        assertSame(a, gestor.getUltimoSimbolo());
+    }
+
+    @Test
+    public void quitaLaPrimeraEntradaDeUnSimboloRepetido() {
+        SesionCompilacion sesion = new SesionCompilacion();
+        GestorSimbolos gestor = sesion.getGestorSimbolos();
+        Simbolo a = new Simbolo(null, "a", null, null);
+        Simbolo b = new Simbolo(null, "b", null, null);
+
+        gestor.setUltimoSimbolo(a);
+        gestor.setUltimoSimbolo(b);
+        gestor.setUltimoSimbolo(a);
+        gestor.eliminarSimboloSinTipo(a);
+
+        // Quedan b y la segunda entrada de a
+        assertSame(b, gestor.consumirSimboloSinTipo());
+        assertSame(a, gestor.consumirSimboloSinTipo());
+        assertThrows(IllegalStateException.class, gestor::consumirSimboloSinTipo);
+    }
+
+    @Test
+    public void secuenciasAleatoriasComoLaImplementacionConRecorridos() {
+        SplittableRandom aleatorio = new SplittableRandom(3);
+        for (int secuencia = 0; secuencia < 200; secuencia++) {
+            comprobarSecuencia(aleatorio, 400);
+        }
+    }
+
+    /**
+     * Aplica operaciones aleatorias a un GestorSimbolos y a un modelo que busca
+     * recorriendo una Stack y una LinkedList, y compara sus resultados.
+     */
+    private static void comprobarSecuencia(SplittableRandom aleatorio, int operaciones) {
+        SesionCompilacion sesion = new SesionCompilacion();
+        GestorSimbolos gestor = sesion.getGestorSimbolos();
+        GestorZonasEspeciales zonas = sesion.getGestorZonas();
+        Stack<Simbolo> pila = new Stack<>();
+        LinkedList<Simbolo> sinTipo = new LinkedList<>();
+
+        List<Simbolo> simbolos = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            simbolos.add(new Simbolo(null, "s" + i, null, null));
+        }
+
+        for (int i = 0; i < operaciones; i++) {
+            Simbolo simbolo = simbolos.get(aleatorio.nextInt(simbolos.size()));
+            switch (aleatorio.nextInt(7)) {
+                case 0:
+                case 1:
+                    gestor.setUltimoSimbolo(simbolo);
+                    pila.push(simbolo);
+                    if (simbolo.getTipo() == null) {
+                        sinTipo.add(simbolo);
+                    }
+                    break;
+                case 2:
+                    if (!pila.isEmpty()) {
+                        assertSame(pila.pop(), gestor.getUltimoSimbolo());
+                    }
+                    break;
+                case 3:
+                    assertSame(buscarFuncion(pila), gestor.getUltimoSimboloFuncion());
+                    break;
+                case 4:
+                    gestor.declararFuncion(simbolo);
+                    break;
+                case 5:
+                    gestor.eliminarSimboloSinTipo(simbolo);
+                    sinTipo.remove(simbolo);
+                    break;
+                default:
+                    if (!sinTipo.isEmpty()) {
+                        boolean zonaParametros = aleatorio.nextBoolean();
+                        zonas.setZonaParametros(zonaParametros);
+                        Simbolo esperado = zonaParametros ? sinTipo.removeLast() : sinTipo.removeFirst();
+                        assertSame(esperado, gestor.consumirSimboloSinTipo());
+                        if (aleatorio.nextInt(4) == 0) {
+                            esperado.setTipo(Tipo.INT);
+                        }
+                    }
+            }
+        }
+    }
+
+    private static Simbolo buscarFuncion(Stack<Simbolo> pila) {
+        for (int i = pila.size() - 1; i >= 0; i--) {
+            if (pila.get(i).getNumeroParametros() != null) {
+                return pila.remove(i);
+            }
+        }
+        return null;
+    }
+
+    private static Simbolo funcion(String nombre) {
+        Simbolo simbolo = new Simbolo(Tipo.INT, nombre, 0, 1);
+        simbolo.setNumeroParametros(0);
+        return simbolo;
+    }
+}
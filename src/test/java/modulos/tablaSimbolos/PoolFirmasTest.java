@@ -0,0 +1,82 @@
+package modulos.tablaSimbolos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import modulos.tablaSimbolos.enums.Modo;
+import modulos.tablaSimbolos.enums.Tipo;
+
+/**
+ * Comprueba el pool de firmas de una sesión: una firma que ya está no se
+ * vuelve a copiar, el pool crece sin cambiar los identificadores y un símbolo
+ * que pasa a una tabla de otro pool conserva su firma.
+ */
+public class PoolFirmasTest {
+
+    @Test
+    public void unaFirmaQueYaEstaNoSeCopia() {
+        PoolFirmas pool = new PoolFirmas();
+        int firma = pool.internar(List.of(Tipo.INT, Tipo.STRING), List.of(Modo.VALOR, Modo.VALOR));
+        List<Tipo> tipos = pool.getTipos(firma);
+
+        // Las mismas listas con otra implementación son la misma firma
+        int otra = pool.internar(new ArrayList<>(List.of(Tipo.INT, Tipo.STRING)),
+                new ArrayList<>(List.of(Modo.VALOR, Modo.VALOR)));
+        assertEquals(firma, otra);
+        assertSame(tipos, pool.getTipos(otra));
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void creceSinCambiarLosIdentificadores() {
+        PoolFirmas pool = new PoolFirmas();
+        int numFirmas = 100;
+        int[] firmas = new int[numFirmas];
+        for (int i = 0; i < numFirmas; i++) {
+            firmas[i] = pool.internar(Collections.nCopies(i, Tipo.INT), Collections.nCopies(i, Modo.VALOR));
+        }
+
+        assertEquals(numFirmas, pool.size());
+        for (int i = 0; i < numFirmas; i++) {
+            assertEquals(i, firmas[i]);
+            assertEquals(firmas[i], pool.internar(Collections.nCopies(i, Tipo.INT),
+                    Collections.nCopies(i, Modo.VALOR)));
+            assertEquals(Collections.nCopies(i, Tipo.INT), pool.getTipos(firmas[i]));
+        }
+    }
+
+    @Test
+    public void admiteListasNulas() {
+        PoolFirmas pool = new PoolFirmas();
+        int firma = pool.internar(null, List.of(Modo.VALOR));
+
+        assertNull(pool.getTipos(firma));
+        assertEquals(List.of(Modo.VALOR), pool.getModos(firma));
+        assertEquals(PoolFirmas.SIN_CLAVE, pool.getClaveTipos(firma));
+        assertEquals(firma, pool.internar(null, List.of(Modo.VALOR)));
+        assertEquals(pool.internar(null, null), pool.internar(null, null));
+    }
+
+    @Test
+    public void unSimboloConservaSuFirmaAlCambiarDePool() {
+        Simbolo suelto = new Simbolo(Tipo.FUNCTION, "f", null, null);
+        suelto.setFirma(List.of(Tipo.BOOLEAN), List.of(Modo.VALOR));
+        TablaSimbolos tabla = new TablaSimbolos(0);
+        Simbolo g = tabla.agregarSimbolo("g");
+        g.setFirma(List.of(Tipo.INT), List.of(Modo.VALOR));
+
+        tabla.agregarSimbolo(suelto);
+
+        assertEquals(List.of(Tipo.BOOLEAN), suelto.getTipoParametros());
+        assertEquals(List.of(Modo.VALOR), suelto.getModoPaso());
+        assertEquals(PoolFirmas.anadirTipo(PoolFirmas.CLAVE_VACIA, Tipo.BOOLEAN), suelto.getClaveTipos());
+        assertEquals(List.of(Tipo.INT), g.getTipoParametros());
+    }
+}
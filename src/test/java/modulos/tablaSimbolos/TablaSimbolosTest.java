@@ -0,0 +1,166 @@
+package modulos.tablaSimbolos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import modulos.tablaSimbolos.enums.Modo;
+import modulos.tablaSimbolos.enums.Tipo;
+
+/**
+ * Comprueba las búsquedas por nombre y por símbolo de la tabla de símbolos,
+ * que las vistas de un mismo símbolo son iguales y que la impresión respeta el
+ * orden de inserción.
+ */
+public class TablaSimbolosTest {
+
+    private static final int NUM_SIMBOLOS = 5000;
+
+    @Test
+    public void buscaPorNombreYPosicion() {
+        TablaSimbolos tabla = new TablaSimbolos(0);
+        Simbolo[] simbolos = new Simbolo[NUM_SIMBOLOS];
+        for (int i = 0; i < NUM_SIMBOLOS; i++) {
+            simbolos[i] = new Simbolo(null, "v" + i, null, null);
+            tabla.agregarSimbolo(simbolos[i]);
+        }
+
+        for (int i = 0; i < NUM_SIMBOLOS; i++) {
+            assertTrue(tabla.simboloExiste("v" + i));
+            assertEquals(simbolos[i], tabla.obtenerSimboloPorNombre("v" + i));
+            assertEquals(Integer.valueOf(i), tabla.obtenerPosicionSimbolo(simbolos[i]));
+        }
+        assertFalse(tabla.simboloExiste("w"));
+        assertNull(tabla.obtenerSimboloPorNombre("w"));
+    }
+
+    @Test
+    public void lasVistasDeUnaFilaSonIguales() {
+        TablaSimbolos tabla = new TablaSimbolos(0);
+        Simbolo a = tabla.agregarSimbolo("a");
+        Simbolo b = tabla.agregarSimbolo("b");
+        Simbolo otraVista = tabla.obtenerSimboloPorNombre("a");
+
+        assertEquals(a, otraVista);
+        assertEquals(a.hashCode(), otraVista.hashCode());
+        assertNotEquals(a, b);
+        assertNotEquals(a, new TablaSimbolos(0).agregarSimbolo("a"));
+
+        // Los atributos están en la fila, no en la vista
+        otraVista.setTipo(Tipo.INT);
+        assertEquals(Tipo.INT, a.getTipo());
+    }
+
+    @Test
+    public void simboloDeOtraTablaNoTienePosicion() {
+        TablaSimbolos global = new TablaSimbolos(0);
+        TablaSimbolos local = new TablaSimbolos(1);
+        Simbolo simboloGlobal = new Simbolo(Tipo.INT, "a", 0, 2);
+        global.agregarSimbolo(simboloGlobal);
+        local.agregarSimbolo(new Simbolo(Tipo.INT, "a", 0, 2));
+
+        assertNull(local.obtenerPosicionSimbolo(simboloGlobal));
+        assertEquals(Integer.valueOf(0), global.obtenerPosicionSimbolo(simboloGlobal));
+    }
+
+    @Test
+    public void nombreRepetidoConservaElPrimero() {
+        TablaSimbolos tabla = new TablaSimbolos(0);
+        Simbolo primero = new Simbolo(Tipo.INT, "a", 0, 2);
+        Simbolo segundo = new Simbolo(Tipo.STRING, "a", 2, 128);
+        tabla.agregarSimbolo(primero);
+        tabla.agregarSimbolo(segundo);
+
+        assertEquals(primero, tabla.obtenerSimboloPorNombre("a"));
+        assertNotEquals(segundo, tabla.obtenerSimboloPorNombre("a"));
+        assertEquals(Integer.valueOf(0), tabla.obtenerPosicionSimbolo(primero));
+        assertEquals(Integer.valueOf(1), tabla.obtenerPosicionSimbolo(segundo));
+    }
+
+    @Test
+    public void imprimeEnOrdenDeInsercion() {
+        TablaSimbolos tabla = new TablaSimbolos(3);
+        tabla.agregarSimbolo(new Simbolo(Tipo.INT, "z", 0, 2));
+        tabla.agregarSimbolo(new Simbolo(Tipo.BOOLEAN, "a", 2, 2));
+
+        String impresion = tabla.imprimirTabla();
+        assertTrue(impresion.startsWith("CONTENIDOS DE LA TABLA #3:\n"));
+        assertTrue(impresion.indexOf("'z'") < impresion.indexOf("'a'"));
+    }
+
+    @Test
+    public void simboloConservaSusAtributosAlAgregarse() {
+        TablaSimbolos tabla = new TablaSimbolos(0);
+        tabla.agregarSimbolo("x");
+        Simbolo simbolo = new Simbolo(Tipo.STRING, "s", 4, 128);
+        assertNull(simbolo.getTipoParametros());
+        tabla.agregarSimbolo(simbolo);
+
+        assertEquals(Integer.valueOf(1), tabla.obtenerPosicionSimbolo(simbolo));
+        assertEquals(Tipo.STRING, simbolo.getTipo());
+        assertEquals(Integer.valueOf(4), simbolo.getDesplazamiento());
+        assertEquals(Integer.valueOf(128), simbolo.getBytes());
+        assertNull(simbolo.getNumeroParametros());
+        assertNull(tabla.obtenerSimboloPorNombre("x").getTipo());
+    }
+
+    @Test
+    public void funcionesConLaMismaFirmaLaComparten() {
+        TablaSimbolos tabla = new TablaSimbolos(0);
+        Simbolo f = tabla.agregarSimbolo("f");
+        Simbolo g = tabla.agregarSimbolo("g");
+        Simbolo h = tabla.agregarSimbolo("h");
+        f.setFirma(List.of(Tipo.INT, Tipo.STRING), List.of(Modo.VALOR, Modo.VALOR));
+        g.setFirma(List.of(Tipo.INT, Tipo.STRING), List.of(Modo.VALOR, Modo.VALOR));
+        h.setFirma(List.of(Tipo.INT), List.of(Modo.VALOR));
+
+        assertEquals(f.getFirma(), g.getFirma());
+        assertNotEquals(f.getFirma(), h.getFirma());
+        assertSame(f.getTipoParametros(), g.getTipoParametros());
+        assertEquals(List.of(Tipo.INT, Tipo.STRING), f.getTipoParametros());
+        assertEquals(List.of(Modo.VALOR, Modo.VALOR), f.getModoPaso());
+    }
+
+    @Test
+    public void laClaveDeLaFirmaIdentificaSusTipos() {
+        TablaSimbolos tabla = new TablaSimbolos(0);
+        Simbolo f = tabla.agregarSimbolo("f");
+        Simbolo g = tabla.agregarSimbolo("g");
+        f.setFirma(List.of(Tipo.INT, Tipo.STRING), List.of(Modo.VALOR, Modo.VALOR));
+        g.setFirma(List.of(Tipo.STRING, Tipo.INT), List.of(Modo.VALOR, Modo.VALOR));
+
+        // Los argumentos se empaquetan uno a uno con la misma clave
+        long argumentos = PoolFirmas.anadirTipo(PoolFirmas.anadirTipo(PoolFirmas.CLAVE_VACIA, Tipo.INT), Tipo.STRING);
+        assertEquals(f.getClaveTipos(), argumentos);
+        assertNotEquals(g.getClaveTipos(), argumentos);
+        assertNotEquals(PoolFirmas.claveTipos(List.of(Tipo.INT)), PoolFirmas.claveTipos(List.of(Tipo.INT, Tipo.INT)));
+        assertEquals(PoolFirmas.SIN_CLAVE, PoolFirmas.anadirTipo(argumentos, null));
+        assertEquals(PoolFirmas.SIN_CLAVE, PoolFirmas.claveTipos(null));
+
+        // Caben 21 tipos; con más, la llamada se comprueba comparando las listas
+        assertNotEquals(PoolFirmas.SIN_CLAVE, PoolFirmas.claveTipos(Collections.nCopies(21, Tipo.BOOLEAN)));
+        assertEquals(PoolFirmas.SIN_CLAVE, PoolFirmas.claveTipos(Collections.nCopies(22, Tipo.INT)));
+    }
+
+    @Test
+    public void imprimeLosParametrosDeUnaFuncion() {
+        TablaSimbolos tabla = new TablaSimbolos(0);
+        Simbolo f = tabla.agregarSimbolo("f");
+        f.setTipo(Tipo.FUNCTION);
+        f.setTipoRetorno(Tipo.INT);
+        f.setNumeroParametros(1);
+        f.setFirma(List.of(Tipo.BOOLEAN), List.of(Modo.VALOR));
+
+        String impresion = tabla.imprimirTabla();
+        assertTrue(impresion.contains("\n+ numParam: '1'\t\n+ TipoParam0: 'BOOLEAN'\t\n+ ModoParam0: 'VALOR'\t"));
+        assertTrue(impresion.contains("\n+ TipoRetorno: 'INT'\t\n+ EtiqFuncion: 'f'\t"));
+    }
+}
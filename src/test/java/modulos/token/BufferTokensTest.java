@@ -0,0 +1,86 @@
+package modulos.token;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import modulos.SesionCompilacion;
+import modulos.lexico.AnalizadorLexico;
+import modulos.lexico.fuente.FuenteCaracteres;
+import modulos.lexico.fuente.FuenteSecuencia;
+
+/**
+ * Comprueba que BufferTokens conserva los tokens del analizador léxico con el
+ * mismo formato que Token y la posición de cada uno en la fuente.
+ */
+public class BufferTokensTest {
+
+    private static final String PROGRAMA = "let int x;\n// comentario\nx += 12 ;\nput \"hola\";if(!x==x){}\n";
+
+    @Test
+    public void desplazamientosApuntanAlInicioDeCadaToken() throws IOException {
+        BufferTokens tokens = analizar(PROGRAMA);
+        List<String> lexemas = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            int inicio = tokens.getDesplazamiento(i);
+            lexemas.add(inicio < PROGRAMA.length() ? PROGRAMA.substring(inicio, inicio + 1) : "");
+        }
+
+        assertEquals(List.of("l", "i", "x", ";", "x", "+", "1", ";", "p", "\"", ";", "i", "(", "!", "x", "=",
+                "x", ")", "{", "}", ""), lexemas);
+    }
+
+    @Test
+    public void escribirTokenUsaElFormatoDeToken() throws IOException {
+        BufferTokens tokens = analizar(PROGRAMA);
+        for (int i = 0; i < tokens.size(); i++) {
+            StringWriter writer = new StringWriter();
+            tokens.escribirToken(i, writer);
+
+            assertEquals(tokens.getToken(i).toString(), writer.toString());
+        }
+        assertEquals("<CADENA, \"hola>", tokens.getToken(9).toString());
+        assertEquals("<ENTERO, 12>", tokens.getToken(6).toString());
+        assertEquals("<PUNTOCOMA, >", tokens.getToken(3).toString());
+    }
+
+    @Test
+    public void lasLineasSoloSeGuardanSiSeIndican() throws IOException {
+        BufferTokens tokens = analizar(PROGRAMA);
+        assertEquals(BufferTokens.SIN_LINEA, tokens.getLinea(0));
+
+        // La columna de líneas se reserva con el tamaño actual del buffer
+        int numTokens = 3000;
+        BufferTokens copia = new BufferTokens();
+        for (int i = 0; i < numTokens; i++) {
+            copia.agregarCopia(tokens, i % tokens.size(), i);
+        }
+        copia.setLinea(numTokens - 1, 7);
+        copia.agregarCopia(tokens, 0, numTokens);
+
+        assertEquals(7, copia.getLinea(numTokens - 1));
+        assertEquals(BufferTokens.SIN_LINEA, copia.getLinea(numTokens));
+    }
+
+    /**
+     * Analiza léxicamente un programa guardando sus tokens en un buffer.
+     */
+    private static BufferTokens analizar(String programa) throws IOException {
+        AnalizadorLexico analizadorLexico = new SesionCompilacion().getAnalizadorLexico();
+        FuenteCaracteres fuente = new FuenteSecuencia(programa);
+        BufferTokens tokens = new BufferTokens();
+        int caracter;
+        do {
+            caracter = fuente.leer();
+            do {
+                analizadorLexico.procesarCaracter(caracter, tokens);
+            } while (!analizadorLexico.isCaracterProcesado());
+        } while (caracter != FuenteCaracteres.FIN_DE_FICHERO);
+        return tokens;
+    }
+}